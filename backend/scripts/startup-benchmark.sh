@@ -0,0 +1,73 @@
+#!/usr/bin/env bash
+# Measures startup time and resident memory for each deployment mode:
+#   jvm     plain executable jar
+#   aot     jar built with -Paot, started with -Dspring.aot.enabled=true
+#   cds     extracted AOT jar with a class-data-sharing archive
+#   native  GraalVM native image built with -Pnative native:compile (skipped if GraalVM is missing;
+#           experimental, the native build has not been verified)
+#
+# Usage: scripts/startup-benchmark.sh [runs]   (run from the backend directory)
+# MONGO_URI overrides spring.data.mongodb.uri for the measured runs, e.g. a local mongod instead of the cluster.
+set -euo pipefail
+
+RUNS=${1:-5}
+# AOT processing evaluates @ConditionalOnProperty at build time, so the properties that shape the bean graph
+# are passed to process-aot as well; otherwise the AOT/CDS/native runs would start a different set of beans.
+CONDITION_PROPS="-Dchangestream.mode=off"
+AOT_ARGS="-Dspring-boot.aot.jvmArguments=$CONDITION_PROPS"
+APP_ARGS="--changestream.mode=off --server.port=0${MONGO_URI:+ --spring.data.mongodb.uri=$MONGO_URI}"
+# The wrapper is not checked in as executable
+MVNW="sh ./mvnw"
+JAR=target/backend-0.0.1-SNAPSHOT.jar
+WORK=target/startup-benchmark
+mkdir -p "$WORK"
+
+# Starts a command, waits for the "Started BackendApplication" line, samples RSS and stops it.
+measure() {
+    local label=$1; shift
+    local total_ms=0 total_rss=0
+    for ((i = 1; i <= RUNS; i++)); do
+        local log="$WORK/$label-$i.log"
+        local start_ns
+        start_ns=$(date +%s%N)
+        "$@" $APP_ARGS > "$log" 2>&1 &
+        local pid=$!
+        until grep -q "Started BackendApplication" "$log"; do
+            if ! kill -0 "$pid" 2>/dev/null; then
+                echo "$label: process exited, see $log" >&2
+                return 1
+            fi
+            sleep 0.05
+        done
+        local elapsed_ms=$(( ($(date +%s%N) - start_ns) / 1000000 ))
+        local rss_kb
+        rss_kb=$(ps -o rss= -p "$pid" | tr -d ' ')
+        kill "$pid"
+        wait "$pid" 2>/dev/null || true
+        total_ms=$((total_ms + elapsed_ms))
+        total_rss=$((total_rss + rss_kb))
+    done
+    printf "%-8s startup %6d ms   rss %7d MB   (avg of %d runs)\n" \
+        "$label" $((total_ms / RUNS)) $((total_rss / RUNS / 1024)) "$RUNS"
+}
+
+$MVNW -q -DskipTests package
+measure jvm java -jar "$JAR"
+
+$MVNW -q -DskipTests -Paot "$AOT_ARGS" package
+measure aot java -Dspring.aot.enabled=true -jar "$JAR"
+
+# CDS: extract the jar, do a training run that exits after the context refresh, then reuse the archive
+rm -rf "$WORK/extracted"
+java -Djarmode=tools -jar "$JAR" extract --destination "$WORK/extracted"
+EXTRACTED_JAR="$WORK/extracted/$(basename "$JAR")"
+java -XX:ArchiveClassesAtExit="$WORK/app.jsa" -Dspring.context.exit=onRefresh -Dspring.aot.enabled=true \
+    -jar "$EXTRACTED_JAR" $APP_ARGS > "$WORK/cds-training.log" 2>&1
+measure cds java -XX:SharedArchiveFile="$WORK/app.jsa" -Dspring.aot.enabled=true -jar "$EXTRACTED_JAR"
+
+if command -v native-image > /dev/null; then
+    $MVNW -q -DskipTests -Pnative "$AOT_ARGS" native:compile
+    measure native target/backend
+else
+    echo "native   skipped (native-image not on PATH)"
+fi
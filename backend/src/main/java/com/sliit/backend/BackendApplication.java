@@ -2,8 +2,12 @@ package com.sliit.backend;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+import com.sliit.backend.config.NativeHints;
 
 @SpringBootApplication
+@ImportRuntimeHints(NativeHints.class)
 public class BackendApplication {
 
 	public static void main(String[] args) {
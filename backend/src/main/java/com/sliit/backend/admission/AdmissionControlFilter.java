@@ -0,0 +1,124 @@
+package com.sliit.backend.admission;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Admits or rejects each request before it reaches a controller.
+// Runs after the JWT filter so the per-client token bucket is keyed on the user (or the remote address when anonymous).
+// A client over its rate gets 429; a request class at its concurrency limit gets 503 straight away instead of
+// queueing for a Tomcat worker behind slow queries. Both responses carry Retry-After.
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private final AdmissionProperties properties;
+    private final Map<RequestClass, AimdLimiter> limiters = new EnumMap<>(RequestClass.class);
+    // Access-ordered, so the least recently seen client is dropped once maxTrackedClients are tracked
+    private final Map<String, TokenBucket> buckets;
+    private final Map<RequestClass, Counter> rateLimited = new EnumMap<>(RequestClass.class);
+    private final Map<RequestClass, Counter> overloaded = new EnumMap<>(RequestClass.class);
+
+    public AdmissionControlFilter(AdmissionProperties properties, MeterRegistry registry) {
+        this.properties = properties;
+        int maxTrackedClients = properties.getRate().getMaxTrackedClients();
+        this.buckets = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, TokenBucket> eldest) {
+                return size() > maxTrackedClients;
+            }
+        };
+        for (RequestClass requestClass : RequestClass.values()) {
+            AdmissionProperties.ClassLimit limit = properties.forClass(requestClass);
+            AimdLimiter limiter = new AimdLimiter(limit.getInitialLimit(), limit.getMinLimit(), limit.getMaxLimit(),
+                    limit.getLatencyThreshold().toNanos(), properties.getBackoffRatio());
+            limiters.put(requestClass, limiter);
+            String tag = requestClass.name().toLowerCase();
+            Gauge.builder("admission.limit", limiter, AimdLimiter::getLimit).tag("class", tag).register(registry);
+            Gauge.builder("admission.inflight", limiter, AimdLimiter::getInFlight).tag("class", tag).register(registry);
+            rateLimited.put(requestClass, Counter.builder("admission.rejected")
+                    .tags("class", tag, "reason", "rate").register(registry));
+            overloaded.put(requestClass, Counter.builder("admission.rejected")
+                    .tags("class", tag, "reason", "concurrency").register(registry));
+        }
+        Gauge.builder("admission.clients", this, AdmissionControlFilter::trackedClients).register(registry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // CORS preflights and health probes must never be shed
+        return !properties.isEnabled()
+                || "OPTIONS".equals(request.getMethod())
+                || request.getRequestURI().startsWith("/actuator/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestClass requestClass = RequestClassifier.classify(request.getMethod(), request.getRequestURI());
+
+        long now = System.nanoTime();
+        long waitNanos = bucketFor(clientKey(request), now).tryConsume(properties.forClass(requestClass).getCost(), now);
+        if (waitNanos > 0) {
+            rateLimited.get(requestClass).increment();
+            reject(response, 429, TimeUnit.NANOSECONDS.toSeconds(waitNanos) + 1, "Too many requests");
+            return;
+        }
+
+        AimdLimiter limiter = limiters.get(requestClass);
+        if (!limiter.tryAcquire()) {
+            overloaded.get(requestClass).increment();
+            reject(response, HttpServletResponse.SC_SERVICE_UNAVAILABLE, 1, "Server is busy, please retry");
+            return;
+        }
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = response.getStatus() >= 500;
+        } finally {
+            long end = System.nanoTime();
+            limiter.release(end - start, failed, end);
+        }
+    }
+
+    private String clientKey(HttpServletRequest request) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.isAuthenticated() && !(auth instanceof AnonymousAuthenticationToken)) {
+            return "user:" + auth.getName();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private TokenBucket bucketFor(String key, long now) {
+        synchronized (buckets) {
+            return buckets.computeIfAbsent(key,
+                    k -> new TokenBucket(properties.getRate().getCapacity(), properties.getRate().getRefillPerSecond(), now));
+        }
+    }
+
+    int trackedClients() {
+        synchronized (buckets) {
+            return buckets.size();
+        }
+    }
+
+    private void reject(HttpServletResponse response, int status, long retryAfterSeconds, String message) throws IOException {
+        response.setStatus(status);
+        response.setHeader("Retry-After", String.valueOf(retryAfterSeconds));
+        response.setContentType("text/plain");
+        response.getWriter().write(message);
+    }
+}
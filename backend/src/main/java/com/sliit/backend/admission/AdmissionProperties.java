@@ -0,0 +1,79 @@
+package com.sliit.backend.admission;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+// Per-class concurrency limits and per-client rate limits for the admission filter
+@ConfigurationProperties(prefix = "app.admission")
+public class AdmissionProperties {
+
+    private boolean enabled = true;
+    // Multiplier applied to a class limit when it sees a slow or failed request
+    private double backoffRatio = 0.9;
+    // Max limits add up to less than Tomcat's 200 worker threads so critical calls always find one
+    private final ClassLimit critical = new ClassLimit(20, 4, 60, Duration.ofMillis(250), 1);
+    private final ClassLimit standard = new ClassLimit(40, 4, 100, Duration.ofSeconds(1), 1);
+    private final ClassLimit heavy = new ClassLimit(4, 1, 8, Duration.ofSeconds(5), 5);
+    private final Rate rate = new Rate();
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public double getBackoffRatio() { return backoffRatio; }
+    public void setBackoffRatio(double backoffRatio) { this.backoffRatio = backoffRatio; }
+    public ClassLimit getCritical() { return critical; }
+    public ClassLimit getStandard() { return standard; }
+    public ClassLimit getHeavy() { return heavy; }
+    public Rate getRate() { return rate; }
+
+    public ClassLimit forClass(RequestClass requestClass) {
+        return switch (requestClass) {
+            case CRITICAL -> critical;
+            case STANDARD -> standard;
+            case HEAVY -> heavy;
+        };
+    }
+
+    public static class ClassLimit {
+        private int initialLimit;
+        private int minLimit;
+        private int maxLimit;
+        // Completions slower than this count as overload and shrink the limit
+        private Duration latencyThreshold;
+        // Tokens taken from the client's bucket per request
+        private double cost;
+
+        ClassLimit(int initialLimit, int minLimit, int maxLimit, Duration latencyThreshold, double cost) {
+            this.initialLimit = initialLimit;
+            this.minLimit = minLimit;
+            this.maxLimit = maxLimit;
+            this.latencyThreshold = latencyThreshold;
+            this.cost = cost;
+        }
+
+        public int getInitialLimit() { return initialLimit; }
+        public void setInitialLimit(int initialLimit) { this.initialLimit = initialLimit; }
+        public int getMinLimit() { return minLimit; }
+        public void setMinLimit(int minLimit) { this.minLimit = minLimit; }
+        public int getMaxLimit() { return maxLimit; }
+        public void setMaxLimit(int maxLimit) { this.maxLimit = maxLimit; }
+        public Duration getLatencyThreshold() { return latencyThreshold; }
+        public void setLatencyThreshold(Duration latencyThreshold) { this.latencyThreshold = latencyThreshold; }
+        public double getCost() { return cost; }
+        public void setCost(double cost) { this.cost = cost; }
+    }
+
+    public static class Rate {
+        private double capacity = 60;
+        private double refillPerSecond = 10;
+        // The least recently seen client's bucket is dropped once more clients than this are tracked
+        private int maxTrackedClients = 10_000;
+
+        public double getCapacity() { return capacity; }
+        public void setCapacity(double capacity) { this.capacity = capacity; }
+        public double getRefillPerSecond() { return refillPerSecond; }
+        public void setRefillPerSecond(double refillPerSecond) { this.refillPerSecond = refillPerSecond; }
+        public int getMaxTrackedClients() { return maxTrackedClients; }
+        public void setMaxTrackedClients(int maxTrackedClients) { this.maxTrackedClients = maxTrackedClients; }
+    }
+}
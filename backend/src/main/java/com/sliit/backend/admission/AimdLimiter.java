@@ -0,0 +1,54 @@
+package com.sliit.backend.admission;
+
+// Concurrency limit that adapts to observed latency (additive increase, multiplicative decrease).
+// While requests complete under the latency threshold and the limit is actually being used, it grows by one;
+// a slow or failed request shrinks it by the backoff ratio, at most once per threshold interval so that
+// a burst of slow completions from the same overload only counts once.
+public class AimdLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+
+    private double limit;
+    private int inFlight;
+    private long lastDecreaseNanos;
+
+    public AimdLimiter(int initialLimit, int minLimit, int maxLimit, long latencyThresholdNanos, double backoffRatio) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = latencyThresholdNanos;
+        this.backoffRatio = backoffRatio;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.lastDecreaseNanos = Long.MIN_VALUE / 2;
+    }
+
+    public synchronized boolean tryAcquire() {
+        if (inFlight >= (int) limit) {
+            return false;
+        }
+        inFlight++;
+        return true;
+    }
+
+    public synchronized void release(long latencyNanos, boolean failed, long nowNanos) {
+        inFlight--;
+        if (failed || latencyNanos > latencyThresholdNanos) {
+            if (nowNanos - lastDecreaseNanos >= latencyThresholdNanos) {
+                limit = Math.max(minLimit, limit * backoffRatio);
+                lastDecreaseNanos = nowNanos;
+            }
+        } else if (inFlight * 2 >= (int) limit) {
+            limit = Math.min(maxLimit, limit + 1);
+        }
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+}
@@ -0,0 +1,10 @@
+package com.sliit.backend.admission;
+
+// Admission priority of an endpoint; each class gets its own concurrency limit so one cannot starve another
+public enum RequestClass {
+    // Cheap, latency-sensitive calls: auth, votes, likes
+    CRITICAL,
+    STANDARD,
+    // Unbounded scans, analytics, imports and exports
+    HEAVY
+}
@@ -0,0 +1,28 @@
+package com.sliit.backend.admission;
+
+import java.util.regex.Pattern;
+
+// Maps a request to its admission class by method and path
+public final class RequestClassifier {
+
+    private static final Pattern VOTE = Pattern.compile("^/api/[^/]+/answers/[^/]+/(upvote|downvote|best)$");
+    private static final Pattern LIKE = Pattern.compile("^/api/comments/[^/]+/like$");
+    private static final Pattern FULL_LIST = Pattern.compile("^/api/(getall/questions|learning-plans/?|learning-plans/analytics)$");
+    private static final Pattern BULK = Pattern.compile("/(export|import)(/|$)");
+
+    private RequestClassifier() {
+    }
+
+    public static RequestClass classify(String method, String path) {
+        if (path.startsWith("/api/auth/")) {
+            return RequestClass.CRITICAL;
+        }
+        if ("POST".equals(method) && (VOTE.matcher(path).matches() || LIKE.matcher(path).matches())) {
+            return RequestClass.CRITICAL;
+        }
+        if (BULK.matcher(path).find() || ("GET".equals(method) && FULL_LIST.matcher(path).matches())) {
+            return RequestClass.HEAVY;
+        }
+        return RequestClass.STANDARD;
+    }
+}
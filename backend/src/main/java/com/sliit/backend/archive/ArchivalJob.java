@@ -0,0 +1,153 @@
+package com.sliit.backend.archive;
+
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Sorts;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Periodically moves questions idle for longer than question-idle, and comment threads whose newest comment is
+// older than comment-age, into the archive. Each run is bounded (max-batches of batch-size documents with a pause
+// in between) so it never competes with request traffic for long; whatever is left is picked up by the next run.
+@Component
+@ConditionalOnProperty(name = "archive.enabled", havingValue = "true", matchIfMissing = true)
+public class ArchivalJob implements SmartLifecycle {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ArchivalJob.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final ArchiveService archiveService;
+    private final Duration questionIdle;
+    private final Duration commentAge;
+    private final int batchSize;
+    private final int maxBatches;
+    private final Duration interval;
+    private final Duration batchPause;
+
+    private ScheduledExecutorService executor;
+    // Roots are scanned in _id order across runs; threads that were still active are revisited after a full pass
+    private ObjectId commentCursor = new ObjectId(new Date(0));
+
+    public ArchivalJob(MongoTemplate mongoTemplate, ArchiveService archiveService,
+                       @Value("${archive.question-idle:180d}") Duration questionIdle,
+                       @Value("${archive.comment-age:365d}") Duration commentAge,
+                       @Value("${archive.batch-size:100}") int batchSize,
+                       @Value("${archive.max-batches:20}") int maxBatches,
+                       @Value("${archive.interval:1h}") Duration interval,
+                       @Value("${archive.batch-pause:200ms}") Duration batchPause) {
+        this.mongoTemplate = mongoTemplate;
+        this.archiveService = archiveService;
+        this.questionIdle = questionIdle;
+        this.commentAge = commentAge;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+        this.interval = interval;
+        this.batchPause = batchPause;
+    }
+
+    @Override
+    public void start() {
+        try {
+            archiveService.ensureIndexes();
+        } catch (RuntimeException e) {
+            LOGGER.warn("Failed to create archive indexes: {}", e.getMessage());
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "archival");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long millis = interval.toMillis();
+        executor.scheduleWithFixedDelay(this::runOnce, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return executor != null;
+    }
+
+    void runOnce() {
+        long start = System.currentTimeMillis();
+        try {
+            int questions = archiveQuestions(new Date(start - questionIdle.toMillis()));
+            int comments = archiveComments(new Date(start - commentAge.toMillis()));
+            if (questions > 0 || comments > 0) {
+                LOGGER.info("Archived {} questions and {} comments in {} ms", questions, comments,
+                        System.currentTimeMillis() - start);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            LOGGER.warn("Archival run failed: {}", e.getMessage());
+        }
+    }
+
+    // Questions written before lastActivityAt existed are judged by the creation time in their ObjectId
+    private int archiveQuestions(Date cutoff) throws InterruptedException {
+        Bson idle = Filters.or(
+                Filters.lt("lastActivityAt", cutoff),
+                Filters.and(Filters.exists("lastActivityAt", false), Filters.lt("_id", new ObjectId(cutoff))));
+        int archived = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            List<Document> candidates = mongoTemplate.getCollection("questions").find(idle).limit(batchSize)
+                    .into(new ArrayList<>());
+            int before = archived;
+            for (Document question : candidates) {
+                if (archiveService.archiveQuestion(question)) {
+                    archived++;
+                }
+            }
+            // Stop when nothing is left, or when every candidate became active again while we looked at it
+            if (candidates.size() < batchSize || archived == before) {
+                break;
+            }
+            Thread.sleep(batchPause.toMillis());
+        }
+        return archived;
+    }
+
+    private int archiveComments(Date cutoff) throws InterruptedException {
+        int archived = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            List<Document> roots = mongoTemplate.getCollection("comments")
+                    .find(Filters.and(Filters.eq("parentId", null), Filters.lt("createdAt", cutoff),
+                            Filters.gt("_id", commentCursor)))
+                    .sort(Sorts.ascending("_id"))
+                    .limit(batchSize)
+                    .into(new ArrayList<>());
+            for (Document root : roots) {
+                archived += archiveService.archiveThread(root, cutoff);
+                commentCursor = root.getObjectId("_id");
+            }
+            if (roots.size() < batchSize) {
+                commentCursor = new ObjectId(new Date(0));
+                break;
+            }
+            Thread.sleep(batchPause.toMillis());
+        }
+        return archived;
+    }
+}
@@ -0,0 +1,382 @@
+package com.sliit.backend.archive;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.Updates;
+import com.sliit.backend.model.Answer;
+import com.sliit.backend.model.Comment;
+import com.sliit.backend.model.Question;
+import com.sliit.backend.reputation.ReputationService;
+import com.sliit.backend.service.TagService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.Binary;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+// Hot/cold split for questions and comment threads. Cold documents live in questionsArchive (one per question,
+// answers included) and commentArchive (one per top-level thread) as gzipped payloads. Reads fall back to the
+// cold tier transparently; writes restore the affected document to the hot collections first.
+// The archival job runs on every node, so a question is claimed with a lease before it is moved, and every
+// archiver only ever removes documents it has marked with its own token.
+@Service
+public class ArchiveService {
+
+    public static final String QUESTIONS_ARCHIVE = "questionsArchive";
+    public static final String COMMENT_ARCHIVE = "commentArchive";
+
+    static final String ARCHIVING_BY = "archivingBy";
+    static final String ARCHIVING_UNTIL = "archivingUntil";
+    static final String ARCHIVED_BY = "archivedBy";
+    // Far longer than moving one question takes; only matters when an archiver dies holding a claim
+    private static final Duration CLAIM_LEASE = Duration.ofMinutes(10);
+
+    private static final ReplaceOptions UPSERT = new ReplaceOptions().upsert(true);
+    private static final UpdateOptions UPSERT_UPDATE = new UpdateOptions().upsert(true);
+
+    private final MongoTemplate mongoTemplate;
+    private final TagService tagService;
+    private final Map<String, Counter> reads = new HashMap<>();
+    private final Map<String, Counter> moved = new HashMap<>();
+    private final Map<String, Counter> restored = new HashMap<>();
+
+    public ArchiveService(MongoTemplate mongoTemplate, TagService tagService, MeterRegistry registry) {
+        this.mongoTemplate = mongoTemplate;
+        this.tagService = tagService;
+        for (String kind : List.of("question", "answers", "comments")) {
+            for (String tier : List.of("hot", "cold")) {
+                reads.put(kind + "|" + tier, Counter.builder("archive.reads").tag("kind", kind).tag("tier", tier)
+                        .description("Reads answered from the hot collections or the archive").register(registry));
+            }
+        }
+        for (String kind : List.of("question", "comment")) {
+            moved.put(kind, Counter.builder("archive.moved").tag("kind", kind).register(registry));
+            restored.put(kind, Counter.builder("archive.restored").tag("kind", kind).register(registry));
+        }
+    }
+
+    void ensureIndexes() {
+        archivedQuestions().createIndex(Indexes.ascending("contributions.userId"));
+        archivedComments().createIndex(Indexes.ascending("learningPlanId"));
+        archivedComments().createIndex(Indexes.ascending("commentIds"));
+    }
+
+    // Marks a question as active; call it before writing to the question or its answers. An archival that read
+    // the question earlier then fails its final delete and leaves everything hot. A question that was archived in
+    // the meantime is restored first, so the write that follows lands next to the rest of its answers.
+    public void touch(String questionId) {
+        boolean hot = mongoTemplate.updateFirst(query(where("_id").is(questionId)),
+                new Update().max("lastActivityAt", LocalDateTime.now()), Question.class).getMatchedCount() > 0;
+        if (!hot && !restoreQuestion(questionId)) {
+            throw new RuntimeException("Question not found");
+        }
+    }
+
+    public Optional<Question> findQuestion(String id) {
+        Question hot = mongoTemplate.findById(id, Question.class);
+        if (hot != null) {
+            count(reads, "question|hot");
+            return Optional.of(hot);
+        }
+        Document payload = archivedPayload(id);
+        if (payload == null) {
+            return Optional.empty();
+        }
+        count(reads, "question|cold");
+        return Optional.of(mongoTemplate.getConverter().read(Question.class, payload.get("question", Document.class)));
+    }
+
+    // Hot answers when the question is hot, otherwise the answers archived with it
+    public List<Answer> findAnswers(String questionId, List<Answer> hot) {
+        if (!hot.isEmpty() || mongoTemplate.exists(query(where("_id").is(questionId)), Question.class)) {
+            count(reads, "answers|hot");
+            return hot;
+        }
+        Document payload = archivedPayload(questionId);
+        if (payload == null) {
+            return hot;
+        }
+        count(reads, "answers|cold");
+        return payload.getList("answers", Document.class).stream()
+                .map(answer -> mongoTemplate.getConverter().read(Answer.class, answer))
+                .toList();
+    }
+
+    // Hot comments of a plan merged with its archived threads, newest first
+    public List<Comment> mergeComments(String planId, List<Comment> hot) {
+        List<Comment> cold = new ArrayList<>();
+        for (Document segment : archivedComments().find(Filters.eq("learningPlanId", planId))) {
+            for (Document comment : decode(segment).getList("comments", Document.class)) {
+                cold.add(mongoTemplate.getConverter().read(Comment.class, comment));
+            }
+        }
+        if (cold.isEmpty()) {
+            count(reads, "comments|hot");
+            return hot;
+        }
+        count(reads, "comments|cold");
+        List<Comment> merged = new ArrayList<>(hot);
+        merged.addAll(cold);
+        merged.sort(Comparator.comparing(Comment::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder())));
+        return merged;
+    }
+
+    // Archives one question with its answers:
+    // 1. claim the question, unless it saw activity since it was read or another node holds a live claim;
+    // 2. mark its answers with the claim token and copy question and answers into the archive;
+    // 3. delete the question, still only if it is unchanged and claimed by us;
+    // 4. delete the answers that still carry the token. Any write replaces the answer document and drops it.
+    // When step 3 fails the marks, the claim and this archiver's own copy are removed again.
+    boolean archiveQuestion(Document candidate) {
+        Object rawId = candidate.get("_id");
+        String id = rawId.toString();
+        String token = new ObjectId().toHexString();
+        Date now = new Date();
+        Object lastActivity = candidate.get("lastActivityAt");
+        Bson unchanged = Filters.and(Filters.eq("_id", rawId), lastActivity == null
+                ? Filters.exists("lastActivityAt", false) : Filters.eq("lastActivityAt", lastActivity));
+        Document question = questions().findOneAndUpdate(
+                Filters.and(unchanged, Filters.or(Filters.exists(ARCHIVING_BY, false), Filters.lt(ARCHIVING_UNTIL, now))),
+                Updates.combine(Updates.set(ARCHIVING_BY, token),
+                        Updates.set(ARCHIVING_UNTIL, new Date(now.getTime() + CLAIM_LEASE.toMillis()))));
+        if (question == null) {
+            return false;
+        }
+        question.remove(ARCHIVING_BY);
+        question.remove(ARCHIVING_UNTIL);
+
+        Bson ours = Filters.and(Filters.eq("questionId", id), Filters.eq(ARCHIVING_BY, token));
+        answers().updateMany(Filters.eq("questionId", id), Updates.set(ARCHIVING_BY, token));
+        List<Document> answers = answers().find(Filters.eq("questionId", id)).into(new ArrayList<>());
+        answers.forEach(answer -> answer.remove(ARCHIVING_BY));
+
+        Document archived = new Document("_id", id)
+                .append("archivedAt", now)
+                .append(ARCHIVED_BY, token)
+                .append("answerCount", answers.size())
+                .append("contributions", contributions(answers))
+                .append("payload", new Binary(ArchiveCodec.encode(new Document("question", question)
+                        .append("answers", answers))));
+        archivedQuestions().replaceOne(Filters.eq("_id", id), archived, UPSERT);
+
+        if (questions().deleteOne(Filters.and(unchanged, Filters.eq(ARCHIVING_BY, token))).getDeletedCount() == 0) {
+            answers().updateMany(ours, Updates.unset(ARCHIVING_BY));
+            // Whoever made the delete fail (a write, a user delete, another archiver after our lease ran out)
+            // leaves the hot copy authoritative; a copy written by another archiver is not ours to remove
+            archivedQuestions().deleteOne(Filters.and(Filters.eq("_id", id), Filters.eq(ARCHIVED_BY, token)));
+            questions().updateOne(Filters.and(Filters.eq("_id", rawId), Filters.eq(ARCHIVING_BY, token)),
+                    Updates.combine(Updates.unset(ARCHIVING_BY), Updates.unset(ARCHIVING_UNTIL)));
+            return false;
+        }
+        answers().deleteMany(ours);
+        tagService.onTagsChanged(TagService.QUESTIONS, question.getList("tags", String.class, List.of()), List.of());
+        count(moved, "question");
+        return true;
+    }
+
+    // Archives a top-level comment and its replies, unless any of them is newer than the cutoff. Same scheme as
+    // questions: claim the root, mark the thread with the claim token, copy it, then delete each comment only if it
+    // still carries the token. Edits and likes replace the comment document and drop the mark. When a delete fails,
+    // or a reply appeared in the meantime, the deleted comments are put back and this archiver's copy is removed.
+    int archiveThread(Document root, Date cutoff) {
+        Object rawId = root.get("_id");
+        String rootId = rawId.toString();
+        String path = root.getString("path");
+        Bson inThread = path != null ? Filters.regex("path", "^" + Pattern.quote(path)) : Filters.eq("_id", rawId);
+        String token = new ObjectId().toHexString();
+        Date now = new Date();
+        if (comments().findOneAndUpdate(Filters.and(Filters.eq("_id", rawId),
+                        Filters.or(Filters.exists(ARCHIVING_BY, false), Filters.lt(ARCHIVING_UNTIL, now))),
+                Updates.combine(Updates.set(ARCHIVING_BY, token),
+                        Updates.set(ARCHIVING_UNTIL, new Date(now.getTime() + CLAIM_LEASE.toMillis())))) == null) {
+            return 0;
+        }
+        Bson ours = Filters.and(inThread, Filters.eq(ARCHIVING_BY, token));
+        comments().updateMany(inThread, Updates.set(ARCHIVING_BY, token));
+        List<Document> thread = comments().find(inThread).into(new ArrayList<>());
+        for (Document comment : thread) {
+            comment.remove(ARCHIVING_BY);
+            comment.remove(ARCHIVING_UNTIL);
+            Date createdAt = comment.getDate("createdAt");
+            if (createdAt != null && !createdAt.before(cutoff)) {
+                releaseThread(ours);
+                return 0;
+            }
+        }
+
+        List<Object> ids = thread.stream().map(comment -> comment.get("_id")).toList();
+        Document segment = new Document("_id", rootId)
+                .append("learningPlanId", root.getString("learningPlanId"))
+                .append("archivedAt", now)
+                .append(ARCHIVED_BY, token)
+                .append("count", thread.size())
+                .append("commentIds", ids.stream().map(Object::toString).toList())
+                .append("payload", new Binary(ArchiveCodec.encode(new Document("comments", thread))));
+        archivedComments().replaceOne(Filters.eq("_id", rootId), segment, UPSERT);
+
+        // The root goes last, so a thread that is rolled back never lacks it
+        List<Document> deleted = new ArrayList<>();
+        List<Document> rootLast = new ArrayList<>(thread);
+        rootLast.sort(Comparator.comparing(comment -> rawId.equals(comment.get("_id"))));
+        for (Document comment : rootLast) {
+            if (comments().deleteOne(Filters.and(Filters.eq("_id", comment.get("_id")), Filters.eq(ARCHIVING_BY, token)))
+                    .getDeletedCount() == 0) {
+                break;
+            }
+            deleted.add(comment);
+        }
+        if (deleted.size() < thread.size() || comments().countDocuments(inThread) > 0) {
+            // Put back only what this archiver deleted; a hot copy written since wins over ours
+            if (!deleted.isEmpty()) {
+                comments().bulkWrite(deleted.stream()
+                        .map(comment -> new UpdateOneModel<Document>(Filters.eq("_id", comment.get("_id")),
+                                Updates.setOnInsert(withoutId(comment)), UPSERT_UPDATE))
+                        .toList());
+            }
+            archivedComments().deleteOne(Filters.and(Filters.eq("_id", rootId), Filters.eq(ARCHIVED_BY, token)));
+            releaseThread(ours);
+            return 0;
+        }
+        count(moved, "comment");
+        return thread.size();
+    }
+
+    private void releaseThread(Bson ours) {
+        comments().updateMany(ours, Updates.combine(Updates.unset(ARCHIVING_BY), Updates.unset(ARCHIVING_UNTIL)));
+    }
+
+    // Never overwrites hot documents: an archival that was still in progress may have left them in place, and
+    // they can only be newer than the archived copy
+    public boolean restoreQuestion(String id) {
+        Document archived = archivedQuestions().find(Filters.eq("_id", id)).first();
+        if (archived == null) {
+            return false;
+        }
+        Document payload = decode(archived);
+        Document question = payload.get("question", Document.class);
+        Object rawId = question.remove("_id");
+        question.remove("lastActivityAt");
+        // Restored questions count as active, otherwise the next run would archive them again
+        questions().updateOne(Filters.eq("_id", rawId), Updates.combine(Updates.setOnInsert(question),
+                Updates.max("lastActivityAt", new Date())), UPSERT_UPDATE);
+        // Answers an interrupted archival marked but did not delete stay hot
+        answers().updateMany(Filters.eq("questionId", id), Updates.unset(ARCHIVING_BY));
+        List<Document> answers = payload.getList("answers", Document.class);
+        if (!answers.isEmpty()) {
+            answers().bulkWrite(answers.stream()
+                    .map(answer -> new UpdateOneModel<Document>(Filters.eq("_id", answer.remove("_id")),
+                            Updates.setOnInsert(answer), UPSERT_UPDATE))
+                    .toList());
+        }
+        archivedQuestions().deleteOne(Filters.eq("_id", id));
+        tagService.onTagsChanged(TagService.QUESTIONS, List.of(), question.getList("tags", String.class, List.of()));
+        count(restored, "question");
+        return true;
+    }
+
+    // Restores the whole archived thread that contains the given comment. Like questions, hot comments are never
+    // overwritten: one written while the thread was being archived is newer than the archived copy.
+    public boolean restoreCommentThread(String commentId) {
+        Document segment = archivedComments().find(Filters.eq("commentIds", commentId)).first();
+        if (segment == null) {
+            return false;
+        }
+        List<Document> comments = decode(segment).getList("comments", Document.class);
+        comments().bulkWrite(comments.stream()
+                .map(comment -> new UpdateOneModel<Document>(Filters.eq("_id", comment.get("_id")),
+                        Updates.setOnInsert(withoutId(comment)), UPSERT_UPDATE))
+                .toList());
+        archivedComments().deleteOne(Filters.eq("_id", segment.get("_id")));
+        count(restored, "comment");
+        return true;
+    }
+
+    // Titles of the given questions that are in the archive, keyed by id
+    public Map<String, String> archivedTitles(Collection<String> ids) {
+        Map<String, String> titles = new HashMap<>();
+        for (Document archived : archivedQuestions().find(Filters.in("_id", ids))) {
+            titles.put(archived.getString("_id"), decode(archived).get("question", Document.class).getString("title"));
+        }
+        return titles;
+    }
+
+    private Document archivedPayload(String questionId) {
+        Document archived = archivedQuestions().find(Filters.eq("_id", questionId)).first();
+        return archived != null ? decode(archived) : null;
+    }
+
+    private static Document decode(Document archived) {
+        return ArchiveCodec.decode(archived.get("payload", Binary.class).getData());
+    }
+
+    // A question's answer scores are kept as contributions on the archive document; reputation adds them back,
+    // so moving answers between the tiers does not change anyone's score.
+    private static List<Document> contributions(List<Document> answers) {
+        Map<String, Long> scores = new LinkedHashMap<>();
+        for (Document answer : answers) {
+            String userId = answer.getString("userId");
+            if (userId != null) {
+                long score = answer.getInteger("upvotes", 0) - answer.getInteger("downvotes", 0)
+                        + (answer.getBoolean("isBestAnswer", false) ? ReputationService.BEST_ANSWER_BONUS : 0);
+                scores.merge(userId, score, Long::sum);
+            }
+        }
+        return scores.entrySet().stream()
+                .map(entry -> new Document("userId", entry.getKey()).append("score", entry.getValue()))
+                .toList();
+    }
+
+    private static Document withoutId(Document document) {
+        Document copy = new Document(document);
+        copy.remove("_id");
+        return copy;
+    }
+
+    private static void count(Map<String, Counter> counters, String key) {
+        counters.get(key).increment();
+    }
+
+    private MongoCollection<Document> questions() {
+        return mongoTemplate.getCollection("questions");
+    }
+
+    private MongoCollection<Document> comments() {
+        return mongoTemplate.getCollection("comments");
+    }
+
+    private MongoCollection<Document> answers() {
+        return mongoTemplate.getCollection("answers");
+    }
+
+    private MongoCollection<Document> archivedQuestions() {
+        return mongoTemplate.getCollection(QUESTIONS_ARCHIVE);
+    }
+
+    private MongoCollection<Document> archivedComments() {
+        return mongoTemplate.getCollection(COMMENT_ARCHIVE);
+    }
+}
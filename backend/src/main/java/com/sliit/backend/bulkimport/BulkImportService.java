@@ -0,0 +1,455 @@
+package com.sliit.backend.bulkimport;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.InsertManyOptions;
+import com.mongodb.client.model.Projections;
+import com.sliit.backend.compression.TextFieldCompressor;
+import com.sliit.backend.model.Answer;
+import com.sliit.backend.model.ImportCheckpoint;
+import com.sliit.backend.model.LearningPlan;
+import com.sliit.backend.model.PlanStatus;
+import com.sliit.backend.model.Question;
+import com.sliit.backend.model.User;
+import com.sliit.backend.repository.UserRepository;
+import com.sliit.backend.service.PlanAnalyticsService;
+import com.sliit.backend.service.TagService;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+// Bulk import of questions, answers and learning plans from NDJSON, one record per line:
+//   {"type":"question","ref":"q-17","username":"alice","title":"...","description":"...","tags":["java"]}
+//   {"type":"answer","questionRef":"q-17","username":"bob","content":"...","upvotes":3}
+//   {"type":"plan","username":"alice","title":"...","modules":["..."],"deadline":"2025-09-01"}
+// Lines are read and parsed one at a time, so memory does not grow with the upload. Records are buffered per
+// collection and written with unordered insertMany, tag counts are incremented, and then the job's checkpoint
+// records how many lines are done. Ids take their timestamp from the record's createdAt (the job's start when it
+// has none), so imported records sort among the existing ones by creation time, and the rest from the job id and
+// the record's ref (or line). A resumed run therefore writes the same ids, and records replayed after a crash
+// are reported as skipped duplicates instead of being imported twice; the tags of replayed records are recounted
+// at the end, since the crash may have come before or after their counts were written.
+// Answers may point at a question of the same job (questionRef) or at an existing one (questionId).
+@Service
+public class BulkImportService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BulkImportService.class);
+    private static final int USERNAME_CACHE_SIZE = 10_000;
+    private static final int QUESTION_REF_CACHE_SIZE = 100_000;
+    // Set on imported questions that have a ref, so answers of a later or resumed run can still find them
+    static final String IMPORT_KEY = "importKey";
+    private static final int DUPLICATE_KEY = 11000;
+
+    private final MongoTemplate mongoTemplate;
+    private final UserRepository userRepo;
+    private final ObjectMapper objectMapper;
+    private final TagService tagService;
+    private final PlanAnalyticsService analyticsService;
+    private final TextFieldCompressor compressor;
+    private final int batchSize;
+    private final int maxErrors;
+
+    public BulkImportService(MongoTemplate mongoTemplate, UserRepository userRepo, ObjectMapper objectMapper,
+                             TagService tagService, PlanAnalyticsService analyticsService,
+                             TextFieldCompressor compressor,
+                             @Value("${import.batch-size:1000}") int batchSize,
+                             @Value("${import.max-errors:1000}") int maxErrors) {
+        this.mongoTemplate = mongoTemplate;
+        this.userRepo = userRepo;
+        this.objectMapper = objectMapper;
+        this.tagService = tagService;
+        this.analyticsService = analyticsService;
+        this.compressor = compressor;
+        this.batchSize = batchSize;
+        this.maxErrors = maxErrors;
+    }
+
+    // Imports the stream under the given job id, continuing after the job's last checkpoint if there is one
+    public ImportReport importStream(String jobId, InputStream input) throws IOException {
+        long start = System.currentTimeMillis();
+        ImportCheckpoint checkpoint = mongoTemplate.findById(jobId, ImportCheckpoint.class);
+        if (checkpoint == null) {
+            checkpoint = new ImportCheckpoint();
+            checkpoint.setId(jobId);
+            checkpoint.setIdSeconds((int) (start / 1000));
+            checkpoint.setStartedAt(LocalDateTime.now());
+        }
+        Run run = new Run(checkpoint);
+        long resumedFrom = checkpoint.getRecordsDone();
+        mongoTemplate.indexOps("questions").ensureIndex(new Index(IMPORT_KEY, Sort.Direction.ASC).sparse());
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), 1 << 16);
+        long line = 0;
+        String text;
+        while ((text = reader.readLine()) != null) {
+            line++;
+            if (line <= resumedFrom || text.isBlank()) {
+                continue;
+            }
+            run.records++;
+            try {
+                run.add(convert(run, line, text));
+            } catch (ImportException e) {
+                run.error(line, e.type, e.getMessage());
+            }
+            if (run.buffered >= batchSize) {
+                flush(run, line);
+            }
+        }
+        flush(run, line);
+        run.replayedTags.forEach((scope, tags) ->
+                tagService.recount(scope, TagService.QUESTIONS.equals(scope) ? Question.class : LearningPlan.class, tags));
+        checkpoint.setCompleted(true);
+        mongoTemplate.save(checkpoint);
+        if (run.plansInserted > 0) {
+            analyticsService.rebuild();
+        }
+
+        long elapsed = Math.max(1, System.currentTimeMillis() - start);
+        double perSecond = run.inserted * 1000.0 / elapsed;
+        LOGGER.info("Import {}: {} records, {} inserted, {} skipped, {} failed in {} ms ({} docs/s)", jobId,
+                run.records, run.inserted, run.skipped, run.failed, elapsed, Math.round(perSecond));
+        return new ImportReport(jobId, run.records, resumedFrom, run.inserted, run.skipped, run.failed, elapsed,
+                perSecond, run.errors, run.errorsTruncated);
+    }
+
+    public Optional<ImportCheckpoint> checkpoint(String jobId) {
+        return Optional.ofNullable(mongoTemplate.findById(jobId, ImportCheckpoint.class));
+    }
+
+    private Pending convert(Run run, long line, String text) {
+        JsonNode node;
+        try (JsonParser parser = objectMapper.getFactory().createParser(text)) {
+            node = objectMapper.readTree(parser);
+        } catch (IOException e) {
+            throw new ImportException(null, "Malformed JSON: " + firstLine(e));
+        }
+        if (node == null || !node.isObject()) {
+            throw new ImportException(null, "Expected a JSON object");
+        }
+        String type = text(node, "type");
+        if (type == null) {
+            throw new ImportException(null, "Missing type");
+        }
+        String userId = run.userId(text(node, "username"), type);
+        String ref = text(node, "ref");
+        String key = ref != null ? type + ":" + ref : "line:" + line;
+        ObjectId id = run.idFor(key, idSeconds(node, type, run.checkpoint.getIdSeconds()));
+        try {
+            return switch (type) {
+                case "question" -> question(run, line, id, ref != null ? key : null,
+                        objectMapper.treeToValue(node, Question.class), userId);
+                case "answer" -> answer(run, line, id, userId, node, objectMapper.treeToValue(node, Answer.class));
+                case "plan" -> plan(line, id, userId, objectMapper.treeToValue(node, LearningPlan.class));
+                default -> throw new ImportException(type, "Unknown type");
+            };
+        } catch (JsonProcessingException e) {
+            throw new ImportException(type, "Invalid " + type + ": " + firstLine(e));
+        }
+    }
+
+    private Pending question(Run run, long line, ObjectId id, String key, Question question, String userId) {
+        if (isBlank(question.getTitle())) {
+            throw new ImportException("question", "Missing title");
+        }
+        question.setId(null);
+        question.setUserId(userId);
+        question.setUsername(null);
+        question.setPossibleDuplicates(null);
+        question.setTags(TagService.normalize(question.getTags()));
+        if (question.getLastActivityAt() == null) {
+            question.setLastActivityAt(LocalDateTime.now());
+        }
+        Document document = toDocument("questions", id, question);
+        if (key != null) {
+            document.put(IMPORT_KEY, run.importKey(key));
+            run.questionIds.put(key, id);
+        }
+        return new Pending(line, "question", "questions", document, question.getTags());
+    }
+
+    private Pending answer(Run run, long line, ObjectId id, String userId, JsonNode node, Answer answer) {
+        if (isBlank(answer.getContent())) {
+            throw new ImportException("answer", "Missing content");
+        }
+        String questionRef = text(node, "questionRef");
+        String questionId = questionRef != null ? run.questionId(questionRef) : answer.getQuestionId();
+        if (questionId == null || !ObjectId.isValid(questionId)) {
+            throw new ImportException("answer", "Missing or invalid questionRef/questionId");
+        }
+        answer.setId(null);
+        answer.setUserId(userId);
+        answer.setUsername(null);
+        answer.setQuestionId(questionId);
+        return new Pending(line, "answer", "answers", toDocument("answers", id, answer), List.of());
+    }
+
+    private Pending plan(long line, ObjectId id, String userId, LearningPlan plan) {
+        if (isBlank(plan.getTitle())) {
+            throw new ImportException("plan", "Missing title");
+        }
+        plan.setId(null);
+        plan.setUserId(userId);
+        plan.setUsername(null);
+        plan.setReminderSentAt(null);
+        plan.setTags(TagService.normalize(plan.getTags()));
+        if (plan.getStatus() == null) {
+            plan.setStatus(plan.isCompleted() ? PlanStatus.COMPLETED : PlanStatus.NOT_STARTED);
+        }
+        if (plan.getCreatedAt() == null) {
+            plan.setCreatedAt(LocalDateTime.now());
+        }
+        if (plan.isCompleted() && plan.getCompletedAt() == null) {
+            plan.setCompletedAt(plan.getCreatedAt());
+        }
+        return new Pending(line, "plan", "learningPlans", toDocument("learningPlans", id, plan), plan.getTags());
+    }
+
+    // Same mapping as a template save; the driver insert bypasses save callbacks, so compression is applied here
+    private Document toDocument(String collection, ObjectId id, Object entity) {
+        Document document = new Document();
+        mongoTemplate.getConverter().write(entity, document);
+        document.put("_id", id);
+        compressor.compressFields(collection, document);
+        return document;
+    }
+
+    // Writes every buffer, then moves the checkpoint past the given line
+    private void flush(Run run, long line) {
+        Map<String, Long> questionTags = new HashMap<>();
+        Map<String, Long> planTags = new HashMap<>();
+        for (Map.Entry<String, List<Pending>> buffer : run.buffers.entrySet()) {
+            List<Pending> batch = buffer.getValue();
+            if (batch.isEmpty()) {
+                continue;
+            }
+            Map<Integer, Integer> notInserted = insert(run, buffer.getKey(), batch);
+            for (int i = 0; i < batch.size(); i++) {
+                Pending pending = batch.get(i);
+                String scope = "question".equals(pending.type()) ? TagService.QUESTIONS : TagService.PLANS;
+                Integer errorCode = notInserted.get(i);
+                if (errorCode != null) {
+                    if (errorCode == DUPLICATE_KEY && !pending.tags().isEmpty()) {
+                        run.replayedTags.computeIfAbsent(scope, k -> new HashSet<>()).addAll(pending.tags());
+                    }
+                    continue;
+                }
+                Map<String, Long> tags = "question".equals(pending.type()) ? questionTags : planTags;
+                pending.tags().forEach(tag -> tags.merge(tag, 1L, Long::sum));
+                if ("plan".equals(pending.type())) {
+                    run.plansInserted++;
+                }
+            }
+            batch.clear();
+        }
+        run.buffered = 0;
+        tagService.onTagsAdded(TagService.QUESTIONS, questionTags);
+        tagService.onTagsAdded(TagService.PLANS, planTags);
+
+        ImportCheckpoint checkpoint = run.checkpoint;
+        checkpoint.setRecordsDone(line);
+        checkpoint.setInserted(checkpoint.getInserted() + run.inserted - run.checkpointedInserted);
+        checkpoint.setSkipped(checkpoint.getSkipped() + run.skipped - run.checkpointedSkipped);
+        checkpoint.setFailed(checkpoint.getFailed() + run.failed - run.checkpointedFailed);
+        checkpoint.setUpdatedAt(LocalDateTime.now());
+        mongoTemplate.save(checkpoint);
+        run.checkpointedInserted = run.inserted;
+        run.checkpointedSkipped = run.skipped;
+        run.checkpointedFailed = run.failed;
+    }
+
+    // Returns the error code of every batch position that was not inserted; one bad document never holds back the others
+    private Map<Integer, Integer> insert(Run run, String collection, List<Pending> batch) {
+        List<Document> documents = batch.stream().map(Pending::document).toList();
+        Map<Integer, Integer> notInserted = new HashMap<>();
+        try {
+            mongoTemplate.getCollection(collection).insertMany(documents, new InsertManyOptions().ordered(false));
+        } catch (MongoBulkWriteException e) {
+            for (BulkWriteError error : e.getWriteErrors()) {
+                Pending pending = batch.get(error.getIndex());
+                notInserted.put(error.getIndex(), error.getCode());
+                if (error.getCode() == DUPLICATE_KEY) {
+                    run.skipped++;
+                } else {
+                    run.error(pending.line(), pending.type(), error.getMessage());
+                }
+            }
+        }
+        run.inserted += batch.size() - notInserted.size();
+        return notInserted;
+    }
+
+    // Seconds for the timestamp part of the record's id: its createdAt, read in the server's zone like any
+    // LocalDateTime the application stores, or the job's fixed timestamp when the record has none
+    private static int idSeconds(JsonNode node, String type, int fallback) {
+        String createdAt = text(node, "createdAt");
+        if (createdAt == null) {
+            return fallback;
+        }
+        try {
+            Instant instant;
+            if (createdAt.length() <= 10) {
+                instant = LocalDate.parse(createdAt).atStartOfDay(ZoneId.systemDefault()).toInstant();
+            } else if (createdAt.endsWith("Z") || createdAt.matches(".*[+-]\\d{2}:\\d{2}$")) {
+                instant = OffsetDateTime.parse(createdAt).toInstant();
+            } else {
+                instant = LocalDateTime.parse(createdAt).atZone(ZoneId.systemDefault()).toInstant();
+            }
+            return (int) instant.getEpochSecond();
+        } catch (DateTimeParseException e) {
+            throw new ImportException(type, "Invalid createdAt: " + createdAt);
+        }
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value != null && value.isTextual() && !value.asText().isBlank() ? value.asText().trim() : null;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private static String firstLine(Exception e) {
+        String message = String.valueOf(e.getMessage());
+        int newline = message.indexOf('\n');
+        return newline >= 0 ? message.substring(0, newline) : message;
+    }
+
+    private record Pending(long line, String type, String collection, Document document, List<String> tags) {}
+
+    private static final class ImportException extends RuntimeException {
+        final String type;
+
+        ImportException(String type, String message) {
+            super(message);
+            this.type = type;
+        }
+    }
+
+    // State of one run: buffers, counters, the error report and the username cache
+    private final class Run {
+        final ImportCheckpoint checkpoint;
+        final Map<String, List<Pending>> buffers = new LinkedHashMap<>();
+        final List<ImportReport.RecordError> errors = new ArrayList<>();
+        final MessageDigest digest;
+        final Map<String, Optional<String>> userIds = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Optional<String>> eldest) {
+                return size() > USERNAME_CACHE_SIZE;
+            }
+        };
+        final Map<String, ObjectId> questionIds = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ObjectId> eldest) {
+                return size() > QUESTION_REF_CACHE_SIZE;
+            }
+        };
+        final Map<String, Set<String>> replayedTags = new HashMap<>();
+        long records;
+        long inserted;
+        long skipped;
+        long failed;
+        long plansInserted;
+        long checkpointedInserted;
+        long checkpointedSkipped;
+        long checkpointedFailed;
+        int buffered;
+        boolean errorsTruncated;
+
+        Run(ImportCheckpoint checkpoint) {
+            this.checkpoint = checkpoint;
+            // Questions first, so answers in the same flush never reference a question that is not written yet
+            buffers.put("questions", new ArrayList<>());
+            buffers.put("answers", new ArrayList<>());
+            buffers.put("learningPlans", new ArrayList<>());
+            try {
+                this.digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        void add(Pending pending) {
+            buffers.get(pending.collection()).add(pending);
+            buffered++;
+        }
+
+        void error(long line, String type, String message) {
+            failed++;
+            if (errors.size() < maxErrors) {
+                errors.add(new ImportReport.RecordError(line, type, message));
+            } else {
+                errorsTruncated = true;
+            }
+        }
+
+        String userId(String username, String type) {
+            if (username == null) {
+                throw new ImportException(type, "Missing username");
+            }
+            return userIds.computeIfAbsent(username, name -> userRepo.findByUsername(name).map(User::getId))
+                    .orElseThrow(() -> new ImportException(type, "Unknown user " + username));
+        }
+
+        // The record's timestamp followed by 8 bytes of SHA-256(jobId, key)
+        ObjectId idFor(String key, int seconds) {
+            byte[] hash = digest.digest((checkpoint.getId() + "\u0000" + key).getBytes(StandardCharsets.UTF_8));
+            return new ObjectId(ByteBuffer.allocate(12).putInt(seconds).put(hash, 0, 8).array());
+        }
+
+        String importKey(String key) {
+            return checkpoint.getId() + ":" + key;
+        }
+
+        // The id depends on the question's createdAt, so it is remembered, or looked up for questions of an earlier run
+        String questionId(String questionRef) {
+            String key = "question:" + questionRef;
+            ObjectId id = questionIds.get(key);
+            if (id == null) {
+                Document found = mongoTemplate.getCollection("questions")
+                        .find(Filters.eq(IMPORT_KEY, importKey(key))).projection(Projections.include("_id")).first();
+                if (found == null) {
+                    throw new ImportException("answer", "Unknown questionRef " + questionRef);
+                }
+                id = found.getObjectId("_id");
+                questionIds.put(key, id);
+            }
+            return id.toHexString();
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.sliit.backend.bulkimport;
+
+import java.util.List;
+
+// Outcome of one import run. Counts cover this run only; resumedFrom is the last line an earlier run of the same
+// job had checkpointed, and the lines up to it were not read again.
+public record ImportReport(String jobId, long records, long resumedFrom, long inserted, long skipped, long failed,
+                           long elapsedMillis, double documentsPerSecond, List<RecordError> errors,
+                           boolean errorsTruncated) {
+
+    public record RecordError(long line, String type, String message) {}
+}
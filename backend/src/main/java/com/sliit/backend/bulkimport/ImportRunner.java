@@ -0,0 +1,68 @@
+package com.sliit.backend.bulkimport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+
+// Command-line import: java -jar backend.jar --import.file=export.ndjson[.gz] [--import.job-id=...]
+// The job id defaults to the file name, so running the same command again resumes an interrupted import.
+// Exits when done (status 2 if any record failed) unless import.exit=false.
+@Component
+@Order(1)
+@ConditionalOnProperty(name = "import.file")
+public class ImportRunner implements ApplicationRunner {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ImportRunner.class);
+
+    private final BulkImportService importService;
+    private final ConfigurableApplicationContext context;
+    private final Path file;
+    private final String jobId;
+    private final boolean exit;
+
+    public ImportRunner(BulkImportService importService, ConfigurableApplicationContext context,
+                        @Value("${import.file}") String file,
+                        @Value("${import.job-id:}") String jobId,
+                        @Value("${import.exit:true}") boolean exit) {
+        this.importService = importService;
+        this.context = context;
+        this.file = Path.of(file);
+        this.jobId = jobId.isBlank() ? this.file.getFileName().toString() : jobId;
+        this.exit = exit;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        ImportReport report;
+        try (InputStream input = open(file)) {
+            report = importService.importStream(jobId, input);
+        }
+        report.errors().forEach(error -> LOGGER.warn("Line {} ({}): {}", error.line(), error.type(), error.message()));
+        if (report.errorsTruncated()) {
+            LOGGER.warn("Only the first {} errors were reported", report.errors().size());
+        }
+        LOGGER.info("Imported {} documents from {} at {} docs/s", report.inserted(), file,
+                Math.round(report.documentsPerSecond()));
+        if (exit) {
+            System.exit(SpringApplication.exit(context, () -> report.failed() > 0 ? 2 : 0));
+        }
+    }
+
+    private static InputStream open(Path file) throws IOException {
+        InputStream input = Files.newInputStream(file);
+        return file.getFileName().toString().endsWith(".gz") ? new GZIPInputStream(input, 1 << 16) : input;
+    }
+}
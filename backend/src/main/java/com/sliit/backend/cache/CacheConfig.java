@@ -0,0 +1,16 @@
+package com.sliit.backend.cache;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class CacheConfig {
+
+    // A real shared cache (e.g. Redis) can be plugged in by providing another SharedCache bean
+    @Bean
+    @ConditionalOnProperty(name = "cache.l2.type", havingValue = "memory")
+    public SharedCache inMemorySharedCache() {
+        return new InMemorySharedCache();
+    }
+}
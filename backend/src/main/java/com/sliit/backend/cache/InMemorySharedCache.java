@@ -0,0 +1,56 @@
+package com.sliit.backend.cache;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+// Local stand-in for a shared L2 cache, used for tests and single-node setups
+public class InMemorySharedCache implements SharedCache {
+
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Clock clock;
+
+    public InMemorySharedCache() {
+        this(Clock.systemUTC());
+    }
+
+    public InMemorySharedCache(Clock clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public Optional<Object> get(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        if (entry.expiresAt <= clock.millis()) {
+            entries.remove(key, entry);
+            return Optional.empty();
+        }
+        return Optional.of(entry.value);
+    }
+
+    @Override
+    public void put(String key, Object value, Duration ttl) {
+        entries.put(key, new Entry(value, clock.millis() + ttl.toMillis()));
+    }
+
+    @Override
+    public void evict(String key) {
+        entries.remove(key);
+    }
+
+    @Override
+    public void evictByPrefix(String prefix) {
+        entries.keySet().removeIf(key -> key.startsWith(prefix));
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private record Entry(Object value, long expiresAt) {}
+}
@@ -0,0 +1,59 @@
+package com.sliit.backend.cache;
+
+import com.sliit.backend.model.LearningPlan;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Supplier;
+
+// Read-through cache for learning plan lists and single plans.
+// Cached values already carry the resolved username and must be treated as read-only.
+@Component
+public class LearningPlanCache {
+
+    private static final String ALL_KEY = "plans:all";
+    private static final String USER_PREFIX = "plans:user:";
+    private static final String PLAN_PREFIX = "plan:";
+
+    private final TwoLevelCache cache;
+
+    public LearningPlanCache(
+            ObjectProvider<SharedCache> sharedCache,
+            @Value("${cache.plans.max-size:1000}") int maxSize,
+            @Value("${cache.plans.ttl-seconds:60}") long ttlSeconds) {
+        this.cache = new TwoLevelCache(maxSize, Duration.ofSeconds(ttlSeconds), sharedCache.getIfAvailable());
+    }
+
+    public List<LearningPlan> getAll(Supplier<List<LearningPlan>> loader) {
+        return cache.get(ALL_KEY, () -> List.copyOf(loader.get()));
+    }
+
+    public List<LearningPlan> getByUser(String userId, Supplier<List<LearningPlan>> loader) {
+        return cache.get(USER_PREFIX + userId, () -> List.copyOf(loader.get()));
+    }
+
+    public LearningPlan getPlan(String planId, Supplier<LearningPlan> loader) {
+        return cache.get(PLAN_PREFIX + planId, loader);
+    }
+
+    // A plan changed: drop the plan itself plus every list it can appear in
+    public void invalidatePlan(String planId, String userId) {
+        cache.evict(PLAN_PREFIX + planId);
+        cache.evict(USER_PREFIX + userId);
+        cache.evict(ALL_KEY);
+    }
+
+    // Used when the owning user is unknown (e.g. a delete seen from another node)
+    public void invalidatePlan(String planId) {
+        cache.evict(PLAN_PREFIX + planId);
+        cache.evictByPrefix(USER_PREFIX);
+        cache.evict(ALL_KEY);
+    }
+
+    public void invalidateAll() {
+        cache.clear();
+    }
+}
@@ -0,0 +1,45 @@
+package com.sliit.backend.cache;
+
+import com.sliit.backend.changestream.ChangeEvent;
+import com.sliit.backend.changestream.ChangeEventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+// Keeps the plan cache coherent with writes made by other nodes or directly in the database
+@Component
+public class LearningPlanCacheInvalidator implements ChangeEventListener {
+
+    private final LearningPlanCache planCache;
+
+    public LearningPlanCacheInvalidator(LearningPlanCache planCache) {
+        this.planCache = planCache;
+    }
+
+    @Override
+    public Set<String> collections() {
+        return Set.of("learningPlans", "users");
+    }
+
+    @Override
+    public void onChange(ChangeEvent event) {
+        if (event.collection().equals("users")) {
+            // Cached plans embed usernames; only a profile update can change one
+            if (event.operation() != ChangeEvent.Operation.INSERT) {
+                planCache.invalidateAll();
+            }
+            return;
+        }
+        String userId = event.fullDocumentString("userId");
+        if (userId != null) {
+            planCache.invalidatePlan(event.documentId(), userId);
+        } else {
+            planCache.invalidatePlan(event.documentId());
+        }
+    }
+
+    @Override
+    public void onReset() {
+        planCache.invalidateAll();
+    }
+}
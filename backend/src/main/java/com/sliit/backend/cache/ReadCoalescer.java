@@ -0,0 +1,56 @@
+package com.sliit.backend.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+// Named single-flight groups for hot read endpoints, each exported as reads.coalesced.* meters
+@Component
+public class ReadCoalescer {
+
+    private final MeterRegistry registry;
+    private final Duration timeout;
+    private final ConcurrentHashMap<String, SingleFlight<String>> groups = new ConcurrentHashMap<>();
+
+    public ReadCoalescer(MeterRegistry registry, @Value("${coalescing.timeout-ms:5000}") long timeoutMillis) {
+        this.registry = registry;
+        this.timeout = Duration.ofMillis(timeoutMillis);
+    }
+
+    public <V> V load(String group, String key, Supplier<V> loader) {
+        return groups.computeIfAbsent(group, this::register).execute(key, loader);
+    }
+
+    public <V> V load(String group, String key, Duration timeout, Supplier<V> loader) {
+        return groups.computeIfAbsent(group, this::register).execute(key, timeout, loader);
+    }
+
+    private SingleFlight<String> register(String group) {
+        SingleFlight<String> flight = new SingleFlight<>(timeout);
+        FunctionCounter.builder("reads.coalesced.calls", flight, SingleFlight::leaderCount)
+                .description("Reads that queried the database")
+                .tags("group", group, "role", "leader")
+                .register(registry);
+        FunctionCounter.builder("reads.coalesced.calls", flight, SingleFlight::followerCount)
+                .description("Reads served by a concurrent identical query")
+                .tags("group", group, "role", "follower")
+                .register(registry);
+        FunctionCounter.builder("reads.coalesced.timeouts", flight, SingleFlight::timeoutCount)
+                .tag("group", group)
+                .register(registry);
+        Gauge.builder("reads.coalesced.ratio", flight, SingleFlight::coalescingRatio)
+                .description("Share of reads that shared another request's query")
+                .tag("group", group)
+                .register(registry);
+        Gauge.builder("reads.coalesced.inflight", flight, SingleFlight::inFlightCount)
+                .tag("group", group)
+                .register(registry);
+        return flight;
+    }
+}
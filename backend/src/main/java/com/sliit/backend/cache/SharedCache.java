@@ -0,0 +1,17 @@
+package com.sliit.backend.cache;
+
+import java.time.Duration;
+import java.util.Optional;
+
+// Second-level cache shared between application instances (e.g. Redis).
+// Values are stored as-is, so implementations must be able to hold the cached model objects.
+public interface SharedCache {
+
+    Optional<Object> get(String key);
+
+    void put(String key, Object value, Duration ttl);
+
+    void evict(String key);
+
+    void evictByPrefix(String prefix);
+}
@@ -0,0 +1,96 @@
+package com.sliit.backend.cache;
+
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// Coalesces concurrent calls for the same key into one in-flight load.
+// The first caller (the leader) runs the loader on its own thread; callers arriving while it runs
+// wait for the same result, or the same exception, for at most the key's timeout.
+// Nothing is kept once the load finishes, so this only de-duplicates concurrent work and never serves stale data.
+// Waiters share one result instance, which must therefore be treated as read-only.
+public class SingleFlight<K> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Duration defaultTimeout;
+    private final LongAdder leaders = new LongAdder();
+    private final LongAdder followers = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+
+    public SingleFlight(Duration defaultTimeout) {
+        this.defaultTimeout = defaultTimeout;
+    }
+
+    public <V> V execute(K key, Supplier<V> loader) {
+        return execute(key, defaultTimeout, loader);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <V> V execute(K key, Duration timeout, Supplier<V> loader) {
+        CompletableFuture<Object> created = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, created);
+        if (existing == null) {
+            leaders.increment();
+            try {
+                V value = loader.get();
+                created.complete(value);
+                return value;
+            } catch (RuntimeException | Error e) {
+                created.completeExceptionally(e);
+                throw e;
+            } finally {
+                inFlight.remove(key, created);
+            }
+        }
+        followers.increment();
+        try {
+            return (V) existing.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            // Rethrow the leader's exception so every waiter sees the same failure
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new RuntimeException(e.getCause());
+        } catch (TimeoutException | CancellationException e) {
+            timeouts.increment();
+            throw new RuntimeException("Timed out waiting for in-flight load of " + key);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted waiting for in-flight load of " + key);
+        }
+    }
+
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    // Number of calls that ran the loader themselves
+    public long leaderCount() {
+        return leaders.sum();
+    }
+
+    // Number of calls that were served by another caller's load
+    public long followerCount() {
+        return followers.sum();
+    }
+
+    public long timeoutCount() {
+        return timeouts.sum();
+    }
+
+    // Share of calls that did not hit the database themselves
+    public double coalescingRatio() {
+        long followed = followers.sum();
+        long total = leaders.sum() + followed;
+        return total == 0 ? 0 : (double) followed / total;
+    }
+}
@@ -0,0 +1,162 @@
+package com.sliit.backend.cache;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+// Read-through cache with a bounded, TTL-evicted local L1 and an optional shared L2.
+// Lookups go L1 -> L2 -> loader; a value found in L2 is promoted into L1.
+// Every eviction takes a new generation. A lookup only stores what it found if no eviction covering its key
+// happened since it started, so a load that raced a write cannot put the pre-write value back.
+public class TwoLevelCache {
+
+    private final int maxSize;
+    private final long ttlMillis;
+    private final SharedCache sharedCache;
+    private final Clock clock;
+    private final LinkedHashMap<String, Entry> local;
+    // Generation of the latest eviction per key, bounded like the entries themselves
+    private final LinkedHashMap<String, Long> evictions;
+    private final Map<String, Long> prefixEvictions = new HashMap<>();
+    private long generation;
+    // Newest generation among the eviction records dropped from the map above; loads older than it never store
+    private long forgottenGeneration;
+
+    public TwoLevelCache(int maxSize, Duration ttl, SharedCache sharedCache) {
+        this(maxSize, ttl, sharedCache, Clock.systemUTC());
+    }
+
+    public TwoLevelCache(int maxSize, Duration ttl, SharedCache sharedCache, Clock clock) {
+        this.maxSize = maxSize;
+        this.ttlMillis = ttl.toMillis();
+        this.sharedCache = sharedCache;
+        this.clock = clock;
+        // Access-ordered so the eldest entry is the least recently used one
+        this.local = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > TwoLevelCache.this.maxSize;
+            }
+        };
+        this.evictions = new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                if (size() <= TwoLevelCache.this.maxSize) {
+                    return false;
+                }
+                forgottenGeneration = Math.max(forgottenGeneration, eldest.getValue());
+                return true;
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(String key, Supplier<T> loader) {
+        T cached = (T) getLocal(key);
+        if (cached != null) {
+            return cached;
+        }
+        long started;
+        synchronized (local) {
+            started = generation;
+        }
+        if (sharedCache != null) {
+            Optional<Object> shared = sharedCache.get(key);
+            if (shared.isPresent()) {
+                putLocal(key, shared.get(), started);
+                return (T) shared.get();
+            }
+        }
+        T loaded = loader.get();
+        if (loaded != null && putLocal(key, loaded, started) && sharedCache != null) {
+            sharedCache.put(key, loaded, Duration.ofMillis(ttlMillis));
+        }
+        return loaded;
+    }
+
+    public void evict(String key) {
+        synchronized (local) {
+            evictions.remove(key);
+            evictions.put(key, ++generation);
+            local.remove(key);
+        }
+        if (sharedCache != null) {
+            sharedCache.evict(key);
+        }
+    }
+
+    public void evictByPrefix(String prefix) {
+        synchronized (local) {
+            prefixEvictions.put(prefix, ++generation);
+            local.keySet().removeIf(key -> key.startsWith(prefix));
+        }
+        if (sharedCache != null) {
+            sharedCache.evictByPrefix(prefix);
+        }
+    }
+
+    public void clear() {
+        evictByPrefix("");
+    }
+
+    public int localSize() {
+        synchronized (local) {
+            purgeExpired();
+            return local.size();
+        }
+    }
+
+    private Object getLocal(String key) {
+        synchronized (local) {
+            Entry entry = local.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.expiresAt <= clock.millis()) {
+                local.remove(key);
+                return null;
+            }
+            return entry.value;
+        }
+    }
+
+    // Stores the value unless the key was evicted after the lookup that found it started
+    private boolean putLocal(String key, Object value, long started) {
+        synchronized (local) {
+            if (evictedSince(key, started)) {
+                return false;
+            }
+            local.put(key, new Entry(value, clock.millis() + ttlMillis));
+            return true;
+        }
+    }
+
+    private boolean evictedSince(String key, long started) {
+        if (forgottenGeneration > started || evictions.getOrDefault(key, 0L) > started) {
+            return true;
+        }
+        for (Map.Entry<String, Long> prefix : prefixEvictions.entrySet()) {
+            if (prefix.getValue() > started && key.startsWith(prefix.getKey())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void purgeExpired() {
+        long now = clock.millis();
+        Iterator<Entry> it = local.values().iterator();
+        while (it.hasNext()) {
+            if (it.next().expiresAt <= now) {
+                it.remove();
+            }
+        }
+    }
+
+    private record Entry(Object value, long expiresAt) {}
+}
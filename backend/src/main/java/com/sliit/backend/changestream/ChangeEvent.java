@@ -0,0 +1,31 @@
+package com.sliit.backend.changestream;
+
+import com.sliit.backend.compression.CompressedText;
+import org.bson.Document;
+import org.bson.types.Binary;
+
+// A write observed on one of the watched collections.
+// fullDocument is the post-image for inserts/updates when available and null for deletes.
+// fullDocumentBeforeChange is the pre-image, only filled for collections whose listeners ask for pre-images.
+public record ChangeEvent(String collection, String documentId, Operation operation, Document fullDocument,
+                          Document fullDocumentBeforeChange) {
+
+    public ChangeEvent(String collection, String documentId, Operation operation, Document fullDocument) {
+        this(collection, documentId, operation, fullDocument, null);
+    }
+
+    public enum Operation {
+        INSERT, UPDATE, REPLACE, DELETE
+    }
+
+    public String fullDocumentString(String field) {
+        if (fullDocument == null) {
+            return null;
+        }
+        Object value = fullDocument.get(field);
+        if (value instanceof Binary binary && binary.getType() == CompressedText.BINARY_SUBTYPE) {
+            return CompressedText.decompress(binary.getData());
+        }
+        return value != null ? value.toString() : null;
+    }
+}
@@ -0,0 +1,58 @@
+package com.sliit.backend.changestream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+@Component
+public class ChangeEventDispatcher {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ChangeEventDispatcher.class);
+
+    private final List<ChangeEventListener> listeners;
+
+    public ChangeEventDispatcher(List<ChangeEventListener> listeners) {
+        this.listeners = listeners;
+    }
+
+    public Set<String> watchedCollections() {
+        Set<String> collections = new TreeSet<>();
+        listeners.forEach(listener -> collections.addAll(listener.collections()));
+        return collections;
+    }
+
+    public Set<String> preImageCollections() {
+        Set<String> collections = new TreeSet<>();
+        listeners.stream().filter(ChangeEventListener::needsPreImages)
+                .forEach(listener -> collections.addAll(listener.collections()));
+        return collections;
+    }
+
+    public void dispatch(ChangeEvent event) {
+        for (ChangeEventListener listener : listeners) {
+            if (!listener.collections().contains(event.collection())) {
+                continue;
+            }
+            try {
+                listener.onChange(event);
+            } catch (RuntimeException e) {
+                LOGGER.warn("{} failed on {} {}: {}", listener.getClass().getSimpleName(),
+                        event.operation(), event.collection(), e.getMessage());
+            }
+        }
+    }
+
+    public void reset() {
+        for (ChangeEventListener listener : listeners) {
+            try {
+                listener.onReset();
+            } catch (RuntimeException e) {
+                LOGGER.warn("{} failed to reset: {}", listener.getClass().getSimpleName(), e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.sliit.backend.changestream;
+
+import java.util.Set;
+
+// Implemented by components that keep in-process state derived from Mongo collections
+public interface ChangeEventListener {
+
+    Set<String> collections();
+
+    void onChange(ChangeEvent event);
+
+    // Whether events for these collections should carry the document as it was before the change
+    default boolean needsPreImages() {
+        return false;
+    }
+
+    // Called when events may have been missed (e.g. the resume token expired); rebuild or drop derived state
+    default void onReset() {
+    }
+}
@@ -0,0 +1,189 @@
+package com.sliit.backend.changestream;
+
+import com.mongodb.MongoCommandException;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import com.mongodb.client.model.changestream.FullDocumentBeforeChange;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// Tails the watched collections with a single database-level change stream (requires a replica set).
+// The resume token is stored per node so a restart picks up the events it missed.
+// Collections whose listeners need pre-images get them enabled at start (MongoDB 6.0+); on older servers
+// those events simply arrive without one.
+@Component
+@ConditionalOnProperty(name = "changestream.mode", havingValue = "stream", matchIfMissing = true)
+public class MongoChangeStreamWatcher implements SmartLifecycle {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MongoChangeStreamWatcher.class);
+    private static final int CHANGE_STREAM_HISTORY_LOST = 286;
+    private static final int CHANGE_STREAM_FATAL_ERROR = 280;
+    private static final long MAX_BACKOFF_MILLIS = 30_000;
+
+    private final MongoTemplate mongoTemplate;
+    private final ChangeEventDispatcher dispatcher;
+    private final ResumeTokenStore tokenStore;
+    private final String streamId;
+    private final long tokenFlushMillis;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public MongoChangeStreamWatcher(MongoTemplate mongoTemplate,
+                                    ChangeEventDispatcher dispatcher,
+                                    ResumeTokenStore tokenStore,
+                                    @Value("${changestream.node-id:${HOSTNAME:local}}") String nodeId,
+                                    @Value("${changestream.token-flush-ms:1000}") long tokenFlushMillis) {
+        this.mongoTemplate = mongoTemplate;
+        this.dispatcher = dispatcher;
+        this.tokenStore = tokenStore;
+        this.streamId = "node:" + nodeId;
+        this.tokenFlushMillis = tokenFlushMillis;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        worker = new Thread(this::run, "change-stream");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+            try {
+                worker.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        Set<String> collections = dispatcher.watchedCollections();
+        if (collections.isEmpty()) {
+            return;
+        }
+        LOGGER.info("Watching {} for changes", collections);
+        dispatcher.preImageCollections().forEach(this::enablePreImages);
+        long backoff = 1_000;
+        while (running) {
+            try {
+                consume(collections);
+                backoff = 1_000;
+            } catch (MongoCommandException e) {
+                if (e.getErrorCode() == CHANGE_STREAM_HISTORY_LOST || e.getErrorCode() == CHANGE_STREAM_FATAL_ERROR) {
+                    // The oplog no longer covers our token: start fresh and let listeners resync
+                    LOGGER.warn("Change stream cannot resume ({}), resetting derived state", e.getErrorMessage());
+                    tokenStore.clear(streamId);
+                    dispatcher.reset();
+                } else {
+                    backoff = sleep(backoff, e);
+                }
+            } catch (RuntimeException e) {
+                backoff = sleep(backoff, e);
+            }
+        }
+    }
+
+    private void consume(Set<String> collections) {
+        ChangeStreamIterable<Document> stream = mongoTemplate.getDb()
+                .watch(List.of(Aggregates.match(Filters.in("ns.coll", collections))))
+                .fullDocument(FullDocument.UPDATE_LOOKUP)
+                .fullDocumentBeforeChange(FullDocumentBeforeChange.WHEN_AVAILABLE)
+                .maxAwaitTime(1, TimeUnit.SECONDS);
+        BsonDocument token = tokenStore.load(streamId);
+        if (token != null) {
+            stream = stream.resumeAfter(token);
+        }
+
+        try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = stream.cursor()) {
+            long lastFlush = System.currentTimeMillis();
+            while (running) {
+                ChangeStreamDocument<Document> change = cursor.tryNext();
+                if (change != null) {
+                    ChangeEvent event = toEvent(change);
+                    if (event != null) {
+                        dispatcher.dispatch(event);
+                    }
+                }
+                // Tokens advance even when idle, so flush periodically rather than per event
+                long now = System.currentTimeMillis();
+                if (now - lastFlush >= tokenFlushMillis && cursor.getResumeToken() != null) {
+                    tokenStore.save(streamId, cursor.getResumeToken());
+                    lastFlush = now;
+                }
+            }
+            if (cursor.getResumeToken() != null) {
+                tokenStore.save(streamId, cursor.getResumeToken());
+            }
+        }
+    }
+
+    private ChangeEvent toEvent(ChangeStreamDocument<Document> change) {
+        if (change.getNamespace() == null || change.getDocumentKey() == null) {
+            return null;
+        }
+        ChangeEvent.Operation operation = switch (change.getOperationType()) {
+            case INSERT -> ChangeEvent.Operation.INSERT;
+            case UPDATE -> ChangeEvent.Operation.UPDATE;
+            case REPLACE -> ChangeEvent.Operation.REPLACE;
+            case DELETE -> ChangeEvent.Operation.DELETE;
+            default -> null;
+        };
+        if (operation == null) {
+            return null;
+        }
+        BsonValue id = change.getDocumentKey().get("_id");
+        String documentId = id.isObjectId() ? id.asObjectId().getValue().toHexString()
+                : id.isString() ? id.asString().getValue() : id.toString();
+        return new ChangeEvent(change.getNamespace().getCollectionName(), documentId, operation,
+                change.getFullDocument(), change.getFullDocumentBeforeChange());
+    }
+
+    private void enablePreImages(String collection) {
+        try {
+            mongoTemplate.getDb().runCommand(new Document("collMod", collection)
+                    .append("changeStreamPreAndPostImages", new Document("enabled", true)));
+        } catch (RuntimeException e) {
+            LOGGER.warn("Could not enable pre-images on {}: {}", collection, e.getMessage());
+        }
+    }
+
+    private long sleep(long backoff, RuntimeException cause) {
+        if (!running) {
+            return backoff;
+        }
+        LOGGER.warn("Change stream failed, retrying in {} ms: {}", backoff, cause.getMessage());
+        try {
+            Thread.sleep(backoff);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+    }
+}
@@ -0,0 +1,124 @@
+package com.sliit.backend.changestream;
+
+import com.mongodb.client.MongoCursor;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Stand-in for change streams on a standalone (non replica set) Mongo, e.g. local tests.
+// Each poll diffs a content hash per document against the previous poll; only suitable for small data sets.
+// For collections whose listeners need pre-images the previous documents are kept whole instead.
+@Component
+@ConditionalOnProperty(name = "changestream.mode", havingValue = "polling")
+public class PollingChangeSource implements SmartLifecycle {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PollingChangeSource.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final ChangeEventDispatcher dispatcher;
+    private final long intervalMillis;
+    private final Map<String, Map<String, Integer>> snapshots = new HashMap<>();
+    private final Map<String, Map<String, Document>> preImages = new HashMap<>();
+
+    private ScheduledExecutorService executor;
+
+    public PollingChangeSource(MongoTemplate mongoTemplate,
+                               ChangeEventDispatcher dispatcher,
+                               @Value("${changestream.poll-interval-ms:2000}") long intervalMillis) {
+        this.mongoTemplate = mongoTemplate;
+        this.dispatcher = dispatcher;
+        this.intervalMillis = intervalMillis;
+    }
+
+    @Override
+    public void start() {
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "change-poller");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::poll, 0, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return executor != null;
+    }
+
+    void poll() {
+        for (String collection : dispatcher.watchedCollections()) {
+            try {
+                pollCollection(collection);
+            } catch (RuntimeException e) {
+                LOGGER.warn("Polling {} failed: {}", collection, e.getMessage());
+            }
+        }
+    }
+
+    private void pollCollection(String collection) {
+        Map<String, Integer> previous = snapshots.get(collection);
+        Map<String, Integer> current = new HashMap<>();
+        Set<String> seen = new HashSet<>();
+        Map<String, Document> previousDocuments = preImages.getOrDefault(collection, Map.of());
+        Map<String, Document> currentDocuments = dispatcher.preImageCollections().contains(collection)
+                ? new HashMap<>() : null;
+
+        try (MongoCursor<Document> cursor = mongoTemplate.getCollection(collection).find().iterator()) {
+            while (cursor.hasNext()) {
+                Document document = cursor.next();
+                String id = document.get("_id").toString();
+                int hash = document.toJson().hashCode();
+                current.put(id, hash);
+                seen.add(id);
+                if (currentDocuments != null) {
+                    currentDocuments.put(id, document);
+                }
+                // The first poll only records a baseline
+                if (previous == null) {
+                    continue;
+                }
+                Integer before = previous.get(id);
+                if (before == null) {
+                    dispatcher.dispatch(new ChangeEvent(collection, id, ChangeEvent.Operation.INSERT, document));
+                } else if (before != hash) {
+                    dispatcher.dispatch(new ChangeEvent(collection, id, ChangeEvent.Operation.UPDATE, document,
+                            previousDocuments.get(id)));
+                }
+            }
+        }
+
+        if (previous != null) {
+            for (String id : previous.keySet()) {
+                if (!seen.contains(id)) {
+                    dispatcher.dispatch(new ChangeEvent(collection, id, ChangeEvent.Operation.DELETE, null,
+                            previousDocuments.get(id)));
+                }
+            }
+        }
+        snapshots.put(collection, current);
+        if (currentDocuments != null) {
+            preImages.put(collection, currentDocuments);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.sliit.backend.changestream;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.ReplaceOptions;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+
+// Persists the last processed change-stream resume token so a restarted node continues where it stopped
+@Component
+public class ResumeTokenStore {
+
+    private static final String COLLECTION = "changeStreamTokens";
+
+    private final MongoTemplate mongoTemplate;
+
+    public ResumeTokenStore(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    public BsonDocument load(String streamId) {
+        Document stored = collection().find(Filters.eq("_id", streamId)).first();
+        if (stored == null || stored.getString("token") == null) {
+            return null;
+        }
+        return BsonDocument.parse(stored.getString("token"));
+    }
+
+    public void save(String streamId, BsonDocument token) {
+        Document stored = new Document("_id", streamId)
+                .append("token", token.toJson())
+                .append("updatedAt", new Date());
+        collection().replaceOne(Filters.eq("_id", streamId), stored, new ReplaceOptions().upsert(true));
+    }
+
+    public void clear(String streamId) {
+        collection().deleteOne(Filters.eq("_id", streamId));
+    }
+
+    private MongoCollection<Document> collection() {
+        return mongoTemplate.getCollection(COLLECTION);
+    }
+}
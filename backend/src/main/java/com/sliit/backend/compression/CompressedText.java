@@ -0,0 +1,100 @@
+package com.sliit.backend.compression;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+// A text field value as mapped from Mongo: either plain text, or compressed bytes that are only inflated the first
+// time the value is read (typically when the entity is serialized to JSON). Compressed form is the UTF-8 length as
+// 4 big-endian bytes followed by raw deflate data, stored as a binary with a user-defined subtype.
+public final class CompressedText {
+
+    public static final byte BINARY_SUBTYPE = (byte) 0x80;
+
+    private final byte[] compressed;
+    private volatile String text;
+
+    private CompressedText(String text, byte[] compressed) {
+        this.text = text;
+        this.compressed = compressed;
+    }
+
+    public static CompressedText of(String text) {
+        return text != null ? new CompressedText(text, null) : null;
+    }
+
+    public static CompressedText ofCompressed(byte[] compressed) {
+        return new CompressedText(null, compressed);
+    }
+
+    public String value() {
+        String value = text;
+        if (value == null) {
+            value = decompress(compressed);
+            text = value;
+        }
+        return value;
+    }
+
+    boolean isInflated() {
+        return text != null;
+    }
+
+    public static byte[] compress(String text) {
+        byte[] utf8 = text.getBytes(StandardCharsets.UTF_8);
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED, true);
+        try {
+            deflater.setInput(utf8);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(utf8.length / 3 + 16);
+            out.writeBytes(ByteBuffer.allocate(4).putInt(utf8.length).array());
+            byte[] buffer = new byte[Math.min(utf8.length + 64, 8192)];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    public static String decompress(byte[] compressed) {
+        int length = ByteBuffer.wrap(compressed, 0, 4).getInt();
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(compressed, 4, compressed.length - 4);
+            byte[] utf8 = new byte[length];
+            int read = 0;
+            while (read < length) {
+                int n = inflater.inflate(utf8, read, length - read);
+                if (n == 0 && (inflater.finished() || inflater.needsInput())) {
+                    throw new IllegalStateException("Truncated compressed text");
+                }
+                read += n;
+            }
+            return new String(utf8, StandardCharsets.UTF_8);
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt compressed text", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof CompressedText that && value().equals(that.value());
+    }
+
+    @Override
+    public int hashCode() {
+        return value().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return value();
+    }
+}
@@ -0,0 +1,48 @@
+package com.sliit.backend.compression;
+
+import org.bson.types.Binary;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.convert.WritingConverter;
+
+import java.util.List;
+
+// Mongo mapping for CompressedText fields. Values are always written as plain strings here; TextFieldCompressor
+// replaces large ones with compressed binaries just before the document is saved. Both forms read back, so
+// documents written before compression was enabled (or below the threshold) stay readable.
+public final class CompressedTextConverters {
+
+    private CompressedTextConverters() {
+    }
+
+    public static List<Converter<?, ?>> all() {
+        return List.of(new ToString(), new FromString(), new FromBinary());
+    }
+
+    @WritingConverter
+    static final class ToString implements Converter<CompressedText, String> {
+        @Override
+        public String convert(CompressedText source) {
+            return source.value();
+        }
+    }
+
+    @ReadingConverter
+    static final class FromString implements Converter<String, CompressedText> {
+        @Override
+        public CompressedText convert(String source) {
+            return CompressedText.of(source);
+        }
+    }
+
+    @ReadingConverter
+    static final class FromBinary implements Converter<Binary, CompressedText> {
+        @Override
+        public CompressedText convert(Binary source) {
+            if (source.getType() != CompressedText.BINARY_SUBTYPE) {
+                throw new IllegalArgumentException("Unexpected binary subtype " + source.getType() + " for text");
+            }
+            return CompressedText.ofCompressed(source.getData());
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.sliit.backend.compression;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+
+@Configuration
+public class CompressionConfig {
+
+    // Picked up by the auto-configured mapping converter that both MongoTemplates share
+    @Bean
+    public MongoCustomConversions mongoCustomConversions() {
+        return new MongoCustomConversions(CompressedTextConverters.all());
+    }
+}
@@ -0,0 +1,67 @@
+package com.sliit.backend.compression;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.bson.Document;
+import org.bson.types.Binary;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.data.mongodb.core.mapping.event.BeforeSaveCallback;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+// Compresses the large free-text field of questions, answers, plans and comments on save when it is at least
+// app.compression.min-bytes long. Off unless app.compression.enabled is set; reads handle both forms regardless.
+@Component
+public class TextFieldCompressor implements BeforeSaveCallback<Object>, Ordered {
+
+    private static final Map<String, String> FIELDS = Map.of(
+            "questions", "description",
+            "answers", "content",
+            "learningPlans", "description",
+            "comments", "message");
+
+    private final boolean enabled;
+    private final int minBytes;
+    private final Counter compressed;
+    private final Counter rawBytes;
+    private final Counter storedBytes;
+
+    public TextFieldCompressor(MeterRegistry registry,
+                               @Value("${app.compression.enabled:false}") boolean enabled,
+                               @Value("${app.compression.min-bytes:1024}") int minBytes) {
+        this.enabled = enabled;
+        this.minBytes = minBytes;
+        this.compressed = Counter.builder("compression.fields").description("Text fields stored compressed").register(registry);
+        this.rawBytes = Counter.builder("compression.bytes.raw").register(registry);
+        this.storedBytes = Counter.builder("compression.bytes.stored").register(registry);
+    }
+
+    @Override
+    public Object onBeforeSave(Object entity, Document document, String collection) {
+        compressFields(collection, document);
+        return entity;
+    }
+
+    // Also applied to documents inserted directly through the driver, e.g. by the bulk import
+    public void compressFields(String collection, Document document) {
+        String field = FIELDS.get(collection);
+        if (!enabled || field == null || !(document.get(field) instanceof String text) || text.length() < minBytes) {
+            return;
+        }
+        byte[] bytes = CompressedText.compress(text);
+        // Text that barely shrinks (already compressed or random) is left as a string
+        if (bytes.length < text.length() * 0.9) {
+            document.put(field, new Binary(CompressedText.BINARY_SUBTYPE, bytes));
+            compressed.increment();
+            rawBytes.increment(text.length());
+            storedBytes.increment(bytes.length);
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+}
@@ -0,0 +1,63 @@
+package com.sliit.backend.config;
+
+import com.mongodb.ReadPreference;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+@EnableConfigurationProperties(MongoClientProperties.class)
+public class MongoClientConfig {
+
+    private final MongoClientProperties properties;
+
+    public MongoClientConfig(MongoClientProperties properties) {
+        this.properties = properties;
+    }
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoPoolCustomizer(MeterRegistry meterRegistry) {
+        MongoClientProperties.Pool pool = properties.getPool();
+        MongoClientProperties.Socket socket = properties.getSocket();
+        return builder -> builder
+                .applyToConnectionPoolSettings(settings -> settings
+                        .maxSize(pool.getMaxSize())
+                        .minSize(pool.getMinSize())
+                        .maxWaitTime(pool.getMaxWaitTime().toMillis(), TimeUnit.MILLISECONDS)
+                        .maxConnectionIdleTime(pool.getMaxConnectionIdleTime().toMillis(), TimeUnit.MILLISECONDS)
+                        .maxConnectionLifeTime(pool.getMaxConnectionLifeTime().toMillis(), TimeUnit.MILLISECONDS)
+                        .addConnectionPoolListener(new MongoPoolMetricsListener(meterRegistry)))
+                .applyToSocketSettings(settings -> settings
+                        .connectTimeout((int) socket.getConnectTimeout().toMillis(), TimeUnit.MILLISECONDS)
+                        .readTimeout((int) socket.getReadTimeout().toMillis(), TimeUnit.MILLISECONDS));
+    }
+
+    // Declared explicitly because a second MongoTemplate bean switches off the auto-configured one.
+    // Repositories and all write / read-your-writes paths use this primary-bound template.
+    @Bean
+    @Primary
+    public MongoTemplate mongoTemplate(MongoDatabaseFactory factory, MongoConverter converter) {
+        return new MongoTemplate(factory, converter);
+    }
+
+    // For heavy read-only listings that tolerate bounded staleness. Never used to fill a cache, where a stale
+    // read would outlive the invalidation of the write it missed.
+    @Bean
+    public MongoTemplate secondaryMongoTemplate(MongoDatabaseFactory factory, MongoConverter converter) {
+        MongoTemplate template = new MongoTemplate(factory, converter);
+        MongoClientProperties.ReadRouting routing = properties.getReadRouting();
+        if (routing.isSecondaryReads()) {
+            template.setReadPreference(ReadPreference.secondaryPreferred(
+                    routing.getMaxStaleness().toSeconds(), TimeUnit.SECONDS));
+        }
+        return template;
+    }
+}
@@ -0,0 +1,59 @@
+package com.sliit.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+// Connection pool, socket and read-routing settings applied on top of spring.data.mongodb.uri
+@ConfigurationProperties(prefix = "app.mongo")
+public class MongoClientProperties {
+
+    private final Pool pool = new Pool();
+    private final Socket socket = new Socket();
+    private final ReadRouting readRouting = new ReadRouting();
+
+    public Pool getPool() { return pool; }
+    public Socket getSocket() { return socket; }
+    public ReadRouting getReadRouting() { return readRouting; }
+
+    public static class Pool {
+        private int maxSize = 100;
+        private int minSize = 5;
+        private Duration maxWaitTime = Duration.ofSeconds(2);
+        private Duration maxConnectionIdleTime = Duration.ofMinutes(5);
+        private Duration maxConnectionLifeTime = Duration.ofMinutes(30);
+
+        public int getMaxSize() { return maxSize; }
+        public void setMaxSize(int maxSize) { this.maxSize = maxSize; }
+        public int getMinSize() { return minSize; }
+        public void setMinSize(int minSize) { this.minSize = minSize; }
+        public Duration getMaxWaitTime() { return maxWaitTime; }
+        public void setMaxWaitTime(Duration maxWaitTime) { this.maxWaitTime = maxWaitTime; }
+        public Duration getMaxConnectionIdleTime() { return maxConnectionIdleTime; }
+        public void setMaxConnectionIdleTime(Duration maxConnectionIdleTime) { this.maxConnectionIdleTime = maxConnectionIdleTime; }
+        public Duration getMaxConnectionLifeTime() { return maxConnectionLifeTime; }
+        public void setMaxConnectionLifeTime(Duration maxConnectionLifeTime) { this.maxConnectionLifeTime = maxConnectionLifeTime; }
+    }
+
+    public static class Socket {
+        private Duration connectTimeout = Duration.ofSeconds(5);
+        private Duration readTimeout = Duration.ofSeconds(10);
+
+        public Duration getConnectTimeout() { return connectTimeout; }
+        public void setConnectTimeout(Duration connectTimeout) { this.connectTimeout = connectTimeout; }
+        public Duration getReadTimeout() { return readTimeout; }
+        public void setReadTimeout(Duration readTimeout) { this.readTimeout = readTimeout; }
+    }
+
+    public static class ReadRouting {
+        // When disabled the read-only template also reads from the primary
+        private boolean secondaryReads = true;
+        // MongoDB requires at least 90 seconds
+        private Duration maxStaleness = Duration.ofSeconds(90);
+
+        public boolean isSecondaryReads() { return secondaryReads; }
+        public void setSecondaryReads(boolean secondaryReads) { this.secondaryReads = secondaryReads; }
+        public Duration getMaxStaleness() { return maxStaleness; }
+        public void setMaxStaleness(Duration maxStaleness) { this.maxStaleness = maxStaleness; }
+    }
+}
@@ -0,0 +1,56 @@
+package com.sliit.backend.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mapping.context.MappingContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.stereotype.Component;
+
+// Creates the indexes declared with @Indexed / @CompoundIndex on the @Document classes once the application is
+// up. spring.data.mongodb.auto-index-creation would build them while the MongoTemplate is created, which makes
+// context startup fail whenever the database is unreachable.
+@Component
+public class MongoIndexInitializer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MongoIndexInitializer.class);
+
+    private final MongoTemplate mongoTemplate;
+
+    public MongoIndexInitializer(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void ensureIndexes() {
+        MappingContext<? extends MongoPersistentEntity<?>, MongoPersistentProperty> mappingContext =
+                mongoTemplate.getConverter().getMappingContext();
+        IndexResolver resolver = new MongoPersistentEntityIndexResolver(mappingContext);
+        int created = 0;
+        try {
+            for (MongoPersistentEntity<?> entity : mappingContext.getPersistentEntities()) {
+                if (!entity.isAnnotationPresent(Document.class)) {
+                    continue;
+                }
+                IndexOperations indexOps = mongoTemplate.indexOps(entity.getType());
+                for (var index : resolver.resolveIndexFor(entity.getType())) {
+                    indexOps.ensureIndex(index);
+                    created++;
+                }
+            }
+            LOGGER.info("Ensured {} declared indexes", created);
+        } catch (RuntimeException e) {
+            LOGGER.warn("Failed to create declared indexes after {}: {}", created, e.getMessage());
+        }
+    }
+}
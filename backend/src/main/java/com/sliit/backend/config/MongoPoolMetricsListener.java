@@ -0,0 +1,40 @@
+package com.sliit.backend.config;
+
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import com.mongodb.event.ConnectionPoolListener;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.TimeUnit;
+
+// Records how long requests wait for a pooled connection and why checkouts fail
+public class MongoPoolMetricsListener implements ConnectionPoolListener {
+
+    private final MeterRegistry registry;
+    private final Timer checkoutWait;
+
+    public MongoPoolMetricsListener(MeterRegistry registry) {
+        this.registry = registry;
+        this.checkoutWait = Timer.builder("mongodb.pool.checkout.wait")
+                .description("Time spent waiting to check out a pooled connection")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry);
+    }
+
+    @Override
+    public void connectionCheckedOut(ConnectionCheckedOutEvent event) {
+        checkoutWait.record(event.getElapsedTime(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void connectionCheckOutFailed(ConnectionCheckOutFailedEvent event) {
+        checkoutWait.record(event.getElapsedTime(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+        Counter.builder("mongodb.pool.checkout.failures")
+                .description("Failed connection checkouts, e.g. wait-queue timeouts")
+                .tag("reason", event.getReason().name())
+                .register(registry)
+                .increment();
+    }
+}
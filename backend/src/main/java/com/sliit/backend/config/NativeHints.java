@@ -0,0 +1,82 @@
+package com.sliit.backend.config;
+
+import com.sliit.backend.bulkimport.ImportReport;
+import com.sliit.backend.compression.CompressedText;
+import com.sliit.backend.controller.AuthRequest;
+import com.sliit.backend.controller.AuthResponse;
+import com.sliit.backend.model.ActivityEvent;
+import com.sliit.backend.model.Answer;
+import com.sliit.backend.model.Comment;
+import com.sliit.backend.model.DuplicateCandidate;
+import com.sliit.backend.model.ImportCheckpoint;
+import com.sliit.backend.model.LearningPlan;
+import com.sliit.backend.model.ObjectIdSet;
+import com.sliit.backend.model.PlanRollup;
+import com.sliit.backend.model.Question;
+import com.sliit.backend.model.RelatedPlan;
+import com.sliit.backend.model.TagCount;
+import com.sliit.backend.model.TrendingSnapshot;
+import com.sliit.backend.model.User;
+import com.sliit.backend.model.UserTimeline;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+import java.util.stream.Stream;
+
+// Reflection and resource hints for the AOT / native-image builds
+public class NativeHints implements RuntimeHintsRegistrar {
+
+    // jjwt-impl and jjwt-jackson are runtime-only and located reflectively through io.jsonwebtoken.lang.Classes
+    private static final String[] JJWT_TYPES = {
+        "io.jsonwebtoken.impl.DefaultJwtBuilder",
+        "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+        "io.jsonwebtoken.impl.DefaultJwtParser",
+        "io.jsonwebtoken.impl.DefaultJwtHeaderBuilder",
+        "io.jsonwebtoken.impl.DefaultClaimsBuilder",
+        "io.jsonwebtoken.impl.io.StandardCompressionAlgorithms",
+        "io.jsonwebtoken.impl.security.StandardSecureDigestAlgorithms",
+        "io.jsonwebtoken.impl.security.StandardKeyOperations",
+        "io.jsonwebtoken.impl.security.StandardKeyAlgorithms",
+        "io.jsonwebtoken.impl.security.StandardEncryptionAlgorithms",
+        "io.jsonwebtoken.impl.security.StandardHashAlgorithms",
+        "io.jsonwebtoken.impl.security.StandardCurves",
+        "io.jsonwebtoken.impl.security.KeysBridge",
+        "io.jsonwebtoken.impl.security.JwksBridge",
+        "io.jsonwebtoken.impl.security.DefaultDynamicJwkBuilder",
+        "io.jsonwebtoken.impl.security.DefaultJwkParserBuilder",
+        "io.jsonwebtoken.impl.security.DefaultJwkSetBuilder",
+        "io.jsonwebtoken.impl.security.DefaultJwkSetParserBuilder",
+        "io.jsonwebtoken.impl.security.DefaultKeyOperationBuilder",
+        "io.jsonwebtoken.impl.security.DefaultKeyOperationPolicyBuilder",
+        "io.jsonwebtoken.impl.security.JwtX509StringConverter",
+        "io.jsonwebtoken.jackson.io.JacksonSerializer",
+        "io.jsonwebtoken.jackson.io.JacksonDeserializer"
+    };
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        // Mongo mapping reads/writes fields reflectively, Jackson binds through getters/setters
+        Stream.of(Answer.class, Comment.class, LearningPlan.class, Question.class, User.class,
+                        ActivityEvent.class, UserTimeline.class, PlanRollup.class, ObjectIdSet.class, TagCount.class,
+                        TrendingSnapshot.class, TrendingSnapshot.Candidate.class, ImportCheckpoint.class,
+                        CompressedText.class)
+                .forEach(type -> hints.reflection().registerType(type, MemberCategory.values()));
+
+        BindingReflectionHintsRegistrar bindingHints = new BindingReflectionHintsRegistrar();
+        bindingHints.registerReflectionHints(hints.reflection(),
+                Answer.class, Comment.class, LearningPlan.class, Question.class, User.class,
+                ActivityEvent.class, UserTimeline.class, AuthRequest.class, AuthResponse.class,
+                DuplicateCandidate.class, RelatedPlan.class, ImportReport.class, ImportReport.RecordError.class);
+
+        for (String type : JJWT_TYPES) {
+            hints.reflection().registerType(TypeReference.of(type),
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_PUBLIC_METHODS,
+                    MemberCategory.DECLARED_FIELDS);
+        }
+        hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.io.*");
+    }
+}
@@ -0,0 +1,40 @@
+package com.sliit.backend.config;
+
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+// Lets clients ask for a compact binary encoding with
+// "Accept: application/cbor" or "Accept: application/x-jackson-smile". JSON stays the default.
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<Jackson2ObjectMapperBuilder> mapperBuilder;
+
+    public WebConfig(ObjectProvider<Jackson2ObjectMapperBuilder> mapperBuilder) {
+        this.mapperBuilder = mapperBuilder;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // Binary clients get dates as numeric timestamps instead of ISO strings. Inserted ahead of the defaults,
+        // which already include plain CBOR/Smile converters that would otherwise be picked first.
+        converters.add(0, new MappingJackson2CborHttpMessageConverter(mapperBuilder.getObject()
+                .factory(new CBORFactory())
+                .featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build()));
+        converters.add(1, new MappingJackson2SmileHttpMessageConverter(mapperBuilder.getObject()
+                .factory(new SmileFactory())
+                .featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build()));
+    }
+}
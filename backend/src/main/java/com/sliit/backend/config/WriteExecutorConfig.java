@@ -0,0 +1,28 @@
+package com.sliit.backend.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+public class WriteExecutorConfig {
+
+    // Runs the independent lookups of a write request concurrently; kept apart from the Tomcat pool and ForkJoin common pool
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService writeExecutor(MeterRegistry registry, @Value("${app.write.executor-threads:16}") int threads) {
+        AtomicInteger count = new AtomicInteger();
+        ThreadFactory factory = r -> {
+            Thread thread = new Thread(r, "write-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return ExecutorServiceMetrics.monitor(registry, Executors.newFixedThreadPool(threads, factory), "writeExecutor");
+    }
+}
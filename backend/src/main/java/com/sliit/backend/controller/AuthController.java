@@ -10,6 +10,7 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
+import com.sliit.backend.cache.LearningPlanCache;
 import com.sliit.backend.model.User;
 import com.sliit.backend.repository.UserRepository;
 import com.sliit.backend.security.JwtUtil;
@@ -30,6 +31,9 @@ public class AuthController {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private LearningPlanCache planCache;
+
     @PostMapping("/login")
     public ResponseEntity<?> login(@RequestBody AuthRequest request) {
         Authentication auth = authenticationManager.authenticate(
@@ -81,6 +85,8 @@ public class AuthController {
                 return ResponseEntity.status(HttpStatus.CONFLICT).body("Username already exists");
             }
             existingUser.setUsername(updatedUser.getUsername());
+            // Cached plans carry the old username
+            planCache.invalidateAll();
         }
         if (updatedUser.getEmail() != null && !updatedUser.getEmail().isEmpty()) {
             existingUser.setEmail(updatedUser.getEmail());
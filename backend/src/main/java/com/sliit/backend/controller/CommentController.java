@@ -1,10 +1,23 @@
 package com.sliit.backend.controller;
 
+import com.sliit.backend.archive.ArchiveService;
+import com.sliit.backend.cache.ReadCoalescer;
+import com.sliit.backend.model.ActivityEvent;
+import com.sliit.backend.model.ActivityType;
 import com.sliit.backend.model.Comment;
+import com.sliit.backend.model.ObjectIdSet;
 import com.sliit.backend.model.User;
 import com.sliit.backend.repository.CommentRepository;
+import com.sliit.backend.repository.LearningPlanRepository;
 import com.sliit.backend.repository.UserRepository;
+import com.sliit.backend.service.ActivityFeedService;
+import com.sliit.backend.service.CommentThreadService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -13,6 +26,7 @@ import org.springframework.web.bind.annotation.*;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/comments")
@@ -24,6 +38,25 @@ public class CommentController {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private CommentThreadService threadService;
+
+    @Autowired
+    private LearningPlanRepository planRepository;
+
+    @Autowired
+    private ActivityFeedService feedService;
+
+    @Autowired
+    private ReadCoalescer coalescer;
+
+    @Autowired
+    private ArchiveService archiveService;
+
+    @Autowired
+    @Qualifier("secondaryMongoTemplate")
+    private MongoTemplate secondaryMongo;
+
     // Helper method to get the current authenticated user's ID
     private String getCurrentUserId() {
         String username = SecurityContextHolder.getContext().getAuthentication().getName();
@@ -32,7 +65,14 @@ public class CommentController {
                 .orElseThrow(() -> new RuntimeException("User not found"));
     }
 
-    // Create a new comment for a specific learning plan
+    // Archived threads are restored before one of their comments is changed
+    private Comment findCommentForWrite(String id) {
+        return commentRepository.findById(id)
+                .or(() -> archiveService.restoreCommentThread(id) ? commentRepository.findById(id) : Optional.empty())
+                .orElseThrow(() -> new RuntimeException("Comment not found"));
+    }
+
+    // Create a new comment (or a reply when parentId is set) for a specific learning plan
     @PostMapping("/plan/{planId}")
     public ResponseEntity<Comment> createComment(
             @PathVariable String planId,
@@ -46,7 +86,10 @@ public class CommentController {
         comment.setLearningPlanId(planId);
         comment.setCreatedAt(java.time.LocalDateTime.now());
 
-        Comment savedComment = commentRepository.save(comment);
+        Comment savedComment = threadService.create(comment);
+        planRepository.findById(planId).ifPresent(plan -> feedService.publishToUser(plan.getUserId(),
+                new ActivityEvent(ActivityType.COMMENT_ON_MY_PLAN, userId, user.getUsername(),
+                        savedComment.getId(), planId, plan.getTitle())));
         return ResponseEntity.ok(savedComment);
     }
 
@@ -54,30 +97,72 @@ public class CommentController {
     @GetMapping("/plan/{planId}")
     public ResponseEntity<List<Map<String, Object>>> getCommentsByPlanId(@PathVariable String planId) {
         String currentUserId = getCurrentUserId();
-        List<Comment> comments = commentRepository.findByLearningPlanIdOrderByCreatedAtDesc(planId);
-        List<Map<String, Object>> response = comments.stream().map(comment -> {
-            Map<String, Object> commentData = new HashMap<>();
-            commentData.put("id", comment.getId());
-            commentData.put("message", comment.getMessage());
-            commentData.put("resourceLink", comment.getResourceLink());
-            commentData.put("username", comment.getUsername());
-            commentData.put("userId", comment.getUserId());
-            commentData.put("learningPlanId", comment.getLearningPlanId());
-            commentData.put("createdAt", comment.getCreatedAt());
-            commentData.put("count", comment.getLikeCount());
-            commentData.put("likedByUser", comment.getLikedBy().contains(currentUserId));
-            return commentData;
-        }).toList();
+        Query byPlan = Query.query(Criteria.where("learningPlanId").is(planId))
+                .with(Sort.by(Sort.Direction.DESC, "createdAt"));
+        // Identical concurrent reads share one query; the per-user view is built afterwards.
+        // Threads moved to the archive are merged back in, so the full history stays visible here.
+        List<Comment> comments = coalescer.load("comments", planId,
+                () -> archiveService.mergeComments(planId, secondaryMongo.find(byPlan, Comment.class)));
+        List<Map<String, Object>> response = comments.stream()
+                .map(comment -> toResponse(comment, currentUserId))
+                .toList();
         return ResponseEntity.ok(response);
     }
 
+    // Get one page of top-level threads for a learning plan, newest first
+    @GetMapping("/plan/{planId}/threads")
+    public ResponseEntity<Map<String, Object>> getThreadsByPlanId(
+            @PathVariable String planId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        String currentUserId = getCurrentUserId();
+        CommentThreadService.Page page = coalescer.load("commentThreads", planId + "|" + cursor + "|" + limit,
+                () -> threadService.threads(planId, cursor, limit));
+        return ResponseEntity.ok(toPageResponse(page, currentUserId));
+    }
+
+    // Get one page of replies to a comment, oldest first
+    @GetMapping("/{id}/replies")
+    public ResponseEntity<Map<String, Object>> getReplies(
+            @PathVariable String id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        String currentUserId = getCurrentUserId();
+        CommentThreadService.Page page = coalescer.load("commentReplies", id + "|" + cursor + "|" + limit,
+                () -> threadService.replies(id, cursor, limit));
+        return ResponseEntity.ok(toPageResponse(page, currentUserId));
+    }
+
+    private Map<String, Object> toPageResponse(CommentThreadService.Page page, String currentUserId) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("items", page.items().stream().map(comment -> toResponse(comment, currentUserId)).toList());
+        response.put("nextCursor", page.nextCursor());
+        return response;
+    }
+
+    private Map<String, Object> toResponse(Comment comment, String currentUserId) {
+        Map<String, Object> commentData = new HashMap<>();
+        commentData.put("id", comment.getId());
+        commentData.put("message", comment.getMessage());
+        commentData.put("resourceLink", comment.getResourceLink());
+        commentData.put("username", comment.getUsername());
+        commentData.put("userId", comment.getUserId());
+        commentData.put("learningPlanId", comment.getLearningPlanId());
+        commentData.put("createdAt", comment.getCreatedAt());
+        commentData.put("count", comment.getLikeCount());
+        commentData.put("likedByUser", comment.getLikedBy().contains(currentUserId));
+        commentData.put("parentId", comment.getParentId());
+        commentData.put("depth", comment.getDepth());
+        commentData.put("replyCount", comment.getReplyCount());
+        return commentData;
+    }
+
     // Update a comment
     @PutMapping("/{id}")
     public ResponseEntity<?> updateComment(
             @PathVariable String id,
             @RequestBody Comment updatedComment) {
-        Comment comment = commentRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Comment not found"));
+        Comment comment = findCommentForWrite(id);
 
         if (!comment.getUserId().equals(getCurrentUserId())) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN)
@@ -94,15 +179,14 @@ public class CommentController {
     // Delete a comment
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteComment(@PathVariable String id) {
-        Comment comment = commentRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Comment not found"));
+        Comment comment = findCommentForWrite(id);
 
         if (!comment.getUserId().equals(getCurrentUserId())) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN)
                     .body("You are not authorized to delete this comment!");
         }
 
-        commentRepository.deleteById(id);
+        threadService.delete(comment);
         return ResponseEntity.ok().build();
     }
 
@@ -111,18 +195,15 @@ public class CommentController {
     public ResponseEntity<Map<String, Object>> likeComment(
             @PathVariable String id,
             @RequestBody Map<String, Boolean> request) {
-        Comment comment = commentRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Comment not found"));
+        Comment comment = findCommentForWrite(id);
 
         String userId = getCurrentUserId();
         boolean like = request.getOrDefault("like", true);
-        List<String> likedBy = comment.getLikedBy();
+        ObjectIdSet likedBy = comment.getLikedBy();
 
-        if (like && !likedBy.contains(userId)) {
-            likedBy.add(userId);
+        if (like && likedBy.add(userId)) {
             comment.setLikeCount(comment.getLikeCount() + 1);
-        } else if (!like && likedBy.contains(userId)) {
-            likedBy.remove(userId);
+        } else if (!like && likedBy.remove(userId)) {
             comment.setLikeCount(comment.getLikeCount() - 1);
         }
 
@@ -145,4 +226,10 @@ public class CommentController {
         response.put("likedByUser", comment.getLikedBy().contains(currentUserId));
         return ResponseEntity.ok(response);
     }
-}
\ No newline at end of file
+
+    // Malformed paging cursors (and ids) are client errors
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleBadRequest(IllegalArgumentException e) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+    }
+}
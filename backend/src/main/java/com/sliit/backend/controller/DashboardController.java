@@ -0,0 +1,34 @@
+package com.sliit.backend.controller;
+
+import com.sliit.backend.model.User;
+import com.sliit.backend.repository.UserRepository;
+import com.sliit.backend.security.AuthenticatedUser;
+import com.sliit.backend.service.DashboardService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/dashboard")
+public class DashboardController {
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private UserRepository userRepo;
+
+    private String getCurrentUserId() {
+        return AuthenticatedUser.current().map(AuthenticatedUser::getId)
+                .orElseGet(() -> userRepo.findByUsername(SecurityContextHolder.getContext().getAuthentication().getName())
+                        .map(User::getId).orElseThrow(() -> new RuntimeException("User not found")));
+    }
+
+    // Profile, reputation, counts and recent questions, answers, plans and comments of the current user
+    @GetMapping
+    public Map<String, Object> getMyDashboard() {
+        return dashboardService.dashboard(getCurrentUserId());
+    }
+}
@@ -0,0 +1,33 @@
+package com.sliit.backend.controller;
+
+import com.sliit.backend.model.ActivityEvent;
+import com.sliit.backend.model.User;
+import com.sliit.backend.repository.UserRepository;
+import com.sliit.backend.service.ActivityFeedService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/feed")
+public class FeedController {
+
+    @Autowired
+    private ActivityFeedService feedService;
+
+    @Autowired
+    private UserRepository userRepo;
+
+    private String getCurrentUserId() {
+        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+        return userRepo.findByUsername(username).map(User::getId).orElseThrow(() -> new RuntimeException("User not found"));
+    }
+
+    // Get the current user's activity feed, newest first
+    @GetMapping
+    public List<ActivityEvent> getMyFeed(@RequestParam(defaultValue = "20") int limit) {
+        return feedService.getFeed(getCurrentUserId(), limit);
+    }
+}
@@ -0,0 +1,51 @@
+package com.sliit.backend.controller;
+
+import com.sliit.backend.bulkimport.BulkImportService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/import")
+public class ImportController {
+
+    @Autowired
+    private BulkImportService importService;
+
+    // Usernames allowed to import; imported records are attributed to the users they name
+    @Value("${import.admins:}")
+    private List<String> admins;
+
+    private boolean isImportAdmin() {
+        return admins.contains(SecurityContextHolder.getContext().getAuthentication().getName());
+    }
+
+    // Import an NDJSON request body; repeat with the same jobId to resume an interrupted import
+    @PostMapping(consumes = {"application/x-ndjson", "text/plain", "application/octet-stream"})
+    public ResponseEntity<?> importRecords(@RequestParam(required = false) String jobId, HttpServletRequest request)
+            throws IOException {
+        if (!isImportAdmin()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Only import admins can run bulk imports");
+        }
+        String id = jobId != null && !jobId.isBlank() ? jobId : UUID.randomUUID().toString();
+        return ResponseEntity.ok(importService.importStream(id, request.getInputStream()));
+    }
+
+    // Get the checkpoint of an import job
+    @GetMapping("/{jobId}")
+    public ResponseEntity<?> getCheckpoint(@PathVariable String jobId) {
+        if (!isImportAdmin()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Only import admins can view bulk imports");
+        }
+        return importService.checkpoint(jobId).<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,60 @@
+package com.sliit.backend.controller;
+
+import com.sliit.backend.model.User;
+import com.sliit.backend.reputation.RankedScoreIndex;
+import com.sliit.backend.reputation.ReputationService;
+import com.sliit.backend.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@RestController
+@RequestMapping("/api/leaderboard")
+public class LeaderboardController {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    @Autowired
+    private ReputationService reputationService;
+
+    @Autowired
+    private UserRepository userRepo;
+
+    // Get one page of users ranked by reputation
+    @GetMapping
+    public List<Map<String, Object>> getLeaderboard(
+            @RequestParam(defaultValue = "0") int offset,
+            @RequestParam(defaultValue = "20") int limit) {
+        List<RankedScoreIndex.Entry> page = reputationService.leaderboard(Math.max(offset, 0), Math.min(limit, MAX_PAGE_SIZE));
+        // One batched lookup for the whole page instead of one per row
+        Map<String, String> usernames = userRepo.findAllById(page.stream().map(RankedScoreIndex.Entry::id).toList())
+                .stream().collect(Collectors.toMap(User::getId, User::getUsername, (a, b) -> a));
+        return page.stream().map(entry -> {
+            Map<String, Object> row = new HashMap<>();
+            row.put("userId", entry.id());
+            row.put("username", usernames.getOrDefault(entry.id(), "Unknown"));
+            row.put("score", entry.score());
+            row.put("rank", entry.rank());
+            return row;
+        }).toList();
+    }
+
+    // Get the current user's score and rank
+    @GetMapping("/me")
+    public Map<String, Object> getMyRank() {
+        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+        User user = userRepo.findByUsername(username).orElseThrow(() -> new RuntimeException("User not found"));
+        Map<String, Object> response = new HashMap<>();
+        response.put("userId", user.getId());
+        response.put("username", user.getUsername());
+        response.put("score", reputationService.scoreOf(user.getId()));
+        response.put("rank", reputationService.rankOf(user.getId()));
+        response.put("rankedUsers", reputationService.rankedUsers());
+        return response;
+    }
+}
@@ -1,18 +1,42 @@
 package com.sliit.backend.controller;
 
+import com.sliit.backend.cache.LearningPlanCache;
+import com.sliit.backend.compression.TextFieldCompressor;
+import com.sliit.backend.model.ActivityEvent;
+import com.sliit.backend.model.ActivityType;
 import com.sliit.backend.model.LearningPlan;
+import com.sliit.backend.model.PlanStatus;
+import com.sliit.backend.model.RelatedPlan;
+import com.sliit.backend.reminder.ReminderScheduler;
 import com.sliit.backend.model.User;
 import com.sliit.backend.repository.LearningPlanRepository;
 import com.sliit.backend.repository.UserRepository;
+import com.sliit.backend.service.ActivityFeedService;
+import com.sliit.backend.service.PlanAnalyticsService;
+import com.sliit.backend.service.TagService;
+import com.sliit.backend.similarity.RelatedPlanService;
+import org.bson.Document;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
 @RestController
 @RequestMapping("/api/learning-plans")
 public class LearningPlanController {
@@ -23,6 +47,34 @@ public class LearningPlanController {
     @Autowired
     private UserRepository userRepo;
 
+    @Autowired
+    private LearningPlanCache planCache;
+
+    @Autowired
+    private ActivityFeedService feedService;
+
+    @Autowired
+    private PlanAnalyticsService analyticsService;
+
+    @Autowired
+    private ObjectProvider<ReminderScheduler> reminderScheduler;
+
+    @Autowired
+    private TagService tagService;
+
+    @Autowired
+    private RelatedPlanService relatedPlanService;
+
+    @Autowired
+    private TextFieldCompressor compressor;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    @Qualifier("secondaryMongoTemplate")
+    private MongoTemplate secondaryMongo;
+
     private String getCurrentUserId() {
         String username = SecurityContextHolder.getContext().getAuthentication().getName();
         return userRepo.findByUsername(username).map(User::getId).orElseThrow(() -> new RuntimeException("User not found"));
@@ -34,29 +86,78 @@ public class LearningPlanController {
         String userId = getCurrentUserId();
         plan.setUserId(userId);
         plan.setCompleted(false);
-        plan.setStatus("Not Started");
+        plan.setStatus(PlanStatus.NOT_STARTED);
+        plan.setCreatedAt(LocalDateTime.now());
+        plan.setCompletedAt(null);
+        plan.setReminderSentAt(null);
+        plan.setTags(TagService.normalize(plan.getTags()));
         LearningPlan saved = planRepo.save(plan);
+        planCache.invalidatePlan(saved.getId(), userId);
+        analyticsService.onCreated(saved);
+        tagService.onTagsChanged(TagService.PLANS, List.of(), saved.getTags());
+        relatedPlanService.onSaved(saved);
+        reminderScheduler.ifAvailable(scheduler -> scheduler.onPlanSaved(saved));
         saved.setUsername(userRepo.findById(userId).map(User::getUsername).orElse("Unknown"));
+        feedService.publishToEveryone(new ActivityEvent(ActivityType.NEW_LEARNING_PLAN, userId, saved.getUsername(),
+                saved.getId(), saved.getId(), saved.getTitle()));
         return ResponseEntity.ok(saved);
     }
 
-    // Get all learning plans
+    // Get all learning plans. Read from the primary: a lagging secondary would put pre-write data back into the
+    // cache right after the write invalidated it, and serve it for the whole TTL.
     @GetMapping
     public List<LearningPlan> getAllPlans() {
-        return planRepo.findAll().stream().map(p -> {
+        return planCache.getAll(() -> planRepo.findAll().stream().map(p -> {
             p.setUsername(userRepo.findById(p.getUserId()).map(User::getUsername).orElse("Unknown"));
             return p;
-        }).collect(Collectors.toList());
+        }).collect(Collectors.toList()));
     }
 
     // Get current user's plans
     @GetMapping("/my")
     public List<LearningPlan> getMyPlans() {
         String userId = getCurrentUserId();
-        return planRepo.findByUserId(userId).stream().map(p -> {
+        return planCache.getByUser(userId, () -> planRepo.findByUserId(userId).stream().map(p -> {
             p.setUsername(userRepo.findById(p.getUserId()).map(User::getUsername).orElse("Unknown"));
             return p;
-        }).collect(Collectors.toList());
+        }).collect(Collectors.toList()));
+    }
+
+    // Browse plans carrying all the given tags, with the most used tags of those plans as facets
+    @GetMapping("/browse")
+    public TagService.BrowsePage<LearningPlan> browsePlans(
+            @RequestParam(required = false) List<String> tags,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        TagService.BrowsePage<LearningPlan> result = tagService.browse(secondaryMongo, LearningPlan.class, TagService.PLANS,
+                tags, Math.max(0, page), Math.max(1, Math.min(size, 100)), 20);
+        // One batched lookup for the whole page instead of one per item
+        Map<String, String> usernames = userRepo.findAllById(result.items().stream().map(LearningPlan::getUserId).distinct().toList())
+                .stream().collect(Collectors.toMap(User::getId, User::getUsername, (a, b) -> a));
+        result.items().forEach(p -> p.setUsername(usernames.getOrDefault(p.getUserId(), "Unknown")));
+        return result;
+    }
+
+    // Get weekly completion rates, overdue counts and the status breakdown from pre-aggregated rollups
+    @GetMapping("/analytics")
+    public Map<String, Object> getAnalytics(@RequestParam(defaultValue = "8") int weeks) {
+        return analyticsService.dashboard(Math.max(1, Math.min(weeks, 52)), LocalDate.now());
+    }
+
+    // Get a single plan
+    @GetMapping("/{id}")
+    public LearningPlan getPlanById(@PathVariable String id) {
+        return planCache.getPlan(id, () -> {
+            LearningPlan plan = planRepo.findById(id).orElseThrow(() -> new RuntimeException("Plan not found"));
+            plan.setUsername(userRepo.findById(plan.getUserId()).map(User::getUsername).orElse("Unknown"));
+            return plan;
+        });
+    }
+
+    // Get plans with similar titles, modules, tags and descriptions, most similar first
+    @GetMapping("/{id}/related")
+    public List<RelatedPlan> getRelatedPlans(@PathVariable String id, @RequestParam(defaultValue = "5") int limit) {
+        return relatedPlanService.related(id, Math.max(1, Math.min(limit, 20)));
     }
 
     // Update plan
@@ -66,17 +167,54 @@ public class LearningPlanController {
         if (!plan.getUserId().equals(getCurrentUserId())) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Not your plan!");
         }
+        PlanAnalyticsService.Snapshot before = PlanAnalyticsService.Snapshot.of(plan);
+        List<String> tagsBefore = plan.getTags();
 
+        boolean deadlineMoved = !Objects.equals(plan.getDeadline(), updated.getDeadline());
         plan.setTitle(updated.getTitle());
         plan.setDescription(updated.getDescription());
         plan.setDuration(updated.getDuration());
         plan.setDeadline(updated.getDeadline());
         plan.setStatus(updated.getStatus());
         plan.setModules(updated.getModules());
+        // The edit form does not send tags; only a body that carries them replaces the stored ones
+        if (updated.isTagsSent()) {
+            plan.setTags(TagService.normalize(updated.getTags()));
+        }
         plan.setProgress(updated.getProgress());
         plan.setCompleted(updated.isCompleted());
+        if (!plan.isCompleted()) {
+            plan.setCompletedAt(null);
+        } else if (plan.getCompletedAt() == null) {
+            plan.setCompletedAt(LocalDateTime.now());
+        }
 
-        LearningPlan saved = planRepo.save(plan);
+        // Only the edited fields are written: saving the whole plan would overwrite a reminderSentAt the reminder
+        // scheduler claimed after it was read. A moved deadline gets a fresh reminder.
+        Update update = new Update();
+        setOrUnset(update, "title", plan.getTitle());
+        // findAndModify skips the save callbacks, so the description is compressed here
+        Document description = new Document("description", plan.getDescription());
+        compressor.compressFields("learningPlans", description);
+        setOrUnset(update, "description", description.get("description"));
+        setOrUnset(update, "duration", plan.getDuration());
+        setOrUnset(update, "durationDays", plan.getDurationDays());
+        setOrUnset(update, "deadline", plan.getDeadline());
+        setOrUnset(update, "status", plan.getStatus());
+        setOrUnset(update, "modules", plan.getModules());
+        setOrUnset(update, "tags", plan.getTags());
+        setOrUnset(update, "progress", plan.getProgress());
+        update.set("completed", plan.isCompleted());
+        setOrUnset(update, "completedAt", plan.getCompletedAt());
+        if (deadlineMoved) {
+            update.unset("reminderSentAt");
+        }
+        LearningPlan saved = updateFields(id, update);
+        planCache.invalidatePlan(id, plan.getUserId());
+        analyticsService.onUpdated(before, saved);
+        tagService.onTagsChanged(TagService.PLANS, tagsBefore, saved.getTags());
+        relatedPlanService.onSaved(saved);
+        reminderScheduler.ifAvailable(scheduler -> scheduler.onPlanSaved(saved));
         saved.setUsername(userRepo.findById(plan.getUserId()).map(User::getUsername).orElse("Unknown"));
         return ResponseEntity.ok(saved);
     }
@@ -89,6 +227,11 @@ public class LearningPlanController {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Not your plan!");
         }
         planRepo.deleteById(id);
+        planCache.invalidatePlan(id, plan.getUserId());
+        analyticsService.onDeleted(plan);
+        tagService.onTagsChanged(TagService.PLANS, plan.getTags(), List.of());
+        relatedPlanService.onDeleted(id);
+        reminderScheduler.ifAvailable(scheduler -> scheduler.onPlanDeleted(id));
         return ResponseEntity.ok().build();
     }
 
@@ -99,10 +242,36 @@ public class LearningPlanController {
         if (!plan.getUserId().equals(getCurrentUserId())) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Not your plan!");
         }
+        PlanAnalyticsService.Snapshot before = PlanAnalyticsService.Snapshot.of(plan);
+        if (!plan.isCompleted() || plan.getCompletedAt() == null) {
+            plan.setCompletedAt(LocalDateTime.now());
+        }
         plan.setCompleted(true);
-        plan.setStatus("Completed");
-        LearningPlan saved = planRepo.save(plan);
+        plan.setStatus(PlanStatus.COMPLETED);
+        LearningPlan saved = updateFields(id, new Update().set("completed", true).set("status", plan.getStatus())
+                .set("completedAt", plan.getCompletedAt()));
+        planCache.invalidatePlan(id, plan.getUserId());
+        analyticsService.onUpdated(before, saved);
+        reminderScheduler.ifAvailable(scheduler -> scheduler.onPlanDeleted(id));
         saved.setUsername(userRepo.findById(plan.getUserId()).map(User::getUsername).orElse("Unknown"));
         return ResponseEntity.ok(saved);
     }
-}
\ No newline at end of file
+
+    private LearningPlan updateFields(String id, Update update) {
+        LearningPlan saved = mongoTemplate.findAndModify(new Query(where("_id").is(id)), update,
+                FindAndModifyOptions.options().returnNew(true), LearningPlan.class);
+        if (saved == null) {
+            throw new RuntimeException("Plan not found");
+        }
+        return saved;
+    }
+
+    // Null fields are removed, leaving the document as save() would have written it
+    private static void setOrUnset(Update update, String field, Object value) {
+        if (value == null) {
+            update.unset(field);
+        } else {
+            update.set(field, value);
+        }
+    }
+}
@@ -1,18 +1,37 @@
 package com.sliit.backend.controller;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
+import com.sliit.backend.archive.ArchiveService;
+import com.sliit.backend.cache.ReadCoalescer;
+import com.sliit.backend.model.ActivityEvent;
+import com.sliit.backend.model.ActivityType;
 import com.sliit.backend.model.Answer;
+import com.sliit.backend.model.DuplicateCandidate;
 import com.sliit.backend.model.Question;
 import com.sliit.backend.model.User;
+import com.sliit.backend.reputation.ReputationService;
 import com.sliit.backend.repository.QuestionRepository;
 import com.sliit.backend.repository.AnswerRepository;
+import com.sliit.backend.security.AuthenticatedUser;
+import com.sliit.backend.service.ActivityFeedService;
+import com.sliit.backend.service.QnAWriteService;
+import com.sliit.backend.service.TagService;
+import com.sliit.backend.similarity.DuplicateQuestionService;
+import com.sliit.backend.trending.TrendingService;
+import com.sliit.backend.trending.TrendingTracker;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @RestController
@@ -28,23 +47,64 @@ public class QnAController {
     @Autowired
     private com.sliit.backend.repository.UserRepository userRepo;
 
+    @Autowired
+    private ActivityFeedService feedService;
+
+    @Autowired
+    private ReputationService reputationService;
+
+    @Autowired
+    private ReadCoalescer coalescer;
+
+    @Autowired
+    private QnAWriteService writeService;
+
+    @Autowired
+    private TagService tagService;
+
+    @Autowired
+    private DuplicateQuestionService duplicateService;
+
+    @Autowired
+    private TrendingService trendingService;
+
+    @Autowired
+    private ArchiveService archiveService;
+
+    @Autowired
+    @Qualifier("secondaryMongoTemplate")
+    private MongoTemplate secondaryMongo;
+
+    private String getCurrentUsername() {
+        return SecurityContextHolder.getContext().getAuthentication().getName();
+    }
+
     private String getCurrentUserId() {
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        return userRepo.findByUsername(username).map(User::getId).orElseThrow();
+        return AuthenticatedUser.current().map(AuthenticatedUser::getId)
+                .orElseGet(() -> userRepo.findByUsername(getCurrentUsername()).map(User::getId).orElseThrow());
+    }
+
+    // Writes go to the hot collections, so an archived question is restored (with its answers) before it changes
+    private Question findQuestionForWrite(String id) {
+        return questionRepo.findById(id)
+                .or(() -> archiveService.restoreQuestion(id) ? questionRepo.findById(id) : Optional.empty())
+                .orElseThrow(() -> new RuntimeException("Question not found"));
+    }
+
+    private Answer findAnswerForWrite(String questionId, String answerId) {
+        return answerRepo.findById(answerId)
+                .or(() -> archiveService.restoreQuestion(questionId) ? answerRepo.findById(answerId) : Optional.empty())
+                .orElseThrow(() -> new RuntimeException("Answer not found"));
     }
 
     @PostMapping("/create/questions")
     public Question createQuestion(@RequestBody Question question) {
-        String userId = getCurrentUserId();
-        question.setUserId(userId);
-        Question savedQuestion = questionRepo.save(question);
-        savedQuestion.setUsername(userRepo.findById(userId).map(User::getUsername).orElse("Unknown"));
-        return savedQuestion;
+        return writeService.createQuestion(question);
     }
 
     @GetMapping("/getall/questions")
     public List<Question> getAllQuestions() {
-        List<Question> questions = questionRepo.findAll();
+        List<Question> questions = secondaryMongo.findAll(Question.class);
         return questions.stream().map(q -> {
             q.setUsername(userRepo.findById(q.getUserId()).map(User::getUsername).orElse("Unknown"));
             return q;
@@ -53,30 +113,75 @@ public class QnAController {
 
     @GetMapping("/questions/{id}")
     public Question getQuestionById(@PathVariable String id) {
-        Question question = questionRepo.findById(id).orElseThrow(() -> new RuntimeException("Question not found"));
-        question.setUsername(userRepo.findById(question.getUserId()).map(User::getUsername).orElse("Unknown"));
+        // Concurrent requests for the same question share one load, so the result is not modified here
+        Question question = coalescer.load("question", id, () -> {
+            Question loaded = archiveService.findQuestion(id).orElseThrow(() -> new RuntimeException("Question not found"));
+            loaded.setUsername(userRepo.findById(loaded.getUserId()).map(User::getUsername).orElse("Unknown"));
+            return loaded;
+        });
+        trendingService.recordView(id, question.getTitle(), getCurrentUsername());
         return question;
     }
 
+    // Most viewed and voted questions, time-decayed, answered from in-memory counters
+    @GetMapping("/questions/trending")
+    public List<TrendingTracker.Entry> getTrendingQuestions(@RequestParam(defaultValue = "10") int limit) {
+        return trendingService.trending(Math.max(1, Math.min(limit, 50)));
+    }
+
+    // Browse questions carrying all the given tags, with the most used tags of those questions as facets
+    @GetMapping("/questions/browse")
+    public TagService.BrowsePage<Question> browseQuestions(
+            @RequestParam(required = false) List<String> tags,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        TagService.BrowsePage<Question> result = tagService.browse(secondaryMongo, Question.class, TagService.QUESTIONS,
+                tags, Math.max(0, page), Math.max(1, Math.min(size, 100)), 20);
+        // One batched lookup for the whole page instead of one per item
+        Map<String, String> usernames = userRepo.findAllById(result.items().stream().map(Question::getUserId).distinct().toList())
+                .stream().collect(Collectors.toMap(User::getId, User::getUsername, (a, b) -> a));
+        result.items().forEach(q -> q.setUsername(usernames.getOrDefault(q.getUserId(), "Unknown")));
+        return result;
+    }
+
+    // Check a draft question for near-duplicates before posting it
+    @GetMapping("/questions/duplicates")
+    public List<DuplicateCandidate> findDuplicates(
+            @RequestParam String title,
+            @RequestParam(required = false) String description,
+            @RequestParam(defaultValue = "5") int limit) {
+        return duplicateService.findDuplicates(title, description, null, Math.max(1, Math.min(limit, 20)));
+    }
+
     @DeleteMapping("/delete/questions/{id}")
     public ResponseEntity<?> deleteQuestion(@PathVariable String id) {
-        Question question = questionRepo.findById(id).orElseThrow(() -> new RuntimeException("Question not found"));
+        Question question = findQuestionForWrite(id);
         if (!question.getUserId().equals(getCurrentUserId())) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body("You can only delete your own questions");
         }
         questionRepo.deleteById(id);
+        tagService.onTagsChanged(TagService.QUESTIONS, question.getTags(), List.of());
+        duplicateService.onDeleted(id);
+        trendingService.onQuestionDeleted(id);
         return ResponseEntity.ok().build();
     }
 
     @PutMapping("/edit/questions/{id}")
     public ResponseEntity<?> editQuestion(@PathVariable String id, @RequestBody Question updatedQuestion) {
-        Question question = questionRepo.findById(id).orElseThrow(() -> new RuntimeException("Question not found"));
+        Question question = findQuestionForWrite(id);
         if (!question.getUserId().equals(getCurrentUserId())) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body("You can only edit your own questions");
         }
+        List<String> tagsBefore = question.getTags();
         question.setTitle(updatedQuestion.getTitle());
         question.setDescription(updatedQuestion.getDescription());
+        question.setTags(TagService.normalize(updatedQuestion.getTags()));
+        question.setLastActivityAt(LocalDateTime.now());
+        // The save replaces the whole document, so an archival that started after the read must fail first
+        archiveService.touch(id);
         Question savedQuestion = questionRepo.save(question);
+        tagService.onTagsChanged(TagService.QUESTIONS, tagsBefore, savedQuestion.getTags());
+        duplicateService.onSaved(savedQuestion);
         savedQuestion.setUsername(userRepo.findById(question.getUserId()).map(User::getUsername).orElse("Unknown"));
         return ResponseEntity.ok(savedQuestion);
     }
@@ -91,38 +196,31 @@ public class QnAController {
 
         @PostMapping("/create/{questionId}/answers")
     public ResponseEntity<?> addAnswer(@PathVariable String questionId, @RequestBody Answer answer) {
-        String currentUserId = getCurrentUserId();
-        Question question = questionRepo.findById(questionId)
-            .orElseThrow(() -> new RuntimeException("Question not found"));
-
-        if (question.getUserId().equals(currentUserId)) {
-            return ResponseEntity.status(HttpStatus.FORBIDDEN)
-                .body("You cannot answer your own question");
+        try {
+            return ResponseEntity.ok(writeService.addAnswer(questionId, answer));
+        } catch (AccessDeniedException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(e.getMessage());
         }
-
-        answer.setUserId(currentUserId);
-        answer.setQuestionId(questionId);
-        Answer savedAnswer = answerRepo.save(answer);
-        savedAnswer.setUsername(userRepo.findById(currentUserId).map(User::getUsername).orElse("Unknown"));
-        return ResponseEntity.ok(savedAnswer);
     }
 
     @GetMapping("/get/{questionId}/answers")
     public List<Answer> getAnswersByQuestionId(@PathVariable String questionId) {
-        List<Answer> answers = answerRepo.findByQuestionId(questionId);
-        return answers.stream().map(a -> {
-            a.setUsername(userRepo.findById(a.getUserId()).map(User::getUsername).orElse("Unknown"));
-            return a;
-        }).collect(Collectors.toList());
+        return coalescer.load("answers", questionId, () -> archiveService
+                .findAnswers(questionId, answerRepo.findByQuestionId(questionId)).stream().map(a -> {
+                    a.setUsername(userRepo.findById(a.getUserId()).map(User::getUsername).orElse("Unknown"));
+                    return a;
+                }).toList());
     }
 
     @DeleteMapping("/delete/{questionId}/answers/{answerId}")
     public ResponseEntity<?> deleteAnswer(@PathVariable String questionId, @PathVariable String answerId) {
-        Answer answer = answerRepo.findById(answerId).orElseThrow(() -> new RuntimeException("Answer not found"));
+        Answer answer = findAnswerForWrite(questionId, answerId);
         if (!answer.getUserId().equals(getCurrentUserId())) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body("You can only delete your own answers");
         }
+        archiveService.touch(questionId);
         answerRepo.deleteById(answerId);
+        reputationService.onAnswerDeleted(answer);
         return ResponseEntity.ok().build();
     }
 
@@ -131,11 +229,12 @@ public class QnAController {
             @PathVariable String questionId, 
             @PathVariable String answerId, 
             @RequestBody Answer updatedAnswer) {
-        Answer answer = answerRepo.findById(answerId).orElseThrow(() -> new RuntimeException("Answer not found"));
+        Answer answer = findAnswerForWrite(questionId, answerId);
         if (!answer.getUserId().equals(getCurrentUserId())) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body("You can only edit your own answers");
         }
         answer.setContent(updatedAnswer.getContent());
+        archiveService.touch(questionId);
         Answer savedAnswer = answerRepo.save(answer);
         savedAnswer.setUsername(userRepo.findById(answer.getUserId()).map(User::getUsername).orElse("Unknown"));
         return ResponseEntity.ok(savedAnswer);
@@ -143,49 +242,68 @@ public class QnAController {
 
     @PostMapping("/{questionId}/answers/{answerId}/upvote")
     public ResponseEntity<?> upvoteAnswer(@PathVariable String questionId, @PathVariable String answerId) {
-        Answer answer = answerRepo.findById(answerId).orElseThrow(() -> new RuntimeException("Answer not found"));
+        Answer answer = findAnswerForWrite(questionId, answerId);
         String userId = getCurrentUserId();
         if (answer.getUpvotedBy().contains(userId)) {
             return ResponseEntity.badRequest().body("You have already upvoted this answer");
         }
+        int delta = 1;
         if (answer.getDownvotedBy().contains(userId)) {
             answer.setDownvotes(answer.getDownvotes() - 1);
             answer.getDownvotedBy().remove(userId);
+            delta++;
         }
         answer.setUpvotes(answer.getUpvotes() + 1);
         answer.getUpvotedBy().add(userId);
+        archiveService.touch(questionId);
         Answer savedAnswer = answerRepo.save(answer);
+        reputationService.onVote(savedAnswer, delta);
+        trendingService.recordVote(questionId);
         savedAnswer.setUsername(userRepo.findById(answer.getUserId()).map(User::getUsername).orElse("Unknown"));
+        feedService.publishToUser(answer.getUserId(), new ActivityEvent(ActivityType.VOTE_ON_MY_ANSWER,
+                userId, getCurrentUsername(), answerId, questionId, "upvote"));
         return ResponseEntity.ok(savedAnswer);
     }
 
     @PostMapping("/{questionId}/answers/{answerId}/downvote")
     public ResponseEntity<?> downvoteAnswer(@PathVariable String questionId, @PathVariable String answerId) {
-        Answer answer = answerRepo.findById(answerId).orElseThrow(() -> new RuntimeException("Answer not found"));
+        Answer answer = findAnswerForWrite(questionId, answerId);
         String userId = getCurrentUserId();
         if (answer.getDownvotedBy().contains(userId)) {
             return ResponseEntity.badRequest().body("You have already downvoted this answer");
         }
+        int delta = -1;
         if (answer.getUpvotedBy().contains(userId)) {
             answer.setUpvotes(answer.getUpvotes() - 1);
             answer.getUpvotedBy().remove(userId);
+            delta--;
         }
         answer.setDownvotes(answer.getDownvotes() + 1);
         answer.getDownvotedBy().add(userId);
+        archiveService.touch(questionId);
         Answer savedAnswer = answerRepo.save(answer);
+        reputationService.onVote(savedAnswer, delta);
+        trendingService.recordVote(questionId);
         savedAnswer.setUsername(userRepo.findById(answer.getUserId()).map(User::getUsername).orElse("Unknown"));
+        feedService.publishToUser(answer.getUserId(), new ActivityEvent(ActivityType.VOTE_ON_MY_ANSWER,
+                userId, getCurrentUsername(), answerId, questionId, "downvote"));
         return ResponseEntity.ok(savedAnswer);
     }
 
     @PostMapping("/{questionId}/answers/{answerId}/best")
     public Answer markBestAnswer(@PathVariable String questionId, @PathVariable String answerId) {
-        Answer answer = answerRepo.findById(answerId).orElseThrow(() -> new RuntimeException("Answer not found"));
-        Question question = questionRepo.findById(questionId).orElseThrow(() -> new RuntimeException("Question not found"));
+        Answer answer = findAnswerForWrite(questionId, answerId);
+        Question question = findQuestionForWrite(questionId);
         if (!question.getUserId().equals(getCurrentUserId())) {
             throw new RuntimeException("Only the question owner can mark an answer as best");
         }
+        boolean alreadyBest = answer.isBestAnswer();
         answer.setBestAnswer(true);
+        archiveService.touch(questionId);
         Answer savedAnswer = answerRepo.save(answer);
+        if (!alreadyBest) {
+            reputationService.onBestAnswer(savedAnswer);
+        }
         savedAnswer.setUsername(userRepo.findById(answer.getUserId()).map(User::getUsername).orElse("Unknown"));
         return savedAnswer;
     }
@@ -0,0 +1,51 @@
+package com.sliit.backend.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+// Stored on its own in "activities" for events everyone sees (read-time fan-out),
+// and embedded in UserTimeline entries for events aimed at one user (write-time fan-out).
+// No index annotations here: they would also apply to the embedded copies (see ActivityFeedService).
+@Document(collection = "activities")
+public class ActivityEvent {
+    @Id
+    private String id;
+    private ActivityType type;
+    private String actorId;
+    private String actorUsername;
+    private String targetId; // The question, answer, plan or comment the event is about
+    private String contextId; // Question or learning plan the target belongs to
+    private String summary;
+    private LocalDateTime createdAt;
+
+    public ActivityEvent() {}
+    public ActivityEvent(ActivityType type, String actorId, String actorUsername,
+                         String targetId, String contextId, String summary) {
+        this.type = type;
+        this.actorId = actorId;
+        this.actorUsername = actorUsername;
+        this.targetId = targetId;
+        this.contextId = contextId;
+        this.summary = summary;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+    public ActivityType getType() { return type; }
+    public void setType(ActivityType type) { this.type = type; }
+    public String getActorId() { return actorId; }
+    public void setActorId(String actorId) { this.actorId = actorId; }
+    public String getActorUsername() { return actorUsername; }
+    public void setActorUsername(String actorUsername) { this.actorUsername = actorUsername; }
+    public String getTargetId() { return targetId; }
+    public void setTargetId(String targetId) { this.targetId = targetId; }
+    public String getContextId() { return contextId; }
+    public void setContextId(String contextId) { this.contextId = contextId; }
+    public String getSummary() { return summary; }
+    public void setSummary(String summary) { this.summary = summary; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
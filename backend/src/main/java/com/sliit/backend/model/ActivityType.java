@@ -0,0 +1,9 @@
+package com.sliit.backend.model;
+
+public enum ActivityType {
+    NEW_QUESTION,
+    NEW_LEARNING_PLAN,
+    ANSWER_ON_MY_QUESTION,
+    COMMENT_ON_MY_PLAN,
+    VOTE_ON_MY_ANSWER
+}
@@ -1,9 +1,10 @@
 package com.sliit.backend.model;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Collection;
 
+import com.sliit.backend.compression.CompressedText;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.web.bind.annotation.CrossOrigin;
 
@@ -12,19 +13,21 @@ import org.springframework.web.bind.annotation.CrossOrigin;
 public class Answer {
     @Id
     private String id;
-    private String content;
+    private CompressedText content;
+    @Indexed
     private String userId;
     private int upvotes = 0;
     private int downvotes = 0;
     private boolean isBestAnswer = false;
+    @Indexed
     private String questionId;
     private String username; // New field
-    private List<String> upvotedBy = new ArrayList<>();
-    private List<String> downvotedBy = new ArrayList<>();
+    private ObjectIdSet upvotedBy = new ObjectIdSet();
+    private ObjectIdSet downvotedBy = new ObjectIdSet();
 
     public Answer() {}
     public Answer(String content, String userId, String questionId) {
-        this.content = content;
+        this.content = CompressedText.of(content);
         this.userId = userId;
         this.questionId = questionId;
     }
@@ -33,15 +36,15 @@ public class Answer {
     public void setUserId(String userId) { this.userId = userId; }
     public String getUsername() { return username; }
     public void setUsername(String username) { this.username = username; }
-    public List<String> getUpvotedBy() { return upvotedBy; }
-    public void setUpvotedBy(List<String> upvotedBy) { this.upvotedBy = upvotedBy; }
-    public List<String> getDownvotedBy() { return downvotedBy; }
-    public void setDownvotedBy(List<String> downvotedBy) { this.downvotedBy = downvotedBy; }
+    public ObjectIdSet getUpvotedBy() { return upvotedBy; }
+    public void setUpvotedBy(Collection<String> upvotedBy) { this.upvotedBy = new ObjectIdSet(upvotedBy); }
+    public ObjectIdSet getDownvotedBy() { return downvotedBy; }
+    public void setDownvotedBy(Collection<String> downvotedBy) { this.downvotedBy = new ObjectIdSet(downvotedBy); }
 
     public String getId() { return id; }
     public void setId(String id) { this.id = id; }
-    public String getContent() { return content; }
-    public void setContent(String content) { this.content = content; }
+    public String getContent() { return content != null ? content.value() : null; }
+    public void setContent(String content) { this.content = CompressedText.of(content); }
     public int getUpvotes() { return upvotes; }
     public void setUpvotes(int upvotes) { this.upvotes = upvotes; }
     public int getDownvotes() { return downvotes; }
@@ -1,31 +1,45 @@
 package com.sliit.backend.model;
 
+import com.sliit.backend.compression.CompressedText;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Collection;
 
 @Document(collection = "comments")
+@CompoundIndexes({
+    // Keyset pagination of top-level threads and of the replies within a thread
+    @CompoundIndex(name = "plan_threads_idx", def = "{'learningPlanId': 1, 'parentId': 1, 'createdAt': -1, '_id': -1}"),
+    @CompoundIndex(name = "thread_replies_idx", def = "{'parentId': 1, 'createdAt': 1, '_id': 1}")
+})
 public class Comment {
 
     @Id
     private String id;
 
-    private String message;
+    private CompressedText message;
     private String resourceLink;
     private String username;
+    @Indexed
     private String userId;
     private String learningPlanId;
     private LocalDateTime createdAt;
-    private List<String> likedBy = new ArrayList<>(); // List of user IDs who liked the comment
+    private ObjectIdSet likedBy = new ObjectIdSet(); // IDs of users who liked the comment
     private int likeCount = 0; // Total number of likes
+    private String parentId; // null for top-level comments
+    @Indexed
+    private String path; // Materialized path of ancestor ids, e.g. "rootId/childId/"
+    private int depth = 0;
+    private int replyCount = 0; // Number of direct replies
 
     // Constructors
     public Comment() {
         this.createdAt = LocalDateTime.now();
-        this.likedBy = new ArrayList<>();
+        this.likedBy = new ObjectIdSet();
         this.likeCount = 0;
     }
 
@@ -39,11 +53,11 @@ public class Comment {
     }
 
     public String getMessage() {
-        return message;
+        return message != null ? message.value() : null;
     }
 
     public void setMessage(String message) {
-        this.message = message;
+        this.message = CompressedText.of(message);
     }
 
     public String getResourceLink() {
@@ -86,12 +100,12 @@ public class Comment {
         this.createdAt = createdAt;
     }
 
-    public List<String> getLikedBy() {
+    public ObjectIdSet getLikedBy() {
         return likedBy;
     }
 
-    public void setLikedBy(List<String> likedBy) {
-        this.likedBy = likedBy != null ? likedBy : new ArrayList<>();
+    public void setLikedBy(Collection<String> likedBy) {
+        this.likedBy = new ObjectIdSet(likedBy);
     }
 
     public int getLikeCount() {
@@ -101,4 +115,36 @@ public class Comment {
     public void setLikeCount(int likeCount) {
         this.likeCount = likeCount;
     }
+
+    public String getParentId() {
+        return parentId;
+    }
+
+    public void setParentId(String parentId) {
+        this.parentId = parentId;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public void setDepth(int depth) {
+        this.depth = depth;
+    }
+
+    public int getReplyCount() {
+        return replyCount;
+    }
+
+    public void setReplyCount(int replyCount) {
+        this.replyCount = replyCount;
+    }
 }
\ No newline at end of file
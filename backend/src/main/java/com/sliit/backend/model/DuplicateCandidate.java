@@ -0,0 +1,4 @@
+package com.sliit.backend.model;
+
+// An existing question that looks like a near-duplicate, with its estimated Jaccard similarity (0..1)
+public record DuplicateCandidate(String id, String title, double similarity) {}
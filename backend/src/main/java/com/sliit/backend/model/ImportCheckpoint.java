@@ -0,0 +1,40 @@
+package com.sliit.backend.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+// Progress of a bulk import job; every record up to recordsDone has been written (or reported as failed)
+@Document(collection = "importCheckpoints")
+public class ImportCheckpoint {
+    @Id
+    private String id; // Job id
+    private int idSeconds; // Timestamp part of the ObjectIds for records without a createdAt, fixed so a resumed run reuses them
+    private long recordsDone;
+    private long inserted;
+    private long skipped; // Already present, e.g. written just before a crash and replayed on resume
+    private long failed;
+    private boolean completed;
+    private LocalDateTime startedAt;
+    private LocalDateTime updatedAt;
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+    public int getIdSeconds() { return idSeconds; }
+    public void setIdSeconds(int idSeconds) { this.idSeconds = idSeconds; }
+    public long getRecordsDone() { return recordsDone; }
+    public void setRecordsDone(long recordsDone) { this.recordsDone = recordsDone; }
+    public long getInserted() { return inserted; }
+    public void setInserted(long inserted) { this.inserted = inserted; }
+    public long getSkipped() { return skipped; }
+    public void setSkipped(long skipped) { this.skipped = skipped; }
+    public long getFailed() { return failed; }
+    public void setFailed(long failed) { this.failed = failed; }
+    public boolean isCompleted() { return completed; }
+    public void setCompleted(boolean completed) { this.completed = completed; }
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
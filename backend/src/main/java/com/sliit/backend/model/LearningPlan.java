@@ -1,26 +1,52 @@
 package com.sliit.backend.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonSetter;
+import com.sliit.backend.compression.CompressedText;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 @Document(collection = "learningPlans")
 public class LearningPlan {
 
+    private static final Pattern DURATION_PATTERN = Pattern.compile("(\\d{1,6})\\s*(day|week|month|year)?", Pattern.CASE_INSENSITIVE);
+
     @Id
     private String id;
 
+    @Indexed
     private String userId;
     private String title;
-    private String description;
-    private String duration;
-    private String deadline;
-    private String status;
+    private CompressedText description;
+    private String duration; // Free-form label, e.g. "4 weeks"
+    private Integer durationDays; // Parsed from the label when possible
+    @Indexed
+    private LocalDate deadline;
+    private PlanStatus status;
     private List<String> modules;
+    @Indexed
+    private List<String> tags = new ArrayList<>(); // Normalized by TagService, multikey index
+    @Transient
+    @JsonIgnore
+    private boolean tagsSent; // Whether the request body had a tags field; edits without one keep the stored tags
     private boolean completed;
-    private String progress;
+    private Integer progress; // Percentage 0-100
     private String username;
+    private LocalDateTime createdAt;
+    private LocalDateTime completedAt;
+    private LocalDateTime reminderSentAt; // Set once the deadline reminder has been delivered
+    @JsonIgnore
+    private Map<String, Object> legacy; // Original values LearningPlanMigration could not convert, by field
 
     // Remove the comments list from LearningPlan
     // Getters and setters remain the same
@@ -49,11 +75,11 @@ public class LearningPlan {
     }
 
     public String getDescription() {
-        return description;
+        return description != null ? description.value() : null;
     }
 
     public void setDescription(String description) {
-        this.description = description;
+        this.description = CompressedText.of(description);
     }
 
     public String getDuration() {
@@ -62,21 +88,30 @@ public class LearningPlan {
 
     public void setDuration(String duration) {
         this.duration = duration;
+        this.durationDays = parseDurationDays(duration);
+    }
+
+    public Integer getDurationDays() {
+        return durationDays;
+    }
+
+    public void setDurationDays(Integer durationDays) {
+        this.durationDays = durationDays;
     }
 
-    public String getDeadline() {
+    public LocalDate getDeadline() {
         return deadline;
     }
 
-    public void setDeadline(String deadline) {
+    public void setDeadline(LocalDate deadline) {
         this.deadline = deadline;
     }
 
-    public String getStatus() {
+    public PlanStatus getStatus() {
         return status;
     }
 
-    public void setStatus(String status) {
+    public void setStatus(PlanStatus status) {
         this.status = status;
     }
 
@@ -88,6 +123,24 @@ public class LearningPlan {
         this.modules = modules;
     }
 
+    public List<String> getTags() {
+        return tags;
+    }
+
+    public void setTags(List<String> tags) {
+        this.tags = tags != null ? tags : new ArrayList<>();
+    }
+
+    public boolean isTagsSent() {
+        return tagsSent;
+    }
+
+    @JsonSetter("tags")
+    public void readTags(List<String> tags) {
+        setTags(tags);
+        tagsSent = true;
+    }
+
     public boolean isCompleted() {
         return completed;
     }
@@ -96,12 +149,12 @@ public class LearningPlan {
         this.completed = completed;
     }
 
-    public String getProgress() {
+    public Integer getProgress() {
         return progress;
     }
 
-    public void setProgress(String progress) {
-        this.progress = progress;
+    public void setProgress(Integer progress) {
+        this.progress = progress == null ? null : Math.max(0, Math.min(100, progress));
     }
 
     public String getUsername() {
@@ -111,4 +164,55 @@ public class LearningPlan {
     public void setUsername(String username) {
         this.username = username;
     }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+
+    public LocalDateTime getReminderSentAt() {
+        return reminderSentAt;
+    }
+
+    public void setReminderSentAt(LocalDateTime reminderSentAt) {
+        this.reminderSentAt = reminderSentAt;
+    }
+
+    public Map<String, Object> getLegacy() {
+        return legacy;
+    }
+
+    public void setLegacy(Map<String, Object> legacy) {
+        this.legacy = legacy;
+    }
+
+    // "10 days", "4 weeks", "3 months", "1 year" or a bare number of days
+    public static Integer parseDurationDays(String duration) {
+        if (duration == null) {
+            return null;
+        }
+        Matcher matcher = DURATION_PATTERN.matcher(duration);
+        if (!matcher.find()) {
+            return null;
+        }
+        int amount = Integer.parseInt(matcher.group(1));
+        String unit = matcher.group(2) == null ? "day" : matcher.group(2).toLowerCase();
+        return switch (unit) {
+            case "week" -> amount * 7;
+            case "month" -> amount * 30;
+            case "year" -> amount * 365;
+            default -> amount;
+        };
+    }
 }
\ No newline at end of file
@@ -0,0 +1,219 @@
+package com.sliit.backend.model;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.TreeSet;
+
+// Compact set of user ids for voter and like lists.
+// 24-character hex ObjectIds are packed into 12 bytes (a long and an int) held in parallel sorted
+// primitive arrays, so membership is a binary search and an entry costs 12 bytes instead of a ~80 byte String.
+// Any other id is kept as-is in a small overflow set. Iteration yields the packed ids in ObjectId order, then the overflow.
+// It is still a Set<String>, so Mongo and Jackson read and write it as the same array of id strings as before.
+public final class ObjectIdSet extends AbstractSet<String> {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private long[] high = new long[0];
+    private int[] low = new int[0];
+    private int size;
+    private TreeSet<String> overflow;
+
+    public ObjectIdSet() {
+    }
+
+    public ObjectIdSet(Collection<String> ids) {
+        if (ids != null) {
+            addAll(ids);
+        }
+    }
+
+    @Override
+    public int size() {
+        return size + (overflow == null ? 0 : overflow.size());
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        if (!(o instanceof String id)) {
+            return false;
+        }
+        if (!isObjectId(id)) {
+            return overflow != null && overflow.contains(id);
+        }
+        return indexOf(parseHigh(id), parseLow(id)) >= 0;
+    }
+
+    @Override
+    public boolean add(String id) {
+        if (!isObjectId(id)) {
+            if (overflow == null) {
+                overflow = new TreeSet<>();
+            }
+            return overflow.add(id);
+        }
+        long h = parseHigh(id);
+        int l = parseLow(id);
+        int index = indexOf(h, l);
+        if (index >= 0) {
+            return false;
+        }
+        int insertAt = -index - 1;
+        if (size == high.length) {
+            int capacity = Math.max(4, size + (size >> 1));
+            high = Arrays.copyOf(high, capacity);
+            low = Arrays.copyOf(low, capacity);
+        }
+        System.arraycopy(high, insertAt, high, insertAt + 1, size - insertAt);
+        System.arraycopy(low, insertAt, low, insertAt + 1, size - insertAt);
+        high[insertAt] = h;
+        low[insertAt] = l;
+        size++;
+        return true;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (!(o instanceof String id)) {
+            return false;
+        }
+        if (!isObjectId(id)) {
+            return overflow != null && overflow.remove(id);
+        }
+        int index = indexOf(parseHigh(id), parseLow(id));
+        if (index < 0) {
+            return false;
+        }
+        removeAt(index);
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        high = new long[0];
+        low = new int[0];
+        size = 0;
+        overflow = null;
+    }
+
+    @Override
+    public Iterator<String> iterator() {
+        return new Iterator<>() {
+            private int next;
+            private boolean removable;
+            private boolean fromOverflow;
+            private Iterator<String> overflowIterator;
+
+            @Override
+            public boolean hasNext() {
+                if (next < size) {
+                    return true;
+                }
+                return overflowIterator().hasNext();
+            }
+
+            @Override
+            public String next() {
+                if (next < size) {
+                    removable = true;
+                    fromOverflow = false;
+                    String id = format(high[next], low[next]);
+                    next++;
+                    return id;
+                }
+                if (!overflowIterator().hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                String id = overflowIterator.next();
+                removable = true;
+                fromOverflow = true;
+                return id;
+            }
+
+            @Override
+            public void remove() {
+                if (!removable) {
+                    throw new IllegalStateException();
+                }
+                if (fromOverflow) {
+                    overflowIterator.remove();
+                } else {
+                    removeAt(--next);
+                }
+                removable = false;
+            }
+
+            private Iterator<String> overflowIterator() {
+                if (overflowIterator == null) {
+                    overflowIterator = overflow == null ? Collections.emptyIterator() : overflow.iterator();
+                }
+                return overflowIterator;
+            }
+        };
+    }
+
+    // Binary search over (high, low) treated as one unsigned 96-bit key
+    private int indexOf(long h, int l) {
+        int from = 0;
+        int to = size - 1;
+        while (from <= to) {
+            int mid = (from + to) >>> 1;
+            int cmp = Long.compareUnsigned(high[mid], h);
+            if (cmp == 0) {
+                cmp = Integer.compareUnsigned(low[mid], l);
+            }
+            if (cmp < 0) {
+                from = mid + 1;
+            } else if (cmp > 0) {
+                to = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(from + 1);
+    }
+
+    private void removeAt(int index) {
+        System.arraycopy(high, index + 1, high, index, size - index - 1);
+        System.arraycopy(low, index + 1, low, index, size - index - 1);
+        size--;
+    }
+
+    // Only lowercase ids are packed so that every id reads back exactly as it was stored
+    static boolean isObjectId(String id) {
+        if (id == null || id.length() != 24) {
+            return false;
+        }
+        for (int i = 0; i < 24; i++) {
+            char c = id.charAt(i);
+            if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long parseHigh(String id) {
+        return Long.parseUnsignedLong(id, 0, 16, 16);
+    }
+
+    private static int parseLow(String id) {
+        return Integer.parseUnsignedInt(id, 16, 24, 16);
+    }
+
+    private static String format(long h, int l) {
+        char[] chars = new char[24];
+        for (int i = 15; i >= 0; i--) {
+            chars[i] = HEX[(int) (h & 0xf)];
+            h >>>= 4;
+        }
+        for (int i = 23; i >= 16; i--) {
+            chars[i] = HEX[l & 0xf];
+            l >>>= 4;
+        }
+        return new String(chars);
+    }
+}
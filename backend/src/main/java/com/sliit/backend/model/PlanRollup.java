@@ -0,0 +1,31 @@
+package com.sliit.backend.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDate;
+
+// Pre-aggregated learning plan counter, maintained with $inc on every plan write.
+// Ids look like "created:2025-W14", "completed:2025-W14", "status:IN_PROGRESS", "due:2025-04-30" or "due:overdue".
+@Document(collection = "planRollups")
+@CompoundIndex(name = "kind_date_idx", def = "{'kind': 1, 'date': 1}")
+public class PlanRollup {
+    @Id
+    private String id;
+    private String kind;
+    private String bucket;
+    private LocalDate date; // Set for dated "due" rollups so the coming days are a range query
+    private long count;
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+    public String getKind() { return kind; }
+    public void setKind(String kind) { this.kind = kind; }
+    public String getBucket() { return bucket; }
+    public void setBucket(String bucket) { this.bucket = bucket; }
+    public LocalDate getDate() { return date; }
+    public void setDate(LocalDate date) { this.date = date; }
+    public long getCount() { return count; }
+    public void setCount(long count) { this.count = count; }
+}
@@ -0,0 +1,43 @@
+package com.sliit.backend.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+// Stored by name; the API keeps using the human-readable labels the frontend sends
+public enum PlanStatus {
+    NOT_STARTED("Not Started"),
+    IN_PROGRESS("In Progress"),
+    COMPLETED("Completed");
+
+    private final String label;
+
+    PlanStatus(String label) {
+        this.label = label;
+    }
+
+    @JsonValue
+    public String getLabel() {
+        return label;
+    }
+
+    // Accepts either the label ("In Progress") or the enum name ("IN_PROGRESS"). Blank or unknown values, such as
+    // free text from older clients, read as NOT_STARTED rather than failing the whole request.
+    @JsonCreator
+    public static PlanStatus fromValue(String value) {
+        PlanStatus status = parse(value);
+        return status != null ? status : NOT_STARTED;
+    }
+
+    // The status with this label or name, or null if there is none
+    public static PlanStatus parse(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        for (PlanStatus status : values()) {
+            if (status.label.equalsIgnoreCase(value.trim()) || status.name().equalsIgnoreCase(value.trim())) {
+                return status;
+            }
+        }
+        return null;
+    }
+}
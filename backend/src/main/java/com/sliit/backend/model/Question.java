@@ -1,23 +1,39 @@
 package com.sliit.backend.model;
 
+import com.sliit.backend.compression.CompressedText;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.web.bind.annotation.CrossOrigin;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
 @CrossOrigin(origins = "http://localhost:5173")
 @Document(collection = "questions")
 public class Question {
     @Id
     private String id;
     private String title;
-    private String description;
+    private CompressedText description;
+    @Indexed
     private String userId;
     private String username; // New field
+    @Indexed
+    private List<String> tags = new ArrayList<>(); // Normalized by TagService, multikey index
+    @Indexed
+    private LocalDateTime lastActivityAt; // Last write to the question or its answers; drives archival
+    @Transient
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<DuplicateCandidate> possibleDuplicates; // Only set on the create response
 
     public Question() {}
     public Question(String title, String description, String userId) {
         this.title = title;
-        this.description = description;
+        this.description = CompressedText.of(description);
         this.userId = userId;
     }
 
@@ -30,6 +46,12 @@ public class Question {
     public void setId(String id) { this.id = id; }
     public String getTitle() { return title; }
     public void setTitle(String title) { this.title = title; }
-    public String getDescription() { return description; }
-    public void setDescription(String description) { this.description = description; }
+    public String getDescription() { return description != null ? description.value() : null; }
+    public void setDescription(String description) { this.description = CompressedText.of(description); }
+    public List<String> getTags() { return tags; }
+    public void setTags(List<String> tags) { this.tags = tags != null ? tags : new ArrayList<>(); }
+    public LocalDateTime getLastActivityAt() { return lastActivityAt; }
+    public void setLastActivityAt(LocalDateTime lastActivityAt) { this.lastActivityAt = lastActivityAt; }
+    public List<DuplicateCandidate> getPossibleDuplicates() { return possibleDuplicates; }
+    public void setPossibleDuplicates(List<DuplicateCandidate> possibleDuplicates) { this.possibleDuplicates = possibleDuplicates; }
 }
@@ -0,0 +1,6 @@
+package com.sliit.backend.model;
+
+import java.util.List;
+
+// A learning plan similar to another one, with the cosine similarity (0..1) of their TF-IDF vectors
+public record RelatedPlan(String id, String title, String userId, List<String> tags, double similarity) {}
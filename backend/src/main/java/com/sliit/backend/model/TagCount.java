@@ -0,0 +1,26 @@
+package com.sliit.backend.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+// Number of questions or plans carrying a tag, maintained with $inc on every tagged write.
+// Ids look like "question:spring-boot" or "plan:java".
+@Document(collection = "tagCounts")
+@CompoundIndex(name = "scope_count_idx", def = "{'scope': 1, 'count': -1}")
+public class TagCount {
+    @Id
+    private String id;
+    private String scope;
+    private String tag;
+    private long count;
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+    public String getScope() { return scope; }
+    public void setScope(String scope) { this.scope = scope; }
+    public String getTag() { return tag; }
+    public void setTag(String tag) { this.tag = tag; }
+    public long getCount() { return count; }
+    public void setCount(long count) { this.count = count; }
+}
@@ -0,0 +1,51 @@
+package com.sliit.backend.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// One document per node holding its serialized trending sketches; nodes merge each other's snapshots
+@Document(collection = "trendingSnapshots")
+public class TrendingSnapshot {
+    @Id
+    private String id; // Node id
+    private byte[] views; // Count-min sketch
+    private byte[] votes; // Count-min sketch
+    private List<Candidate> candidates = new ArrayList<>();
+    private LocalDateTime updatedAt;
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+    public byte[] getViews() { return views; }
+    public void setViews(byte[] views) { this.views = views; }
+    public byte[] getVotes() { return votes; }
+    public void setVotes(byte[] votes) { this.votes = votes; }
+    public List<Candidate> getCandidates() { return candidates; }
+    public void setCandidates(List<Candidate> candidates) { this.candidates = candidates != null ? candidates : new ArrayList<>(); }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+
+    // A question in the node's heavy-hitter set, with a HyperLogLog of its distinct viewers
+    public static class Candidate {
+        private String questionId;
+        private String title;
+        private byte[] viewers;
+
+        public Candidate() {}
+        public Candidate(String questionId, String title, byte[] viewers) {
+            this.questionId = questionId;
+            this.title = title;
+            this.viewers = viewers;
+        }
+
+        public String getQuestionId() { return questionId; }
+        public void setQuestionId(String questionId) { this.questionId = questionId; }
+        public String getTitle() { return title; }
+        public void setTitle(String title) { this.title = title; }
+        public byte[] getViewers() { return viewers; }
+        public void setViewers(byte[] viewers) { this.viewers = viewers; }
+    }
+}
@@ -0,0 +1,24 @@
+package com.sliit.backend.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// One capped document per user holding the newest personal feed entries, newest first
+@Document(collection = "timelines")
+public class UserTimeline {
+    @Id
+    private String id; // Same as the user id
+    private List<ActivityEvent> entries = new ArrayList<>();
+    private LocalDateTime updatedAt;
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+    public List<ActivityEvent> getEntries() { return entries; }
+    public void setEntries(List<ActivityEvent> entries) { this.entries = entries != null ? entries : new ArrayList<>(); }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
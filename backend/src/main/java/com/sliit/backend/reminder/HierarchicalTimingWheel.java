@@ -0,0 +1,161 @@
+package com.sliit.backend.reminder;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+// Hierarchical timing wheel in the style of Kafka's purgatory timer. Each level has a fixed number of
+// buckets; timers beyond a level's span go to a coarser overflow level and cascade down as time passes.
+// Scheduling and cancelling are O(1); only non-empty buckets are kept in the priority queue, so advancing
+// the clock costs O(log b) per expired bucket rather than one step per tick.
+public class HierarchicalTimingWheel<T> {
+
+    private final Map<String, Timer<T>> timers = new HashMap<>();
+    private final PriorityQueue<Bucket<T>> queue = new PriorityQueue<>(Comparator.comparingLong(b -> b.expiration));
+    private final List<T> ready = new ArrayList<>();
+    private final Wheel root;
+
+    public HierarchicalTimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        this.root = new Wheel(tickMillis, wheelSize, startMillis);
+    }
+
+    // Replaces any timer with the same id. A timer that is already due is returned by the next advance.
+    public synchronized void schedule(String id, long expirationMillis, T payload) {
+        cancel(id);
+        Timer<T> timer = new Timer<>(id, expirationMillis, payload);
+        timers.put(id, timer);
+        if (!root.add(timer)) {
+            timers.remove(id);
+            ready.add(payload);
+        }
+    }
+
+    public synchronized boolean cancel(String id) {
+        Timer<T> timer = timers.remove(id);
+        if (timer == null) {
+            return false;
+        }
+        if (timer.bucket != null) {
+            timer.bucket.timers.remove(timer);
+            timer.bucket = null;
+        }
+        return true;
+    }
+
+    public synchronized boolean contains(String id) {
+        return timers.containsKey(id);
+    }
+
+    public synchronized int size() {
+        return timers.size();
+    }
+
+    // Moves the clock to now and returns the payloads of every timer that expired, in no particular order
+    public synchronized List<T> advanceTo(long nowMillis) {
+        List<T> due = new ArrayList<>(ready);
+        ready.clear();
+        while (!queue.isEmpty() && queue.peek().expiration <= nowMillis) {
+            Bucket<T> bucket = queue.poll();
+            root.advanceClock(bucket.expiration);
+            for (Timer<T> timer : bucket.flush()) {
+                // Re-inserting cascades the timer into a finer level or reports it as expired
+                if (!root.add(timer)) {
+                    timers.remove(timer.id);
+                    due.add(timer.payload);
+                }
+            }
+        }
+        root.advanceClock(nowMillis);
+        return due;
+    }
+
+    private final class Wheel {
+        private final long tickMillis;
+        private final int wheelSize;
+        private final long interval;
+        private final List<Bucket<T>> buckets;
+        private long currentTime;
+        private Wheel overflow;
+
+        Wheel(long tickMillis, int wheelSize, long startMillis) {
+            this.tickMillis = tickMillis;
+            this.wheelSize = wheelSize;
+            this.interval = tickMillis * wheelSize;
+            this.buckets = new ArrayList<>(wheelSize);
+            for (int i = 0; i < wheelSize; i++) {
+                buckets.add(new Bucket<>());
+            }
+            this.currentTime = startMillis - (startMillis % tickMillis);
+        }
+
+        boolean add(Timer<T> timer) {
+            long expiration = timer.expiration;
+            if (expiration < currentTime + tickMillis) {
+                return false;
+            }
+            if (expiration < currentTime + interval) {
+                long virtualId = expiration / tickMillis;
+                Bucket<T> bucket = buckets.get((int) (virtualId % wheelSize));
+                bucket.timers.add(timer);
+                timer.bucket = bucket;
+                // A bucket is queued once per round of the wheel
+                if (bucket.setExpiration(virtualId * tickMillis)) {
+                    queue.add(bucket);
+                }
+                return true;
+            }
+            if (overflow == null) {
+                overflow = new Wheel(interval, wheelSize, currentTime);
+            }
+            return overflow.add(timer);
+        }
+
+        void advanceClock(long timeMillis) {
+            if (timeMillis >= currentTime + tickMillis) {
+                currentTime = timeMillis - (timeMillis % tickMillis);
+                if (overflow != null) {
+                    overflow.advanceClock(currentTime);
+                }
+            }
+        }
+    }
+
+    private static final class Bucket<T> {
+        private final Set<Timer<T>> timers = new LinkedHashSet<>();
+        private long expiration = -1;
+
+        boolean setExpiration(long expiration) {
+            if (this.expiration == expiration) {
+                return false;
+            }
+            this.expiration = expiration;
+            return true;
+        }
+
+        List<Timer<T>> flush() {
+            List<Timer<T>> flushed = new ArrayList<>(timers);
+            timers.clear();
+            expiration = -1;
+            flushed.forEach(timer -> timer.bucket = null);
+            return flushed;
+        }
+    }
+
+    private static final class Timer<T> {
+        private final String id;
+        private final long expiration;
+        private final T payload;
+        private Bucket<T> bucket;
+
+        Timer(String id, long expiration, T payload) {
+            this.id = id;
+            this.expiration = expiration;
+            this.payload = payload;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.sliit.backend.reminder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Local stand-in notifier: logs each batch and keeps the most recent reminders for inspection in tests
+public class LoggingReminderNotifier implements ReminderNotifier {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LoggingReminderNotifier.class);
+    private static final int HISTORY_SIZE = 1000;
+
+    private final List<PlanReminder> delivered = new ArrayList<>();
+
+    @Override
+    public synchronized void deliver(List<PlanReminder> batch) {
+        LOGGER.info("Delivering {} learning plan deadline reminders", batch.size());
+        for (PlanReminder reminder : batch) {
+            LOGGER.debug("Reminder for plan {} (user {}): '{}' is due on {}",
+                    reminder.planId(), reminder.userId(), reminder.title(), reminder.deadline());
+        }
+        delivered.addAll(batch);
+        if (delivered.size() > HISTORY_SIZE) {
+            delivered.subList(0, delivered.size() - HISTORY_SIZE).clear();
+        }
+    }
+
+    public synchronized List<PlanReminder> delivered() {
+        return List.copyOf(delivered);
+    }
+}
@@ -0,0 +1,6 @@
+package com.sliit.backend.reminder;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+public record PlanReminder(String planId, String userId, String title, LocalDate deadline, Instant remindAt) {}
@@ -0,0 +1,16 @@
+package com.sliit.backend.reminder;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ReminderConfig {
+
+    // Replace by declaring another ReminderNotifier bean
+    @Bean
+    @ConditionalOnMissingBean(ReminderNotifier.class)
+    public ReminderNotifier reminderNotifier() {
+        return new LoggingReminderNotifier();
+    }
+}
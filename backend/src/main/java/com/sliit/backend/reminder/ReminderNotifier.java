@@ -0,0 +1,9 @@
+package com.sliit.backend.reminder;
+
+import java.util.List;
+
+// Delivery channel for due reminders (e-mail, push, ...). Called with batches from a single thread.
+public interface ReminderNotifier {
+
+    void deliver(List<PlanReminder> batch);
+}
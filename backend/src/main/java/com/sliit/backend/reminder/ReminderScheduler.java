@@ -0,0 +1,189 @@
+package com.sliit.backend.reminder;
+
+import com.sliit.backend.model.LearningPlan;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+// Fires a reminder a configurable lead time before a learning plan's deadline.
+// Only reminders inside the upcoming window are held in the timing wheel; the window is extended
+// incrementally from the deadline index, which is also how timers are rehydrated after a restart.
+// Plan writes update the wheel directly, and reminders are claimed on the plan before delivery so that neither
+// a restart nor another node sends them again.
+@Service
+@ConditionalOnProperty(name = "reminders.enabled", havingValue = "true", matchIfMissing = true)
+public class ReminderScheduler implements SmartLifecycle {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReminderScheduler.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final ReminderNotifier notifier;
+    private final Duration leadTime;
+    private final Duration window;
+    private final long tickMillis;
+    private final int batchSize;
+    private final Clock clock = Clock.systemDefaultZone();
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    private HierarchicalTimingWheel<PlanReminder> wheel;
+    private ScheduledExecutorService executor;
+    private volatile long loadedUntil;
+
+    public ReminderScheduler(MongoTemplate mongoTemplate,
+                             ReminderNotifier notifier,
+                             @Value("${reminders.lead-time:24h}") Duration leadTime,
+                             @Value("${reminders.window:48h}") Duration window,
+                             @Value("${reminders.tick-ms:1000}") long tickMillis,
+                             @Value("${reminders.batch-size:100}") int batchSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.notifier = notifier;
+        this.leadTime = leadTime;
+        this.window = window;
+        this.tickMillis = tickMillis;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void start() {
+        long now = clock.millis();
+        wheel = new HierarchicalTimingWheel<>(tickMillis, 60, now);
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "plan-reminders");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.execute(this::loadWindow);
+        executor.scheduleWithFixedDelay(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+        // Extend the window well before the loaded horizon is reached
+        long refreshMillis = Math.max(tickMillis, window.toMillis() / 4);
+        executor.scheduleWithFixedDelay(this::loadWindow, refreshMillis, refreshMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return executor != null;
+    }
+
+    // Called after a plan is created or updated
+    public void onPlanSaved(LearningPlan plan) {
+        if (wheel == null) {
+            return;
+        }
+        wheel.cancel(plan.getId());
+        // Same filter as loadWindow: nothing is scheduled for a deadline that has already passed
+        if (plan.isCompleted() || plan.getDeadline() == null || plan.getReminderSentAt() != null
+                || plan.getDeadline().isBefore(LocalDate.now(clock))) {
+            return;
+        }
+        PlanReminder reminder = toReminder(plan);
+        if (reminder.remindAt().toEpochMilli() < loadedUntil) {
+            wheel.schedule(plan.getId(), reminder.remindAt().toEpochMilli(), reminder);
+        }
+    }
+
+    public void onPlanDeleted(String planId) {
+        if (wheel != null) {
+            wheel.cancel(planId);
+        }
+    }
+
+    public int scheduledCount() {
+        return wheel == null ? 0 : wheel.size();
+    }
+
+    // Schedules open plans whose reminder falls before now + window and whose deadline has not passed
+    void loadWindow() {
+        try {
+            long now = clock.millis();
+            long horizon = now + window.toMillis();
+            LocalDate lastDeadline = LocalDateTime.ofInstant(Instant.ofEpochMilli(horizon).plus(leadTime), zone).toLocalDate();
+            Query query = new Query(where("deadline").gte(LocalDate.now(clock)).lte(lastDeadline)
+                    .and("completed").is(false)
+                    .and("reminderSentAt").is(null));
+            query.fields().include("userId", "title", "deadline");
+            int added = 0;
+            for (LearningPlan plan : mongoTemplate.find(query, LearningPlan.class)) {
+                PlanReminder reminder = toReminder(plan);
+                if (reminder.remindAt().toEpochMilli() < horizon && !wheel.contains(plan.getId())) {
+                    wheel.schedule(plan.getId(), reminder.remindAt().toEpochMilli(), reminder);
+                    added++;
+                }
+            }
+            loadedUntil = horizon;
+            if (added > 0) {
+                LOGGER.info("Scheduled {} deadline reminders, {} pending", added, wheel.size());
+            }
+        } catch (RuntimeException e) {
+            LOGGER.warn("Failed to load deadline reminders: {}", e.getMessage());
+        }
+    }
+
+    void tick() {
+        try {
+            List<PlanReminder> due = wheel.advanceTo(clock.millis());
+            for (int i = 0; i < due.size(); i += batchSize) {
+                deliver(new ArrayList<>(due.subList(i, Math.min(i + batchSize, due.size()))));
+            }
+        } catch (RuntimeException e) {
+            LOGGER.warn("Reminder tick failed: {}", e.getMessage());
+        }
+    }
+
+    // Every node holds the same reminders, so each one is claimed by setting reminderSentAt while it is still
+    // null; only the node whose claim wins sends it. Claims are released again if the delivery fails.
+    private void deliver(List<PlanReminder> batch) {
+        LocalDateTime claimedAt = LocalDateTime.now(clock);
+        List<PlanReminder> claimed = new ArrayList<>(batch.size());
+        for (PlanReminder reminder : batch) {
+            Query unsent = new Query(where("_id").is(reminder.planId()).and("reminderSentAt").is(null));
+            unsent.fields().include("_id");
+            if (mongoTemplate.findAndModify(unsent, new Update().set("reminderSentAt", claimedAt), LearningPlan.class) != null) {
+                claimed.add(reminder);
+            }
+        }
+        if (claimed.isEmpty()) {
+            return;
+        }
+        try {
+            notifier.deliver(claimed);
+        } catch (RuntimeException e) {
+            List<String> ids = claimed.stream().map(PlanReminder::planId).toList();
+            mongoTemplate.updateMulti(new Query(where("_id").in(ids).and("reminderSentAt").is(claimedAt)),
+                    new Update().unset("reminderSentAt"), LearningPlan.class);
+            throw e;
+        }
+    }
+
+    private PlanReminder toReminder(LearningPlan plan) {
+        Instant remindAt = plan.getDeadline().atStartOfDay(zone).toInstant().minus(leadTime);
+        return new PlanReminder(plan.getId(), plan.getUserId(), plan.getTitle(), plan.getDeadline(), remindAt);
+    }
+}
@@ -1,10 +1,30 @@
 package com.sliit.backend.repository;
 
 import com.sliit.backend.model.Comment;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface CommentRepository extends MongoRepository<Comment, String> {
     List<Comment> findByLearningPlanIdOrderByCreatedAtDesc(String learningPlanId);
-}
\ No newline at end of file
+
+    // Top-level threads, newest first, keyset-paginated on (createdAt, _id)
+    @Query(value = "{ 'learningPlanId': ?0, 'parentId': null }", sort = "{ 'createdAt': -1, '_id': -1 }")
+    List<Comment> findThreads(String learningPlanId, Limit limit);
+
+    @Query(value = "{ 'learningPlanId': ?0, 'parentId': null, '$or': [ { 'createdAt': { '$lt': ?1 } }, { 'createdAt': ?1, '_id': { '$lt': ?2 } } ] }",
+           sort = "{ 'createdAt': -1, '_id': -1 }")
+    List<Comment> findThreadsBefore(String learningPlanId, LocalDateTime createdAt, ObjectId id, Limit limit);
+
+    // Replies to one comment, oldest first
+    @Query(value = "{ 'parentId': ?0 }", sort = "{ 'createdAt': 1, '_id': 1 }")
+    List<Comment> findReplies(String parentId, Limit limit);
+
+    @Query(value = "{ 'parentId': ?0, '$or': [ { 'createdAt': { '$gt': ?1 } }, { 'createdAt': ?1, '_id': { '$gt': ?2 } } ] }",
+           sort = "{ 'createdAt': 1, '_id': 1 }")
+    List<Comment> findRepliesAfter(String parentId, LocalDateTime createdAt, ObjectId id, Limit limit);
+}
@@ -0,0 +1,203 @@
+package com.sliit.backend.reputation;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Indexable skip list ordered by score (highest first) then id, in the style of a Redis sorted set.
+// Each forward link stores its span, so rank lookups and offset seeks are O(log n) instead of O(n).
+public class RankedScoreIndex {
+
+    private static final int MAX_LEVEL = 32;
+    private static final double LEVEL_PROBABILITY = 0.25;
+
+    public record Entry(String id, long score, long rank) {}
+
+    private final Node head = new Node(null, 0, MAX_LEVEL);
+    private final Map<String, Long> scores = new HashMap<>();
+    private int level = 1;
+    private int size = 0;
+
+    public synchronized void put(String id, long score) {
+        Long previous = scores.put(id, score);
+        if (previous != null) {
+            if (previous == score) {
+                return;
+            }
+            delete(id, previous);
+        }
+        insert(id, score);
+    }
+
+    public synchronized void add(String id, long delta) {
+        put(id, scores.getOrDefault(id, 0L) + delta);
+    }
+
+    public synchronized void remove(String id) {
+        Long previous = scores.remove(id);
+        if (previous != null) {
+            delete(id, previous);
+        }
+    }
+
+    public synchronized void clear() {
+        for (int i = 0; i < MAX_LEVEL; i++) {
+            head.next[i] = null;
+            head.span[i] = 0;
+        }
+        scores.clear();
+        level = 1;
+        size = 0;
+    }
+
+    public synchronized long scoreOf(String id) {
+        return scores.getOrDefault(id, 0L);
+    }
+
+    public synchronized boolean contains(String id) {
+        return scores.containsKey(id);
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    // 1-based rank; ids without a score are ranked as if they had score 0
+    public synchronized long rankOf(String id) {
+        return countBefore(scores.getOrDefault(id, 0L), id) + 1;
+    }
+
+    // Entries at 0-based positions [offset, offset + limit)
+    public synchronized List<Entry> range(int offset, int limit) {
+        List<Entry> page = new ArrayList<>();
+        if (offset < 0 || offset >= size || limit <= 0) {
+            return page;
+        }
+        Node x = nodeAtRank(offset + 1);
+        long rank = offset + 1;
+        while (x != null && page.size() < limit) {
+            page.add(new Entry(x.id, x.score, rank++));
+            x = x.next[0];
+        }
+        return page;
+    }
+
+    private long countBefore(long score, String id) {
+        Node x = head;
+        long rank = 0;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && before(x.next[i], score, id)) {
+                rank += x.span[i];
+                x = x.next[i];
+            }
+        }
+        return rank;
+    }
+
+    private Node nodeAtRank(long rank) {
+        Node x = head;
+        long traversed = 0;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && traversed + x.span[i] <= rank) {
+                traversed += x.span[i];
+                x = x.next[i];
+            }
+            if (traversed == rank) {
+                return x;
+            }
+        }
+        return null;
+    }
+
+    private void insert(String id, long score) {
+        Node[] update = new Node[MAX_LEVEL];
+        long[] rank = new long[MAX_LEVEL];
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            rank[i] = i == level - 1 ? 0 : rank[i + 1];
+            while (x.next[i] != null && before(x.next[i], score, id)) {
+                rank[i] += x.span[i];
+                x = x.next[i];
+            }
+            update[i] = x;
+        }
+
+        int nodeLevel = randomLevel();
+        if (nodeLevel > level) {
+            for (int i = level; i < nodeLevel; i++) {
+                rank[i] = 0;
+                update[i] = head;
+                update[i].span[i] = size;
+            }
+            level = nodeLevel;
+        }
+
+        Node node = new Node(id, score, nodeLevel);
+        for (int i = 0; i < nodeLevel; i++) {
+            node.next[i] = update[i].next[i];
+            update[i].next[i] = node;
+            node.span[i] = update[i].span[i] - (int) (rank[0] - rank[i]);
+            update[i].span[i] = (int) (rank[0] - rank[i]) + 1;
+        }
+        for (int i = nodeLevel; i < level; i++) {
+            update[i].span[i]++;
+        }
+        size++;
+    }
+
+    private void delete(String id, long score) {
+        Node[] update = new Node[MAX_LEVEL];
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && before(x.next[i], score, id)) {
+                x = x.next[i];
+            }
+            update[i] = x;
+        }
+        x = x.next[0];
+        if (x == null || x.score != score || !x.id.equals(id)) {
+            return;
+        }
+        for (int i = 0; i < level; i++) {
+            if (update[i].next[i] == x) {
+                update[i].span[i] += x.span[i] - 1;
+                update[i].next[i] = x.next[i];
+            } else {
+                update[i].span[i]--;
+            }
+        }
+        while (level > 1 && head.next[level - 1] == null) {
+            level--;
+        }
+        size--;
+    }
+
+    // True if node sorts strictly before (score, id)
+    private static boolean before(Node node, long score, String id) {
+        return node.score > score || (node.score == score && node.id.compareTo(id) < 0);
+    }
+
+    private static int randomLevel() {
+        int nodeLevel = 1;
+        while (nodeLevel < MAX_LEVEL && ThreadLocalRandom.current().nextDouble() < LEVEL_PROBABILITY) {
+            nodeLevel++;
+        }
+        return nodeLevel;
+    }
+
+    private static final class Node {
+        final String id;
+        final long score;
+        final Node[] next;
+        final int[] span;
+
+        Node(String id, long score, int level) {
+            this.id = id;
+            this.score = score;
+            this.next = new Node[level];
+            this.span = new int[level];
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package com.sliit.backend.reputation;
+
+import com.mongodb.client.MongoCursor;
+import com.sliit.backend.archive.ArchiveService;
+import com.sliit.backend.changestream.ChangeEvent;
+import com.sliit.backend.changestream.ChangeEventListener;
+import com.sliit.backend.model.Answer;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+// Reputation = sum over a user's answers of (upvotes - downvotes) plus a bonus per best answer.
+// Scores live in memory and are adjusted from the vote / best-answer write paths; they are rebuilt
+// from the answers collection on startup and follow change events by the difference each one makes.
+// Answers moved to the archive keep counting through the per-user contributions stored with their question.
+// Deletes recompute the author's score, found through the tracked contribution or the event's pre-image.
+@Service
+public class ReputationService implements ChangeEventListener {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReputationService.class);
+
+    public static final int BEST_ANSWER_BONUS = 15;
+    private static final int TRACKED_ANSWERS = 10_000;
+
+    private final MongoTemplate mongoTemplate;
+    // What recently written answers last added to their author's score. An event only applies the difference
+    // from it, so the event for a write this node already applied adds nothing (whichever arrives first wins).
+    private final Map<ObjectId, Contribution> applied = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<ObjectId, Contribution> eldest) {
+            return size() > TRACKED_ANSWERS;
+        }
+    };
+    // Score changes hold the read lock; a rebuild swaps in its new index under the write lock
+    private final ReentrantReadWriteLock swapLock = new ReentrantReadWriteLock();
+    private volatile RankedScoreIndex index = new RankedScoreIndex();
+    // Users whose score changed while a rebuild was reading, recomputed once the new index is in place
+    private Set<String> changedDuringRebuild;
+
+    public ReputationService(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    // Builds a fresh index while the live one keeps serving and taking deltas, then swaps it in. Users changed
+    // in the meantime are recomputed afterwards, so no delta applied during the rebuild is lost.
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        swapLock.writeLock().lock();
+        try {
+            changedDuringRebuild = ConcurrentHashMap.newKeySet();
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+        Set<String> changed = Set.of();
+        try {
+            RankedScoreIndex fresh = new RankedScoreIndex();
+            List<Document> pipeline = List.of(new Document("$group", new Document("_id", "$userId")
+                    .append("score", new Document("$sum", scoreExpression()))));
+            try (MongoCursor<Document> cursor = mongoTemplate.getCollection("answers").aggregate(pipeline).iterator()) {
+                while (cursor.hasNext()) {
+                    Document row = cursor.next();
+                    if (row.get("_id") != null) {
+                        fresh.put(row.get("_id").toString(), ((Number) row.get("score")).longValue());
+                    }
+                }
+            }
+            for (Document row : mongoTemplate.getCollection(ArchiveService.QUESTIONS_ARCHIVE).aggregate(archivedPipeline(null))) {
+                if (row.get("_id") != null) {
+                    fresh.add(row.get("_id").toString(), ((Number) row.get("score")).longValue());
+                }
+            }
+            swapLock.writeLock().lock();
+            try {
+                index = fresh;
+            } finally {
+                changed = changedDuringRebuild;
+                changedDuringRebuild = null;
+                swapLock.writeLock().unlock();
+            }
+            changed.forEach(this::recompute);
+            LOGGER.info("Rebuilt reputation for {} users in {} ms ({} recomputed after the swap)",
+                    fresh.size(), System.currentTimeMillis() - start, changed.size());
+        } catch (RuntimeException e) {
+            swapLock.writeLock().lock();
+            try {
+                changedDuringRebuild = null;
+            } finally {
+                swapLock.writeLock().unlock();
+            }
+            LOGGER.warn("Failed to rebuild reputation: {}", e.getMessage());
+        }
+    }
+
+    // Called with the saved answer and the change this write made to its author's score
+    public void onVote(Answer answer, int delta) {
+        if (answer.getUserId() != null) {
+            track(idOf(answer.getId()), answer.getUserId(), contribution(answer), delta);
+        }
+    }
+
+    public void onBestAnswer(Answer answer) {
+        onVote(answer, BEST_ANSWER_BONUS);
+    }
+
+    public void onAnswerDeleted(Answer answer) {
+        ObjectId answerId = idOf(answer.getId());
+        if (answerId != null) {
+            synchronized (applied) {
+                applied.remove(answerId);
+            }
+        }
+        add(answer.getUserId(), -contribution(answer));
+    }
+
+    public List<RankedScoreIndex.Entry> leaderboard(int offset, int limit) {
+        return index.range(offset, limit);
+    }
+
+    public long scoreOf(String userId) {
+        return index.scoreOf(userId);
+    }
+
+    public long rankOf(String userId) {
+        return index.rankOf(userId);
+    }
+
+    public int rankedUsers() {
+        return index.size();
+    }
+
+    @Override
+    public Set<String> collections() {
+        return Set.of("answers");
+    }
+
+    @Override
+    public boolean needsPreImages() {
+        return true;
+    }
+
+    // Inserts and updates apply their difference; deletes, and updates to an answer that is neither tracked nor
+    // carries a pre-image, recompute the author's absolute score
+    @Override
+    public void onChange(ChangeEvent event) {
+        ObjectId answerId = idOf(event.documentId());
+        if (answerId == null) {
+            return;
+        }
+        if (event.operation() == ChangeEvent.Operation.DELETE) {
+            Contribution previous;
+            synchronized (applied) {
+                previous = applied.remove(answerId);
+            }
+            Document before = event.fullDocumentBeforeChange();
+            String authorId = previous != null ? previous.authorId()
+                    : before != null && before.get("userId") != null ? before.get("userId").toString() : null;
+            if (authorId != null) {
+                recompute(authorId);
+            } else {
+                LOGGER.debug("Deleted answer {} has no known author; the next rebuild accounts for it", answerId);
+            }
+            return;
+        }
+        String authorId = event.fullDocumentString("userId");
+        if (authorId == null) {
+            // The answer was deleted before its update could be looked up; the delete event follows
+            return;
+        }
+        long score = contribution(event.fullDocument());
+        Document before = event.fullDocumentBeforeChange();
+        if (event.operation() != ChangeEvent.Operation.INSERT && before == null && !tracked(answerId)) {
+            // Nothing to take the difference from
+            synchronized (applied) {
+                applied.put(answerId, new Contribution(authorId, score));
+            }
+            recompute(authorId);
+            return;
+        }
+        track(answerId, authorId, score, before != null ? score - contribution(before) : score);
+    }
+
+    @Override
+    public void onReset() {
+        rebuild();
+    }
+
+    private void recompute(String userId) {
+        List<Document> pipeline = List.of(
+                new Document("$match", new Document("userId", userId)),
+                new Document("$group", new Document("_id", null).append("score", new Document("$sum", scoreExpression()))));
+        Document row = mongoTemplate.getCollection("answers").aggregate(pipeline).first();
+        Document archived = mongoTemplate.getCollection(ArchiveService.QUESTIONS_ARCHIVE)
+                .aggregate(archivedPipeline(userId)).first();
+        if (row == null && archived == null) {
+            update(userId, current -> current.remove(userId));
+        } else {
+            long total = score(row) + score(archived);
+            update(userId, current -> current.put(userId, total));
+        }
+    }
+
+    // Records what the answer now contributes and applies the difference from what was last recorded for it,
+    // or the caller's delta when the answer is not tracked
+    private void track(ObjectId answerId, String authorId, long score, long untrackedDelta) {
+        Contribution previous = null;
+        if (answerId != null) {
+            synchronized (applied) {
+                previous = applied.put(answerId, new Contribution(authorId, score));
+            }
+        }
+        add(authorId, previous != null ? score - previous.score() : untrackedDelta);
+    }
+
+    private boolean tracked(ObjectId answerId) {
+        synchronized (applied) {
+            return applied.containsKey(answerId);
+        }
+    }
+
+    private void add(String userId, long delta) {
+        if (userId != null && delta != 0) {
+            update(userId, current -> current.add(userId, delta));
+        }
+    }
+
+    private void update(String userId, Consumer<RankedScoreIndex> change) {
+        swapLock.readLock().lock();
+        try {
+            change.accept(index);
+            Set<String> changed = changedDuringRebuild;
+            if (changed != null) {
+                changed.add(userId);
+            }
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    private static ObjectId idOf(String id) {
+        return id != null && ObjectId.isValid(id) ? new ObjectId(id) : null;
+    }
+
+    private static long contribution(Answer answer) {
+        return answer.getUpvotes() - answer.getDownvotes() + (answer.isBestAnswer() ? BEST_ANSWER_BONUS : 0);
+    }
+
+    private static long contribution(Document answer) {
+        return number(answer.get("upvotes")) - number(answer.get("downvotes"))
+                + (Boolean.TRUE.equals(answer.get("isBestAnswer")) ? BEST_ANSWER_BONUS : 0);
+    }
+
+    private static long number(Object value) {
+        return value instanceof Number number ? number.longValue() : 0;
+    }
+
+    private static long score(Document row) {
+        return row != null ? ((Number) row.get("score")).longValue() : 0;
+    }
+
+    // Sums the contributions kept on archived questions, for one user or (userId null) for everyone
+    private static List<Document> archivedPipeline(String userId) {
+        Document unwind = new Document("$unwind", "$contributions");
+        Document group = new Document("$group", new Document("_id", "$contributions.userId")
+                .append("score", new Document("$sum", "$contributions.score")));
+        if (userId == null) {
+            return List.of(unwind, group);
+        }
+        return List.of(new Document("$match", new Document("contributions.userId", userId)), unwind,
+                new Document("$match", new Document("contributions.userId", userId)), group);
+    }
+
+    private record Contribution(String authorId, long score) {
+    }
+
+    private static Document scoreExpression() {
+        Document netVotes = new Document("$subtract", List.of(
+                new Document("$ifNull", List.of("$upvotes", 0)),
+                new Document("$ifNull", List.of("$downvotes", 0))));
+        Document bonus = new Document("$cond", List.of(
+                new Document("$eq", List.of("$isBestAnswer", true)), BEST_ANSWER_BONUS, 0));
+        return new Document("$add", List.of(netVotes, bonus));
+    }
+}
@@ -0,0 +1,32 @@
+package com.sliit.backend.security;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collection;
+import java.util.Optional;
+
+// Principal set by the JWT filter; carries the user id so controllers need not look it up again
+public class AuthenticatedUser extends User {
+
+    private final String id;
+
+    public AuthenticatedUser(String id, String username, String password, Collection<? extends GrantedAuthority> authorities) {
+        super(username, password, authorities);
+        this.id = id;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public static Optional<AuthenticatedUser> current() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.getPrincipal() instanceof AuthenticatedUser user) {
+            return Optional.of(user);
+        }
+        return Optional.empty();
+    }
+}
@@ -1,5 +1,6 @@
 package com.sliit.backend.security;
 
+import com.sliit.backend.admission.AdmissionControlFilter;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -27,11 +28,14 @@ public class SecurityConfig {
     private final UserDetailsService userDetailsService;
     private final JwtUtil jwtUtil;
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final AdmissionControlFilter admissionControlFilter;
 
-    public SecurityConfig(UserDetailsService userDetailsService, JwtUtil jwtUtil, JwtAuthenticationFilter jwtAuthenticationFilter) {
+    public SecurityConfig(UserDetailsService userDetailsService, JwtUtil jwtUtil, JwtAuthenticationFilter jwtAuthenticationFilter,
+                          AdmissionControlFilter admissionControlFilter) {
         this.userDetailsService = userDetailsService;
         this.jwtUtil = jwtUtil;
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
+        this.admissionControlFilter = admissionControlFilter;
     }
 
     @Bean
@@ -47,10 +51,12 @@ public class SecurityConfig {
             .authorizeHttpRequests(auth -> {
                 LOGGER.info("Permitting /api/auth/**");
                 auth.requestMatchers("/api/auth/login", "/api/auth/register").permitAll()
+                    .requestMatchers("/actuator/health/liveness", "/actuator/health/readiness").permitAll()
                     .requestMatchers("/api/auth/validate", "/api/auth/profile").authenticated()
                     .anyRequest().authenticated();
             })
-            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+            .addFilterAfter(admissionControlFilter, JwtAuthenticationFilter.class);
         return http.build();
     }
 
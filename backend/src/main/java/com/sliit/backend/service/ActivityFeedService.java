@@ -0,0 +1,115 @@
+package com.sliit.backend.service;
+
+import com.sliit.backend.model.ActivityEvent;
+import com.sliit.backend.model.UserTimeline;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+// Events aimed at a single user (answers, comments, votes) are pushed into that user's capped
+// timeline at write time. Events with an audience of everyone (new questions and plans) would fan
+// out to every user, so they are stored once and merged in at read time instead.
+@Service
+public class ActivityFeedService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ActivityFeedService.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final int timelineCapacity;
+    private final Duration retention;
+
+    public ActivityFeedService(MongoTemplate mongoTemplate,
+                               @Value("${feed.timeline-capacity:200}") int timelineCapacity,
+                               @Value("${feed.retention:30d}") Duration retention) {
+        this.mongoTemplate = mongoTemplate;
+        this.timelineCapacity = timelineCapacity;
+        this.retention = retention;
+    }
+
+    // Broadcast events expire through a TTL index on their own collection. Timeline entries are embedded, and a
+    // TTL index on entries.createdAt would delete the whole timeline, so they are trimmed on write and read instead.
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexes() {
+        try {
+            mongoTemplate.indexOps(ActivityEvent.class).ensureIndex(new Index("createdAt", Sort.Direction.ASC)
+                    .named("createdAt").expire(retention));
+            IndexOperations timelineIndexes = mongoTemplate.indexOps(UserTimeline.class);
+            if (timelineIndexes.getIndexInfo().stream().anyMatch(index -> index.getName().equals("entries.createdAt"))) {
+                timelineIndexes.dropIndex("entries.createdAt");
+            }
+        } catch (RuntimeException e) {
+            LOGGER.warn("Failed to create activity indexes: {}", e.getMessage());
+        }
+    }
+
+    public void publishToUser(String recipientId, ActivityEvent event) {
+        if (recipientId == null || recipientId.equals(event.getActorId())) {
+            return;
+        }
+        event.setId(new ObjectId().toHexString());
+        try {
+            // $push with $position 0 and $slice keeps the array newest-first and bounded
+            Update update = new Update()
+                    .set("updatedAt", LocalDateTime.now())
+                    .push("entries").atPosition(0).slice(timelineCapacity).each(event);
+            mongoTemplate.upsert(query(where("_id").is(recipientId)), update, UserTimeline.class);
+            // A separate update, since one update cannot both $push to and $pull from the same array.
+            // It only writes when the timeline still holds an expired entry.
+            LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+            mongoTemplate.updateFirst(query(where("_id").is(recipientId).and("entries.createdAt").lt(cutoff)),
+                    new Update().pull("entries", query(where("createdAt").lt(cutoff)).getQueryObject()),
+                    UserTimeline.class);
+        } catch (RuntimeException e) {
+            LOGGER.warn("Failed to publish {} to timeline of {}: {}", event.getType(), recipientId, e.getMessage());
+        }
+    }
+
+    public void publishToEveryone(ActivityEvent event) {
+        try {
+            mongoTemplate.insert(event);
+        } catch (RuntimeException e) {
+            LOGGER.warn("Failed to publish {} activity: {}", event.getType(), e.getMessage());
+        }
+    }
+
+    public List<ActivityEvent> getFeed(String userId, int limit) {
+        int size = Math.max(1, Math.min(limit, timelineCapacity));
+
+        UserTimeline timeline = mongoTemplate.findById(userId, UserTimeline.class);
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        List<ActivityEvent> personal = timeline == null ? List.of() : timeline.getEntries().stream()
+                .filter(event -> event.getCreatedAt() == null || event.getCreatedAt().isAfter(cutoff))
+                .toList();
+
+        // Range scan on the createdAt index, bounded by the page size
+        Query broadcastQuery = new Query(where("actorId").ne(userId))
+                .with(Sort.by(Sort.Direction.DESC, "createdAt"))
+                .limit(size);
+        List<ActivityEvent> broadcast = mongoTemplate.find(broadcastQuery, ActivityEvent.class);
+
+        List<ActivityEvent> feed = new ArrayList<>(personal.size() + broadcast.size());
+        feed.addAll(personal);
+        feed.addAll(broadcast);
+        feed.sort(Comparator.comparing(ActivityEvent::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder())));
+        return feed.size() > size ? feed.subList(0, size) : feed;
+    }
+}
@@ -0,0 +1,141 @@
+package com.sliit.backend.service;
+
+import com.sliit.backend.archive.ArchiveService;
+import com.sliit.backend.model.Comment;
+import com.sliit.backend.repository.CommentRepository;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+@Service
+public class CommentThreadService {
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private final CommentRepository commentRepository;
+    private final MongoTemplate mongoTemplate;
+    private final ArchiveService archiveService;
+
+    public CommentThreadService(CommentRepository commentRepository, MongoTemplate mongoTemplate,
+                                ArchiveService archiveService) {
+        this.commentRepository = commentRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.archiveService = archiveService;
+    }
+
+    public record Page(List<Comment> items, String nextCursor) {}
+
+    // Saves a top-level comment or a reply; the id is assigned up front so the path can be written in one insert
+    public Comment create(Comment comment) {
+        String id = new ObjectId().toHexString();
+        comment.setId(id);
+        comment.setReplyCount(0);
+        if (comment.getParentId() == null) {
+            comment.setPath(id + "/");
+            comment.setDepth(0);
+            return commentRepository.save(comment);
+        }
+
+        // Replying to an archived thread restores it first
+        Comment parent = commentRepository.findById(comment.getParentId())
+                .or(() -> archiveService.restoreCommentThread(comment.getParentId())
+                        ? commentRepository.findById(comment.getParentId()) : Optional.empty())
+                .orElseThrow(() -> new RuntimeException("Parent comment not found"));
+        if (!parent.getLearningPlanId().equals(comment.getLearningPlanId())) {
+            throw new RuntimeException("Parent comment belongs to another learning plan");
+        }
+        String parentPath = parent.getPath() != null ? parent.getPath() : parent.getId() + "/";
+        comment.setPath(parentPath + id + "/");
+        comment.setDepth(parent.getDepth() + 1);
+        Comment saved = commentRepository.save(comment);
+        Query byParent = query(where("_id").is(new ObjectId(parent.getId())));
+        Update increment = new Update().inc("replyCount", 1);
+        // The thread was archived between reading the parent and saving the reply: bring it back next to the reply
+        if (mongoTemplate.updateFirst(byParent, increment, Comment.class).getMatchedCount() == 0
+                && archiveService.restoreCommentThread(parent.getId())) {
+            mongoTemplate.updateFirst(byParent, increment, Comment.class);
+        }
+        return saved;
+    }
+
+    // Deletes a comment together with all replies below it
+    public void delete(Comment comment) {
+        if (comment.getPath() != null) {
+            mongoTemplate.remove(query(where("path").regex("^" + comment.getPath())), Comment.class);
+        } else {
+            commentRepository.deleteById(comment.getId());
+        }
+        if (comment.getParentId() != null) {
+            mongoTemplate.updateFirst(query(where("_id").is(new ObjectId(comment.getParentId()))),
+                    new Update().inc("replyCount", -1), Comment.class);
+        }
+    }
+
+    public Page threads(String planId, String cursor, int limit) {
+        int size = clamp(limit);
+        List<Comment> rows;
+        if (cursor == null || cursor.isEmpty()) {
+            rows = commentRepository.findThreads(planId, Limit.of(size + 1));
+        } else {
+            Cursor c = Cursor.decode(cursor);
+            rows = commentRepository.findThreadsBefore(planId, c.createdAt(), c.id(), Limit.of(size + 1));
+        }
+        return toPage(rows, size);
+    }
+
+    public Page replies(String parentId, String cursor, int limit) {
+        int size = clamp(limit);
+        List<Comment> rows;
+        if (cursor == null || cursor.isEmpty()) {
+            rows = commentRepository.findReplies(parentId, Limit.of(size + 1));
+        } else {
+            Cursor c = Cursor.decode(cursor);
+            rows = commentRepository.findRepliesAfter(parentId, c.createdAt(), c.id(), Limit.of(size + 1));
+        }
+        return toPage(rows, size);
+    }
+
+    // One extra row is fetched to know whether another page exists
+    private Page toPage(List<Comment> rows, int size) {
+        if (rows.size() <= size) {
+            return new Page(rows, null);
+        }
+        List<Comment> items = rows.subList(0, size);
+        Comment last = items.get(size - 1);
+        return new Page(items, new Cursor(last.getCreatedAt(), new ObjectId(last.getId())).encode());
+    }
+
+    private int clamp(int limit) {
+        return Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    }
+
+    record Cursor(LocalDateTime createdAt, ObjectId id) {
+
+        String encode() {
+            String raw = createdAt + "|" + id.toHexString();
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int sep = raw.indexOf('|');
+                return new Cursor(LocalDateTime.parse(raw.substring(0, sep)), new ObjectId(raw.substring(sep + 1)));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.sliit.backend.service;
+
+import com.sliit.backend.cache.SharedCache;
+import com.sliit.backend.cache.TwoLevelCache;
+import com.sliit.backend.compression.CompressedText;
+import com.sliit.backend.reputation.ReputationService;
+import org.bson.Document;
+import org.bson.types.Binary;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Everything a user's dashboard shows, from a single aggregation on users: one $lookup per owned collection,
+// each running a $facet of counters and the most recent items over that user's documents (userId index).
+// Results are cached per user for a few seconds; counts can lag a write by at most that long.
+// Questions moved to the archive are not counted here; reputation still includes them.
+@Service
+public class DashboardService {
+
+    private static final int RECENT_ITEMS = 5;
+    private static final String KEY_PREFIX = "dashboard:";
+
+    private final MongoTemplate mongoTemplate;
+    private final ReputationService reputationService;
+    private final TwoLevelCache cache;
+
+    public DashboardService(MongoTemplate mongoTemplate, ReputationService reputationService,
+                            ObjectProvider<SharedCache> sharedCache,
+                            @Value("${cache.dashboard.max-size:1000}") int maxSize,
+                            @Value("${cache.dashboard.ttl-seconds:10}") long ttlSeconds) {
+        this.mongoTemplate = mongoTemplate;
+        this.reputationService = reputationService;
+        this.cache = new TwoLevelCache(maxSize, Duration.ofSeconds(ttlSeconds), sharedCache.getIfAvailable());
+    }
+
+    public Map<String, Object> dashboard(String userId) {
+        return cache.get(KEY_PREFIX + userId, () -> load(userId));
+    }
+
+    private Map<String, Object> load(String userId) {
+        if (!ObjectId.isValid(userId)) {
+            throw new RuntimeException("User not found");
+        }
+        Document row = mongoTemplate.getCollection("users").aggregate(pipeline(new ObjectId(userId))).first();
+        if (row == null) {
+            throw new RuntimeException("User not found");
+        }
+
+        Map<String, Object> dashboard = new LinkedHashMap<>();
+        dashboard.put("userId", userId);
+        dashboard.put("username", row.getString("username"));
+        dashboard.put("email", row.getString("email"));
+        Map<String, Object> reputation = new LinkedHashMap<>();
+        reputation.put("score", reputationService.scoreOf(userId));
+        reputation.put("rank", reputationService.rankOf(userId));
+        reputation.put("rankedUsers", reputationService.rankedUsers());
+        dashboard.put("reputation", reputation);
+        dashboard.put("questions", section(row, "questions"));
+        dashboard.put("answers", section(row, "answers", "bestAnswers", "upvotes", "downvotes"));
+        dashboard.put("plans", section(row, "plans", "completed"));
+        dashboard.put("comments", section(row, "comments"));
+        return dashboard;
+    }
+
+    private static List<Document> pipeline(ObjectId userId) {
+        Document answerTotals = new Document("bestAnswers", sumIf(new Document("$eq", List.of("$isBestAnswer", true))))
+                .append("upvotes", new Document("$sum", new Document("$ifNull", List.of("$upvotes", 0))))
+                .append("downvotes", new Document("$sum", new Document("$ifNull", List.of("$downvotes", 0))));
+        // Recent answers carry the title of the question they answer
+        List<Document> answerTitles = List.of(
+                new Document("$addFields", new Document("questionOid", new Document("$convert",
+                        new Document("input", "$questionId").append("to", "objectId").append("onError", null)))),
+                new Document("$lookup", new Document("from", "questions")
+                        .append("localField", "questionOid")
+                        .append("foreignField", "_id")
+                        .append("pipeline", List.of(new Document("$project", new Document("title", 1))))
+                        .append("as", "question")),
+                new Document("$addFields", new Document("questionTitle", new Document("$first", "$question.title"))));
+        Document planTotals = new Document("completed", sumIf(new Document("$eq", List.of("$completed", true))));
+
+        return List.of(
+                new Document("$match", new Document("_id", userId)),
+                new Document("$project", new Document("username", 1).append("email", 1)
+                        .append("uid", new Document("$toString", "$_id"))),
+                lookup("questions", "questions", new Document(), List.of(),
+                        new Document("title", 1).append("tags", 1).append("lastActivityAt", 1)),
+                lookup("answers", "answers", answerTotals, answerTitles,
+                        new Document("questionId", 1).append("questionTitle", 1).append("upvotes", 1)
+                                .append("downvotes", 1).append("isBestAnswer", 1)),
+                lookup("learningPlans", "plans", planTotals, List.of(),
+                        new Document("title", 1).append("status", 1).append("progress", 1).append("deadline", 1)
+                                .append("completed", 1)),
+                lookup("comments", "comments", new Document(), List.of(),
+                        new Document("learningPlanId", 1).append("parentId", 1).append("message", 1)
+                                .append("createdAt", 1)));
+    }
+
+    // {count, ...totals, recent: [...]} for the user's documents in one collection, newest first by _id
+    private static Document lookup(String from, String as, Document totals, List<Document> decorateRecent,
+                                   Document recentFields) {
+        Document group = new Document("_id", null).append("count", new Document("$sum", 1));
+        group.putAll(totals);
+        List<Document> recent = new ArrayList<>(List.of(
+                new Document("$sort", new Document("_id", -1)),
+                new Document("$limit", RECENT_ITEMS)));
+        recent.addAll(decorateRecent);
+        recent.add(new Document("$project", new Document(recentFields)
+                .append("_id", 0).append("id", new Document("$toString", "$_id"))));
+        Document facet = new Document("$facet", new Document("totals", List.of(new Document("$group", group)))
+                .append("recent", recent));
+        return new Document("$lookup", new Document("from", from)
+                .append("localField", "uid")
+                .append("foreignField", "userId")
+                .append("pipeline", List.of(facet))
+                .append("as", as));
+    }
+
+    private static Document sumIf(Document condition) {
+        return new Document("$sum", new Document("$cond", List.of(condition, 1, 0)));
+    }
+
+    // $group emits nothing over an empty collection, so totals default to zero
+    static Map<String, Object> section(Document row, String name, String... totalKeys) {
+        Map<String, Object> section = new LinkedHashMap<>();
+        section.put("count", 0);
+        for (String key : totalKeys) {
+            section.put(key, 0);
+        }
+        List<Document> facets = row.getList(name, Document.class, List.of());
+        Document facet = facets.isEmpty() ? new Document() : facets.get(0);
+        for (Document totals : facet.getList("totals", Document.class, List.of())) {
+            totals.forEach((key, value) -> {
+                if (!"_id".equals(key)) {
+                    section.put(key, value);
+                }
+            });
+        }
+        List<Map<String, Object>> recent = new ArrayList<>();
+        for (Document item : facet.getList("recent", Document.class, List.of())) {
+            Map<String, Object> entry = new LinkedHashMap<>(item);
+            // Large texts may be stored compressed
+            if (entry.get("message") instanceof Binary binary && binary.getType() == CompressedText.BINARY_SUBTYPE) {
+                entry.put("message", CompressedText.decompress(binary.getData()));
+            }
+            recent.add(entry);
+        }
+        section.put("recent", recent);
+        return section;
+    }
+}
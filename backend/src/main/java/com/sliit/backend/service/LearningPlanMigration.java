@@ -0,0 +1,146 @@
+package com.sliit.backend.service;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.Filters;
+import com.sliit.backend.model.LearningPlan;
+import com.sliit.backend.model.PlanStatus;
+import org.bson.BsonType;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// One-off, idempotent conversion of learning plans written when deadline, status and progress were
+// free-form strings. Runs before the application reports ready so typed reads never see legacy values.
+// Values that cannot be converted are moved to legacy.<field> rather than dropped.
+@Component
+@Order(0)
+public class LearningPlanMigration implements ApplicationRunner {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LearningPlanMigration.class);
+    private static final String LEGACY = "legacy";
+    private static final Pattern NUMBER = Pattern.compile("\\d+(?:\\.\\d+)?");
+
+    private final MongoTemplate mongoTemplate;
+
+    public LearningPlanMigration(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            migrate();
+        } catch (RuntimeException e) {
+            LOGGER.warn("Learning plan migration failed: {}", e.getMessage());
+        }
+    }
+
+    void migrate() {
+        MongoCollection<Document> plans = mongoTemplate.getCollection("learningPlans");
+        List<String> names = Arrays.stream(PlanStatus.values()).map(PlanStatus::name).toList();
+        int migrated = 0;
+        int kept = 0;
+        try (MongoCursor<Document> cursor = plans.find(Filters.or(
+                Filters.type("deadline", BsonType.STRING),
+                Filters.type("progress", BsonType.STRING),
+                Filters.and(Filters.type("status", BsonType.STRING), Filters.nin("status", names)),
+                Filters.exists("createdAt", false))).iterator()) {
+            while (cursor.hasNext()) {
+                Document plan = cursor.next();
+                Document set = new Document();
+                Document unset = new Document();
+
+                if (plan.get("deadline") instanceof String deadline) {
+                    try {
+                        set.append("deadline", mongoTemplate.getConverter().convertToMongoType(LocalDate.parse(deadline.trim())));
+                    } catch (DateTimeParseException e) {
+                        unset.append("deadline", "");
+                        keepLegacy(set, "deadline", deadline);
+                    }
+                }
+                if (plan.get("status") instanceof String status && !isEnumName(status)) {
+                    PlanStatus parsed = PlanStatus.parse(status);
+                    set.append("status", parsed != null ? parsed.name() : PlanStatus.NOT_STARTED.name());
+                    if (parsed == null) {
+                        keepLegacy(set, "status", status);
+                    }
+                }
+                if (plan.get("progress") instanceof String progress) {
+                    Integer parsed = parseProgress(progress);
+                    if (parsed != null) {
+                        set.append("progress", parsed);
+                    } else {
+                        unset.append("progress", "");
+                        keepLegacy(set, "progress", progress);
+                    }
+                }
+                if (!plan.containsKey("durationDays") && plan.get("duration") instanceof String duration) {
+                    Integer days = LearningPlan.parseDurationDays(duration);
+                    if (days != null) {
+                        set.append("durationDays", days);
+                    }
+                }
+                if (!plan.containsKey("createdAt") && plan.get("_id") instanceof ObjectId id) {
+                    LocalDateTime createdAt = LocalDateTime.ofInstant(id.getDate().toInstant(), ZoneId.systemDefault());
+                    set.append("createdAt", mongoTemplate.getConverter().convertToMongoType(createdAt));
+                }
+
+                Document update = new Document();
+                if (!set.isEmpty()) {
+                    update.append("$set", set);
+                }
+                if (!unset.isEmpty()) {
+                    update.append("$unset", unset);
+                }
+                if (!update.isEmpty()) {
+                    plans.updateOne(Filters.eq("_id", plan.get("_id")), update);
+                    migrated++;
+                }
+                if (set.keySet().stream().anyMatch(key -> key.startsWith(LEGACY + "."))) {
+                    kept++;
+                    LOGGER.warn("Learning plan {}: kept unconvertible values in {}", plan.get("_id"), LEGACY);
+                }
+            }
+        }
+        if (migrated > 0) {
+            LOGGER.info("Migrated {} learning plans to typed fields ({} with values kept in {})", migrated, kept, LEGACY);
+        }
+    }
+
+    // A blank value carries nothing worth keeping
+    private static void keepLegacy(Document set, String field, String value) {
+        if (!value.isBlank()) {
+            set.append(LEGACY + "." + field, value);
+        }
+    }
+
+    // Rounded first number in the text ("12.5%" is 13, "50 %" is 50); null if there is none or it is over 100
+    static Integer parseProgress(String value) {
+        Matcher matcher = NUMBER.matcher(value);
+        if (!matcher.find()) {
+            return null;
+        }
+        long rounded = Math.round(Double.parseDouble(matcher.group()));
+        return rounded <= 100 ? (int) rounded : null;
+    }
+
+    private static boolean isEnumName(String value) {
+        return Arrays.stream(PlanStatus.values()).anyMatch(status -> status.name().equals(value));
+    }
+}
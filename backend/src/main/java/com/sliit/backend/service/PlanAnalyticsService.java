@@ -0,0 +1,204 @@
+package com.sliit.backend.service;
+
+import com.sliit.backend.model.LearningPlan;
+import com.sliit.backend.model.PlanRollup;
+import com.sliit.backend.model.PlanStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.IsoFields;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+// Keeps planRollups in step with learningPlans so dashboards read a handful of counters
+// instead of scanning every plan. Each plan contributes +1 to a fixed set of rollup keys;
+// a write applies (contributions after) - (contributions before).
+// Open plans whose deadline has passed count towards a single "due:overdue" rollup. Dated "due:" rollups are folded
+// into it once their day is over, so the overdue query only reads the days still ahead.
+@Service
+public class PlanAnalyticsService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PlanAnalyticsService.class);
+
+    static final String OVERDUE = "due:overdue";
+
+    private final MongoTemplate mongoTemplate;
+    private volatile LocalDate compactedThrough = LocalDate.MIN;
+
+    public PlanAnalyticsService(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    // The rollup-relevant state of a plan, captured before it is modified
+    public record Snapshot(LocalDateTime createdAt, LocalDateTime completedAt, PlanStatus status,
+                           LocalDate deadline, boolean completed) {
+
+        public static Snapshot of(LearningPlan plan) {
+            return new Snapshot(plan.getCreatedAt(), plan.getCompletedAt(), plan.getStatus(),
+                    plan.getDeadline(), plan.isCompleted());
+        }
+    }
+
+    public void onCreated(LearningPlan plan) {
+        apply(null, Snapshot.of(plan));
+    }
+
+    public void onUpdated(Snapshot before, LearningPlan after) {
+        apply(before, Snapshot.of(after));
+    }
+
+    public void onDeleted(LearningPlan plan) {
+        apply(Snapshot.of(plan), null);
+    }
+
+    // Rollups are derived data; rebuild them once if the collection is empty (first deploy)
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfMissing() {
+        try {
+            if (mongoTemplate.estimatedCount(PlanRollup.class) == 0 && mongoTemplate.estimatedCount(LearningPlan.class) > 0) {
+                rebuild();
+            }
+        } catch (RuntimeException e) {
+            LOGGER.warn("Failed to rebuild plan rollups: {}", e.getMessage());
+        }
+    }
+
+    public void rebuild() {
+        Map<String, Long> totals = new HashMap<>();
+        LocalDate today = LocalDate.now();
+        try (Stream<LearningPlan> plans = mongoTemplate.stream(new Query(), LearningPlan.class)) {
+            plans.forEach(plan -> contributions(Snapshot.of(plan), today).forEach(key -> totals.merge(key, 1L, Long::sum)));
+        }
+        mongoTemplate.remove(new Query(), PlanRollup.class);
+        totals.forEach(this::increment);
+        LOGGER.info("Rebuilt {} plan rollups", totals.size());
+    }
+
+    public Map<String, Object> dashboard(int weeks, LocalDate today) {
+        List<String> weekKeys = new ArrayList<>();
+        for (int i = weeks - 1; i >= 0; i--) {
+            weekKeys.add(isoWeek(today.minusWeeks(i)));
+        }
+        List<String> ids = new ArrayList<>();
+        weekKeys.forEach(week -> {
+            ids.add("created:" + week);
+            ids.add("completed:" + week);
+        });
+        Map<String, Long> counts = mongoTemplate.find(query(where("_id").in(ids)), PlanRollup.class).stream()
+                .collect(Collectors.toMap(PlanRollup::getId, PlanRollup::getCount));
+
+        List<Map<String, Object>> perWeek = new ArrayList<>();
+        for (String week : weekKeys) {
+            long created = counts.getOrDefault("created:" + week, 0L);
+            long completed = counts.getOrDefault("completed:" + week, 0L);
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("week", week);
+            row.put("created", created);
+            row.put("completed", completed);
+            row.put("completionRate", created == 0 ? null : (double) completed / created);
+            perWeek.add(row);
+        }
+
+        // Open plans due before today, and due within the next 7 days. After the day's compaction the dated rollups
+        // left before today are only those written while it ran.
+        if (compactedThrough.isBefore(today)) {
+            compactOverdue(today);
+        }
+        List<PlanRollup> due = mongoTemplate.find(
+                query(where("kind").is("due").and("date").lt(today.plusDays(7))), PlanRollup.class);
+        PlanRollup compacted = mongoTemplate.findById(OVERDUE, PlanRollup.class);
+        long overdue = (compacted == null ? 0 : compacted.getCount())
+                + due.stream().filter(r -> r.getDate().isBefore(today)).mapToLong(PlanRollup::getCount).sum();
+        long dueSoon = due.stream().filter(r -> !r.getDate().isBefore(today)).mapToLong(PlanRollup::getCount).sum();
+
+        Map<String, Long> byStatus = mongoTemplate.find(query(where("kind").is("status")), PlanRollup.class).stream()
+                .collect(Collectors.toMap(PlanRollup::getBucket, PlanRollup::getCount));
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("weeks", perWeek);
+        response.put("overdue", overdue);
+        response.put("dueNext7Days", dueSoon);
+        response.put("byStatus", byStatus);
+        return response;
+    }
+
+    // Folds the dated "due:" rollups before today into the overdue rollup. Each one is removed by exactly one node,
+    // so nodes compacting at the same time never move a count twice.
+    void compactOverdue(LocalDate today) {
+        for (PlanRollup past : mongoTemplate.find(query(where("kind").is("due").and("date").lt(today)), PlanRollup.class)) {
+            PlanRollup removed = mongoTemplate.findAndRemove(query(where("_id").is(past.getId())), PlanRollup.class);
+            if (removed != null && removed.getCount() != 0) {
+                increment(OVERDUE, removed.getCount());
+            }
+        }
+        compactedThrough = today;
+    }
+
+    private void apply(Snapshot before, Snapshot after) {
+        Map<String, Long> delta = new HashMap<>();
+        LocalDate today = LocalDate.now();
+        if (before != null) {
+            contributions(before, today).forEach(key -> delta.merge(key, -1L, Long::sum));
+        }
+        if (after != null) {
+            contributions(after, today).forEach(key -> delta.merge(key, 1L, Long::sum));
+        }
+        delta.forEach((key, value) -> {
+            if (value != 0) {
+                try {
+                    increment(key, value);
+                } catch (RuntimeException e) {
+                    LOGGER.warn("Failed to update plan rollup {}: {}", key, e.getMessage());
+                }
+            }
+        });
+    }
+
+    private static List<String> contributions(Snapshot plan, LocalDate today) {
+        List<String> keys = new ArrayList<>();
+        if (plan.createdAt() != null) {
+            keys.add("created:" + isoWeek(plan.createdAt().toLocalDate()));
+        }
+        if (plan.completed() && plan.completedAt() != null) {
+            keys.add("completed:" + isoWeek(plan.completedAt().toLocalDate()));
+        }
+        if (plan.status() != null) {
+            keys.add("status:" + plan.status().name());
+        }
+        if (!plan.completed() && plan.deadline() != null) {
+            keys.add(plan.deadline().isBefore(today) ? OVERDUE : "due:" + plan.deadline());
+        }
+        return keys;
+    }
+
+    private void increment(String key, long delta) {
+        int sep = key.indexOf(':');
+        String kind = key.substring(0, sep);
+        String bucket = key.substring(sep + 1);
+        Update update = new Update().inc("count", delta).setOnInsert("kind", kind).setOnInsert("bucket", bucket);
+        if (kind.equals("due") && !key.equals(OVERDUE)) {
+            update.setOnInsert("date", LocalDate.parse(bucket));
+        }
+        mongoTemplate.upsert(query(where("_id").is(key)), update, PlanRollup.class);
+    }
+
+    static String isoWeek(LocalDate date) {
+        return String.format("%d-W%02d", date.get(IsoFields.WEEK_BASED_YEAR), date.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR));
+    }
+}
@@ -0,0 +1,126 @@
+package com.sliit.backend.service;
+
+import com.sliit.backend.archive.ArchiveService;
+import com.sliit.backend.model.ActivityEvent;
+import com.sliit.backend.model.ActivityType;
+import com.sliit.backend.model.Answer;
+import com.sliit.backend.model.DuplicateCandidate;
+import com.sliit.backend.model.Question;
+import com.sliit.backend.repository.AnswerRepository;
+import com.sliit.backend.repository.QuestionRepository;
+import com.sliit.backend.repository.UserRepository;
+import com.sliit.backend.security.AuthenticatedUser;
+import com.sliit.backend.similarity.DuplicateQuestionService;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+
+// Write path for questions and answers: independent lookups run concurrently on the write executor,
+// the request then does its one durable write, and index updates and feed events are handed to the outbox.
+@Service
+public class QnAWriteService {
+
+    private final QuestionRepository questionRepo;
+    private final AnswerRepository answerRepo;
+    private final UserRepository userRepo;
+    private final ActivityFeedService feedService;
+    private final SideEffectOutbox outbox;
+    private final TagService tagService;
+    private final DuplicateQuestionService duplicateService;
+    private final ArchiveService archiveService;
+    private final ExecutorService writeExecutor;
+
+    public QnAWriteService(QuestionRepository questionRepo, AnswerRepository answerRepo, UserRepository userRepo,
+                           ActivityFeedService feedService, SideEffectOutbox outbox, TagService tagService,
+                           DuplicateQuestionService duplicateService, ArchiveService archiveService,
+                           @Qualifier("writeExecutor") ExecutorService writeExecutor) {
+        this.questionRepo = questionRepo;
+        this.answerRepo = answerRepo;
+        this.userRepo = userRepo;
+        this.feedService = feedService;
+        this.outbox = outbox;
+        this.tagService = tagService;
+        this.duplicateService = duplicateService;
+        this.archiveService = archiveService;
+        this.writeExecutor = writeExecutor;
+    }
+
+    public record Author(String id, String username) {}
+
+    public Question createQuestion(Question question) {
+        question.setTags(TagService.normalize(question.getTags()));
+        // The id is assigned up front so the duplicate lookup can run alongside the save without matching itself
+        question.setId(new ObjectId().toHexString());
+        CompletableFuture<List<DuplicateCandidate>> duplicates = CompletableFuture.supplyAsync(() ->
+                duplicateService.findDuplicates(question.getTitle(), question.getDescription(), question.getId(), 5),
+                writeExecutor);
+        Author author = join(currentAuthor());
+        question.setUserId(author.id());
+        question.setLastActivityAt(LocalDateTime.now());
+        Question saved = questionRepo.save(question);
+        saved.setUsername(author.username());
+        saved.setPossibleDuplicates(join(duplicates));
+        tagService.onTagsChanged(TagService.QUESTIONS, List.of(), saved.getTags());
+        outbox.submit("duplicate-index", () -> duplicateService.onSaved(saved));
+        outbox.submit("question-created", () -> feedService.publishToEveryone(new ActivityEvent(ActivityType.NEW_QUESTION,
+                author.id(), author.username(), saved.getId(), saved.getId(), saved.getTitle())));
+        return saved;
+    }
+
+    public Answer addAnswer(String questionId, Answer answer) {
+        CompletableFuture<Author> author = currentAuthor();
+        // Answering an archived question brings it back to the hot collections first
+        CompletableFuture<Question> question = CompletableFuture.supplyAsync(() -> questionRepo.findById(questionId)
+                .or(() -> archiveService.restoreQuestion(questionId) ? questionRepo.findById(questionId) : Optional.empty())
+                .orElseThrow(() -> new RuntimeException("Question not found")), writeExecutor);
+        join(CompletableFuture.allOf(author, question));
+        Author by = author.join();
+        Question target = question.join();
+
+        if (target.getUserId().equals(by.id())) {
+            throw new AccessDeniedException("You cannot answer your own question");
+        }
+
+        answer.setUserId(by.id());
+        answer.setQuestionId(questionId);
+        archiveService.touch(questionId);
+        Answer saved = answerRepo.save(answer);
+        saved.setUsername(by.username());
+        outbox.submit("answer-created", () -> feedService.publishToUser(target.getUserId(), new ActivityEvent(
+                ActivityType.ANSWER_ON_MY_QUESTION, by.id(), by.username(), saved.getId(), questionId, target.getTitle())));
+        return saved;
+    }
+
+    // Taken from the JWT principal when present; other authentications (e.g. in tests) fall back to a lookup
+    CompletableFuture<Author> currentAuthor() {
+        return AuthenticatedUser.current()
+                .map(user -> CompletableFuture.completedFuture(new Author(user.getId(), user.getUsername())))
+                .orElseGet(() -> {
+                    String username = SecurityContextHolder.getContext().getAuthentication().getName();
+                    return CompletableFuture.supplyAsync(() -> userRepo.findByUsername(username)
+                            .map(user -> new Author(user.getId(), user.getUsername()))
+                            .orElseThrow(() -> new RuntimeException("User not found")), writeExecutor);
+                });
+    }
+
+    // Rethrows the original exception so controllers and error handling see the same types as before
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.sliit.backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+// Runs the non-essential side effects of a write (feed events, counters, indexes) after the response is sent.
+// Each worker has its own queue and effects are routed by name, so effects with the same name run in the order
+// they were submitted. A failing effect is retried on its worker before the next one runs.
+// The queues are in memory, so effects still pending at a crash are lost; all of them are derived data that the
+// owning component can rebuild. When a queue is full the caller waits for room rather than the effect being dropped
+// or run out of order on the caller's thread.
+@Component
+public class SideEffectOutbox {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SideEffectOutbox.class);
+
+    private final List<ThreadPoolExecutor> workers = new ArrayList<>();
+    private final int maxAttempts;
+    private final long retryBackoffMillis;
+    private final Counter failures;
+
+    public SideEffectOutbox(MeterRegistry registry,
+                            @Value("${app.outbox.threads:2}") int threads,
+                            @Value("${app.outbox.capacity:10000}") int capacity,
+                            @Value("${app.outbox.max-attempts:3}") int maxAttempts,
+                            @Value("${app.outbox.retry-backoff:200ms}") Duration retryBackoff) {
+        for (int i = 1; i <= threads; i++) {
+            String threadName = "outbox-" + i;
+            workers.add(new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(Math.max(1, capacity / threads)), r -> {
+                        Thread thread = new Thread(r, threadName);
+                        thread.setDaemon(true);
+                        return thread;
+                    }, SideEffectOutbox::waitForRoom));
+        }
+        this.maxAttempts = maxAttempts;
+        this.retryBackoffMillis = retryBackoff.toMillis();
+        this.failures = Counter.builder("outbox.failures").register(registry);
+        Gauge.builder("outbox.pending", this, SideEffectOutbox::pending).register(registry);
+    }
+
+    public void submit(String name, Runnable effect) {
+        workers.get(Math.floorMod(name.hashCode(), workers.size())).execute(() -> run(name, effect));
+    }
+
+    private void run(String name, Runnable effect) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                effect.run();
+                return;
+            } catch (RuntimeException e) {
+                if (attempt >= maxAttempts) {
+                    failures.increment();
+                    LOGGER.warn("Side effect {} failed after {} attempts: {}", name, attempt, e.getMessage());
+                    return;
+                }
+            }
+            try {
+                Thread.sleep(retryBackoffMillis * attempt);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failures.increment();
+                LOGGER.warn("Side effect {} abandoned while waiting to retry", name);
+                return;
+            }
+        }
+    }
+
+    private static void waitForRoom(Runnable task, ThreadPoolExecutor worker) {
+        if (worker.isShutdown()) {
+            task.run();
+            return;
+        }
+        try {
+            worker.getQueue().put(task);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted while waiting for outbox capacity", e);
+        }
+    }
+
+    int pending() {
+        return workers.stream().mapToInt(worker -> worker.getQueue().size()).sum();
+    }
+
+    @PreDestroy
+    public void drain() throws InterruptedException {
+        workers.forEach(ThreadPoolExecutor::shutdown);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        for (ThreadPoolExecutor worker : workers) {
+            worker.awaitTermination(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        }
+        int dropped = pending();
+        if (dropped > 0) {
+            LOGGER.warn("Dropping {} pending side effects on shutdown", dropped);
+        }
+    }
+}
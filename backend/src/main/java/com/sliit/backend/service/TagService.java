@@ -0,0 +1,204 @@
+package com.sliit.backend.service;
+
+import com.sliit.backend.model.LearningPlan;
+import com.sliit.backend.model.Question;
+import com.sliit.backend.model.TagCount;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+// Tag normalization, faceted browsing and the per-tag counters behind the facets.
+// Counters are adjusted by the diff between a document's old and new tags on every write, so
+// facet counts are a small indexed read instead of a $group over the whole collection.
+@Service
+public class TagService {
+
+    public static final String QUESTIONS = "question";
+    public static final String PLANS = "plan";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TagService.class);
+    private static final int MAX_TAGS = 10;
+    private static final int MAX_TAG_LENGTH = 32;
+
+    private final MongoTemplate mongoTemplate;
+    private final SideEffectOutbox outbox;
+
+    public TagService(MongoTemplate mongoTemplate, SideEffectOutbox outbox) {
+        this.mongoTemplate = mongoTemplate;
+        this.outbox = outbox;
+    }
+
+    public record Facet(String tag, long count) {}
+
+    public record BrowsePage<T>(List<T> items, long total, int page, int size, List<Facet> facets) {}
+
+    // "Spring Boot " -> "spring-boot"; drops blanks and duplicates and keeps at most MAX_TAGS
+    public static List<String> normalize(Collection<String> tags) {
+        if (tags == null) {
+            return new ArrayList<>();
+        }
+        Set<String> normalized = new LinkedHashSet<>();
+        for (String tag : tags) {
+            if (tag == null) {
+                continue;
+            }
+            String value = tag.trim().toLowerCase(Locale.ROOT).replaceAll("\\s+", "-");
+            if (!value.isEmpty() && value.length() <= MAX_TAG_LENGTH) {
+                normalized.add(value);
+            }
+            if (normalized.size() == MAX_TAGS) {
+                break;
+            }
+        }
+        return new ArrayList<>(normalized);
+    }
+
+    // Applies the counter diff in the background; pass an empty collection for a create or delete
+    public void onTagsChanged(String scope, Collection<String> before, Collection<String> after) {
+        Set<String> added = new HashSet<>(after);
+        added.removeAll(before);
+        Set<String> removed = new HashSet<>(before);
+        removed.removeAll(after);
+        if (added.isEmpty() && removed.isEmpty()) {
+            return;
+        }
+        outbox.submit("tag-counts", () -> applyDiff(scope, added, removed));
+    }
+
+    // Bulk variant for imports: one upsert per distinct tag, incremented by the number of new documents carrying it.
+    // Applied on the caller's thread, so the counts are written before the import moves its checkpoint.
+    public void onTagsAdded(String scope, Map<String, Long> counts) {
+        if (counts.isEmpty()) {
+            return;
+        }
+        BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TagCount.class);
+        counts.forEach((tag, count) -> ops.upsert(query(where("_id").is(scope + ":" + tag)), increment(scope, tag, count)));
+        ops.execute();
+    }
+
+    // Sets the counters of the given tags to their exact count; used after a replayed import, where it is unknown
+    // whether the replayed documents were counted before the crash
+    public void recount(String scope, Class<?> type, Collection<String> tags) {
+        if (tags.isEmpty()) {
+            return;
+        }
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(where("tags").in(tags)),
+                Aggregation.unwind("tags"),
+                Aggregation.match(where("tags").in(tags)),
+                Aggregation.group("tags").count().as("count"));
+        Map<String, Long> counts = new HashMap<>();
+        tags.forEach(tag -> counts.put(tag, 0L));
+        mongoTemplate.aggregate(aggregation, type, Document.class).forEach(doc ->
+                counts.put(doc.getString("_id"), ((Number) doc.get("count")).longValue()));
+        BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TagCount.class);
+        counts.forEach((tag, count) -> ops.upsert(query(where("_id").is(scope + ":" + tag)),
+                new Update().set("count", count).set("scope", scope).set("tag", tag)));
+        ops.execute();
+    }
+
+    private void applyDiff(String scope, Set<String> added, Set<String> removed) {
+        BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TagCount.class);
+        added.forEach(tag -> ops.upsert(query(where("_id").is(scope + ":" + tag)), increment(scope, tag, 1)));
+        removed.forEach(tag -> ops.updateOne(query(where("_id").is(scope + ":" + tag)), increment(scope, tag, -1)));
+        ops.execute();
+        if (!removed.isEmpty()) {
+            mongoTemplate.remove(query(where("scope").is(scope).and("count").lte(0)), TagCount.class);
+        }
+    }
+
+    private static Update increment(String scope, String tag, long delta) {
+        return new Update().inc("count", delta).setOnInsert("scope", scope).setOnInsert("tag", tag);
+    }
+
+    public List<Facet> topTags(String scope, int limit) {
+        Query top = query(where("scope").is(scope)).with(Sort.by(Sort.Direction.DESC, "count")).limit(limit);
+        return mongoTemplate.find(top, TagCount.class).stream()
+                .map(count -> new Facet(count.getTag(), count.getCount()))
+                .toList();
+    }
+
+    // One page of documents carrying all the requested tags, newest first, plus the most used tags among them.
+    // Unfiltered, the facets are the scope's counters; filtered, one $facet pass counts the page, the total and
+    // the tags of the matching documents together.
+    public <T> BrowsePage<T> browse(MongoTemplate template, Class<T> type, String scope, List<String> tags,
+                                    int page, int size, int facetLimit) {
+        List<String> wanted = normalize(tags);
+        if (wanted.isEmpty()) {
+            Query all = new Query();
+            long total = template.count(all, type);
+            all.with(Sort.by(Sort.Direction.DESC, "_id")).skip((long) page * size).limit(size);
+            return new BrowsePage<>(template.find(all, type), total, page, size, topTags(scope, facetLimit));
+        }
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(where("tags").all(wanted)),
+                Aggregation.facet(Aggregation.count().as("count")).as("total")
+                        .and(Aggregation.sort(Sort.Direction.DESC, "_id"), Aggregation.skip((long) page * size),
+                                Aggregation.limit(size)).as("items")
+                        .and(Aggregation.unwind("tags"), Aggregation.group("tags").count().as("count"),
+                                Aggregation.sort(Sort.by(Sort.Direction.DESC, "count").and(Sort.by("_id"))),
+                                Aggregation.limit(facetLimit)).as("facets"));
+        Document result = template.aggregate(aggregation, type, Document.class).getUniqueMappedResult();
+        List<Document> totals = result.getList("total", Document.class);
+        long total = totals.isEmpty() ? 0 : ((Number) totals.get(0).get("count")).longValue();
+        List<T> items = result.getList("items", Document.class).stream()
+                .map(item -> template.getConverter().read(type, item))
+                .toList();
+        List<Facet> facets = result.getList("facets", Document.class).stream()
+                .map(facet -> new Facet(facet.getString("_id"), ((Number) facet.get("count")).longValue()))
+                .toList();
+        return new BrowsePage<>(items, total, page, size, facets);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfMissing() {
+        try {
+            if (mongoTemplate.estimatedCount(TagCount.class) == 0) {
+                rebuild(QUESTIONS, Question.class);
+                rebuild(PLANS, LearningPlan.class);
+            }
+        } catch (RuntimeException e) {
+            LOGGER.warn("Failed to rebuild tag counts: {}", e.getMessage());
+        }
+    }
+
+    // One-off full count, only used to seed the counters
+    private void rebuild(String scope, Class<?> type) {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.unwind("tags"),
+                Aggregation.group("tags").count().as("count"));
+        Map<String, Long> counts = new HashMap<>();
+        mongoTemplate.aggregate(aggregation, type, Document.class).forEach(doc ->
+                counts.put(doc.getString("_id"), ((Number) doc.get("count")).longValue()));
+        if (counts.isEmpty()) {
+            return;
+        }
+        BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TagCount.class);
+        counts.forEach((tag, count) -> ops.upsert(query(where("_id").is(scope + ":" + tag)),
+                new Update().set("count", count).set("scope", scope).set("tag", tag)));
+        ops.execute();
+        LOGGER.info("Rebuilt {} {} tag counts", counts.size(), scope);
+    }
+}
@@ -0,0 +1,114 @@
+package com.sliit.backend.similarity;
+
+import com.sliit.backend.changestream.ChangeEvent;
+import com.sliit.backend.changestream.ChangeEventListener;
+import com.sliit.backend.model.DuplicateCandidate;
+import com.sliit.backend.model.Question;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+// Keeps a MinHash/LSH index over question titles and descriptions for near-duplicate lookups.
+// Built from the questions collection on startup, updated from the write paths and corrected from
+// change events written by other nodes.
+@Service
+public class DuplicateQuestionService implements ChangeEventListener {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DuplicateQuestionService.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final MinHashLshIndex index;
+    private final double minSimilarity;
+
+    public DuplicateQuestionService(MongoTemplate mongoTemplate, MeterRegistry registry,
+                                    @Value("${duplicates.bands:8}") int bands,
+                                    @Value("${duplicates.rows:4}") int rows,
+                                    @Value("${duplicates.min-similarity:0.5}") double minSimilarity) {
+        this.mongoTemplate = mongoTemplate;
+        this.index = new MinHashLshIndex(bands, rows, 0x5EED);
+        this.minSimilarity = minSimilarity;
+        Gauge.builder("similarity.index.documents", index, MinHashLshIndex::size).register(registry);
+        Gauge.builder("similarity.index.bytes", index, MinHashLshIndex::estimatedBytes)
+                .description("Approximate heap retained by the near-duplicate index")
+                .register(registry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        try {
+            index.clear();
+            Query all = new Query();
+            all.fields().include("title", "description");
+            try (Stream<Question> questions = mongoTemplate.stream(all, Question.class)) {
+                questions.forEach(this::onSaved);
+            }
+            LOGGER.info("Indexed {} questions for duplicate detection in {} ms, ~{} KB",
+                    index.size(), System.currentTimeMillis() - start, index.estimatedBytes() / 1024);
+        } catch (RuntimeException e) {
+            LOGGER.warn("Failed to build duplicate index: {}", e.getMessage());
+        }
+    }
+
+    public void onSaved(Question question) {
+        index.put(question.getId(), TextTokenizer.tokenize(question.getTitle(), question.getDescription()));
+    }
+
+    public void onDeleted(String questionId) {
+        index.remove(questionId);
+    }
+
+    // Most similar existing questions first; titles are fetched only for the matches
+    public List<DuplicateCandidate> findDuplicates(String title, String description, String excludeId, int limit) {
+        List<MinHashLshIndex.Match> matches = index.query(TextTokenizer.tokenize(title, description),
+                minSimilarity, limit, excludeId);
+        if (matches.isEmpty()) {
+            return List.of();
+        }
+        Query byIds = new Query(where("_id").in(matches.stream().map(MinHashLshIndex.Match::id).toList()));
+        byIds.fields().include("title");
+        Map<String, Question> found = mongoTemplate.find(byIds, Question.class).stream()
+                .collect(Collectors.toMap(Question::getId, Function.identity()));
+        return matches.stream()
+                .filter(match -> found.containsKey(match.id()))
+                .map(match -> new DuplicateCandidate(match.id(), found.get(match.id()).getTitle(), match.similarity()))
+                .toList();
+    }
+
+    @Override
+    public Set<String> collections() {
+        return Set.of("questions");
+    }
+
+    // Re-indexing is idempotent, so replaying this node's own writes is harmless
+    @Override
+    public void onChange(ChangeEvent event) {
+        if (event.operation() == ChangeEvent.Operation.DELETE) {
+            onDeleted(event.documentId());
+        } else if (event.fullDocument() != null) {
+            index.put(event.documentId(), TextTokenizer.tokenize(event.fullDocumentString("title"),
+                    event.fullDocumentString("description")));
+        }
+    }
+
+    @Override
+    public void onReset() {
+        rebuild();
+    }
+}
@@ -0,0 +1,342 @@
+package com.sliit.backend.similarity;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// In-memory near-duplicate index: a MinHash signature per document plus LSH band buckets.
+// Signatures keep the low 16 bits of each minimum (b-bit MinHash), which is enough to estimate Jaccard
+// similarity and keeps a 32-slot signature at 64 bytes. Documents live at dense ordinals; signatures sit in
+// one short[] and each band is an open-addressing table from band hash to the head of a chain threaded
+// through a per-band int[], so there are no per-document objects besides the id.
+// A lookup hashes the query's bands, walks the (short) matching chains and verifies candidates by signature.
+public class MinHashLshIndex {
+
+    private static final int EMPTY = -1;
+
+    private final int bands;
+    private final int rows;
+    private final int slots;
+    private final long[] multipliers;
+    private final long[] increments;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Integer> ordinals = new HashMap<>();
+    private String[] ids = new String[0];
+    private short[] signatures = new short[0];
+    private int[][] next;
+    private final BandTable[] tables;
+    private int[] freeOrdinals = new int[0];
+    private int freeCount;
+    private int highWater;
+
+    public MinHashLshIndex(int bands, int rows, long seed) {
+        this.bands = bands;
+        this.rows = rows;
+        this.slots = bands * rows;
+        this.multipliers = new long[slots];
+        this.increments = new long[slots];
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int i = 0; i < slots; i++) {
+            multipliers[i] = random.nextLong() | 1;
+            increments[i] = random.nextLong();
+        }
+        this.next = new int[bands][0];
+        this.tables = new BandTable[bands];
+        for (int b = 0; b < bands; b++) {
+            tables[b] = new BandTable();
+        }
+    }
+
+    public record Match(String id, double similarity) {}
+
+    // Returns false (and drops any previous entry) when the document has no features
+    public boolean put(String id, Collection<String> features) {
+        short[] signature = signature(features);
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            if (signature == null) {
+                return false;
+            }
+            int ordinal = allocate();
+            ids[ordinal] = id;
+            ordinals.put(id, ordinal);
+            System.arraycopy(signature, 0, signatures, ordinal * slots, slots);
+            for (int b = 0; b < bands; b++) {
+                tables[b].link(bandKey(signature, 0, b), ordinal, next[b]);
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean remove(String id) {
+        lock.writeLock().lock();
+        try {
+            return removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            ordinals.clear();
+            ids = new String[0];
+            signatures = new short[0];
+            next = new int[bands][0];
+            for (int b = 0; b < bands; b++) {
+                tables[b] = new BandTable();
+            }
+            freeOrdinals = new int[0];
+            freeCount = 0;
+            highWater = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Documents sharing at least one band with the query and whose estimated Jaccard similarity is at least minSimilarity
+    public List<Match> query(Collection<String> features, double minSimilarity, int limit, String excludeId) {
+        short[] signature = signature(features);
+        if (signature == null) {
+            return List.of();
+        }
+        List<Match> matches = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            Set<Integer> seen = new HashSet<>();
+            for (int b = 0; b < bands; b++) {
+                for (int ordinal = tables[b].head(bandKey(signature, 0, b)); ordinal != EMPTY; ordinal = next[b][ordinal]) {
+                    if (!seen.add(ordinal) || ids[ordinal].equals(excludeId)) {
+                        continue;
+                    }
+                    double similarity = similarity(signature, ordinal);
+                    if (similarity >= minSimilarity) {
+                        matches.add(new Match(ids[ordinal], similarity));
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        matches.sort((x, y) -> Double.compare(y.similarity(), x.similarity()));
+        return matches.size() > limit ? matches.subList(0, limit) : matches;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ordinals.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Approximate retained heap, assuming compressed oops; ids are counted as 24-character Latin-1 strings
+    public long estimatedBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = 16L + signatures.length * 2L + 16L + ids.length * 4L + 16L + freeOrdinals.length * 4L;
+            // HashMap node + boxed ordinal + id string per entry, plus the bucket array
+            bytes += ordinals.size() * (32L + 16L + 64L) + 4L * Integer.highestOneBit(Math.max(1, ordinals.size()) * 2);
+            for (int b = 0; b < bands; b++) {
+                bytes += 16L + next[b].length * 4L + tables[b].bytes();
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    short[] signature(Collection<String> features) {
+        if (features == null || features.isEmpty()) {
+            return null;
+        }
+        long[] minimums = new long[slots];
+        Arrays.fill(minimums, Long.MAX_VALUE);
+        for (String feature : features) {
+            long hash = mix(feature.hashCode() * 0x9E3779B97F4A7C15L);
+            for (int i = 0; i < slots; i++) {
+                long value = mix(hash * multipliers[i] + increments[i]) >>> 1;
+                if (value < minimums[i]) {
+                    minimums[i] = value;
+                }
+            }
+        }
+        short[] signature = new short[slots];
+        for (int i = 0; i < slots; i++) {
+            signature[i] = (short) minimums[i];
+        }
+        return signature;
+    }
+
+    private double similarity(short[] signature, int ordinal) {
+        int base = ordinal * slots;
+        int equal = 0;
+        for (int i = 0; i < slots; i++) {
+            if (signatures[base + i] == signature[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / slots;
+    }
+
+    private long bandKey(short[] signature, int base, int band) {
+        long key = band;
+        for (int r = 0; r < rows; r++) {
+            key = key * 0x100000001B3L + (signature[base + band * rows + r] & 0xffff);
+        }
+        return mix(key);
+    }
+
+    private boolean removeLocked(String id) {
+        Integer ordinal = ordinals.remove(id);
+        if (ordinal == null) {
+            return false;
+        }
+        for (int b = 0; b < bands; b++) {
+            tables[b].unlink(bandKey(signatures, ordinal * slots, b), ordinal, next[b]);
+        }
+        ids[ordinal] = null;
+        if (freeCount == freeOrdinals.length) {
+            freeOrdinals = Arrays.copyOf(freeOrdinals, Math.max(16, freeCount * 2));
+        }
+        freeOrdinals[freeCount++] = ordinal;
+        return true;
+    }
+
+    private int allocate() {
+        if (freeCount > 0) {
+            return freeOrdinals[--freeCount];
+        }
+        if (highWater == ids.length) {
+            int capacity = Math.max(64, ids.length + (ids.length >> 1));
+            ids = Arrays.copyOf(ids, capacity);
+            signatures = Arrays.copyOf(signatures, capacity * slots);
+            for (int b = 0; b < bands; b++) {
+                next[b] = Arrays.copyOf(next[b], capacity);
+            }
+        }
+        return highWater++;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return z ^ (z >>> 33);
+    }
+
+    // Band hash -> first ordinal of its chain. Linear probing over 32-bit keys (a collision only adds a candidate that
+    // fails verification). A key whose chain empties stays as a tombstone until the next resize, which only copies live chains.
+    private static final class BandTable {
+        private static final int FREE = -2;
+
+        private int[] keys = new int[16];
+        private int[] heads = filled(16);
+        private int occupied;
+
+        int head(long hash) {
+            int key = (int) hash;
+            int mask = keys.length - 1;
+            for (int i = key & mask; heads[i] != FREE; i = (i + 1) & mask) {
+                if (keys[i] == key) {
+                    return heads[i];
+                }
+            }
+            return EMPTY;
+        }
+
+        void link(long hash, int ordinal, int[] next) {
+            if ((occupied + 1) * 4 > keys.length * 3) {
+                resize();
+            }
+            int key = (int) hash;
+            int mask = keys.length - 1;
+            int i = key & mask;
+            while (heads[i] != FREE && keys[i] != key) {
+                i = (i + 1) & mask;
+            }
+            if (heads[i] == FREE) {
+                keys[i] = key;
+                heads[i] = EMPTY;
+                occupied++;
+            }
+            next[ordinal] = heads[i];
+            heads[i] = ordinal;
+        }
+
+        void unlink(long hash, int ordinal, int[] next) {
+            int key = (int) hash;
+            int mask = keys.length - 1;
+            for (int i = key & mask; heads[i] != FREE; i = (i + 1) & mask) {
+                if (keys[i] != key) {
+                    continue;
+                }
+                if (heads[i] == ordinal) {
+                    heads[i] = next[ordinal];
+                    return;
+                }
+                for (int prev = heads[i]; prev != EMPTY; prev = next[prev]) {
+                    if (next[prev] == ordinal) {
+                        next[prev] = next[ordinal];
+                        return;
+                    }
+                }
+                return;
+            }
+        }
+
+        long bytes() {
+            return 48L + keys.length * 8L;
+        }
+
+        private void resize() {
+            int[] oldKeys = keys;
+            int[] oldHeads = heads;
+            int live = 0;
+            for (int head : oldHeads) {
+                if (head >= 0) {
+                    live++;
+                }
+            }
+            // Leave the table at most half full
+            int capacity = 16;
+            while (capacity < (live + 1) * 2) {
+                capacity <<= 1;
+            }
+            keys = new int[capacity];
+            heads = filled(capacity);
+            occupied = 0;
+            int mask = capacity - 1;
+            for (int j = 0; j < oldKeys.length; j++) {
+                if (oldHeads[j] < 0) {
+                    continue;
+                }
+                int i = oldKeys[j] & mask;
+                while (heads[i] != FREE) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = oldKeys[j];
+                heads[i] = oldHeads[j];
+                occupied++;
+            }
+        }
+
+        private static int[] filled(int length) {
+            int[] array = new int[length];
+            Arrays.fill(array, FREE);
+            return array;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.sliit.backend.similarity;
+
+import com.sliit.backend.changestream.ChangeEvent;
+import com.sliit.backend.changestream.ChangeEventListener;
+import com.sliit.backend.model.LearningPlan;
+import com.sliit.backend.model.RelatedPlan;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+// "Related plans" from a TF-IDF index over plan titles, modules, tags and descriptions.
+// Built from learningPlans on startup, updated from the plan write paths and corrected from
+// change events written by other nodes; lookups never scan the collection.
+@Service
+public class RelatedPlanService implements ChangeEventListener {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RelatedPlanService.class);
+
+    // Title and tag words say more about a plan's subject than the same word in a long description
+    private static final double TITLE_WEIGHT = 3;
+    private static final double TAG_WEIGHT = 3;
+    private static final double MODULE_WEIGHT = 2;
+    private static final double DESCRIPTION_WEIGHT = 1;
+
+    private final MongoTemplate mongoTemplate;
+    private final TfIdfIndex index;
+    private final double minSimilarity;
+
+    public RelatedPlanService(MongoTemplate mongoTemplate, MeterRegistry registry,
+                              @Value("${related-plans.max-query-terms:24}") int maxQueryTerms,
+                              @Value("${related-plans.max-document-frequency:0.05}") double maxDocumentFrequency,
+                              @Value("${related-plans.min-similarity:0.1}") double minSimilarity) {
+        this.mongoTemplate = mongoTemplate;
+        this.index = new TfIdfIndex(maxQueryTerms, maxDocumentFrequency);
+        this.minSimilarity = minSimilarity;
+        Gauge.builder("related_plans.index.documents", index, TfIdfIndex::size).register(registry);
+        Gauge.builder("related_plans.index.terms", index, TfIdfIndex::terms).register(registry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        try {
+            index.clear();
+            Query all = new Query();
+            all.fields().include("title", "description", "modules", "tags");
+            try (Stream<LearningPlan> plans = mongoTemplate.stream(all, LearningPlan.class)) {
+                plans.forEach(this::onSaved);
+            }
+            LOGGER.info("Indexed {} learning plans ({} terms) for related plans in {} ms",
+                    index.size(), index.terms(), System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            LOGGER.warn("Failed to build related plans index: {}", e.getMessage());
+        }
+    }
+
+    public void onSaved(LearningPlan plan) {
+        index.put(plan.getId(), terms(plan.getTitle(), plan.getDescription(), plan.getModules(), plan.getTags()));
+    }
+
+    public void onDeleted(String planId) {
+        index.remove(planId);
+    }
+
+    // Most similar plans first; only the matches are read back, by id
+    public List<RelatedPlan> related(String planId, int limit) {
+        List<TfIdfIndex.Match> matches = index.similarTo(planId, minSimilarity, limit);
+        if (matches.isEmpty()) {
+            return List.of();
+        }
+        Query byIds = new Query(where("_id").in(matches.stream().map(TfIdfIndex.Match::id).toList()));
+        byIds.fields().include("title", "userId", "tags");
+        Map<String, LearningPlan> found = mongoTemplate.find(byIds, LearningPlan.class).stream()
+                .collect(Collectors.toMap(LearningPlan::getId, Function.identity()));
+        return matches.stream()
+                .filter(match -> found.containsKey(match.id()))
+                .map(match -> {
+                    LearningPlan plan = found.get(match.id());
+                    return new RelatedPlan(plan.getId(), plan.getTitle(), plan.getUserId(), plan.getTags(), match.similarity());
+                })
+                .toList();
+    }
+
+    static Map<String, Double> terms(String title, String description, Collection<String> modules, Collection<String> tags) {
+        Map<String, Double> terms = new HashMap<>();
+        TextTokenizer.tokenize(title).forEach(token -> terms.merge(token, TITLE_WEIGHT, Double::sum));
+        TextTokenizer.tokenize(description).forEach(token -> terms.merge(token, DESCRIPTION_WEIGHT, Double::sum));
+        if (modules != null) {
+            for (String module : modules) {
+                TextTokenizer.tokenize(module).forEach(token -> terms.merge(token, MODULE_WEIGHT, Double::sum));
+            }
+        }
+        if (tags != null) {
+            for (String tag : tags) {
+                TextTokenizer.tokenize(tag).forEach(token -> terms.merge(token, TAG_WEIGHT, Double::sum));
+            }
+        }
+        return terms;
+    }
+
+    @Override
+    public Set<String> collections() {
+        return Set.of("learningPlans");
+    }
+
+    // Re-indexing is idempotent, so replaying this node's own writes is harmless
+    @Override
+    public void onChange(ChangeEvent event) {
+        if (event.operation() == ChangeEvent.Operation.DELETE) {
+            onDeleted(event.documentId());
+        } else if (event.fullDocument() != null) {
+            Document plan = event.fullDocument();
+            // The description may be stored compressed, which fullDocumentString handles
+            index.put(event.documentId(), terms(event.fullDocumentString("title"),
+                    event.fullDocumentString("description"),
+                    plan.getList("modules", String.class), plan.getList("tags", String.class)));
+        }
+    }
+
+    @Override
+    public void onReset() {
+        rebuild();
+    }
+}
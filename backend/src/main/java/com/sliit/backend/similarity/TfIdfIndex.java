@@ -0,0 +1,310 @@
+package com.sliit.backend.similarity;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// In-memory sparse TF-IDF index with cosine similarity. Every document keeps its (term, weight) pairs at a
+// dense ordinal, and every term keeps a postings list of (ordinal, weight). IDF is applied at query time, so
+// inserts and removals never touch other documents' postings. Document norms are cached and recomputed in
+// one pass once the corpus size has drifted by a tenth since they were last computed.
+// A lookup is term-at-a-time over the query's strongest terms only, skipping terms whose postings exceed
+// max(MIN_POSTINGS_CAP, maxDocumentFrequency * documents): such terms say little about relatedness and are
+// the expensive ones to read. Results are therefore approximate, ranked by cosine over the terms read.
+public class TfIdfIndex {
+
+    private static final int MIN_POSTINGS_CAP = 500;
+
+    private final int maxQueryTerms;
+    private final double maxDocumentFrequency;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Integer> termIds = new HashMap<>();
+    private final List<Postings> postings = new ArrayList<>();
+    private final Map<String, Integer> ordinals = new HashMap<>();
+    private String[] ids = new String[0];
+    private int[][] docTerms = new int[0][];
+    private float[][] docWeights = new float[0][];
+    private float[] norms = new float[0];
+    private int normsComputedAt;
+    private int[] freeOrdinals = new int[0];
+    private int freeCount;
+    private int highWater;
+
+    public TfIdfIndex(int maxQueryTerms, double maxDocumentFrequency) {
+        this.maxQueryTerms = maxQueryTerms;
+        this.maxDocumentFrequency = maxDocumentFrequency;
+    }
+
+    public record Match(String id, double similarity) {}
+
+    // Raw term frequencies (already field-weighted by the caller) are dampened as 1 + ln(tf).
+    // Returns false (and drops any previous entry) when the document has no terms.
+    public boolean put(String id, Map<String, Double> termFrequencies) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            if (termFrequencies == null || termFrequencies.isEmpty()) {
+                return false;
+            }
+            int ordinal = allocate();
+            int[] terms = new int[termFrequencies.size()];
+            float[] weights = new float[terms.length];
+            int i = 0;
+            for (Map.Entry<String, Double> entry : termFrequencies.entrySet()) {
+                int term = termIds.computeIfAbsent(entry.getKey(), key -> {
+                    postings.add(new Postings());
+                    return postings.size() - 1;
+                });
+                terms[i] = term;
+                weights[i] = (float) (1 + Math.log(Math.max(1.0, entry.getValue())));
+                postings.get(term).add(ordinal, weights[i]);
+                i++;
+            }
+            ids[ordinal] = id;
+            docTerms[ordinal] = terms;
+            docWeights[ordinal] = weights;
+            ordinals.put(id, ordinal);
+            refreshNorms(ordinal);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean remove(String id) {
+        lock.writeLock().lock();
+        try {
+            return removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            termIds.clear();
+            postings.clear();
+            ordinals.clear();
+            ids = new String[0];
+            docTerms = new int[0][];
+            docWeights = new float[0][];
+            norms = new float[0];
+            normsComputedAt = 0;
+            freeOrdinals = new int[0];
+            freeCount = 0;
+            highWater = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Documents most similar to an indexed document, excluding itself
+    public List<Match> similarTo(String id, double minSimilarity, int limit) {
+        lock.readLock().lock();
+        try {
+            Integer ordinal = ordinals.get(id);
+            if (ordinal == null) {
+                return List.of();
+            }
+            return queryLocked(docTerms[ordinal], docWeights[ordinal], minSimilarity, limit, ordinal);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Documents most similar to free terms; unknown terms cannot match anything and are ignored
+    public List<Match> query(Map<String, Double> termFrequencies, double minSimilarity, int limit) {
+        lock.readLock().lock();
+        try {
+            int[] terms = new int[termFrequencies.size()];
+            float[] weights = new float[terms.length];
+            int n = 0;
+            for (Map.Entry<String, Double> entry : termFrequencies.entrySet()) {
+                Integer term = termIds.get(entry.getKey());
+                if (term != null) {
+                    terms[n] = term;
+                    weights[n++] = (float) (1 + Math.log(Math.max(1.0, entry.getValue())));
+                }
+            }
+            return queryLocked(Arrays.copyOf(terms, n), Arrays.copyOf(weights, n), minSimilarity, limit, -1);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ordinals.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int terms() {
+        lock.readLock().lock();
+        try {
+            return termIds.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Match> queryLocked(int[] terms, float[] weights, double minSimilarity, int limit, int excludeOrdinal) {
+        int documents = ordinals.size();
+        if (terms.length == 0 || documents == 0) {
+            return List.of();
+        }
+        double[] queryWeights = new double[terms.length];
+        double queryNorm = 0;
+        for (int i = 0; i < terms.length; i++) {
+            queryWeights[i] = weights[i] * idf(terms[i], documents);
+            queryNorm += queryWeights[i] * queryWeights[i];
+        }
+        queryNorm = Math.sqrt(queryNorm);
+
+        // Strongest query terms first; near-ubiquitous terms say little about relatedness and have the longest lists
+        Integer[] order = new Integer[terms.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (x, y) -> Double.compare(queryWeights[y], queryWeights[x]));
+        int maxPostings = Math.max(MIN_POSTINGS_CAP, (int) (documents * maxDocumentFrequency));
+        float[] dots = new float[highWater];
+        int[] candidates = new int[64];
+        int candidateCount = 0;
+        int used = 0;
+        for (int i = 0; i < order.length && used < maxQueryTerms; i++) {
+            int term = terms[order[i]];
+            Postings list = postings.get(term);
+            if (list.size > maxPostings) {
+                continue;
+            }
+            used++;
+            float weight = (float) (queryWeights[order[i]] * idf(term, documents));
+            for (int p = 0; p < list.size; p++) {
+                int ordinal = list.ordinals[p];
+                if (ordinal == excludeOrdinal) {
+                    continue;
+                }
+                if (dots[ordinal] == 0) {
+                    if (candidateCount == candidates.length) {
+                        candidates = Arrays.copyOf(candidates, candidateCount * 2);
+                    }
+                    candidates[candidateCount++] = ordinal;
+                }
+                dots[ordinal] += weight * list.weights[p];
+            }
+        }
+
+        PriorityQueue<Match> top = new PriorityQueue<>(Math.max(1, limit), (x, y) -> Double.compare(x.similarity(), y.similarity()));
+        for (int c = 0; c < candidateCount; c++) {
+            int ordinal = candidates[c];
+            double similarity = Math.min(1.0, dots[ordinal] / (queryNorm * norms[ordinal]));
+            if (similarity >= minSimilarity) {
+                top.offer(new Match(ids[ordinal], similarity));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+        }
+        List<Match> matches = new ArrayList<>(top);
+        matches.sort((x, y) -> Double.compare(y.similarity(), x.similarity()));
+        return matches;
+    }
+
+    // New documents get a norm under the current IDF; all norms are redone once the corpus size drifts by 10%
+    private void refreshNorms(int ordinal) {
+        int documents = ordinals.size();
+        if (Math.abs(documents - normsComputedAt) * 10 > normsComputedAt) {
+            for (int i = 0; i < highWater; i++) {
+                if (ids[i] != null) {
+                    norms[i] = (float) norm(i, documents);
+                }
+            }
+            normsComputedAt = documents;
+        } else {
+            norms[ordinal] = (float) norm(ordinal, documents);
+        }
+    }
+
+    private double norm(int ordinal, int documents) {
+        int[] terms = docTerms[ordinal];
+        float[] weights = docWeights[ordinal];
+        double sum = 0;
+        for (int i = 0; i < terms.length; i++) {
+            double weight = weights[i] * idf(terms[i], documents);
+            sum += weight * weight;
+        }
+        return Math.sqrt(sum);
+    }
+
+    private double idf(int term, int documents) {
+        return Math.log(1.0 + (double) documents / Math.max(1, postings.get(term).size));
+    }
+
+    private boolean removeLocked(String id) {
+        Integer ordinal = ordinals.remove(id);
+        if (ordinal == null) {
+            return false;
+        }
+        for (int term : docTerms[ordinal]) {
+            postings.get(term).remove(ordinal);
+        }
+        ids[ordinal] = null;
+        docTerms[ordinal] = null;
+        docWeights[ordinal] = null;
+        if (freeCount == freeOrdinals.length) {
+            freeOrdinals = Arrays.copyOf(freeOrdinals, Math.max(16, freeCount * 2));
+        }
+        freeOrdinals[freeCount++] = ordinal;
+        return true;
+    }
+
+    private int allocate() {
+        if (freeCount > 0) {
+            return freeOrdinals[--freeCount];
+        }
+        if (highWater == ids.length) {
+            int capacity = Math.max(64, ids.length + (ids.length >> 1));
+            ids = Arrays.copyOf(ids, capacity);
+            docTerms = Arrays.copyOf(docTerms, capacity);
+            docWeights = Arrays.copyOf(docWeights, capacity);
+            norms = Arrays.copyOf(norms, capacity);
+        }
+        return highWater++;
+    }
+
+    // Unordered (ordinal, weight) pairs; removal swaps the last pair into the hole
+    private static final class Postings {
+        int[] ordinals = new int[4];
+        float[] weights = new float[4];
+        int size;
+
+        void add(int ordinal, float weight) {
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            ordinals[size] = ordinal;
+            weights[size++] = weight;
+        }
+
+        void remove(int ordinal) {
+            for (int i = 0; i < size; i++) {
+                if (ordinals[i] == ordinal) {
+                    size--;
+                    ordinals[i] = ordinals[size];
+                    weights[i] = weights[size];
+                    return;
+                }
+            }
+        }
+    }
+}
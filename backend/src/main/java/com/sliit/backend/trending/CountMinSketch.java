@@ -0,0 +1,85 @@
+package com.sliit.backend.trending;
+
+import java.nio.ByteBuffer;
+
+// Count-min sketch over decayable (floating point) counts. Estimates never undercount; with width w and
+// depth d they overcount by at most 2N/w with probability 1 - 2^-d, where N is the total weight added.
+// Sketches built with the same dimensions can be summed cell by cell, which is how node snapshots merge.
+public class CountMinSketch {
+
+    private final int width;
+    private final int depth;
+    private final double[] cells;
+
+    public CountMinSketch(int width, int depth) {
+        this.width = width;
+        this.depth = depth;
+        this.cells = new double[width * depth];
+    }
+
+    public void add(String key, double amount) {
+        long hash = Hashing.hash64(key);
+        for (int row = 0; row < depth; row++) {
+            cells[row * width + index(hash, row)] += amount;
+        }
+    }
+
+    public double estimate(String key) {
+        long hash = Hashing.hash64(key);
+        double min = Double.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, cells[row * width + index(hash, row)]);
+        }
+        return min;
+    }
+
+    // Multiplies every count by factor, e.g. 0.5 once per half-life
+    public void decay(double factor) {
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] *= factor;
+        }
+    }
+
+    public void merge(CountMinSketch other) {
+        if (other.width != width || other.depth != depth) {
+            throw new IllegalArgumentException("Sketch dimensions differ");
+        }
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] += other.cells[i];
+        }
+    }
+
+    // Cells are stored as floats; the precision lost is far below the sketch's own error
+    public byte[] toBytes() {
+        ByteBuffer buffer = ByteBuffer.allocate(8 + cells.length * 4);
+        buffer.putInt(width).putInt(depth);
+        for (double cell : cells) {
+            buffer.putFloat((float) cell);
+        }
+        return buffer.array();
+    }
+
+    public static CountMinSketch fromBytes(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        CountMinSketch sketch = new CountMinSketch(buffer.getInt(), buffer.getInt());
+        for (int i = 0; i < sketch.cells.length; i++) {
+            sketch.cells[i] = buffer.getFloat();
+        }
+        return sketch;
+    }
+
+    public int width() {
+        return width;
+    }
+
+    public int depth() {
+        return depth;
+    }
+
+    // Double hashing: row i uses h1 + i * h2
+    private int index(long hash, int row) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        return Math.floorMod(h1 + row * h2, width);
+    }
+}
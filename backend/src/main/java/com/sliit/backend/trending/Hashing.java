@@ -0,0 +1,21 @@
+package com.sliit.backend.trending;
+
+import java.nio.charset.StandardCharsets;
+
+final class Hashing {
+
+    private Hashing() {
+    }
+
+    // 64-bit FNV-1a followed by a murmur3 finalizer, stable across JVMs so snapshots from other nodes line up
+    static long hash64(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        hash = (hash ^ (hash >>> 33)) * 0xff51afd7ed558ccdL;
+        hash = (hash ^ (hash >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return hash ^ (hash >>> 33);
+    }
+}
@@ -0,0 +1,172 @@
+package com.sliit.backend.trending;
+
+import com.sliit.backend.archive.ArchiveService;
+import com.sliit.backend.model.Question;
+import com.sliit.backend.model.TrendingSnapshot;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+// Trending questions from in-process approximate counters; views and votes never cause a Mongo write.
+// At the end of every window the counters decay by the configured half-life, this node's sketches are saved as
+// one compact snapshot document, and the fresh snapshots of the other nodes are merged into the remote view.
+// Every tracked id is then checked against the questions, so a question deleted through another node drops out
+// of the ranking here within a window, and entries known only by their votes get a title.
+@Service
+public class TrendingService implements SmartLifecycle {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TrendingService.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final ArchiveService archiveService;
+    private final TrendingTracker tracker;
+    private final String nodeId;
+    private final Duration window;
+    private final double decayFactor;
+
+    private ScheduledExecutorService executor;
+
+    public TrendingService(MongoTemplate mongoTemplate, ArchiveService archiveService, MeterRegistry registry,
+                           @Value("${trending.node-id:local}") String nodeId,
+                           @Value("${trending.window:5m}") Duration window,
+                           @Value("${trending.half-life:1h}") Duration halfLife,
+                           @Value("${trending.sketch-width:4096}") int width,
+                           @Value("${trending.sketch-depth:4}") int depth,
+                           @Value("${trending.heavy-hitters:200}") int capacity,
+                           @Value("${trending.vote-weight:5}") double voteWeight) {
+        this.mongoTemplate = mongoTemplate;
+        this.archiveService = archiveService;
+        this.tracker = new TrendingTracker(width, depth, capacity, voteWeight);
+        this.nodeId = nodeId;
+        this.window = window;
+        this.decayFactor = Math.pow(0.5, (double) window.toMillis() / halfLife.toMillis());
+        Gauge.builder("trending.heavy_hitters", tracker, TrendingTracker::candidateCount).register(registry);
+        Gauge.builder("trending.window.viewers", tracker, TrendingTracker::lastWindowViewers)
+                .description("Approximate distinct viewers of questions in the last closed window on this node")
+                .register(registry);
+    }
+
+    public void recordView(String questionId, String title, String viewer) {
+        tracker.recordView(questionId, title, viewer);
+    }
+
+    public void recordVote(String questionId) {
+        tracker.recordVote(questionId);
+    }
+
+    public void onQuestionDeleted(String questionId) {
+        tracker.forget(questionId);
+    }
+
+    public List<TrendingTracker.Entry> trending(int limit) {
+        return tracker.top(limit);
+    }
+
+    @Override
+    public void start() {
+        try {
+            TrendingSnapshot own = mongoTemplate.findById(nodeId, TrendingSnapshot.class);
+            if (own != null) {
+                tracker.restore(own);
+            }
+            refreshRemote();
+            resolveQuestions();
+        } catch (RuntimeException e) {
+            LOGGER.warn("Failed to load trending snapshots: {}", e.getMessage());
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "trending");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long millis = window.toMillis();
+        executor.scheduleWithFixedDelay(this::closeWindow, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+            persist();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return executor != null;
+    }
+
+    void closeWindow() {
+        tracker.decay(decayFactor);
+        tracker.rollWindow();
+        persist();
+        refreshRemote();
+        resolveQuestions();
+    }
+
+    private void persist() {
+        try {
+            TrendingSnapshot snapshot = tracker.snapshot();
+            snapshot.setId(nodeId);
+            snapshot.setUpdatedAt(LocalDateTime.now());
+            mongoTemplate.save(snapshot);
+        } catch (RuntimeException e) {
+            LOGGER.warn("Failed to save trending snapshot: {}", e.getMessage());
+        }
+    }
+
+    private void resolveQuestions() {
+        try {
+            Set<String> ids = tracker.trackedIds();
+            if (ids.isEmpty()) {
+                return;
+            }
+            Query byIds = new Query(where("_id").in(ids));
+            byIds.fields().include("title");
+            Map<String, String> existing = new HashMap<>();
+            for (Question question : mongoTemplate.find(byIds, Question.class)) {
+                existing.put(question.getId(), question.getTitle());
+            }
+            Set<String> notHot = new HashSet<>(ids);
+            notHot.removeAll(existing.keySet());
+            if (!notHot.isEmpty()) {
+                existing.putAll(archiveService.archivedTitles(notHot));
+            }
+            tracker.resolve(ids, existing);
+        } catch (RuntimeException e) {
+            LOGGER.warn("Failed to resolve trending questions: {}", e.getMessage());
+        }
+    }
+
+    // Snapshots older than a few windows belong to nodes that are gone and are ignored
+    private void refreshRemote() {
+        try {
+            LocalDateTime freshSince = LocalDateTime.now().minus(window.multipliedBy(3));
+            List<TrendingSnapshot> others = mongoTemplate.find(new Query(where("_id").ne(nodeId)
+                    .and("updatedAt").gte(freshSince)), TrendingSnapshot.class);
+            tracker.setRemote(others);
+        } catch (RuntimeException e) {
+            LOGGER.warn("Failed to merge trending snapshots: {}", e.getMessage());
+        }
+    }
+}
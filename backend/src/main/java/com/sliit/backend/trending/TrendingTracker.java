@@ -0,0 +1,262 @@
+package com.sliit.backend.trending;
+
+import com.sliit.backend.model.TrendingSnapshot;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Time-decayed view and vote counts for questions, held in count-min sketches, plus a bounded heavy-hitter
+// set of the highest scoring questions. Only heavy hitters keep a per-question HyperLogLog of distinct viewers.
+// score = views + voteWeight * votes; all counts decay together once per window.
+// Remote state (the merged snapshots of other nodes) is added in at read time. Once per window the owner resolves
+// every tracked id against the database (resolve): deleted questions are dropped, missing titles filled in, and
+// entries that still have no title are left out of the ranking.
+public class TrendingTracker {
+
+    static final int QUESTION_VIEWERS_PRECISION = 10;
+    static final int WINDOW_VIEWERS_PRECISION = 14;
+
+    private final int width;
+    private final int depth;
+    private final int capacity;
+    private final double voteWeight;
+
+    private CountMinSketch views;
+    private CountMinSketch votes;
+    private HyperLogLog windowViewers = new HyperLogLog(WINDOW_VIEWERS_PRECISION);
+    private long lastWindowViewers;
+    private final Map<String, Candidate> candidates = new HashMap<>();
+    private volatile Remote remote = Remote.EMPTY;
+    // Results of the last resolve: ids that no longer exist and the titles of the ones that do
+    private Set<String> gone = new HashSet<>();
+    private Map<String, String> resolvedTitles = new HashMap<>();
+
+    public TrendingTracker(int width, int depth, int capacity, double voteWeight) {
+        this.width = width;
+        this.depth = depth;
+        this.capacity = capacity;
+        this.voteWeight = voteWeight;
+        this.views = new CountMinSketch(width, depth);
+        this.votes = new CountMinSketch(width, depth);
+    }
+
+    public record Entry(String questionId, String title, double score, double views, double votes, long uniqueViewers) {}
+
+    private static final class Candidate {
+        private String title;
+        private double score;
+        private HyperLogLog viewers = new HyperLogLog(QUESTION_VIEWERS_PRECISION);
+    }
+
+    public synchronized void recordView(String questionId, String title, String viewer) {
+        views.add(questionId, 1);
+        if (viewer != null) {
+            windowViewers.add(viewer);
+        }
+        Candidate candidate = offer(questionId);
+        if (candidate != null) {
+            if (title != null) {
+                candidate.title = title;
+            }
+            if (viewer != null) {
+                candidate.viewers.add(viewer);
+            }
+        }
+    }
+
+    // Any vote counts as engagement, whichever its direction
+    public synchronized void recordVote(String questionId) {
+        votes.add(questionId, 1);
+        offer(questionId);
+    }
+
+    // Drops a deleted question from the heavy hitters; its sketch counts simply decay away
+    public synchronized void forget(String questionId) {
+        candidates.remove(questionId);
+        gone.add(questionId);
+    }
+
+    // Every id this node could rank: its own heavy hitters and those of the other nodes
+    public synchronized Set<String> trackedIds() {
+        Set<String> ids = new HashSet<>(candidates.keySet());
+        ids.addAll(remote.titles.keySet());
+        return ids;
+    }
+
+    // existing maps the ids of checked that are still in the database to their titles
+    public synchronized void resolve(Set<String> checked, Map<String, String> existing) {
+        Set<String> missing = new HashSet<>();
+        for (String id : checked) {
+            if (existing.containsKey(id)) {
+                Candidate candidate = candidates.get(id);
+                if (candidate != null && candidate.title == null) {
+                    candidate.title = existing.get(id);
+                }
+            } else {
+                candidates.remove(id);
+                missing.add(id);
+            }
+        }
+        gone = missing;
+        resolvedTitles = new HashMap<>(existing);
+    }
+
+    public synchronized void decay(double factor) {
+        views.decay(factor);
+        votes.decay(factor);
+        candidates.values().forEach(candidate -> candidate.score *= factor);
+    }
+
+    // Closes the current window of distinct viewers
+    public synchronized void rollWindow() {
+        lastWindowViewers = windowViewers.estimate();
+        windowViewers = new HyperLogLog(WINDOW_VIEWERS_PRECISION);
+    }
+
+    public synchronized long lastWindowViewers() {
+        return lastWindowViewers;
+    }
+
+    public synchronized int candidateCount() {
+        return candidates.size();
+    }
+
+    // Admits the question to the heavy-hitter set when it beats the weakest member
+    private Candidate offer(String questionId) {
+        double score = views.estimate(questionId) + voteWeight * votes.estimate(questionId);
+        Candidate candidate = candidates.get(questionId);
+        if (candidate == null) {
+            if (candidates.size() >= capacity) {
+                Map.Entry<String, Candidate> weakest = null;
+                for (Map.Entry<String, Candidate> entry : candidates.entrySet()) {
+                    if (weakest == null || entry.getValue().score < weakest.getValue().score) {
+                        weakest = entry;
+                    }
+                }
+                if (weakest.getValue().score >= score) {
+                    return null;
+                }
+                candidates.remove(weakest.getKey());
+            }
+            candidate = new Candidate();
+            candidates.put(questionId, candidate);
+        }
+        candidate.score = score;
+        return candidate;
+    }
+
+    public List<Entry> top(int limit) {
+        Remote merged = remote;
+        List<Entry> ranked = new ArrayList<>();
+        synchronized (this) {
+            candidates.forEach((id, candidate) -> ranked.add(entry(id, candidate.title, merged)));
+            merged.titles.forEach((id, title) -> {
+                if (!candidates.containsKey(id)) {
+                    ranked.add(entry(id, title, merged));
+                }
+            });
+            ranked.removeIf(entry -> entry.title() == null || gone.contains(entry.questionId()));
+        }
+        ranked.sort(Comparator.comparingDouble(Entry::score).reversed());
+        List<Entry> top = new ArrayList<>(Math.min(limit, ranked.size()));
+        for (Entry entry : ranked.subList(0, Math.min(limit, ranked.size()))) {
+            top.add(new Entry(entry.questionId(), entry.title(), entry.score(), entry.views(), entry.votes(),
+                    uniqueViewers(entry.questionId(), merged)));
+        }
+        return top;
+    }
+
+    private Entry entry(String questionId, String title, Remote merged) {
+        double viewCount = views.estimate(questionId) + (merged.views != null ? merged.views.estimate(questionId) : 0);
+        double voteCount = votes.estimate(questionId) + (merged.votes != null ? merged.votes.estimate(questionId) : 0);
+        String knownTitle = title != null ? title : merged.titles.get(questionId);
+        if (knownTitle == null) {
+            knownTitle = resolvedTitles.get(questionId);
+        }
+        return new Entry(questionId, knownTitle, viewCount + voteWeight * voteCount, viewCount, voteCount, 0);
+    }
+
+    private long uniqueViewers(String questionId, Remote merged) {
+        HyperLogLog union = new HyperLogLog(QUESTION_VIEWERS_PRECISION);
+        synchronized (this) {
+            Candidate candidate = candidates.get(questionId);
+            if (candidate != null) {
+                union.merge(candidate.viewers);
+            }
+        }
+        HyperLogLog remoteViewers = merged.viewers.get(questionId);
+        if (remoteViewers != null) {
+            union.merge(remoteViewers);
+        }
+        return union.estimate();
+    }
+
+    public synchronized TrendingSnapshot snapshot() {
+        TrendingSnapshot snapshot = new TrendingSnapshot();
+        snapshot.setViews(views.toBytes());
+        snapshot.setVotes(votes.toBytes());
+        candidates.forEach((id, candidate) -> snapshot.getCandidates()
+                .add(new TrendingSnapshot.Candidate(id, candidate.title, candidate.viewers.toBytes())));
+        return snapshot;
+    }
+
+    // Reloads this node's own last snapshot after a restart
+    public synchronized void restore(TrendingSnapshot snapshot) {
+        CountMinSketch restoredViews = CountMinSketch.fromBytes(snapshot.getViews());
+        if (restoredViews.width() != width || restoredViews.depth() != depth) {
+            return;
+        }
+        views = restoredViews;
+        votes = CountMinSketch.fromBytes(snapshot.getVotes());
+        candidates.clear();
+        for (TrendingSnapshot.Candidate saved : snapshot.getCandidates()) {
+            Candidate candidate = new Candidate();
+            candidate.title = saved.getTitle();
+            candidate.viewers = HyperLogLog.fromBytes(saved.getViewers());
+            candidate.score = views.estimate(saved.getQuestionId()) + voteWeight * votes.estimate(saved.getQuestionId());
+            candidates.put(saved.getQuestionId(), candidate);
+        }
+    }
+
+    // Replaces the remote state with the merge of other nodes' snapshots
+    public void setRemote(List<TrendingSnapshot> snapshots) {
+        CountMinSketch mergedViews = null;
+        CountMinSketch mergedVotes = null;
+        Map<String, String> titles = new HashMap<>();
+        Map<String, HyperLogLog> viewers = new HashMap<>();
+        for (TrendingSnapshot snapshot : snapshots) {
+            CountMinSketch nodeViews = CountMinSketch.fromBytes(snapshot.getViews());
+            if (nodeViews.width() != width || nodeViews.depth() != depth) {
+                continue;
+            }
+            CountMinSketch nodeVotes = CountMinSketch.fromBytes(snapshot.getVotes());
+            if (mergedViews == null) {
+                mergedViews = nodeViews;
+                mergedVotes = nodeVotes;
+            } else {
+                mergedViews.merge(nodeViews);
+                mergedVotes.merge(nodeVotes);
+            }
+            for (TrendingSnapshot.Candidate candidate : snapshot.getCandidates()) {
+                if (candidate.getTitle() != null || !titles.containsKey(candidate.getQuestionId())) {
+                    titles.put(candidate.getQuestionId(), candidate.getTitle());
+                }
+                viewers.merge(candidate.getQuestionId(), HyperLogLog.fromBytes(candidate.getViewers()), (a, b) -> {
+                    a.merge(b);
+                    return a;
+                });
+            }
+        }
+        remote = new Remote(mergedViews, mergedVotes, titles, viewers);
+    }
+
+    private record Remote(CountMinSketch views, CountMinSketch votes, Map<String, String> titles,
+                          Map<String, HyperLogLog> viewers) {
+        static final Remote EMPTY = new Remote(null, null, Map.of(), Map.of());
+    }
+}
@@ -0,0 +1,26 @@
+package com.sliit.backend.warmup;
+
+import org.springframework.boot.actuate.availability.ReadinessStateHealthIndicator;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.AvailabilityState;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.stereotype.Component;
+
+// Replaces Boot's readiness indicator (same bean name), which turns UP as soon as the application is started.
+// Boot marks the application as accepting traffic right after the ApplicationReadyEvent listeners return, so
+// the warm-up cannot hold that state back itself; the probe reports OUT_OF_SERVICE until it has finished.
+@Component("readinessStateHealthIndicator")
+public class WarmupReadinessIndicator extends ReadinessStateHealthIndicator {
+
+    private final WarmupService warmupService;
+
+    public WarmupReadinessIndicator(ApplicationAvailability availability, WarmupService warmupService) {
+        super(availability);
+        this.warmupService = warmupService;
+    }
+
+    @Override
+    protected AvailabilityState getState(ApplicationAvailability applicationAvailability) {
+        return warmupService.isDone() ? super.getState(applicationAvailability) : ReadinessState.REFUSING_TRAFFIC;
+    }
+}
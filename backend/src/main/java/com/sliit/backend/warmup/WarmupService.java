@@ -0,0 +1,229 @@
+package com.sliit.backend.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sliit.backend.controller.LeaderboardController;
+import com.sliit.backend.controller.LearningPlanController;
+import com.sliit.backend.controller.QnAController;
+import com.sliit.backend.model.LearningPlan;
+import com.sliit.backend.model.Question;
+import com.sliit.backend.model.User;
+import com.sliit.backend.security.JwtUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+// Warms a freshly started node before it reports ready: first loads the most recently active questions, plans
+// and their authors (filling the plan cache and the database's working set), then replays a mix of the main
+// read endpoints, JWT round trips and JSON serialization of their results until the iteration count or the
+// time budget runs out. Readiness stays REFUSING_TRAFFIC until then (see WarmupReadinessIndicator).
+@Service
+public class WarmupService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(WarmupService.class);
+    private static final int PRELOAD_STEPS = 3;
+
+    private final MongoTemplate mongoTemplate;
+    private final LearningPlanController planController;
+    private final QnAController qnaController;
+    private final LeaderboardController leaderboardController;
+    private final UserDetailsService userDetailsService;
+    private final JwtUtil jwtUtil;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final Duration budget;
+    private final int iterations;
+    private final int sampleSize;
+
+    private final MeterRegistry registry;
+    private final Counter failures;
+    private final AtomicInteger completedSteps = new AtomicInteger();
+    private volatile boolean done;
+
+    private final List<String> questionIds = new ArrayList<>();
+    private final List<String> planIds = new ArrayList<>();
+    private final List<String> usernames = new ArrayList<>();
+    private String sampleTitle = "";
+
+    public WarmupService(MongoTemplate mongoTemplate, LearningPlanController planController,
+                         QnAController qnaController, LeaderboardController leaderboardController,
+                         UserDetailsService userDetailsService, JwtUtil jwtUtil, ObjectMapper objectMapper,
+                         MeterRegistry registry,
+                         @Value("${warmup.enabled:true}") boolean enabled,
+                         @Value("${warmup.budget:60s}") Duration budget,
+                         @Value("${warmup.iterations:200}") int iterations,
+                         @Value("${warmup.sample-size:50}") int sampleSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.planController = planController;
+        this.qnaController = qnaController;
+        this.leaderboardController = leaderboardController;
+        this.userDetailsService = userDetailsService;
+        this.jwtUtil = jwtUtil;
+        this.objectMapper = objectMapper;
+        this.registry = registry;
+        this.enabled = enabled;
+        this.budget = budget;
+        this.iterations = Math.max(0, iterations);
+        this.sampleSize = Math.max(1, sampleSize);
+        this.failures = registry.counter("warmup.failures");
+        Gauge.builder("warmup.budget.seconds", budget, Duration::toSeconds).register(registry);
+        Gauge.builder("warmup.progress", this, WarmupService::progress).register(registry);
+        Gauge.builder("warmup.done", this, w -> w.isDone() ? 1 : 0).register(registry);
+    }
+
+    public boolean isDone() {
+        return done;
+    }
+
+    // Fraction of the planned steps (preloads plus synthetic rounds) completed so far
+    public double progress() {
+        return done ? 1.0 : (double) completedSteps.get() / (PRELOAD_STEPS + iterations);
+    }
+
+    // Runs off the startup thread so the index rebuilds listening for the same event are not delayed
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            done = true;
+            return;
+        }
+        Thread thread = new Thread(this::run, "warmup");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    void run() {
+        long start = System.nanoTime();
+        long deadline = start + budget.toNanos();
+        try {
+            step("users", this::preloadUsers);
+            step("questions", this::preloadQuestions);
+            step("plans", this::preloadPlans);
+            int rounds = 0;
+            while (rounds < iterations && System.nanoTime() < deadline) {
+                step("synthetic", this::syntheticRound);
+                rounds++;
+            }
+            LOGGER.info("Warm-up finished {} of {} synthetic rounds in {} ms ({} failures)", rounds, iterations,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), (long) failures.count());
+        } catch (RuntimeException e) {
+            LOGGER.warn("Warm-up aborted: {}", e.getMessage());
+        } finally {
+            registry.timer("warmup.duration").record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            done = true;
+        }
+    }
+
+    private void step(String name, Runnable body) {
+        Timer.builder("warmup.step").tag("step", name).register(registry).record(body);
+        completedSteps.incrementAndGet();
+    }
+
+    // Authors of the sampled questions and plans plus the top of the leaderboard, loaded the way the JWT filter does
+    private void preloadUsers() {
+        Query recentQuestions = new Query().with(Sort.by(Sort.Direction.DESC, "lastActivityAt")).limit(sampleSize);
+        recentQuestions.fields().include("title", "userId");
+        Query recentPlans = new Query().with(Sort.by(Sort.Direction.DESC, "_id")).limit(sampleSize);
+        recentPlans.fields().include("userId");
+        Set<String> userIds = new LinkedHashSet<>();
+        for (Question question : mongoTemplate.find(recentQuestions, Question.class)) {
+            questionIds.add(question.getId());
+            userIds.add(question.getUserId());
+            if (sampleTitle.isEmpty() && question.getTitle() != null) {
+                sampleTitle = question.getTitle();
+            }
+        }
+        for (LearningPlan plan : mongoTemplate.find(recentPlans, LearningPlan.class)) {
+            planIds.add(plan.getId());
+            userIds.add(plan.getUserId());
+        }
+        leaderboardController.getLeaderboard(0, sampleSize).forEach(row -> userIds.add((String) row.get("userId")));
+        userIds.remove(null);
+
+        Query users = new Query(where("_id").in(userIds));
+        users.fields().include("username");
+        for (User user : mongoTemplate.find(users, User.class)) {
+            if (attempt(() -> userDetailsService.loadUserByUsername(user.getUsername())) != null) {
+                usernames.add(user.getUsername());
+            }
+        }
+    }
+
+    private void preloadQuestions() {
+        for (String id : questionIds) {
+            attempt(() -> qnaController.getAnswersByQuestionId(id));
+        }
+    }
+
+    private void preloadPlans() {
+        attempt(planController::getAllPlans);
+        for (String id : planIds) {
+            attempt(() -> planController.getPlanById(id));
+        }
+    }
+
+    // One pass over the read paths a client hits most, serializing every response as the HTTP layer would
+    private void syntheticRound() {
+        List<Object> responses = new ArrayList<>();
+        responses.add(attempt(planController::getAllPlans));
+        responses.add(attempt(() -> planController.browsePlans(null, 0, 20)));
+        responses.add(attempt(() -> planController.getAnalytics(8)));
+        responses.add(attempt(() -> qnaController.browseQuestions(null, 0, 20)));
+        responses.add(attempt(() -> qnaController.getTrendingQuestions(10)));
+        responses.add(attempt(() -> qnaController.findDuplicates(sampleTitle, null, 5)));
+        responses.add(attempt(() -> leaderboardController.getLeaderboard(0, 20)));
+        for (String id : planIds) {
+            responses.add(attempt(() -> planController.getPlanById(id)));
+            responses.add(attempt(() -> planController.getRelatedPlans(id, 5)));
+        }
+        for (String id : questionIds) {
+            responses.add(attempt(() -> qnaController.getAnswersByQuestionId(id)));
+        }
+        for (Object response : responses) {
+            if (response != null) {
+                attempt(() -> objectMapper.writeValueAsBytes(response));
+            }
+        }
+        for (String username : usernames) {
+            attempt(() -> {
+                String token = jwtUtil.generateToken(username);
+                return jwtUtil.validateToken(token, jwtUtil.extractUsername(token));
+            });
+        }
+    }
+
+    // Warm-up calls must never fail startup; a plan deleted meanwhile or a bad sample only counts as a failure
+    private <T> T attempt(CheckedSupplier<T> call) {
+        try {
+            return call.get();
+        } catch (Exception e) {
+            failures.increment();
+            return null;
+        }
+    }
+
+    @FunctionalInterface
+    private interface CheckedSupplier<T> {
+        T get() throws Exception;
+    }
+}
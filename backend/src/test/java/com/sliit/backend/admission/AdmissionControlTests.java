@@ -0,0 +1,100 @@
+package com.sliit.backend.admission;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdmissionControlTests {
+
+	private static final long THRESHOLD = TimeUnit.MILLISECONDS.toNanos(100);
+
+	@Test
+	void limiterRejectsBeyondItsLimit() {
+		AimdLimiter limiter = new AimdLimiter(2, 1, 10, THRESHOLD, 0.5);
+
+		assertTrue(limiter.tryAcquire());
+		assertTrue(limiter.tryAcquire());
+		assertFalse(limiter.tryAcquire());
+		limiter.release(THRESHOLD / 2, false, 0);
+		assertTrue(limiter.tryAcquire());
+	}
+
+	@Test
+	void limiterGrowsWhenFastAndBacksOffOncePerInterval() {
+		AimdLimiter limiter = new AimdLimiter(4, 1, 10, THRESHOLD, 0.5);
+		for (int i = 0; i < 4; i++) {
+			limiter.tryAcquire();
+		}
+		limiter.release(THRESHOLD / 2, false, 0);
+		assertEquals(5, limiter.getLimit());
+
+		limiter.release(THRESHOLD * 2, false, THRESHOLD);
+		assertEquals(2, limiter.getLimit());
+		// A second slow completion from the same overload does not halve again
+		limiter.release(THRESHOLD * 2, false, THRESHOLD + 1);
+		assertEquals(2, limiter.getLimit());
+		limiter.release(0, true, THRESHOLD * 3);
+		assertEquals(1, limiter.getLimit());
+	}
+
+	@Test
+	void bucketRefillsOverTime() {
+		long second = TimeUnit.SECONDS.toNanos(1);
+		TokenBucket bucket = new TokenBucket(2, 1, 0);
+
+		assertEquals(0, bucket.tryConsume(1, 0));
+		assertEquals(0, bucket.tryConsume(1, 0));
+		assertEquals(second, bucket.tryConsume(1, 0));
+		assertEquals(0, bucket.tryConsume(1, second));
+		assertFalse(bucket.isFull(second));
+		assertTrue(bucket.isFull(3 * second));
+	}
+
+	@Test
+	void classifiesEndpoints() {
+		assertEquals(RequestClass.CRITICAL, RequestClassifier.classify("GET", "/api/auth/validate"));
+		assertEquals(RequestClass.CRITICAL, RequestClassifier.classify("POST", "/api/q1/answers/a1/upvote"));
+		assertEquals(RequestClass.CRITICAL, RequestClassifier.classify("POST", "/api/comments/c1/like"));
+		assertEquals(RequestClass.HEAVY, RequestClassifier.classify("GET", "/api/getall/questions"));
+		assertEquals(RequestClass.HEAVY, RequestClassifier.classify("GET", "/api/learning-plans"));
+		assertEquals(RequestClass.STANDARD, RequestClassifier.classify("POST", "/api/learning-plans"));
+		assertEquals(RequestClass.STANDARD, RequestClassifier.classify("GET", "/api/questions/q1"));
+	}
+
+	@Test
+	void tracksAtMostMaxTrackedClients() throws Exception {
+		AdmissionProperties properties = new AdmissionProperties();
+		properties.getRate().setCapacity(1);
+		properties.getRate().setRefillPerSecond(0.001);
+		properties.getRate().setMaxTrackedClients(2);
+		AdmissionControlFilter filter = new AdmissionControlFilter(properties, new SimpleMeterRegistry());
+
+		// Every client has just drained its bucket, so none of them is idle
+		assertEquals(200, request(filter, "10.0.0.1"));
+		assertEquals(200, request(filter, "10.0.0.2"));
+		assertEquals(429, request(filter, "10.0.0.1"));
+		assertEquals(200, request(filter, "10.0.0.3"));
+		assertEquals(2, filter.trackedClients());
+
+		// 10.0.0.2 was the least recently seen, so it was the one dropped; 10.0.0.1 keeps its empty bucket
+		assertEquals(429, request(filter, "10.0.0.1"));
+		assertEquals(200, request(filter, "10.0.0.2"));
+		assertEquals(2, filter.trackedClients());
+	}
+
+	private static int request(AdmissionControlFilter filter, String remoteAddr) throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/questions/q1");
+		request.setRemoteAddr(remoteAddr);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(request, response, new MockFilterChain());
+		return response.getStatus();
+	}
+}
@@ -0,0 +1,287 @@
+package com.sliit.backend.archive;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.sliit.backend.model.Answer;
+import com.sliit.backend.service.SideEffectOutbox;
+import com.sliit.backend.service.TagService;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.channel.Channel;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ArchiveServiceTests {
+
+	private static final Date LONG_AGO = new Date(0);
+
+	private MongoServer server;
+	private MongoClient client;
+	private MongoTemplate mongoTemplate;
+	private MongoCollection<Document> questions;
+	private MongoCollection<Document> answers;
+	private MongoCollection<Document> archive;
+
+	private final GapBackend backend = new GapBackend();
+
+	@BeforeEach
+	void setUp() {
+		server = new MongoServer(backend);
+		InetSocketAddress address = server.bind();
+		client = MongoClients.create("mongodb://" + address.getHostString() + ":" + address.getPort());
+		mongoTemplate = new MongoTemplate(client, "archive");
+		questions = mongoTemplate.getCollection("questions");
+		answers = mongoTemplate.getCollection("answers");
+		archive = mongoTemplate.getCollection(ArchiveService.QUESTIONS_ARCHIVE);
+	}
+
+	@AfterEach
+	void tearDown() {
+		client.close();
+		server.shutdown();
+	}
+
+	@Test
+	void archivedQuestionIsReadFromTheArchiveAndRestoredIntact() {
+		ArchiveService service = service();
+		ObjectId id = insertQuestion(2);
+
+		assertTrue(service.archiveQuestion(questions.find(Filters.eq("_id", id)).first()));
+		assertEquals(0, questions.countDocuments());
+		assertEquals(0, answers.countDocuments());
+		assertEquals("Question", service.findQuestion(id.toHexString()).orElseThrow().getTitle());
+		assertEquals(2, service.findAnswers(id.toHexString(), List.of()).size());
+
+		assertTrue(service.restoreQuestion(id.toHexString()));
+		assertEquals(0, archive.countDocuments());
+		Document restored = questions.find(Filters.eq("_id", id)).first();
+		assertNotNull(restored);
+		assertTrue(restored.getDate("lastActivityAt").after(LONG_AGO));
+		assertEquals(2, answers.countDocuments(Filters.eq("questionId", id.toHexString())));
+		assertEquals(0, answers.countDocuments(Filters.exists(ArchiveService.ARCHIVING_BY)));
+	}
+
+	@Test
+	void secondNodeWithTheSameStaleReadLeavesTheArchiveAlone() {
+		ObjectId id = insertQuestion(2);
+		Document readByBoth = questions.find(Filters.eq("_id", id)).first();
+
+		assertTrue(service().archiveQuestion(readByBoth));
+		assertFalse(service().archiveQuestion(readByBoth));
+
+		assertEquals(1, archive.countDocuments());
+		assertEquals(2, service().findAnswers(id.toHexString(), List.of()).size());
+	}
+
+	@Test
+	void questionTouchedAfterItWasReadStaysHot() {
+		ArchiveService service = service();
+		ObjectId id = insertQuestion(1);
+		Document stale = questions.find(Filters.eq("_id", id)).first();
+
+		service.touch(id.toHexString());
+
+		assertFalse(service.archiveQuestion(stale));
+		assertEquals(1, questions.countDocuments());
+		assertEquals(1, answers.countDocuments());
+		assertEquals(0, archive.countDocuments());
+	}
+
+	@Test
+	void touchRestoresAnArchivedQuestion() {
+		ArchiveService service = service();
+		ObjectId id = insertQuestion(1);
+		service.archiveQuestion(questions.find(Filters.eq("_id", id)).first());
+
+		service.touch(id.toHexString());
+
+		assertEquals(1, questions.countDocuments());
+		assertEquals(1, answers.countDocuments());
+		assertEquals(0, archive.countDocuments());
+	}
+
+	@Test
+	void answersWrittenDuringArchivalAreNeverLost() throws Exception {
+		ArchiveService archiver = service();
+		ArchiveService writer = service();
+		for (int round = 0; round < 30; round++) {
+			ObjectId id = insertQuestion(2);
+			String questionId = id.toHexString();
+			Document candidate = questions.find(Filters.eq("_id", id)).first();
+			CountDownLatch start = new CountDownLatch(1);
+
+			CompletableFuture<Boolean> archiving = CompletableFuture.supplyAsync(() -> {
+				await(start);
+				return archiver.archiveQuestion(candidate);
+			});
+			CompletableFuture<Void> answering = CompletableFuture.runAsync(() -> {
+				await(start);
+				// The write path: touch first, then write the answer
+				writer.touch(questionId);
+				answers.insertOne(answer(questionId));
+			});
+			start.countDown();
+			archiving.get();
+			answering.get();
+
+			List<Answer> visible = writer.findAnswers(questionId,
+					answers.find(Filters.eq("questionId", questionId)).map(doc -> mongoTemplate.getConverter()
+							.read(Answer.class, doc)).into(new ArrayList<>()));
+			assertEquals(3, visible.size(), "round " + round);
+			assertTrue(writer.findQuestion(questionId).isPresent(), "round " + round);
+		}
+	}
+
+	@Test
+	void threadPathIsMatchedLiterally() {
+		ArchiveService service = service();
+		MongoCollection<Document> comments = mongoTemplate.getCollection("comments");
+		Document root = new Document("_id", new ObjectId()).append("path", "a.c/").append("learningPlanId", "p1")
+				.append("createdAt", LONG_AGO);
+		comments.insertOne(root);
+		comments.insertOne(new Document("_id", new ObjectId()).append("path", "a.c/r1/").append("createdAt", LONG_AGO));
+		// Would match an unescaped "^a.c/"
+		comments.insertOne(new Document("_id", new ObjectId()).append("path", "abc/").append("createdAt", LONG_AGO));
+
+		assertEquals(2, service.archiveThread(root, new Date()));
+		assertEquals(1, comments.countDocuments(Filters.eq("path", "abc/")));
+	}
+
+	@Test
+	void commentEditedWhileItsThreadIsArchivedStaysHot() {
+		ArchiveService service = service();
+		MongoCollection<Document> comments = mongoTemplate.getCollection("comments");
+		Document root = insertThread(comments, 2);
+		ObjectId reply = comments.find(Filters.ne("_id", root.get("_id"))).first().getObjectId("_id");
+		// An edit saves the whole comment, as CommentController does, between the copy and the deletes
+		backend.beforeNextDelete("comments", () -> comments.replaceOne(Filters.eq("_id", reply),
+				new Document("path", root.getString("path") + reply.toHexString() + "/").append("message", "edited")
+						.append("createdAt", LONG_AGO)));
+
+		assertEquals(0, service.archiveThread(root, new Date()));
+
+		assertEquals(3, comments.countDocuments());
+		assertEquals("edited", comments.find(Filters.eq("_id", reply)).first().getString("message"));
+		assertEquals(0, mongoTemplate.getCollection(ArchiveService.COMMENT_ARCHIVE).countDocuments());
+		assertNull(comments.find(Filters.exists(ArchiveService.ARCHIVING_BY)).first());
+	}
+
+	@Test
+	void replyAddedWhileItsThreadIsArchivedKeepsTheThreadHot() {
+		ArchiveService service = service();
+		MongoCollection<Document> comments = mongoTemplate.getCollection("comments");
+		Document root = insertThread(comments, 1);
+		backend.beforeNextDelete("comments", () -> comments.insertOne(new Document("_id", new ObjectId())
+				.append("path", root.getString("path") + "late/").append("createdAt", LONG_AGO)));
+
+		assertEquals(0, service.archiveThread(root, new Date()));
+
+		assertEquals(3, comments.countDocuments());
+		assertEquals(1, comments.countDocuments(Filters.eq("_id", root.get("_id"))));
+		assertEquals(0, mongoTemplate.getCollection(ArchiveService.COMMENT_ARCHIVE).countDocuments());
+		// Nothing stopped it, so a second run archives the whole thread
+		assertEquals(3, service.archiveThread(root, new Date()));
+		assertEquals(0, comments.countDocuments());
+	}
+
+	@Test
+	void failedArchivalRemovesItsMarks() {
+		ArchiveService service = service();
+		ObjectId id = insertQuestion(1);
+		Document candidate = questions.find(Filters.eq("_id", id)).first();
+		questions.deleteOne(Filters.eq("_id", id));
+		questions.insertOne(candidate.append("lastActivityAt", new Date()));
+
+		assertFalse(service.archiveQuestion(candidate.append("lastActivityAt", LONG_AGO)));
+		assertNull(questions.find(Filters.exists(ArchiveService.ARCHIVING_BY)).first());
+		assertNull(answers.find(Filters.exists(ArchiveService.ARCHIVING_BY)).first());
+	}
+
+	private ArchiveService service() {
+		MeterRegistry registry = new SimpleMeterRegistry();
+		SideEffectOutbox outbox = new SideEffectOutbox(registry, 1, 100, 1, Duration.ZERO);
+		return new ArchiveService(mongoTemplate, new TagService(mongoTemplate, outbox), registry);
+	}
+
+	private ObjectId insertQuestion(int answerCount) {
+		ObjectId id = new ObjectId();
+		questions.insertOne(new Document("_id", id).append("title", "Question").append("userId", "u1")
+				.append("tags", List.of()).append("lastActivityAt", LONG_AGO));
+		for (int i = 0; i < answerCount; i++) {
+			answers.insertOne(answer(id.toHexString()));
+		}
+		return id;
+	}
+
+	private static Document insertThread(MongoCollection<Document> comments, int replies) {
+		ObjectId rootId = new ObjectId();
+		Document root = new Document("_id", rootId).append("path", rootId.toHexString() + "/")
+				.append("learningPlanId", "p1").append("createdAt", LONG_AGO);
+		comments.insertOne(root);
+		for (int i = 0; i < replies; i++) {
+			ObjectId id = new ObjectId();
+			comments.insertOne(new Document("_id", id).append("path", root.getString("path") + id.toHexString() + "/")
+					.append("parentId", rootId.toHexString()).append("createdAt", LONG_AGO));
+		}
+		return root;
+	}
+
+	private static Document answer(String questionId) {
+		return new Document("_id", new ObjectId()).append("questionId", questionId).append("userId", "u2")
+				.append("upvotes", 0).append("downvotes", 0);
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	// Runs a concurrent write just before the next delete on a collection, to land it in the archiver's gap
+	static class GapBackend extends MemoryBackend {
+
+		private final Map<String, Runnable> beforeDelete = new ConcurrentHashMap<>();
+
+		void beforeNextDelete(String collection, Runnable write) {
+			beforeDelete.put(collection, write);
+		}
+
+		@Override
+		public de.bwaldvogel.mongo.bson.Document handleCommand(Channel channel, String database, String command,
+															   de.bwaldvogel.mongo.bson.Document query) {
+			if ("delete".equals(command)) {
+				Runnable write = beforeDelete.remove((String) query.get("delete"));
+				if (write != null) {
+					write.run();
+				}
+			}
+			return super.handleCommand(channel, database, command, query);
+		}
+	}
+}
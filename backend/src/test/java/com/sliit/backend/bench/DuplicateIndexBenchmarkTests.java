@@ -0,0 +1,67 @@
+package com.sliit.backend.bench;
+
+import com.sliit.backend.similarity.MinHashLshIndex;
+import com.sliit.backend.similarity.TextTokenizer;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Builds the near-duplicate index over synthetic questions and measures lookup latency and heap footprint.
+// Run with: mvn test -Pbenchmark -Dbench.questions=1000000
+@Tag("benchmark")
+class DuplicateIndexBenchmarkTests {
+
+	private static final int QUESTIONS = Integer.getInteger("bench.questions", 1_000_000);
+	private static final int LOOKUPS = 20_000;
+	private static final String[] VOCABULARY = vocabulary(20_000);
+
+	@Test
+	void lookupLatencyAndFootprint() {
+		MinHashLshIndex index = new MinHashLshIndex(8, 4, 42);
+		long buildStart = System.nanoTime();
+		for (int i = 0; i < QUESTIONS; i++) {
+			index.put(String.format("%024x", i), question(new Random(i)));
+		}
+		long buildMillis = (System.nanoTime() - buildStart) / 1_000_000;
+
+		Random random = new Random(1);
+		long[] latencies = new long[LOOKUPS];
+		for (int i = 0; i < LOOKUPS; i++) {
+			List<String> query = TextTokenizer.tokenize(String.join(" ", question(new Random(random.nextInt(QUESTIONS)))));
+			long start = System.nanoTime();
+			index.query(query, 0.5, 5, null);
+			latencies[i] = System.nanoTime() - start;
+		}
+		Arrays.sort(latencies);
+		long p50 = latencies[LOOKUPS / 2];
+		long p99 = latencies[LOOKUPS * 99 / 100];
+
+		System.out.printf("questions=%d build=%d ms lookup p50=%d us p99=%d us index=%d MB (%d B/question)%n",
+				index.size(), buildMillis, p50 / 1_000, p99 / 1_000,
+				index.estimatedBytes() >> 20, index.estimatedBytes() / Math.max(1, index.size()));
+		assertTrue(p50 < 1_000_000, "median lookup should stay under a millisecond");
+	}
+
+	// Title plus a short description drawn from a Zipf-like vocabulary
+	private static List<String> question(Random random) {
+		String[] words = new String[30];
+		for (int i = 0; i < words.length; i++) {
+			double u = random.nextDouble();
+			words[i] = VOCABULARY[(int) (VOCABULARY.length * u * u * u)];
+		}
+		return Arrays.asList(words);
+	}
+
+	private static String[] vocabulary(int size) {
+		String[] words = new String[size];
+		for (int i = 0; i < size; i++) {
+			words[i] = "w" + Integer.toString(i, 36);
+		}
+		return words;
+	}
+}
@@ -0,0 +1,101 @@
+package com.sliit.backend.bench;
+
+import com.sliit.backend.similarity.TfIdfIndex;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Builds the related-plans TF-IDF index over synthetic plans and measures lookup latency, plus how much of the
+// exact top 10 the pruned lookup (max-query-terms, max-document-frequency) still finds.
+// Run with: mvn test -Pbenchmark -Dbench.plans=100000
+@Tag("benchmark")
+class RelatedPlanBenchmarkTests {
+
+	private static final int PLANS = Integer.getInteger("bench.plans", 100_000);
+	private static final int TERMS_PER_PLAN = 40;
+	private static final int LOOKUPS = 20_000;
+	private static final int RECALL_LOOKUPS = 200;
+	private static final int LIMIT = 10;
+	private static final String[] VOCABULARY = vocabulary(20_000);
+
+	@Test
+	void lookupLatencyAndRecall() {
+		// The defaults from application.properties, and an index that reads every posting list in full
+		TfIdfIndex pruned = new TfIdfIndex(24, 0.05);
+		TfIdfIndex exact = new TfIdfIndex(Integer.MAX_VALUE, 1.0);
+		long buildStart = System.nanoTime();
+		for (int i = 0; i < PLANS; i++) {
+			pruned.put(id(i), plan(new Random(i)));
+		}
+		long buildMillis = (System.nanoTime() - buildStart) / 1_000_000;
+		for (int i = 0; i < PLANS; i++) {
+			exact.put(id(i), plan(new Random(i)));
+		}
+
+		Random random = new Random(1);
+		long[] latencies = new long[LOOKUPS];
+		for (int i = 0; i < LOOKUPS; i++) {
+			String id = id(random.nextInt(PLANS));
+			long start = System.nanoTime();
+			pruned.similarTo(id, 0.1, LIMIT);
+			latencies[i] = System.nanoTime() - start;
+		}
+		Arrays.sort(latencies);
+		long p50 = latencies[LOOKUPS / 2];
+		long p99 = latencies[LOOKUPS * 99 / 100];
+
+		int found = 0;
+		int expected = 0;
+		for (int i = 0; i < RECALL_LOOKUPS; i++) {
+			String id = id(random.nextInt(PLANS));
+			Set<String> truth = ids(exact.similarTo(id, 0.1, LIMIT));
+			Set<String> approximate = ids(pruned.similarTo(id, 0.1, LIMIT));
+			approximate.retainAll(truth);
+			found += approximate.size();
+			expected += truth.size();
+		}
+		double recall = expected == 0 ? 1 : (double) found / expected;
+
+		System.out.printf("plans=%d terms=%d build=%d ms lookup p50=%d us p99=%d us recall@%d=%.2f%n",
+				pruned.size(), pruned.terms(), buildMillis, p50 / 1_000, p99 / 1_000, LIMIT, recall);
+		assertTrue(p50 < 5_000_000, "median lookup should stay within a few milliseconds");
+	}
+
+	// Field-weighted term frequencies drawn from a Zipf-like vocabulary, as RelatedPlanService builds them
+	private static Map<String, Double> plan(Random random) {
+		Map<String, Double> terms = new HashMap<>();
+		for (int i = 0; i < TERMS_PER_PLAN; i++) {
+			double u = random.nextDouble();
+			double fieldWeight = i < 8 ? 3 : i < 20 ? 2 : 1;
+			terms.merge(VOCABULARY[(int) (VOCABULARY.length * u * u * u)], fieldWeight, Double::sum);
+		}
+		return terms;
+	}
+
+	private static Set<String> ids(List<TfIdfIndex.Match> matches) {
+		Set<String> ids = new HashSet<>();
+		matches.forEach(match -> ids.add(match.id()));
+		return ids;
+	}
+
+	private static String id(int i) {
+		return String.format("%024x", i);
+	}
+
+	private static String[] vocabulary(int size) {
+		String[] words = new String[size];
+		for (int i = 0; i < size; i++) {
+			words[i] = "w" + Integer.toString(i, 36);
+		}
+		return words;
+	}
+}
@@ -0,0 +1,123 @@
+package com.sliit.backend.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.sliit.backend.model.Comment;
+import com.sliit.backend.model.LearningPlan;
+import com.sliit.backend.model.PlanStatus;
+import com.sliit.backend.model.Question;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Compares encode time and payload size of typical list pages for JSON, CBOR and Smile.
+// Run with: mvn test -Pbenchmark
+@Tag("benchmark")
+class SerializationBenchmarkTests {
+
+	private static final int WARMUP_ROUNDS = 2_000;
+	private static final int MEASURED_ROUNDS = 5_000;
+
+	@Test
+	void compareEncodings() throws IOException {
+		ObjectMapper json = new ObjectMapper().registerModule(new JavaTimeModule())
+				.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+		ObjectMapper cbor = new ObjectMapper(new CBORFactory()).registerModule(new JavaTimeModule());
+		ObjectMapper smile = new ObjectMapper(new SmileFactory()).registerModule(new JavaTimeModule());
+
+		List<Object> pages = List.of(questionPage(50), planPage(20), commentPage(50));
+		String[] names = {"questions x50", "plans x20", "comments x50"};
+
+		System.out.printf("%-14s %-6s %10s %10s %12s%n", "page", "format", "bytes", "gzip", "us/encode");
+		for (int i = 0; i < pages.size(); i++) {
+			long jsonBytes = report(names[i], "json", json, pages.get(i));
+			long cborBytes = report(names[i], "cbor", cbor, pages.get(i));
+			long smileBytes = report(names[i], "smile", smile, pages.get(i));
+			assertTrue(cborBytes < jsonBytes && smileBytes < jsonBytes);
+		}
+	}
+
+	private long report(String page, String format, ObjectMapper mapper, Object value) throws IOException {
+		for (int i = 0; i < WARMUP_ROUNDS; i++) {
+			mapper.writeValueAsBytes(value);
+		}
+		long start = System.nanoTime();
+		byte[] bytes = null;
+		for (int i = 0; i < MEASURED_ROUNDS; i++) {
+			bytes = mapper.writeValueAsBytes(value);
+		}
+		double micros = (System.nanoTime() - start) / 1_000.0 / MEASURED_ROUNDS;
+		System.out.printf("%-14s %-6s %10d %10d %12.1f%n", page, format, bytes.length, gzipSize(bytes), micros);
+		return bytes.length;
+	}
+
+	private static int gzipSize(byte[] bytes) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+			gzip.write(bytes);
+		}
+		return out.size();
+	}
+
+	private static List<Question> questionPage(int size) {
+		List<Question> page = new ArrayList<>();
+		for (int i = 0; i < size; i++) {
+			Question q = new Question("How do I configure Spring Data MongoDB indexes? #" + i,
+					"I have a collection with a few hundred thousand documents and queries on userId are slow. "
+							+ "What is the recommended way to declare and create indexes from the application?",
+					"65f1c2a9e4b0a1b2c3d4e5f" + (i % 10));
+			q.setId("6600000000000000000000" + String.format("%02d", i));
+			q.setUsername("user" + i);
+			page.add(q);
+		}
+		return page;
+	}
+
+	private static List<LearningPlan> planPage(int size) {
+		List<LearningPlan> page = new ArrayList<>();
+		for (int i = 0; i < size; i++) {
+			LearningPlan p = new LearningPlan();
+			p.setId("6700000000000000000000" + String.format("%02d", i));
+			p.setUserId("65f1c2a9e4b0a1b2c3d4e5f" + (i % 10));
+			p.setUsername("user" + i);
+			p.setTitle("Backend development with Spring Boot");
+			p.setDescription("Learn REST APIs, persistence with MongoDB, security with JWT and deployment.");
+			p.setDuration("8 weeks");
+			p.setDeadline(LocalDate.of(2025, 12, 31));
+			p.setStatus(PlanStatus.IN_PROGRESS);
+			p.setProgress(40);
+			p.setCreatedAt(LocalDateTime.of(2025, 4, 1, 10, 30));
+			p.setModules(List.of("REST basics", "Spring Data", "Spring Security", "Testing", "Docker"));
+			page.add(p);
+		}
+		return page;
+	}
+
+	private static List<Comment> commentPage(int size) {
+		List<Comment> page = new ArrayList<>();
+		for (int i = 0; i < size; i++) {
+			Comment c = new Comment();
+			c.setId("6800000000000000000000" + String.format("%02d", i));
+			c.setMessage("Great plan, the Spring Security module helped me a lot.");
+			c.setUserId("65f1c2a9e4b0a1b2c3d4e5f" + (i % 10));
+			c.setUsername("user" + i);
+			c.setLearningPlanId("670000000000000000000001");
+			c.setCreatedAt(LocalDateTime.of(2025, 4, 1, 10, 30).plusMinutes(i));
+			c.setLikeCount(i % 7);
+			page.add(c);
+		}
+		return page;
+	}
+}
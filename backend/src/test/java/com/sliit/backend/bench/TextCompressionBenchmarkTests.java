@@ -0,0 +1,75 @@
+package com.sliit.backend.bench;
+
+import com.sliit.backend.compression.CompressedText;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Stored size and compress / inflate latency of markdown-with-code texts at typical field sizes.
+// Run with: mvn test -Pbenchmark
+@Tag("benchmark")
+class TextCompressionBenchmarkTests {
+
+	private static final int[] SIZES = {1_024, 4_096, 16_384, 65_536};
+	private static final int ROUNDS = 5_000;
+	private static final String[] WORDS = {"the", "spring", "boot", "mongodb", "query", "index", "returns", "null",
+			"when", "document", "field", "missing", "how", "fix", "error", "repository", "service", "controller",
+			"stream", "list", "map", "async", "thread", "pool", "timeout", "connection", "configure", "bean"};
+
+	@Test
+	void storageAndLatency() {
+		for (int size : SIZES) {
+			String text = markdown(size, new Random(size));
+			int raw = text.getBytes(StandardCharsets.UTF_8).length;
+			byte[] compressed = CompressedText.compress(text);
+			for (int i = 0; i < ROUNDS; i++) {
+				CompressedText.decompress(CompressedText.compress(text));
+			}
+
+			long start = System.nanoTime();
+			for (int i = 0; i < ROUNDS; i++) {
+				compressed = CompressedText.compress(text);
+			}
+			long compressNanos = (System.nanoTime() - start) / ROUNDS;
+			start = System.nanoTime();
+			for (int i = 0; i < ROUNDS; i++) {
+				CompressedText.decompress(compressed);
+			}
+			long inflateNanos = (System.nanoTime() - start) / ROUNDS;
+
+			double ratio = (double) compressed.length / raw;
+			System.out.printf("text=%6d B stored=%6d B (%.0f%%) compress=%5.1f us inflate=%5.1f us%n",
+					raw, compressed.length, ratio * 100, compressNanos / 1_000.0, inflateNanos / 1_000.0);
+			assertTrue(ratio < 0.6, "markdown should compress to well under its size");
+		}
+	}
+
+	// Prose paragraphs with fenced code blocks, roughly the shape of a long question or answer
+	private static String markdown(int size, Random random) {
+		StringBuilder text = new StringBuilder(size + 256);
+		while (text.length() < size) {
+			if (random.nextInt(3) == 0) {
+				text.append("```java\n");
+				for (int line = 0; line < 6; line++) {
+					text.append("    ").append(word(random)).append('.').append(word(random)).append('(')
+							.append(random.nextInt(1000)).append(");\n");
+				}
+				text.append("```\n\n");
+			} else {
+				for (int i = 0; i < 40; i++) {
+					text.append(word(random)).append(i % 12 == 11 ? ". " : " ");
+				}
+				text.append("\n\n");
+			}
+		}
+		return text.substring(0, size);
+	}
+
+	private static String word(Random random) {
+		return WORDS[random.nextInt(WORDS.length)];
+	}
+}
@@ -0,0 +1,191 @@
+package com.sliit.backend.bulkimport;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.model.Filters;
+import com.sliit.backend.compression.TextFieldCompressor;
+import com.sliit.backend.model.Answer;
+import com.sliit.backend.model.ImportCheckpoint;
+import com.sliit.backend.model.LearningPlan;
+import com.sliit.backend.model.Question;
+import com.sliit.backend.model.TagCount;
+import com.sliit.backend.model.User;
+import com.sliit.backend.repository.UserRepository;
+import com.sliit.backend.service.PlanAnalyticsService;
+import com.sliit.backend.service.SideEffectOutbox;
+import com.sliit.backend.service.TagService;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+class BulkImportServiceTests {
+
+	private static final String NDJSON = String.join("\n",
+			"{\"type\":\"question\",\"ref\":\"q1\",\"username\":\"alice\",\"title\":\"Newer\",\"tags\":[\"Java\"],"
+					+ "\"createdAt\":\"2024-03-01T10:00:00\"}",
+			"{\"type\":\"question\",\"ref\":\"q2\",\"username\":\"alice\",\"title\":\"Older\",\"tags\":[\"java\",\"Spring Boot\"],"
+					+ "\"createdAt\":\"2020-01-01T10:00:00\"}",
+			"{\"type\":\"answer\",\"questionRef\":\"q1\",\"username\":\"bob\",\"content\":\"Use records\"}",
+			"",
+			"{\"type\":\"plan\",\"username\":\"bob\",\"title\":\"Kafka\",\"tags\":[\"kafka\"],\"createdAt\":\"2023-05-01T08:00:00\"}");
+
+	private MongoServer server;
+	private MongoClient client;
+	private MongoTemplate mongoTemplate;
+
+	@BeforeEach
+	void setUp() {
+		server = new MongoServer(new MemoryBackend());
+		InetSocketAddress address = server.bind();
+		client = MongoClients.create("mongodb://" + address.getHostString() + ":" + address.getPort());
+		mongoTemplate = new MongoTemplate(client, "import");
+		for (String username : List.of("alice", "bob")) {
+			User user = new User();
+			user.setUsername(username);
+			mongoTemplate.insert(user);
+		}
+	}
+
+	@AfterEach
+	void tearDown() {
+		client.close();
+		server.shutdown();
+	}
+
+	@Test
+	void importsEveryRecordTypeAndLinksAnswersToTheirQuestion() throws IOException {
+		ImportReport report = service(1000).importStream("job-1", stream(NDJSON));
+
+		assertEquals(4, report.records());
+		assertEquals(4, report.inserted());
+		assertEquals(0, report.failed());
+		Question newer = mongoTemplate.findOne(query(where("title").is("Newer")), Question.class);
+		Answer answer = mongoTemplate.findAll(Answer.class).get(0);
+		assertEquals(newer.getId(), answer.getQuestionId());
+		assertEquals(List.of("java", "spring-boot"), mongoTemplate.findAll(Question.class).stream()
+				.filter(q -> q.getTitle().equals("Older")).findFirst().orElseThrow().getTags());
+		assertTrue(mongoTemplate.getCollection("importCheckpoints").find(Filters.eq("_id", "job-1")).first()
+				.getBoolean("completed"));
+	}
+
+	@Test
+	void idsFollowTheRecordsCreatedAt() throws IOException {
+		service(1000).importStream("job-1", stream(NDJSON));
+
+		List<Document> questions = mongoTemplate.getCollection("questions").find()
+				.sort(new Document("_id", -1)).into(new ArrayList<>());
+		assertEquals(List.of("Newer", "Older"), questions.stream().map(q -> q.getString("title")).toList());
+		assertEquals(LocalDateTime.of(2020, 1, 1, 10, 0).atZone(ZoneId.systemDefault()).toInstant().getEpochSecond(),
+				questions.get(1).getObjectId("_id").getTimestamp());
+		ObjectId planId = mongoTemplate.getCollection("learningPlans").find().first().getObjectId("_id");
+		assertEquals(LocalDateTime.of(2023, 5, 1, 8, 0).atZone(ZoneId.systemDefault()).toInstant().getEpochSecond(),
+				planId.getTimestamp());
+	}
+
+	@Test
+	void badLinesAreReportedUpToTheCap() throws IOException {
+		String input = String.join("\n",
+				"{not json",
+				"{\"type\":\"video\",\"username\":\"alice\"}",
+				"{\"type\":\"question\",\"username\":\"nobody\",\"title\":\"t\"}",
+				"{\"type\":\"question\",\"username\":\"alice\"}",
+				"{\"type\":\"answer\",\"questionRef\":\"missing\",\"username\":\"bob\",\"content\":\"c\"}",
+				"{\"type\":\"question\",\"username\":\"alice\",\"title\":\"ok\"}");
+
+		ImportReport report = service(2).importStream("job-2", stream(input));
+
+		assertEquals(6, report.records());
+		assertEquals(1, report.inserted());
+		assertEquals(5, report.failed());
+		assertEquals(2, report.errors().size());
+		assertTrue(report.errorsTruncated());
+		assertEquals(1, report.errors().get(0).line());
+		assertTrue(report.errors().get(0).message().startsWith("Malformed JSON"));
+		assertEquals("Unknown type", report.errors().get(1).message());
+	}
+
+	@Test
+	void replayAfterACrashImportsNothingTwiceAndKeepsTagCountsExact() throws IOException {
+		service(1000).importStream("job-1", stream(NDJSON));
+		// A crash after the writes but before the checkpoint moved, and a tag count that missed its increment
+		ImportCheckpoint checkpoint = mongoTemplate.findById("job-1", ImportCheckpoint.class);
+		checkpoint.setRecordsDone(0);
+		checkpoint.setCompleted(false);
+		mongoTemplate.save(checkpoint);
+		mongoTemplate.remove(query(where("tag").is("java")), TagCount.class);
+
+		ImportReport replay = service(1000).importStream("job-1", stream(NDJSON));
+
+		assertEquals(0, replay.inserted());
+		assertEquals(4, replay.skipped());
+		assertEquals(2, mongoTemplate.count(new Query(), Question.class));
+		assertEquals(1, mongoTemplate.count(new Query(), Answer.class));
+		assertEquals(1, mongoTemplate.count(new Query(), LearningPlan.class));
+		assertEquals(2, count(TagService.QUESTIONS, "java"));
+		assertEquals(1, count(TagService.QUESTIONS, "spring-boot"));
+		assertEquals(1, count(TagService.PLANS, "kafka"));
+	}
+
+	@Test
+	void answersOfAResumedRunFindQuestionsOfTheEarlierOne() throws IOException {
+		service(1000).importStream("job-3",
+				stream("{\"type\":\"question\",\"ref\":\"q1\",\"username\":\"alice\",\"title\":\"First\"}"));
+		ImportCheckpoint checkpoint = mongoTemplate.findById("job-3", ImportCheckpoint.class);
+		checkpoint.setCompleted(false);
+		mongoTemplate.save(checkpoint);
+
+		ImportReport resumed = service(1000).importStream("job-3", stream(String.join("\n",
+				"{\"type\":\"question\",\"ref\":\"q1\",\"username\":\"alice\",\"title\":\"First\"}",
+				"{\"type\":\"answer\",\"questionRef\":\"q1\",\"username\":\"bob\",\"content\":\"Later\"}")));
+
+		assertEquals(1, resumed.resumedFrom());
+		assertEquals(1, resumed.inserted());
+		assertFalse(mongoTemplate.findAll(Answer.class).isEmpty());
+		assertEquals(mongoTemplate.findAll(Question.class).get(0).getId(),
+				mongoTemplate.findAll(Answer.class).get(0).getQuestionId());
+	}
+
+	private long count(String scope, String tag) {
+		TagCount count = mongoTemplate.findById(scope + ":" + tag, TagCount.class);
+		return count == null ? 0 : count.getCount();
+	}
+
+	private BulkImportService service(int maxErrors) {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		SideEffectOutbox outbox = new SideEffectOutbox(registry, 1, 100, 1, Duration.ZERO);
+		ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+		UserRepository userRepo = new MongoRepositoryFactory(mongoTemplate).getRepository(UserRepository.class);
+		return new BulkImportService(mongoTemplate, userRepo, objectMapper, new TagService(mongoTemplate, outbox),
+				new PlanAnalyticsService(mongoTemplate), new TextFieldCompressor(registry, false, 1024), 2, maxErrors);
+	}
+
+	private static ByteArrayInputStream stream(String text) {
+		return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+	}
+}
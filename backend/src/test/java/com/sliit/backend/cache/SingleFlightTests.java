@@ -0,0 +1,105 @@
+package com.sliit.backend.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SingleFlightTests {
+
+	@Test
+	void concurrentCallsShareOneLoad() throws Exception {
+		SingleFlight<String> flight = new SingleFlight<>(Duration.ofSeconds(5));
+		AtomicInteger loads = new AtomicInteger();
+		CountDownLatch release = new CountDownLatch(1);
+		ExecutorService pool = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<String>> results = new ArrayList<>();
+			for (int i = 0; i < 8; i++) {
+				results.add(pool.submit(() -> flight.execute("q1", () -> {
+					loads.incrementAndGet();
+					await(release);
+					return "question";
+				})));
+			}
+			while (flight.leaderCount() + flight.followerCount() < 8) {
+				Thread.sleep(5);
+			}
+			release.countDown();
+			for (Future<String> result : results) {
+				assertEquals("question", result.get(5, TimeUnit.SECONDS));
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+		assertEquals(1, loads.get());
+		assertEquals(7, flight.followerCount());
+		assertEquals(0, flight.inFlightCount());
+	}
+
+	@Test
+	void leaderFailureReachesEveryWaiter() throws Exception {
+		SingleFlight<String> flight = new SingleFlight<>(Duration.ofSeconds(5));
+		CountDownLatch release = new CountDownLatch(1);
+		ExecutorService pool = Executors.newFixedThreadPool(2);
+		try {
+			Future<String> leader = pool.submit(() -> flight.execute("q1", () -> {
+				await(release);
+				throw new RuntimeException("Question not found");
+			}));
+			while (flight.inFlightCount() == 0) {
+				Thread.sleep(5);
+			}
+			Future<String> follower = pool.submit(() -> flight.execute("q1", () -> "unused"));
+			while (flight.followerCount() == 0) {
+				Thread.sleep(5);
+			}
+			release.countDown();
+			assertEquals("Question not found", assertThrows(Exception.class, () -> leader.get()).getCause().getMessage());
+			assertEquals("Question not found", assertThrows(Exception.class, () -> follower.get()).getCause().getMessage());
+		} finally {
+			pool.shutdownNow();
+		}
+		// A failed load is not remembered
+		assertEquals("retry", flight.execute("q1", () -> "retry"));
+	}
+
+	@Test
+	void waitersGiveUpAfterTimeout() throws Exception {
+		SingleFlight<String> flight = new SingleFlight<>(Duration.ofSeconds(5));
+		CountDownLatch release = new CountDownLatch(1);
+		ExecutorService pool = Executors.newSingleThreadExecutor();
+		try {
+			pool.submit(() -> flight.execute("slow", () -> {
+				await(release);
+				return "late";
+			}));
+			while (flight.inFlightCount() == 0) {
+				Thread.sleep(5);
+			}
+			assertThrows(RuntimeException.class, () -> flight.execute("slow", Duration.ofMillis(20), () -> "unused"));
+			assertEquals(1, flight.timeoutCount());
+		} finally {
+			release.countDown();
+			pool.shutdownNow();
+		}
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			throw new RuntimeException(e);
+		}
+	}
+}
@@ -0,0 +1,194 @@
+package com.sliit.backend.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TwoLevelCacheTests {
+
+	@Test
+	void loadsOnceUntilEvicted() {
+		AtomicInteger loads = new AtomicInteger();
+		TwoLevelCache cache = new TwoLevelCache(10, Duration.ofMinutes(1), null);
+
+		assertEquals("v", cache.get("k", () -> { loads.incrementAndGet(); return "v"; }));
+		assertEquals("v", cache.get("k", () -> { loads.incrementAndGet(); return "v"; }));
+		assertEquals(1, loads.get());
+
+		cache.evict("k");
+		cache.get("k", () -> { loads.incrementAndGet(); return "v"; });
+		assertEquals(2, loads.get());
+	}
+
+	@Test
+	void expiresEntriesAfterTtl() {
+		MutableClock clock = new MutableClock();
+		TwoLevelCache cache = new TwoLevelCache(10, Duration.ofSeconds(5), null, clock);
+
+		cache.get("k", () -> "old");
+		clock.advance(Duration.ofSeconds(6));
+		assertEquals("new", cache.get("k", () -> "new"));
+	}
+
+	@Test
+	void evictsLeastRecentlyUsedBeyondMaxSize() {
+		TwoLevelCache cache = new TwoLevelCache(2, Duration.ofMinutes(1), null);
+		cache.get("a", () -> "a");
+		cache.get("b", () -> "b");
+		cache.get("a", () -> "a");
+		cache.get("c", () -> "c");
+
+		assertEquals(2, cache.localSize());
+		assertEquals("a", cache.get("a", () -> "reloaded"));
+		assertEquals("reloaded", cache.get("b", () -> "reloaded"));
+	}
+
+	@Test
+	void promotesFromSharedCacheAndEvictsBothLevels() {
+		InMemorySharedCache shared = new InMemorySharedCache();
+		TwoLevelCache nodeA = new TwoLevelCache(10, Duration.ofMinutes(1), shared);
+		TwoLevelCache nodeB = new TwoLevelCache(10, Duration.ofMinutes(1), shared);
+
+		nodeA.get("plans:user:1", () -> "loaded-by-a");
+		assertEquals("loaded-by-a", nodeB.get("plans:user:1", () -> "loaded-by-b"));
+
+		nodeA.evictByPrefix("plans:user:");
+		assertEquals(0, shared.size());
+	}
+
+	@Test
+	void loadThatStartedBeforeAnEvictionDoesNotRepopulate() throws Exception {
+		InMemorySharedCache shared = new InMemorySharedCache();
+		TwoLevelCache cache = new TwoLevelCache(10, Duration.ofMinutes(1), shared);
+		CountDownLatch loading = new CountDownLatch(1);
+		CountDownLatch written = new CountDownLatch(1);
+
+		// The reader loads the pre-write value; the write and its eviction land before the reader stores it
+		CompletableFuture<String> reader = CompletableFuture.supplyAsync(() -> cache.get("plans:all", () -> {
+			loading.countDown();
+			await(written);
+			return "before-write";
+		}));
+		loading.await();
+		cache.evict("plans:all");
+		written.countDown();
+
+		assertEquals("before-write", reader.get());
+		assertEquals(0, shared.size());
+		assertEquals("after-write", cache.get("plans:all", () -> "after-write"));
+	}
+
+	@Test
+	void prefixEvictionAlsoStopsRacingLoads() throws Exception {
+		TwoLevelCache cache = new TwoLevelCache(10, Duration.ofMinutes(1), null);
+		CountDownLatch loading = new CountDownLatch(1);
+		CountDownLatch written = new CountDownLatch(1);
+
+		CompletableFuture<String> reader = CompletableFuture.supplyAsync(() -> cache.get("plans:user:1", () -> {
+			loading.countDown();
+			await(written);
+			return "before-write";
+		}));
+		loading.await();
+		cache.evictByPrefix("plans:user:");
+		written.countDown();
+		reader.get();
+
+		assertEquals("after-write", cache.get("plans:user:1", () -> "after-write"));
+		// Loads that start after the eviction are cached as usual
+		assertEquals("after-write", cache.get("plans:user:1", () -> "reloaded"));
+	}
+
+	@Test
+	void cacheNeverEndsUpOlderThanTheLastWrite() throws Exception {
+		for (int round = 0; round < 20; round++) {
+			TwoLevelCache cache = new TwoLevelCache(2, Duration.ofMinutes(1), null);
+			AtomicInteger version = new AtomicInteger();
+			AtomicBoolean written = new AtomicBoolean();
+			ExecutorService pool = Executors.newFixedThreadPool(4);
+			List<Future<?>> tasks = new ArrayList<>();
+			for (int reader = 0; reader < 3; reader++) {
+				tasks.add(pool.submit(() -> {
+					for (int i = 0; !written.get(); i++) {
+						// A slow query: the version is read at its start
+						cache.get("k", () -> {
+							int read = version.get();
+							sleep(1);
+							return read;
+						});
+						cache.get("other" + (i % 3), () -> "x");
+					}
+				}));
+			}
+			// The write path: change the data, then evict
+			tasks.add(pool.submit(() -> {
+				for (int i = 0; i < 50; i++) {
+					version.incrementAndGet();
+					cache.evict("k");
+					sleep(1);
+				}
+				written.set(true);
+			}));
+			for (Future<?> task : tasks) {
+				task.get();
+			}
+			pool.shutdown();
+
+			assertEquals(50, cache.get("k", version::get), "round " + round);
+		}
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static class MutableClock extends Clock {
+		private Instant now = Instant.parse("2025-01-01T00:00:00Z");
+
+		void advance(Duration duration) {
+			now = now.plus(duration);
+		}
+
+		@Override
+		public ZoneId getZone() {
+			return ZoneOffset.UTC;
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			return this;
+		}
+
+		@Override
+		public Instant instant() {
+			return now;
+		}
+	}
+}
@@ -0,0 +1,54 @@
+package com.sliit.backend.changestream;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ChangeEventDispatcherTests {
+
+	@Test
+	void eventsReachOnlyTheListenersOfTheirCollection() {
+		RecordingListener plans = new RecordingListener(Set.of("learningPlans", "users"), false);
+		RecordingListener answers = new RecordingListener(Set.of("answers"), true);
+		ChangeEventDispatcher dispatcher = new ChangeEventDispatcher(List.of(plans, answers));
+
+		dispatcher.dispatch(event("learningPlans", "p1"));
+		dispatcher.dispatch(event("answers", "a1"));
+		dispatcher.dispatch(event("comments", "c1"));
+
+		assertEquals(List.of("UPDATE p1"), plans.summary());
+		assertEquals(List.of("UPDATE a1"), answers.summary());
+		assertEquals(Set.of("answers", "learningPlans", "users"), dispatcher.watchedCollections());
+		assertEquals(Set.of("answers"), dispatcher.preImageCollections());
+	}
+
+	@Test
+	void aFailingListenerDoesNotStopTheOthers() {
+		RecordingListener failing = new RecordingListener(Set.of("answers"), false) {
+			@Override
+			public void onChange(ChangeEvent event) {
+				throw new IllegalStateException("boom");
+			}
+
+			@Override
+			public void onReset() {
+				throw new IllegalStateException("boom");
+			}
+		};
+		RecordingListener healthy = new RecordingListener(Set.of("answers"), false);
+		ChangeEventDispatcher dispatcher = new ChangeEventDispatcher(List.of(failing, healthy));
+
+		dispatcher.dispatch(event("answers", "a1"));
+		dispatcher.reset();
+
+		assertEquals(List.of("UPDATE a1"), healthy.summary());
+		assertEquals(1, healthy.resets.get());
+	}
+
+	private static ChangeEvent event(String collection, String id) {
+		return new ChangeEvent(collection, id, ChangeEvent.Operation.UPDATE, null);
+	}
+}
@@ -0,0 +1,200 @@
+package com.sliit.backend.changestream;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoCollection;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import de.bwaldvogel.mongo.exception.MongoServerError;
+import io.netty.channel.Channel;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// mongo-java-server only has collection-level change streams, and its events carry no namespace. The backend below
+// turns the watcher's database-level stream into one on the watched collection and adds the namespace back.
+class MongoChangeStreamWatcherTests {
+
+	private static final String COLLECTION = "learningPlans";
+	private static final String STREAM = "node:n1";
+
+	private final CollectionStreamBackend backend = new CollectionStreamBackend(COLLECTION);
+	private MongoServer server;
+	private MongoClient client;
+	private MongoTemplate mongoTemplate;
+	private MongoCollection<Document> plans;
+	private CountingTokenStore tokenStore;
+	private RecordingListener listener;
+
+	@BeforeEach
+	void setUp() {
+		backend.enableOplog();
+		server = new MongoServer(backend);
+		InetSocketAddress address = server.bind();
+		client = MongoClients.create("mongodb://" + address.getHostString() + ":" + address.getPort());
+		mongoTemplate = new MongoTemplate(client, "stream");
+		plans = mongoTemplate.getCollection(COLLECTION);
+		tokenStore = new CountingTokenStore(mongoTemplate);
+		listener = new RecordingListener(Set.of(COLLECTION), false);
+	}
+
+	@AfterEach
+	void tearDown() {
+		client.close();
+		server.shutdown();
+	}
+
+	@Test
+	void restartedNodeResumesFromItsStoredToken() {
+		MongoChangeStreamWatcher first = watcher();
+		first.start();
+		awaitUntil(() -> backend.opened.get() == 1);
+		ObjectId before = insert();
+		awaitUntil(() -> listener.events.size() == 1);
+		// The token is saved right after the event is handed out
+		int savesAtEvent = tokenStore.saves.get();
+		awaitUntil(() -> tokenStore.saves.get() > savesAtEvent);
+		first.stop();
+
+		// Written while the node is down
+		ObjectId missed = insert();
+		MongoChangeStreamWatcher second = watcher();
+		second.start();
+		try {
+			awaitUntil(() -> listener.events.size() == 2);
+		} finally {
+			second.stop();
+		}
+
+		assertEquals(List.of("INSERT " + before.toHexString(), "INSERT " + missed.toHexString()), listener.summary());
+		assertEquals(0, listener.resets.get());
+	}
+
+	@Test
+	void lostTokenIsClearedAndListenersReset() {
+		BsonDocument lost = BsonDocument.parse("{\"_data\": \"0000000100000001\"}");
+		tokenStore.save(STREAM, lost);
+		backend.lostToken = lost.getString("_data").getValue();
+		MongoChangeStreamWatcher watcher = watcher();
+		watcher.start();
+		try {
+			awaitUntil(() -> listener.resets.get() == 1);
+			// The stream starts over without the token and keeps delivering
+			awaitUntil(() -> backend.opened.get() == 1);
+			ObjectId after = insert();
+			awaitUntil(() -> listener.events.size() == 1);
+			assertEquals(List.of("INSERT " + after.toHexString()), listener.summary());
+		} finally {
+			watcher.stop();
+		}
+		assertEquals(1, listener.resets.get());
+		assertNotEquals(lost, tokenStore.load(STREAM));
+	}
+
+	private MongoChangeStreamWatcher watcher() {
+		return new MongoChangeStreamWatcher(mongoTemplate, new ChangeEventDispatcher(List.of(listener)), tokenStore,
+				"n1", 0);
+	}
+
+	private ObjectId insert() {
+		ObjectId id = new ObjectId();
+		plans.insertOne(new Document("_id", id).append("userId", "u1"));
+		return id;
+	}
+
+	private static void awaitUntil(BooleanSupplier condition) {
+		long deadline = System.currentTimeMillis() + 10_000;
+		while (!condition.getAsBoolean()) {
+			assertTrue(System.currentTimeMillis() < deadline, "timed out");
+			try {
+				Thread.sleep(20);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+		}
+	}
+
+	static class CountingTokenStore extends ResumeTokenStore {
+
+		final AtomicInteger saves = new AtomicInteger();
+
+		CountingTokenStore(MongoTemplate mongoTemplate) {
+			super(mongoTemplate);
+		}
+
+		@Override
+		public void save(String streamId, BsonDocument token) {
+			super.save(streamId, token);
+			saves.incrementAndGet();
+		}
+	}
+
+	static class CollectionStreamBackend extends MemoryBackend {
+
+		private final String collection;
+		// Resuming after this token fails the way an oplog that rolled past it does
+		volatile String lostToken;
+		// Streams opened so far; a stream only sees writes made after it opened
+		final AtomicInteger opened = new AtomicInteger();
+
+		CollectionStreamBackend(String collection) {
+			this.collection = collection;
+		}
+
+		@Override
+		public de.bwaldvogel.mongo.bson.Document handleCommand(Channel channel, String database, String command,
+															   de.bwaldvogel.mongo.bson.Document query) {
+			if ("aggregate".equals(command) && !(query.get("aggregate") instanceof String)) {
+				de.bwaldvogel.mongo.bson.Document stage = (de.bwaldvogel.mongo.bson.Document)
+						((de.bwaldvogel.mongo.bson.Document) ((List<?>) query.get("pipeline")).get(0)).get("$changeStream");
+				if (stage.get("resumeAfter") instanceof Map<?, ?> token && token.get("_data").equals(lostToken)) {
+					throw new MongoServerError(286, "ChangeStreamHistoryLost", "Resume point is no longer in the oplog");
+				}
+				stage.remove("fullDocumentBeforeChange");
+				query.put("aggregate", collection);
+				query.put("pipeline", List.of(new de.bwaldvogel.mongo.bson.Document("$changeStream", stage)));
+				de.bwaldvogel.mongo.bson.Document response = super.handleCommand(channel, database, command, query);
+				opened.incrementAndGet();
+				return withNamespace(response, database);
+			}
+			if ("getMore".equals(command)) {
+				return withNamespace(super.handleCommand(channel, database, command, query), database);
+			}
+			return super.handleCommand(channel, database, command, query);
+		}
+
+		private de.bwaldvogel.mongo.bson.Document withNamespace(de.bwaldvogel.mongo.bson.Document response,
+																String database) {
+			if (response.get("cursor") instanceof Map<?, ?> cursor) {
+				for (String batch : List.of("firstBatch", "nextBatch")) {
+					if (cursor.get(batch) instanceof List<?> events) {
+						for (Object event : events) {
+							if (event instanceof de.bwaldvogel.mongo.bson.Document change
+									&& change.containsKey("operationType")) {
+								change.put("ns", new de.bwaldvogel.mongo.bson.Document("db", database)
+										.append("coll", collection));
+							}
+						}
+					}
+				}
+			}
+			return response;
+		}
+	}
+}
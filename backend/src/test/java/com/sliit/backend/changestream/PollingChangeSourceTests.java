@@ -0,0 +1,143 @@
+package com.sliit.backend.changestream;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Updates;
+import com.sliit.backend.cache.LearningPlanCache;
+import com.sliit.backend.cache.LearningPlanCacheInvalidator;
+import com.sliit.backend.cache.SharedCache;
+import com.sliit.backend.model.LearningPlan;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class PollingChangeSourceTests {
+
+	private MongoServer server;
+	private MongoClient client;
+	private MongoTemplate mongoTemplate;
+
+	@BeforeEach
+	void setUp() {
+		server = new MongoServer(new MemoryBackend());
+		InetSocketAddress address = server.bind();
+		client = MongoClients.create("mongodb://" + address.getHostString() + ":" + address.getPort());
+		mongoTemplate = new MongoTemplate(client, "polling");
+	}
+
+	@AfterEach
+	void tearDown() {
+		client.close();
+		server.shutdown();
+	}
+
+	@Test
+	void firstPollIsABaselineAndLaterPollsReportTheDifferences() {
+		MongoCollection<Document> answers = mongoTemplate.getCollection("answers");
+		ObjectId kept = insert(answers, 1);
+		ObjectId changed = insert(answers, 1);
+		ObjectId removed = insert(answers, 1);
+		RecordingListener recorder = new RecordingListener(Set.of("answers"), false);
+		PollingChangeSource source = source(recorder);
+
+		source.poll();
+		assertEquals(List.of(), recorder.events);
+
+		ObjectId added = insert(answers, 1);
+		answers.updateOne(Filters.eq("_id", changed), Updates.set("upvotes", 2));
+		answers.deleteOne(Filters.eq("_id", removed));
+		source.poll();
+
+		assertEquals(Set.of("INSERT " + added.toHexString(), "UPDATE " + changed.toHexString(),
+				"DELETE " + removed.toHexString()), Set.copyOf(recorder.summary()));
+		for (ChangeEvent event : recorder.events) {
+			if (event.operation() == ChangeEvent.Operation.DELETE) {
+				assertNull(event.fullDocument());
+			} else if (event.operation() == ChangeEvent.Operation.UPDATE) {
+				assertEquals(2, event.fullDocument().getInteger("upvotes"));
+			}
+		}
+		// Nothing else changed, so the next poll is quiet; the untouched document never shows up
+		source.poll();
+		assertEquals(3, recorder.events.size());
+		assertEquals(0, recorder.events.stream().filter(e -> e.documentId().equals(kept.toHexString())).count());
+	}
+
+	@Test
+	void preImagesOnlyForCollectionsThatAskForThem() {
+		MongoCollection<Document> answers = mongoTemplate.getCollection("answers");
+		MongoCollection<Document> comments = mongoTemplate.getCollection("comments");
+		ObjectId answer = insert(answers, 1);
+		ObjectId comment = insert(comments, 1);
+		RecordingListener wantsPreImages = new RecordingListener(Set.of("answers"), true);
+		RecordingListener plain = new RecordingListener(Set.of("comments"), false);
+		PollingChangeSource source = source(wantsPreImages, plain);
+		source.poll();
+
+		answers.updateOne(Filters.eq("_id", answer), Updates.set("upvotes", 5));
+		comments.updateOne(Filters.eq("_id", comment), Updates.set("upvotes", 5));
+		source.poll();
+		answers.deleteOne(Filters.eq("_id", answer));
+		source.poll();
+
+		assertEquals(1, wantsPreImages.events.get(0).fullDocumentBeforeChange().getInteger("upvotes"));
+		assertEquals(5, wantsPreImages.events.get(1).fullDocumentBeforeChange().getInteger("upvotes"));
+		assertNull(plain.events.get(0).fullDocumentBeforeChange());
+	}
+
+	@Test
+	void cachedPlanIsInvalidatedAfterAWriteElsewhere() {
+		LearningPlanCache cache = new LearningPlanCache(new ObjectProvider<>() {
+			@Override
+			public SharedCache getObject() {
+				return null;
+			}
+
+			@Override
+			public SharedCache getIfAvailable() {
+				return null;
+			}
+		}, 100, 60);
+		PollingChangeSource source = new PollingChangeSource(mongoTemplate,
+				new ChangeEventDispatcher(List.of(new LearningPlanCacheInvalidator(cache))), 1000);
+		LearningPlan plan = new LearningPlan();
+		plan.setUserId("u1");
+		plan.setTitle("Before");
+		String id = mongoTemplate.insert(plan).getId();
+		source.poll();
+		assertEquals("Before", cache.getPlan(id, () -> mongoTemplate.findById(id, LearningPlan.class)).getTitle());
+
+		// Written directly, as another node would: the cache serves the old title until the change is seen
+		mongoTemplate.getCollection("learningPlans").updateOne(Filters.eq("_id", new ObjectId(id)),
+				Updates.set("title", "After"));
+		assertEquals("Before", cache.getPlan(id, () -> mongoTemplate.findById(id, LearningPlan.class)).getTitle());
+		source.poll();
+
+		assertEquals("After", cache.getPlan(id, () -> mongoTemplate.findById(id, LearningPlan.class)).getTitle());
+	}
+
+	private PollingChangeSource source(ChangeEventListener... listeners) {
+		return new PollingChangeSource(mongoTemplate, new ChangeEventDispatcher(List.of(listeners)), 1000);
+	}
+
+	private static ObjectId insert(MongoCollection<Document> collection, int upvotes) {
+		ObjectId id = new ObjectId();
+		collection.insertOne(new Document("_id", id).append("upvotes", upvotes));
+		return id;
+	}
+}
@@ -0,0 +1,44 @@
+package com.sliit.backend.changestream;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Listener that keeps every event and counts resets, for the change stream tests
+class RecordingListener implements ChangeEventListener {
+
+	final List<ChangeEvent> events = new CopyOnWriteArrayList<>();
+	final AtomicInteger resets = new AtomicInteger();
+	private final Set<String> collections;
+	private final boolean preImages;
+
+	RecordingListener(Set<String> collections, boolean preImages) {
+		this.collections = collections;
+		this.preImages = preImages;
+	}
+
+	@Override
+	public Set<String> collections() {
+		return collections;
+	}
+
+	@Override
+	public boolean needsPreImages() {
+		return preImages;
+	}
+
+	@Override
+	public void onChange(ChangeEvent event) {
+		events.add(event);
+	}
+
+	@Override
+	public void onReset() {
+		resets.incrementAndGet();
+	}
+
+	List<String> summary() {
+		return events.stream().map(event -> event.operation() + " " + event.documentId()).toList();
+	}
+}
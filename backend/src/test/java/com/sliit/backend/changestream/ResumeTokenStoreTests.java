@@ -0,0 +1,60 @@
+package com.sliit.backend.changestream;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.net.InetSocketAddress;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ResumeTokenStoreTests {
+
+	private MongoServer server;
+	private MongoClient client;
+	private ResumeTokenStore store;
+
+	@BeforeEach
+	void setUp() {
+		server = new MongoServer(new MemoryBackend());
+		InetSocketAddress address = server.bind();
+		client = MongoClients.create("mongodb://" + address.getHostString() + ":" + address.getPort());
+		store = new ResumeTokenStore(new MongoTemplate(client, "tokens"));
+	}
+
+	@AfterEach
+	void tearDown() {
+		client.close();
+		server.shutdown();
+	}
+
+	@Test
+	void tokensAreKeptPerStreamAndReplaced() {
+		BsonDocument first = BsonDocument.parse("{\"_data\": \"8263A1B2C3000000012B\"}");
+		BsonDocument second = BsonDocument.parse("{\"_data\": \"8263A1B2C4000000012B\"}");
+		assertNull(store.load("node:a"));
+
+		store.save("node:a", first);
+		store.save("node:b", first);
+		store.save("node:a", second);
+
+		assertEquals(second, store.load("node:a"));
+		assertEquals(first, store.load("node:b"));
+	}
+
+	@Test
+	void clearedTokenIsGone() {
+		store.save("node:a", BsonDocument.parse("{\"_data\": \"8263A1B2C3000000012B\"}"));
+
+		store.clear("node:a");
+
+		assertNull(store.load("node:a"));
+	}
+}
@@ -0,0 +1,33 @@
+package com.sliit.backend.compression;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CompressedTextTests {
+
+	@Test
+	void roundTripsMarkdownAndUnicode() {
+		String text = "## R\u00e9sum\u00e9 \u2713\n```java\nSystem.out.println(\"h\u00e9llo\");\n```\n".repeat(200);
+		byte[] compressed = CompressedText.compress(text);
+
+		assertTrue(compressed.length < text.length() / 5);
+		assertEquals(text, CompressedText.decompress(compressed));
+		assertEquals("", CompressedText.decompress(CompressedText.compress("")));
+	}
+
+	@Test
+	void inflatesOnlyWhenRead() {
+		String text = "markdown body ".repeat(500);
+		CompressedText value = CompressedText.ofCompressed(CompressedText.compress(text));
+
+		assertFalse(value.isInflated());
+		assertEquals(text, value.value());
+		assertTrue(value.isInflated());
+		assertEquals(CompressedText.of(text), value);
+		assertNull(CompressedText.of(null));
+	}
+}
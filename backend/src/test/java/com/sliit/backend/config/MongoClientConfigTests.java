@@ -0,0 +1,119 @@
+package com.sliit.backend.config;
+
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.ReadPreference;
+import com.mongodb.ServerAddress;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.connection.ClusterId;
+import com.mongodb.connection.ConnectionPoolSettings;
+import com.mongodb.connection.ServerId;
+import com.mongodb.connection.SocketSettings;
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.SimpleMongoClientDatabaseFactory;
+
+import java.net.InetSocketAddress;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MongoClientConfigTests {
+
+	@Test
+	void propertiesAreAppliedToTheClientSettings() {
+		MongoClientProperties properties = bind(Map.of(
+				"app.mongo.pool.max-size", "20",
+				"app.mongo.pool.min-size", "2",
+				"app.mongo.pool.max-wait-time", "750ms",
+				"app.mongo.pool.max-connection-idle-time", "1m",
+				"app.mongo.pool.max-connection-life-time", "10m",
+				"app.mongo.socket.connect-timeout", "3s",
+				"app.mongo.socket.read-timeout", "4s"));
+
+		MongoClientSettings settings = customized(properties, new SimpleMeterRegistry());
+
+		ConnectionPoolSettings pool = settings.getConnectionPoolSettings();
+		assertEquals(20, pool.getMaxSize());
+		assertEquals(2, pool.getMinSize());
+		assertEquals(750, pool.getMaxWaitTime(TimeUnit.MILLISECONDS));
+		assertEquals(60_000, pool.getMaxConnectionIdleTime(TimeUnit.MILLISECONDS));
+		assertEquals(600_000, pool.getMaxConnectionLifeTime(TimeUnit.MILLISECONDS));
+		assertTrue(pool.getConnectionPoolListeners().stream().anyMatch(MongoPoolMetricsListener.class::isInstance));
+		SocketSettings socket = settings.getSocketSettings();
+		assertEquals(3_000, socket.getConnectTimeout(TimeUnit.MILLISECONDS));
+		assertEquals(4_000, socket.getReadTimeout(TimeUnit.MILLISECONDS));
+	}
+
+	@Test
+	void secondaryTemplateReadsFromSecondariesWithinTheStalenessBound() throws Exception {
+		SimpleMongoClientDatabaseFactory factory = new SimpleMongoClientDatabaseFactory("mongodb://localhost/test");
+		try {
+			MongoClientConfig config = new MongoClientConfig(bind(Map.of("app.mongo.read-routing.max-staleness", "2m")));
+			MongoTemplate primary = config.mongoTemplate(factory, null);
+
+			MongoTemplate secondary = config.secondaryMongoTemplate(factory, primary.getConverter());
+
+			assertNull(primary.getReadPreference());
+			assertEquals(ReadPreference.secondaryPreferred(120, TimeUnit.SECONDS), secondary.getReadPreference());
+			// Switched off, the read-only template reads from the primary too
+			MongoTemplate unrouted = new MongoClientConfig(bind(Map.of("app.mongo.read-routing.secondary-reads", "false")))
+					.secondaryMongoTemplate(factory, primary.getConverter());
+			assertNull(unrouted.getReadPreference());
+		} finally {
+			factory.destroy();
+		}
+	}
+
+	@Test
+	void poolCheckoutsAndFailuresAreRecorded() {
+		MongoServer server = new MongoServer(new MemoryBackend());
+		InetSocketAddress address = server.bind();
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		MongoClientSettings settings = customized(new MongoClientProperties(), registry, MongoClientSettings.builder()
+				.applyConnectionString(new ConnectionString(
+						"mongodb://" + address.getHostString() + ":" + address.getPort())));
+		try (MongoClient client = MongoClients.create(settings)) {
+			client.getDatabase("pool").runCommand(new Document("ping", 1));
+		} finally {
+			server.shutdown();
+		}
+		assertTrue(registry.get("mongodb.pool.checkout.wait").timer().count() > 0);
+
+		MongoPoolMetricsListener listener = settings.getConnectionPoolSettings().getConnectionPoolListeners().stream()
+				.filter(MongoPoolMetricsListener.class::isInstance).map(MongoPoolMetricsListener.class::cast)
+				.findFirst().orElseThrow();
+		listener.connectionCheckOutFailed(new ConnectionCheckOutFailedEvent(
+				new ServerId(new ClusterId(), new ServerAddress()), 1,
+				ConnectionCheckOutFailedEvent.Reason.TIMEOUT, TimeUnit.MILLISECONDS.toNanos(2_000)));
+		assertEquals(1.0, registry.get("mongodb.pool.checkout.failures").tag("reason", "TIMEOUT").counter().count());
+	}
+
+	private static MongoClientProperties bind(Map<String, String> values) {
+		MongoClientProperties properties = new MongoClientProperties();
+		new Binder(new MapConfigurationPropertySource(values)).bind("app.mongo", Bindable.ofInstance(properties));
+		return properties;
+	}
+
+	private static MongoClientSettings customized(MongoClientProperties properties, SimpleMeterRegistry registry) {
+		return customized(properties, registry, MongoClientSettings.builder());
+	}
+
+	private static MongoClientSettings customized(MongoClientProperties properties, SimpleMeterRegistry registry,
+												  MongoClientSettings.Builder builder) {
+		new MongoClientConfig(properties).mongoPoolCustomizer(registry).customize(builder);
+		return builder.build();
+	}
+}
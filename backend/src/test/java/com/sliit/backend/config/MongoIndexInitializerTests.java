@@ -0,0 +1,70 @@
+package com.sliit.backend.config;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.sliit.backend.compression.CompressionConfig;
+import com.sliit.backend.model.Comment;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.SimpleMongoClientDatabaseFactory;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.net.InetSocketAddress;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MongoIndexInitializerTests {
+
+	@Test
+	void declaredIndexesAreCreated() {
+		MongoServer server = new MongoServer(new MemoryBackend());
+		InetSocketAddress address = server.bind();
+		try (MongoClient client = MongoClients.create("mongodb://" + address.getHostString() + ":" + address.getPort())) {
+			MongoTemplate mongoTemplate = template(new SimpleMongoClientDatabaseFactory(client, "indexes"));
+
+			new MongoIndexInitializer(mongoTemplate).ensureIndexes();
+			// A second run, e.g. after a restart, finds them in place
+			new MongoIndexInitializer(mongoTemplate).ensureIndexes();
+
+			Set<String> indexes = mongoTemplate.indexOps(Comment.class).getIndexInfo().stream()
+					.map(IndexInfo::getName).collect(Collectors.toSet());
+			assertEquals(Set.of("_id_", "userId", "path", "plan_threads_idx", "thread_replies_idx"), indexes);
+		} finally {
+			server.shutdown();
+		}
+	}
+
+	@Test
+	void unreachableDatabaseDoesNotFailStartup() throws Exception {
+		// Nothing listens on port 1, and server selection gives up quickly
+		SimpleMongoClientDatabaseFactory factory = new SimpleMongoClientDatabaseFactory(
+				"mongodb://127.0.0.1:1/indexes?serverSelectionTimeoutMS=200&connectTimeoutMS=200");
+		try {
+			assertDoesNotThrow(() -> new MongoIndexInitializer(template(factory)).ensureIndexes());
+		} finally {
+			factory.destroy();
+		}
+	}
+
+	// Set up the way the auto-configuration does it, with the scanned @Document classes as the initial entities
+	private static MongoTemplate template(SimpleMongoClientDatabaseFactory factory) {
+		MongoCustomConversions conversions = new CompressionConfig().mongoCustomConversions();
+		MongoMappingContext mappingContext = new MongoMappingContext();
+		mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+		mappingContext.setInitialEntitySet(Set.of(Comment.class));
+		mappingContext.afterPropertiesSet();
+		MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+		converter.setCustomConversions(conversions);
+		converter.afterPropertiesSet();
+		return new MongoTemplate(factory, converter);
+	}
+}
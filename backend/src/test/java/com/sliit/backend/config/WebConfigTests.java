@@ -0,0 +1,68 @@
+package com.sliit.backend.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class WebConfigTests {
+
+	@RestController
+	static class SampleController {
+		@GetMapping("/sample")
+		Map<String, Object> sample() {
+			return Map.of("title", "t", "createdAt", LocalDateTime.of(2025, 1, 2, 3, 4, 5));
+		}
+	}
+
+	@Test
+	void cborRequestsUseTheTimestampConverter() throws Exception {
+		// The defaults as Spring MVC and Boot set them up: JSON first, plus a plain CBOR converter with ISO dates
+		List<HttpMessageConverter<?>> converters = new ArrayList<>(List.of(
+				new MappingJackson2HttpMessageConverter(bootBuilder().build()),
+				new MappingJackson2CborHttpMessageConverter(bootBuilder().factory(new CBORFactory()).build())));
+		// Boot's builder bean is a prototype: every lookup returns a fresh builder
+		new WebConfig(new ObjectProvider<>() {
+			@Override
+			public Jackson2ObjectMapperBuilder getObject() {
+				return bootBuilder();
+			}
+		}).extendMessageConverters(converters);
+
+		MockMvc mvc = MockMvcBuilders.standaloneSetup(new SampleController())
+				.setMessageConverters(converters.toArray(HttpMessageConverter[]::new))
+				.build();
+		MvcResult result = mvc.perform(get("/sample").accept("application/cbor"))
+				.andExpect(status().isOk())
+				.andExpect(content().contentType("application/cbor"))
+				.andReturn();
+
+		JsonNode body = new ObjectMapper(new CBORFactory()).readTree(result.getResponse().getContentAsByteArray());
+		assertFalse(body.get("createdAt").isTextual());
+	}
+
+	private static Jackson2ObjectMapperBuilder bootBuilder() {
+		return Jackson2ObjectMapperBuilder.json().featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+	}
+}
@@ -0,0 +1,152 @@
+package com.sliit.backend.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.sliit.backend.archive.ArchiveService;
+import com.sliit.backend.cache.ReadCoalescer;
+import com.sliit.backend.model.User;
+import com.sliit.backend.repository.CommentRepository;
+import com.sliit.backend.repository.LearningPlanRepository;
+import com.sliit.backend.repository.UserRepository;
+import com.sliit.backend.service.ActivityFeedService;
+import com.sliit.backend.service.CommentThreadService;
+import com.sliit.backend.service.SideEffectOutbox;
+import com.sliit.backend.service.TagService;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class CommentControllerTests {
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	private MongoServer server;
+	private MongoClient client;
+	private MockMvc mvc;
+
+	@BeforeEach
+	void setUp() {
+		server = new MongoServer(new MemoryBackend());
+		InetSocketAddress address = server.bind();
+		client = MongoClients.create("mongodb://" + address.getHostString() + ":" + address.getPort());
+		MongoTemplate mongoTemplate = new MongoTemplate(client, "comments");
+		MongoRepositoryFactory repositories = new MongoRepositoryFactory(mongoTemplate);
+		CommentRepository commentRepository = repositories.getRepository(CommentRepository.class);
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		ArchiveService archiveService = new ArchiveService(mongoTemplate,
+				new TagService(mongoTemplate, new SideEffectOutbox(registry, 1, 100, 1, Duration.ZERO)), registry);
+
+		CommentController controller = new CommentController();
+		ReflectionTestUtils.setField(controller, "commentRepository", commentRepository);
+		ReflectionTestUtils.setField(controller, "userRepository", repositories.getRepository(UserRepository.class));
+		ReflectionTestUtils.setField(controller, "threadService",
+				new CommentThreadService(commentRepository, mongoTemplate, archiveService));
+		ReflectionTestUtils.setField(controller, "planRepository",
+				repositories.getRepository(LearningPlanRepository.class));
+		ReflectionTestUtils.setField(controller, "feedService",
+				new ActivityFeedService(mongoTemplate, 200, Duration.ofDays(30)));
+		ReflectionTestUtils.setField(controller, "coalescer", new ReadCoalescer(registry, 5_000));
+		ReflectionTestUtils.setField(controller, "archiveService", archiveService);
+		ReflectionTestUtils.setField(controller, "secondaryMongo", mongoTemplate);
+		mvc = MockMvcBuilders.standaloneSetup(controller).build();
+
+		User alice = new User();
+		alice.setUsername("alice");
+		mongoTemplate.insert(alice);
+		SecurityContextHolder.getContext().setAuthentication(
+				new UsernamePasswordAuthenticationToken("alice", null, List.of()));
+	}
+
+	@AfterEach
+	void tearDown() {
+		SecurityContextHolder.clearContext();
+		client.close();
+		server.shutdown();
+	}
+
+	@Test
+	void threadsArePagedByFollowingTheCursor() throws Exception {
+		List<String> created = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			created.add(0, comment("Thread " + i, null).get("id").asText());
+		}
+
+		List<String> paged = new ArrayList<>();
+		String cursor = null;
+		do {
+			MockHttpServletRequestBuilder request = get("/api/comments/plan/p1/threads").param("limit", "2");
+			if (cursor != null) {
+				request.param("cursor", cursor);
+			}
+			JsonNode page = perform(request);
+			assertTrue(page.get("items").size() <= 2);
+			page.get("items").forEach(item -> paged.add(item.get("id").asText()));
+			cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+		} while (cursor != null);
+
+		assertEquals(created, paged);
+	}
+
+	@Test
+	void malformedCursorIsABadRequest() throws Exception {
+		mvc.perform(get("/api/comments/plan/p1/threads").param("cursor", "not a cursor"))
+				.andExpect(status().isBadRequest());
+		mvc.perform(get("/api/comments/c1/replies").param("cursor", "bm8tc2VwYXJhdG9y"))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void deletingACommentRemovesItsRepliesAndUpdatesTheParent() throws Exception {
+		String root = comment("Root", null).get("id").asText();
+		String reply = comment("Reply", root).get("id").asText();
+		comment("Nested", reply);
+		String kept = comment("Kept", root).get("id").asText();
+		assertEquals(2, perform(get("/api/comments/plan/p1/threads")).at("/items/0/replyCount").asInt());
+
+		mvc.perform(delete("/api/comments/" + reply)).andExpect(status().isOk());
+
+		JsonNode thread = perform(get("/api/comments/plan/p1/threads")).at("/items/0");
+		assertEquals(root, thread.get("id").asText());
+		assertEquals(1, thread.get("replyCount").asInt());
+		JsonNode replies = perform(get("/api/comments/" + root + "/replies")).get("items");
+		assertEquals(1, replies.size());
+		assertEquals(kept, replies.at("/0/id").asText());
+		assertEquals(2, perform(get("/api/comments/plan/p1")).size());
+	}
+
+	private JsonNode comment(String message, String parentId) throws Exception {
+		String body = objectMapper.createObjectNode().put("message", message).put("parentId", parentId).toString();
+		return perform(post("/api/comments/plan/p1").contentType(MediaType.APPLICATION_JSON).content(body));
+	}
+
+	private JsonNode perform(MockHttpServletRequestBuilder request) throws Exception {
+		byte[] body = mvc.perform(request).andExpect(status().isOk()).andReturn().getResponse().getContentAsByteArray();
+		return objectMapper.readTree(body);
+	}
+}
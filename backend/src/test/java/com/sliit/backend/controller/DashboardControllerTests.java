@@ -0,0 +1,214 @@
+package com.sliit.backend.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.sliit.backend.cache.SharedCache;
+import com.sliit.backend.reputation.ReputationService;
+import com.sliit.backend.repository.UserRepository;
+import com.sliit.backend.security.AuthenticatedUser;
+import com.sliit.backend.service.DashboardService;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import io.netty.channel.Channel;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Runs the dashboard aggregation end to end against mongo-java-server. The server lacks two MongoDB 5.0 forms the
+// pipeline uses, $lookup with both localField and pipeline, and the $first array operator, so the backend below
+// rewrites them into their older equivalents ($lookup with let and an $expr match, $arrayElemAt) before running it.
+// It also stores every binary with subtype 0, so inflating compressed messages is covered by DashboardServiceTests.
+class DashboardControllerTests {
+
+	private MongoServer server;
+	private MongoClient client;
+	private MongoTemplate mongoTemplate;
+	private MockMvc mvc;
+
+	@BeforeEach
+	void setUp() {
+		server = new MongoServer(new PipelineRewritingBackend());
+		InetSocketAddress address = server.bind();
+		client = MongoClients.create("mongodb://" + address.getHostString() + ":" + address.getPort());
+		mongoTemplate = new MongoTemplate(client, "dashboard");
+
+		DashboardService dashboardService = new DashboardService(mongoTemplate, new ReputationService(mongoTemplate),
+				new ObjectProvider<>() {
+					@Override
+					public SharedCache getObject() {
+						return null;
+					}
+
+					@Override
+					public SharedCache getIfAvailable() {
+						return null;
+					}
+				}, 100, 10);
+		DashboardController controller = new DashboardController();
+		ReflectionTestUtils.setField(controller, "dashboardService", dashboardService);
+		ReflectionTestUtils.setField(controller, "userRepo",
+				new MongoRepositoryFactory(mongoTemplate).getRepository(UserRepository.class));
+		mvc = MockMvcBuilders.standaloneSetup(controller).build();
+	}
+
+	@AfterEach
+	void tearDown() {
+		SecurityContextHolder.clearContext();
+		client.close();
+		server.shutdown();
+	}
+
+	@Test
+	void dashboardCountsAndListsTheCurrentUsersDocuments() throws Exception {
+		ObjectId alice = user("alice");
+		ObjectId bob = user("bob");
+		ObjectId own = question(alice, "Own question");
+		ObjectId answered = question(bob, "Bob's question");
+		question(bob, "Not counted");
+		insert("answers", new Document("userId", alice.toHexString()).append("questionId", answered.toHexString())
+				.append("isBestAnswer", true).append("upvotes", 3).append("downvotes", 1));
+		insert("answers", new Document("userId", alice.toHexString()).append("questionId", "not-an-id")
+				.append("upvotes", 2));
+		insert("answers", new Document("userId", bob.toHexString()).append("questionId", own.toHexString())
+				.append("upvotes", 9));
+		insert("learningPlans", new Document("userId", alice.toHexString()).append("title", "Done")
+				.append("completed", true));
+		insert("learningPlans", new Document("userId", alice.toHexString()).append("title", "Open")
+				.append("completed", false));
+		insert("comments", new Document("userId", alice.toHexString()).append("learningPlanId", "p1")
+				.append("message", "Nice plan"));
+
+		JsonNode dashboard = dashboardOf(alice, "alice");
+
+		assertEquals("alice", dashboard.get("username").asText());
+		assertEquals(1, dashboard.at("/questions/count").asInt());
+		assertEquals("Own question", dashboard.at("/questions/recent/0/title").asText());
+		assertEquals(own.toHexString(), dashboard.at("/questions/recent/0/id").asText());
+		JsonNode answers = dashboard.get("answers");
+		assertEquals(2, answers.get("count").asInt());
+		assertEquals(1, answers.get("bestAnswers").asInt());
+		assertEquals(5, answers.get("upvotes").asInt());
+		assertEquals(1, answers.get("downvotes").asInt());
+		// Newest first; an answer to a question that cannot be found has no title
+		assertTrue(answers.at("/recent/0/questionTitle").isMissingNode());
+		assertEquals("Bob's question", answers.at("/recent/1/questionTitle").asText());
+		assertEquals(2, dashboard.at("/plans/count").asInt());
+		assertEquals(1, dashboard.at("/plans/completed").asInt());
+		assertEquals(1, dashboard.at("/comments/count").asInt());
+		assertEquals("Nice plan", dashboard.at("/comments/recent/0/message").asText());
+	}
+
+	@Test
+	void newUserGetsZeroTotals() throws Exception {
+		ObjectId carol = user("carol");
+
+		JsonNode dashboard = dashboardOf(carol, "carol");
+
+		for (String section : List.of("questions", "answers", "plans", "comments")) {
+			assertEquals(0, dashboard.at("/" + section + "/count").asInt(), section);
+			assertEquals(0, dashboard.at("/" + section + "/recent").size(), section);
+		}
+		assertEquals(0, dashboard.at("/answers/bestAnswers").asInt());
+		assertEquals(0, dashboard.at("/plans/completed").asInt());
+		assertEquals(0, dashboard.at("/reputation/score").asInt());
+	}
+
+	private JsonNode dashboardOf(ObjectId userId, String username) throws Exception {
+		AuthenticatedUser principal = new AuthenticatedUser(userId.toHexString(), username, "", List.of());
+		SecurityContextHolder.getContext().setAuthentication(
+				new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+		byte[] body = mvc.perform(get("/api/dashboard")).andExpect(status().isOk()).andReturn().getResponse()
+				.getContentAsByteArray();
+		return new ObjectMapper().readTree(body);
+	}
+
+	private ObjectId user(String username) {
+		return insert("users", new Document("username", username).append("email", username + "@example.com"));
+	}
+
+	private ObjectId question(ObjectId userId, String title) {
+		return insert("questions", new Document("userId", userId.toHexString()).append("title", title)
+				.append("tags", List.of()));
+	}
+
+	// Ids are assigned in insertion order, which is what "recent" sorts by
+	private ObjectId insert(String collection, Document document) {
+		ObjectId id = new ObjectId();
+		Document withId = new Document("_id", id);
+		withId.putAll(document);
+		mongoTemplate.getCollection(collection).insertOne(withId);
+		return id;
+	}
+
+	static class PipelineRewritingBackend extends MemoryBackend {
+
+		@Override
+		public de.bwaldvogel.mongo.bson.Document handleCommand(Channel channel, String database, String command,
+															   de.bwaldvogel.mongo.bson.Document query) {
+			if ("aggregate".equals(command)) {
+				query.put("pipeline", rewrite(query.get("pipeline"), false));
+			}
+			return super.handleCommand(channel, database, command, query);
+		}
+
+		// accumulator: the value is a field of a $group stage, where $first is the accumulator the server supports
+		private static Object rewrite(Object value, boolean accumulator) {
+			if (value instanceof List<?> list) {
+				List<Object> rewritten = new ArrayList<>();
+				list.forEach(item -> rewritten.add(rewrite(item, false)));
+				return rewritten;
+			}
+			if (!(value instanceof Map<?, ?> map)) {
+				return value;
+			}
+			de.bwaldvogel.mongo.bson.Document rewritten = new de.bwaldvogel.mongo.bson.Document();
+			map.forEach((key, child) -> {
+				if ("$group".equals(key) && child instanceof Map<?, ?> group) {
+					de.bwaldvogel.mongo.bson.Document fields = new de.bwaldvogel.mongo.bson.Document();
+					group.forEach((field, spec) -> fields.put((String) field, rewrite(spec, true)));
+					rewritten.put("$group", fields);
+				} else {
+					rewritten.put((String) key, rewrite(child, false));
+				}
+			});
+			if (rewritten.get("$lookup") instanceof Map<?, ?> lookup && lookup.containsKey("localField")
+					&& lookup.containsKey("pipeline")) {
+				List<Object> pipeline = new ArrayList<>();
+				pipeline.add(new de.bwaldvogel.mongo.bson.Document("$match", new de.bwaldvogel.mongo.bson.Document(
+						"$expr", new de.bwaldvogel.mongo.bson.Document("$eq",
+						List.of("$" + lookup.get("foreignField"), "$$local")))));
+				pipeline.addAll((List<?>) lookup.get("pipeline"));
+				rewritten.put("$lookup", new de.bwaldvogel.mongo.bson.Document("from", lookup.get("from"))
+						.append("let", new de.bwaldvogel.mongo.bson.Document("local", "$" + lookup.get("localField")))
+						.append("pipeline", pipeline)
+						.append("as", lookup.get("as")));
+			}
+			if (!accumulator && rewritten.size() == 1 && rewritten.containsKey("$first")) {
+				rewritten.put("$arrayElemAt", List.of(rewritten.remove("$first"), 0));
+			}
+			return rewritten;
+		}
+	}
+}
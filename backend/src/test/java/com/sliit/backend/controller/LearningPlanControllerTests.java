@@ -0,0 +1,239 @@
+package com.sliit.backend.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.sliit.backend.cache.LearningPlanCache;
+import com.sliit.backend.compression.TextFieldCompressor;
+import com.sliit.backend.model.LearningPlan;
+import com.sliit.backend.model.PlanStatus;
+import com.sliit.backend.model.User;
+import com.sliit.backend.reminder.ReminderScheduler;
+import com.sliit.backend.repository.LearningPlanRepository;
+import com.sliit.backend.repository.UserRepository;
+import com.sliit.backend.service.PlanAnalyticsService;
+import com.sliit.backend.service.SideEffectOutbox;
+import com.sliit.backend.service.TagService;
+import com.sliit.backend.similarity.RelatedPlanService;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class LearningPlanControllerTests {
+
+	private static final LocalDate DEADLINE = LocalDate.now().plusDays(10);
+	private static final String DESCRIPTION = "Streams, then Connect";
+
+	private MongoServer server;
+	private MongoClient client;
+	private MongoTemplate mongoTemplate;
+	private MockMvc mvc;
+	private String userId;
+	// Runs right after the controller has read the plan, standing in for a concurrent writer
+	private Runnable afterRead = () -> {};
+
+	@BeforeEach
+	void setUp() {
+		server = new MongoServer(new MemoryBackend());
+		InetSocketAddress address = server.bind();
+		client = MongoClients.create("mongodb://" + address.getHostString() + ":" + address.getPort());
+		mongoTemplate = new MongoTemplate(client, "plans");
+		MongoRepositoryFactory repositories = new MongoRepositoryFactory(mongoTemplate);
+		LearningPlanRepository planRepo = repositories.getRepository(LearningPlanRepository.class);
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+		LearningPlanController controller = new LearningPlanController();
+		ReflectionTestUtils.setField(controller, "planRepo", Proxy.newProxyInstance(getClass().getClassLoader(),
+				new Class<?>[] {LearningPlanRepository.class}, (proxy, method, args) -> {
+					Object result;
+					try {
+						result = method.invoke(planRepo, args);
+					} catch (InvocationTargetException e) {
+						throw e.getCause();
+					}
+					if ("findById".equals(method.getName())) {
+						afterRead.run();
+					}
+					return result;
+				}));
+		ReflectionTestUtils.setField(controller, "userRepo", repositories.getRepository(UserRepository.class));
+		ReflectionTestUtils.setField(controller, "planCache", new LearningPlanCache(none(), 100, 60));
+		ReflectionTestUtils.setField(controller, "analyticsService", new PlanAnalyticsService(mongoTemplate));
+		ReflectionTestUtils.setField(controller, "reminderScheduler", this.<ReminderScheduler>none());
+		ReflectionTestUtils.setField(controller, "tagService",
+				new TagService(mongoTemplate, new SideEffectOutbox(registry, 1, 100, 1, Duration.ZERO)));
+		ReflectionTestUtils.setField(controller, "relatedPlanService",
+				new RelatedPlanService(mongoTemplate, registry, 24, 0.05, 0.1));
+		ReflectionTestUtils.setField(controller, "compressor", new TextFieldCompressor(registry, false, 1024));
+		ReflectionTestUtils.setField(controller, "mongoTemplate", mongoTemplate);
+		ReflectionTestUtils.setField(controller, "secondaryMongo", mongoTemplate);
+		mvc = MockMvcBuilders.standaloneSetup(controller).build();
+
+		User alice = new User();
+		alice.setUsername("alice");
+		alice = mongoTemplate.insert(alice);
+		SecurityContextHolder.getContext().setAuthentication(
+				new UsernamePasswordAuthenticationToken("alice", null, List.of()));
+		userId = alice.getId();
+	}
+
+	@AfterEach
+	void tearDown() {
+		SecurityContextHolder.clearContext();
+		client.close();
+		server.shutdown();
+	}
+
+	@Test
+	void editKeepsAReminderClaimedAfterThePlanWasRead() throws Exception {
+		String planId = insertPlan(null);
+		LocalDateTime claimedAt = LocalDateTime.now().withNano(0);
+		afterRead = () -> mongoTemplate.updateFirst(new Query(where("_id").is(planId)),
+				new Update().set("reminderSentAt", claimedAt), LearningPlan.class);
+
+		update(planId, DEADLINE);
+
+		LearningPlan stored = mongoTemplate.findById(planId, LearningPlan.class);
+		assertEquals("Kafka in depth", stored.getTitle());
+		assertEquals(DESCRIPTION, stored.getDescription());
+		assertEquals(28, stored.getDurationDays());
+		assertEquals(PlanStatus.IN_PROGRESS, stored.getStatus());
+		assertEquals(claimedAt, stored.getReminderSentAt());
+	}
+
+	@Test
+	void movedDeadlineGetsAFreshReminder() throws Exception {
+		String planId = insertPlan(LocalDateTime.now().withNano(0));
+
+		update(planId, DEADLINE);
+		assertNotNull(mongoTemplate.findById(planId, LearningPlan.class).getReminderSentAt());
+
+		update(planId, DEADLINE.plusDays(7));
+		LearningPlan stored = mongoTemplate.findById(planId, LearningPlan.class);
+		assertEquals(DEADLINE.plusDays(7), stored.getDeadline());
+		assertNull(stored.getReminderSentAt());
+	}
+
+	@Test
+	void editWithoutTagsKeepsTheStoredTags() throws Exception {
+		String planId = insertPlan(null, "kafka", "streams");
+
+		JsonNode saved = update(planId, DEADLINE);
+
+		assertEquals(List.of("kafka", "streams"), mongoTemplate.findById(planId, LearningPlan.class).getTags());
+		assertEquals("kafka", saved.at("/tags/0").asText());
+		assertFalse(saved.has("tagsSent"));
+
+		// A body that carries tags still replaces them, and an empty list clears them
+		mvc.perform(put("/api/learning-plans/" + planId).contentType(MediaType.APPLICATION_JSON)
+				.content("{\"title\": \"Kafka\", \"deadline\": \"%s\", \"tags\": [\" Kafka \", \"Connect\"]}"
+						.formatted(DEADLINE)))
+				.andExpect(status().isOk());
+		assertEquals(List.of("kafka", "connect"), mongoTemplate.findById(planId, LearningPlan.class).getTags());
+		mvc.perform(put("/api/learning-plans/" + planId).contentType(MediaType.APPLICATION_JSON)
+				.content("{\"title\": \"Kafka\", \"deadline\": \"%s\", \"tags\": []}".formatted(DEADLINE)))
+				.andExpect(status().isOk());
+		assertEquals(List.of(), mongoTemplate.findById(planId, LearningPlan.class).getTags());
+	}
+
+	@Test
+	void browseFacetsCountTheTagsOfTheMatchingPlans() throws Exception {
+		insertPlan(null, "java", "spring");
+		insertPlan(null, "java", "spring", "kafka");
+		insertPlan(null, "java", "kafka");
+		// Common overall, but on no plan tagged java
+		for (int i = 0; i < 5; i++) {
+			insertPlan(null, "python");
+		}
+
+		JsonNode page = browse("tags=java&size=2");
+
+		assertEquals(3, page.get("total").asInt());
+		assertEquals(2, page.get("items").size());
+		assertEquals(List.of("java:3", "kafka:2", "spring:2"), facets(page));
+		assertEquals(1, browse("tags=java&size=2&page=1").get("items").size());
+		assertEquals(List.of("java:2", "kafka:2", "spring:1"), facets(browse("tags=kafka")));
+		assertEquals(0, browse("tags=rust").get("total").asInt());
+		assertEquals(List.of(), facets(browse("tags=rust")));
+	}
+
+	private JsonNode browse(String query) throws Exception {
+		return new ObjectMapper().readTree(mvc.perform(get("/api/learning-plans/browse?" + query))
+				.andExpect(status().isOk()).andReturn().getResponse().getContentAsByteArray());
+	}
+
+	private static List<String> facets(JsonNode page) {
+		List<String> facets = new ArrayList<>();
+		page.get("facets").forEach(facet -> facets.add(facet.get("tag").asText() + ":" + facet.get("count").asInt()));
+		return facets;
+	}
+
+	private JsonNode update(String planId, LocalDate deadline) throws Exception {
+		byte[] body = mvc.perform(put("/api/learning-plans/" + planId).contentType(MediaType.APPLICATION_JSON)
+				.content("""
+						{"title": "Kafka in depth", "description": "%s", "duration": "4 weeks",
+						 "deadline": "%s", "status": "In Progress", "modules": ["Streams"], "progress": 40}
+						""".formatted(DESCRIPTION, deadline)))
+				.andExpect(status().isOk()).andReturn().getResponse().getContentAsByteArray();
+		return new ObjectMapper().readTree(body);
+	}
+
+	private String insertPlan(LocalDateTime reminderSentAt, String... tags) {
+		LearningPlan plan = new LearningPlan();
+		plan.setUserId(userId);
+		plan.setTitle("Kafka");
+		plan.setDeadline(DEADLINE);
+		plan.setStatus(PlanStatus.NOT_STARTED);
+		plan.setCreatedAt(LocalDateTime.now());
+		plan.setReminderSentAt(reminderSentAt);
+		plan.setTags(List.of(tags));
+		return mongoTemplate.insert(plan).getId();
+	}
+
+	private <T> ObjectProvider<T> none() {
+		return new ObjectProvider<>() {
+			@Override
+			public T getObject() {
+				return null;
+			}
+
+			@Override
+			public T getIfAvailable() {
+				return null;
+			}
+		};
+	}
+}
@@ -0,0 +1,67 @@
+package com.sliit.backend.loadtest;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Collects per-request latencies and status classes for one scenario
+class LatencyRecorder {
+
+	private final String name;
+	private final long[] latencies;
+	private final AtomicInteger recorded = new AtomicInteger();
+	private final AtomicInteger success = new AtomicInteger();
+	private final AtomicInteger clientErrors = new AtomicInteger();
+	private final AtomicInteger serverErrors = new AtomicInteger();
+	private long elapsedNanos;
+	private long mongoOps;
+
+	LatencyRecorder(String name, int capacity) {
+		this.name = name;
+		this.latencies = new long[capacity];
+	}
+
+	void record(long nanos, int status) {
+		int slot = recorded.getAndIncrement();
+		if (slot < latencies.length) {
+			latencies[slot] = nanos;
+		}
+		if (status >= 500 || status < 0) {
+			serverErrors.incrementAndGet();
+		} else if (status >= 400) {
+			clientErrors.incrementAndGet();
+		} else {
+			success.incrementAndGet();
+		}
+	}
+
+	void finish(long elapsedNanos, long mongoOps) {
+		this.elapsedNanos = elapsedNanos;
+		this.mongoOps = mongoOps;
+	}
+
+	int serverErrors() {
+		return serverErrors.get();
+	}
+
+	String summary() {
+		int count = Math.min(recorded.get(), latencies.length);
+		long[] sorted = Arrays.copyOf(latencies, count);
+		Arrays.sort(sorted);
+		double seconds = elapsedNanos / 1e9;
+		return String.format("%-16s %7d req %8.1f req/s  p50 %7.2f ms  p95 %7.2f ms  p99 %7.2f ms  max %7.2f ms"
+						+ "  2xx %d  4xx %d  5xx %d  mongo ops/req %.1f",
+				name, count, count / seconds,
+				percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99),
+				count > 0 ? sorted[count - 1] / 1e6 : 0.0,
+				success.get(), clientErrors.get(), serverErrors.get(),
+				count > 0 ? (double) mongoOps / count : 0.0);
+	}
+
+	private static double percentile(long[] sorted, double p) {
+		if (sorted.length == 0) {
+			return 0.0;
+		}
+		int index = (int) Math.ceil(p * sorted.length) - 1;
+		return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1e6;
+	}
+}
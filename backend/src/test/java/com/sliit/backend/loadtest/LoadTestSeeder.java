@@ -0,0 +1,123 @@
+package com.sliit.backend.loadtest;
+
+import com.sliit.backend.model.Answer;
+import com.sliit.backend.model.Comment;
+import com.sliit.backend.model.LearningPlan;
+import com.sliit.backend.model.PlanStatus;
+import com.sliit.backend.model.Question;
+import com.sliit.backend.model.User;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Seeds a reproducible data set (fixed random seed) directly through MongoTemplate
+class LoadTestSeeder {
+
+	static final String PASSWORD = "loadtest-password";
+
+	final List<User> users = new ArrayList<>();
+	final List<Question> questions = new ArrayList<>();
+	final List<Answer> answers = new ArrayList<>();
+	final List<LearningPlan> plans = new ArrayList<>();
+
+	private final MongoTemplate mongoTemplate;
+	private final Random random = new Random(42);
+
+	LoadTestSeeder(MongoTemplate mongoTemplate) {
+		this.mongoTemplate = mongoTemplate;
+	}
+
+	void seed(String encodedPassword, int userCount, int questionCount, int answersPerQuestion,
+			int planCount, int commentsPerPlan) {
+		for (int i = 0; i < userCount; i++) {
+			User user = new User("loaduser" + i, encodedPassword, "loaduser" + i + "@example.com");
+			user.setId(new ObjectId().toHexString());
+			users.add(user);
+		}
+		mongoTemplate.insertAll(users);
+
+		for (int i = 0; i < questionCount; i++) {
+			Question question = new Question("Question " + i + " about " + topic(),
+					paragraph(3), randomUser().getId());
+			question.setId(new ObjectId().toHexString());
+			questions.add(question);
+		}
+		mongoTemplate.insertAll(questions);
+
+		for (Question question : questions) {
+			for (int i = 0; i < answersPerQuestion; i++) {
+				Answer answer = new Answer(paragraph(2), randomUser().getId(), question.getId());
+				answer.setId(new ObjectId().toHexString());
+				int voters = random.nextInt(20);
+				for (int v = 0; v < voters; v++) {
+					String voter = randomUser().getId();
+					if (random.nextInt(5) == 0) {
+						if (!answer.getDownvotedBy().contains(voter) && !answer.getUpvotedBy().contains(voter)) {
+							answer.getDownvotedBy().add(voter);
+						}
+					} else if (!answer.getUpvotedBy().contains(voter) && !answer.getDownvotedBy().contains(voter)) {
+						answer.getUpvotedBy().add(voter);
+					}
+				}
+				answer.setUpvotes(answer.getUpvotedBy().size());
+				answer.setDownvotes(answer.getDownvotedBy().size());
+				answers.add(answer);
+			}
+		}
+		mongoTemplate.insertAll(answers);
+
+		for (int i = 0; i < planCount; i++) {
+			LearningPlan plan = new LearningPlan();
+			plan.setId(new ObjectId().toHexString());
+			plan.setUserId(randomUser().getId());
+			plan.setTitle("Learning " + topic());
+			plan.setDescription(paragraph(2));
+			plan.setDuration((2 + random.nextInt(10)) + " weeks");
+			plan.setDeadline(LocalDateTime.now().plusDays(random.nextInt(120)).toLocalDate());
+			plan.setStatus(PlanStatus.NOT_STARTED);
+			plan.setCreatedAt(LocalDateTime.now().minusDays(random.nextInt(60)));
+			plan.setModules(List.of(topic(), topic(), topic()));
+			plans.add(plan);
+		}
+		mongoTemplate.insertAll(plans);
+
+		List<Comment> comments = new ArrayList<>();
+		for (LearningPlan plan : plans) {
+			for (int i = 0; i < commentsPerPlan; i++) {
+				User author = randomUser();
+				Comment comment = new Comment();
+				comment.setId(new ObjectId().toHexString());
+				comment.setPath(comment.getId() + "/");
+				comment.setMessage(paragraph(1));
+				comment.setUserId(author.getId());
+				comment.setUsername(author.getUsername());
+				comment.setLearningPlanId(plan.getId());
+				comment.setCreatedAt(LocalDateTime.now().minusMinutes(random.nextInt(100_000)));
+				comments.add(comment);
+			}
+		}
+		mongoTemplate.insertAll(comments);
+	}
+
+	User randomUser() {
+		return users.get(random.nextInt(users.size()));
+	}
+
+	private String topic() {
+		String[] topics = {"Spring Boot", "MongoDB", "React", "Docker", "Kubernetes", "JWT", "Java streams", "Tailwind"};
+		return topics[random.nextInt(topics.length)];
+	}
+
+	private String paragraph(int sentences) {
+		StringBuilder text = new StringBuilder();
+		for (int i = 0; i < sentences; i++) {
+			text.append("When working with ").append(topic())
+					.append(" I noticed that configuration and testing take most of the time. ");
+		}
+		return text.toString().trim();
+	}
+}
@@ -0,0 +1,229 @@
+package com.sliit.backend.loadtest;
+
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.sliit.backend.model.Answer;
+import com.sliit.backend.model.LearningPlan;
+import com.sliit.backend.model.Question;
+import com.sliit.backend.model.User;
+import com.sliit.backend.security.JwtUtil;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Boots the whole application against an in-process Mongo, seeds a realistic data set and drives
+// mixed read/write scenarios over HTTP. Run with: mvn verify -Ploadtest
+// Volumes and load can be tuned with -Dloadtest.<name>=<value>, see the constants below.
+@Tag("loadtest")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class LoadTestSuiteTests {
+
+	private static final int USERS = Integer.getInteger("loadtest.users", 300);
+	private static final int QUESTIONS = Integer.getInteger("loadtest.questions", 1_000);
+	private static final int ANSWERS_PER_QUESTION = Integer.getInteger("loadtest.answersPerQuestion", 4);
+	private static final int PLANS = Integer.getInteger("loadtest.plans", 300);
+	private static final int COMMENTS_PER_PLAN = Integer.getInteger("loadtest.commentsPerPlan", 20);
+	private static final int REQUESTS = Integer.getInteger("loadtest.requests", 2_000);
+	private static final int CONCURRENCY = Integer.getInteger("loadtest.concurrency", 32);
+
+	private static final MongoServer MONGO = new MongoServer(new MemoryBackend());
+	private static final InetSocketAddress MONGO_ADDRESS = MONGO.bind();
+	private static final AtomicLong MONGO_OPS = new AtomicLong();
+
+	@DynamicPropertySource
+	static void mongoProperties(DynamicPropertyRegistry registry) {
+		registry.add("spring.data.mongodb.uri",
+				() -> "mongodb://" + MONGO_ADDRESS.getHostString() + ":" + MONGO_ADDRESS.getPort());
+		registry.add("spring.data.mongodb.database", () -> "loadtest");
+		registry.add("changestream.mode", () -> "off");
+		// Measure the endpoints themselves rather than load shedding of a single test user
+		registry.add("app.admission.enabled", () -> "false");
+		registry.add("warmup.enabled", () -> "false");
+	}
+
+	@TestConfiguration
+	static class MongoOpsCounter {
+		@Bean
+		MongoClientSettingsBuilderCustomizer countCommands() {
+			return builder -> builder.addCommandListener(new CommandListener() {
+				@Override
+				public void commandStarted(CommandStartedEvent event) {
+					MONGO_OPS.incrementAndGet();
+				}
+			});
+		}
+	}
+
+	@AfterAll
+	static void stopMongo() {
+		MONGO.shutdownNow();
+	}
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private MongoTemplate mongoTemplate;
+
+	@Autowired
+	private PasswordEncoder passwordEncoder;
+
+	@Autowired
+	private JwtUtil jwtUtil;
+
+	private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+	@Test
+	void runScenarios() throws Exception {
+		LoadTestSeeder data = new LoadTestSeeder(mongoTemplate);
+		long seedStart = System.nanoTime();
+		// Encoding once keeps seeding fast; every login still pays the real BCrypt check
+		data.seed(passwordEncoder.encode(LoadTestSeeder.PASSWORD),
+				USERS, QUESTIONS, ANSWERS_PER_QUESTION, PLANS, COMMENTS_PER_PLAN);
+		System.out.printf("Seeded %d users, %d questions, %d answers, %d plans, %d comments in %.1f s%n",
+				USERS, QUESTIONS, data.answers.size(), PLANS, PLANS * COMMENTS_PER_PLAN,
+				(System.nanoTime() - seedStart) / 1e9);
+
+		List<String> tokens = new ArrayList<>();
+		for (User user : data.users) {
+			tokens.add(jwtUtil.generateToken(user.getUsername()));
+		}
+
+		Random random = new Random(7);
+		List<LatencyRecorder> results = new ArrayList<>();
+
+		results.add(run("login burst", REQUESTS / 4, i -> {
+			User user = data.users.get(i % data.users.size());
+			return post("/api/auth/login", "{\"username\":\"" + user.getUsername()
+					+ "\",\"password\":\"" + LoadTestSeeder.PASSWORD + "\"}", null);
+		}));
+
+		results.add(run("feed browsing", REQUESTS, i -> {
+			String token = tokens.get(i % tokens.size());
+			Question question = data.questions.get(random(random, data.questions.size()));
+			LearningPlan plan = data.plans.get(random(random, data.plans.size()));
+			return switch (i % 10) {
+				case 0 -> get("/api/getall/questions", token);
+				case 1 -> get("/api/learning-plans", token);
+				case 2, 3 -> get("/api/feed", token);
+				case 4, 5 -> get("/api/questions/" + question.getId(), token);
+				case 6, 7 -> get("/api/get/" + question.getId() + "/answers", token);
+				case 8 -> get("/api/comments/plan/" + plan.getId() + "/threads", token);
+				default -> post("/api/comments/plan/" + plan.getId(), "{\"message\":\"Load test comment\"}", token);
+			};
+		}));
+
+		// Many users voting on a handful of hot answers at once
+		List<Answer> hotAnswers = data.answers.subList(0, Math.min(10, data.answers.size()));
+		results.add(run("voting storm", REQUESTS, i -> {
+			Answer answer = hotAnswers.get(i % hotAnswers.size());
+			String token = tokens.get(i % tokens.size());
+			String direction = i % 3 == 0 ? "downvote" : "upvote";
+			return post("/api/" + answer.getQuestionId() + "/answers/" + answer.getId() + "/" + direction, "", token);
+		}));
+
+		StringBuilder report = new StringBuilder();
+		report.append(String.format("Load test: %d users, concurrency %d%n", USERS, CONCURRENCY));
+		results.forEach(result -> report.append(result.summary()).append(System.lineSeparator()));
+		System.out.print(report);
+		writeReport(report.toString());
+
+		for (LatencyRecorder result : results) {
+			assertEquals(0, result.serverErrors(), "server errors in " + result.summary());
+		}
+	}
+
+	private LatencyRecorder run(String name, int requests, IntFunction<HttpRequest> requestFor) throws InterruptedException {
+		LatencyRecorder recorder = new LatencyRecorder(name, requests);
+		AtomicInteger next = new AtomicInteger();
+		ExecutorService workers = Executors.newFixedThreadPool(CONCURRENCY);
+		long opsBefore = MONGO_OPS.get();
+		long start = System.nanoTime();
+		for (int w = 0; w < CONCURRENCY; w++) {
+			workers.submit(() -> {
+				int i;
+				while ((i = next.getAndIncrement()) < requests) {
+					HttpRequest request = requestFor.apply(i);
+					long begin = System.nanoTime();
+					int status;
+					try {
+						status = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+					} catch (IOException e) {
+						status = -1;
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+						return;
+					}
+					recorder.record(System.nanoTime() - begin, status);
+				}
+			});
+		}
+		workers.shutdown();
+		workers.awaitTermination(30, TimeUnit.MINUTES);
+		recorder.finish(System.nanoTime() - start, MONGO_OPS.get() - opsBefore);
+		return recorder;
+	}
+
+	private static synchronized int random(Random random, int bound) {
+		return random.nextInt(bound);
+	}
+
+	private HttpRequest get(String path, String token) {
+		return builder(path, token).GET().build();
+	}
+
+	private HttpRequest post(String path, String json, String token) {
+		return builder(path, token)
+				.header("Content-Type", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofString(json))
+				.build();
+	}
+
+	private HttpRequest.Builder builder(String path, String token) {
+		HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+				.timeout(Duration.ofSeconds(30));
+		if (token != null) {
+			builder.header("Authorization", "Bearer " + token);
+		}
+		return builder;
+	}
+
+	private static void writeReport(String report) throws IOException {
+		Path target = Path.of("target", "loadtest-report.txt");
+		Files.createDirectories(target.getParent());
+		Files.writeString(target, report);
+	}
+}
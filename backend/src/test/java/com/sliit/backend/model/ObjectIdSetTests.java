@@ -0,0 +1,70 @@
+package com.sliit.backend.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ObjectIdSetTests {
+
+	@Test
+	void behavesLikeAHashSetOfIds() {
+		Random random = new Random(7);
+		ObjectIdSet ids = new ObjectIdSet();
+		Set<String> expected = new HashSet<>();
+		for (int i = 0; i < 5000; i++) {
+			String id = randomObjectId(random);
+			if (random.nextInt(4) == 0 && !expected.isEmpty()) {
+				String existing = expected.iterator().next();
+				assertEquals(expected.remove(existing), ids.remove(existing));
+			}
+			assertEquals(expected.add(id), ids.add(id));
+		}
+		assertEquals(expected.size(), ids.size());
+		assertEquals(expected, ids);
+		for (String id : expected) {
+			assertTrue(ids.contains(id));
+		}
+		assertFalse(ids.contains(randomObjectId(random)));
+	}
+
+	@Test
+	void iteratesPackedIdsInObjectIdOrderThenOthers() {
+		ObjectIdSet ids = new ObjectIdSet(List.of("ffffffffffffffffffffffff", "legacy-user", "000000000000000000000001",
+				"80000000000000000000000a", "ABCDEFABCDEFABCDEFABCDEF"));
+
+		assertEquals(List.of("000000000000000000000001", "80000000000000000000000a", "ffffffffffffffffffffffff",
+				"ABCDEFABCDEFABCDEFABCDEF", "legacy-user"), new ArrayList<>(ids));
+		assertTrue(ids.contains("legacy-user"));
+		assertFalse(ids.contains("abcdefabcdefabcdefabcdef"));
+	}
+
+	@Test
+	void iteratorRemovesFromBothParts() {
+		ObjectIdSet ids = new ObjectIdSet(List.of("000000000000000000000001", "000000000000000000000002", "other"));
+		Iterator<String> iterator = ids.iterator();
+		while (iterator.hasNext()) {
+			String id = iterator.next();
+			if (!id.equals("000000000000000000000002")) {
+				iterator.remove();
+			}
+		}
+		assertEquals(Set.of("000000000000000000000002"), ids);
+	}
+
+	private static String randomObjectId(Random random) {
+		StringBuilder id = new StringBuilder();
+		for (int i = 0; i < 24; i++) {
+			id.append(Character.forDigit(random.nextInt(16), 16));
+		}
+		return id.toString();
+	}
+}
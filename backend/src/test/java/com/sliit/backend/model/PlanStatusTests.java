@@ -0,0 +1,51 @@
+package com.sliit.backend.model;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class PlanStatusTests {
+
+	private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+			.featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+
+	@Test
+	void statusIsWrittenAsItsLabelAndReadBack() throws Exception {
+		LearningPlan plan = new LearningPlan();
+		plan.setStatus(PlanStatus.IN_PROGRESS);
+		plan.setLegacy(Map.of("status", "kinda started"));
+
+		JsonNode json = objectMapper.readTree(objectMapper.writeValueAsString(plan));
+
+		assertEquals("In Progress", json.get("status").asText());
+		assertFalse(json.has("legacy"));
+		assertEquals(PlanStatus.IN_PROGRESS, objectMapper.treeToValue(json, LearningPlan.class).getStatus());
+	}
+
+	@Test
+	void labelsAndNamesAreAcceptedInAnyCase() throws Exception {
+		assertEquals(PlanStatus.COMPLETED, read("\"Completed\""));
+		assertEquals(PlanStatus.IN_PROGRESS, read("\"IN_PROGRESS\""));
+		assertEquals(PlanStatus.IN_PROGRESS, read("\" in progress \""));
+	}
+
+	@Test
+	void freeTextFromOlderFormsReadsAsNotStarted() throws Exception {
+		assertEquals(PlanStatus.NOT_STARTED, read("\"almost there\""));
+		assertEquals(PlanStatus.NOT_STARTED, read("\"\""));
+		assertNull(objectMapper.readValue("{\"status\":null}", LearningPlan.class).getStatus());
+	}
+
+	private PlanStatus read(String status) throws Exception {
+		return objectMapper.readValue("{\"title\":\"t\",\"status\":" + status + ",\"progress\":\"\"}", LearningPlan.class)
+				.getStatus();
+	}
+}
@@ -0,0 +1,64 @@
+package com.sliit.backend.reminder;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HierarchicalTimingWheelTests {
+
+	@Test
+	void firesEachTimerOnceWithinOneTickOfItsExpiration() {
+		long start = 1_700_000_000_000L;
+		HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(1_000, 60, start);
+		Map<String, Long> expirations = new HashMap<>();
+		Random random = new Random(3);
+		for (int i = 0; i < 5_000; i++) {
+			// Spread over three days so timers cascade through several wheel levels
+			long expiration = start + 1_000 + (long) (random.nextDouble() * 3 * 24 * 3_600_000L);
+			expirations.put("t" + i, expiration);
+			wheel.schedule("t" + i, expiration, "t" + i);
+		}
+
+		Map<String, Long> firedAt = new HashMap<>();
+		for (long now = start; now <= start + 3 * 24 * 3_600_000L + 2_000; now += 37_000) {
+			for (String id : wheel.advanceTo(now)) {
+				assertFalse(firedAt.containsKey(id), "fired twice: " + id);
+				firedAt.put(id, now);
+			}
+		}
+
+		assertEquals(expirations.size(), firedAt.size());
+		expirations.forEach((id, expiration) -> {
+			long fired = firedAt.get(id);
+			assertTrue(fired >= expiration - 1_000, id + " fired early");
+			assertTrue(fired < expiration + 37_000 + 1_000, id + " fired late");
+		});
+		assertEquals(0, wheel.size());
+	}
+
+	@Test
+	void cancelledAndRescheduledTimersFollowTheLatestSchedule() {
+		HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(1_000, 8, 0);
+		wheel.schedule("a", 5_000, "a-first");
+		wheel.schedule("b", 5_000, "b");
+		wheel.schedule("a", 60_000, "a-second");
+		assertTrue(wheel.cancel("b"));
+
+		assertEquals(List.of(), wheel.advanceTo(10_000));
+		assertEquals(List.of("a-second"), wheel.advanceTo(60_000));
+	}
+
+	@Test
+	void alreadyDueTimersAreReturnedOnNextAdvance() {
+		HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(1_000, 8, 10_000);
+		wheel.schedule("late", 2_000, "late");
+		assertEquals(List.of("late"), wheel.advanceTo(10_000));
+	}
+}
@@ -0,0 +1,133 @@
+package com.sliit.backend.reminder;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.sliit.backend.model.LearningPlan;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ReminderSchedulerTests {
+
+	private MongoServer server;
+	private MongoClient client;
+	private MongoTemplate mongoTemplate;
+
+	@BeforeEach
+	void setUp() {
+		server = new MongoServer(new MemoryBackend());
+		InetSocketAddress address = server.bind();
+		client = MongoClients.create("mongodb://" + address.getHostString() + ":" + address.getPort());
+		mongoTemplate = new MongoTemplate(client, "reminders");
+	}
+
+	@AfterEach
+	void tearDown() {
+		client.close();
+		server.shutdown();
+	}
+
+	@Test
+	void onlyOneNodeSendsADueReminder() throws InterruptedException {
+		String planId = insertPlanDueTomorrow();
+		AtomicInteger sent = new AtomicInteger();
+		ReminderNotifier counting = batch -> sent.addAndGet(batch.size());
+		List<ReminderScheduler> nodes = List.of(scheduler(counting), scheduler(counting), scheduler(counting));
+
+		nodes.forEach(ReminderScheduler::start);
+		try {
+			awaitClaimed(planId);
+			// Give every node several more ticks to (wrongly) send it again
+			Thread.sleep(300);
+		} finally {
+			nodes.forEach(ReminderScheduler::stop);
+		}
+		assertEquals(1, sent.get());
+	}
+
+	@Test
+	void failedDeliveryReleasesTheClaim() throws InterruptedException {
+		String planId = insertPlanDueTomorrow();
+		AtomicInteger attempts = new AtomicInteger();
+		ReminderScheduler node = scheduler(batch -> {
+			attempts.incrementAndGet();
+			throw new IllegalStateException("mail server down");
+		});
+
+		node.start();
+		try {
+			// The claim is released after the failed attempt; stopping earlier would interrupt the release
+			long deadline = System.currentTimeMillis() + 5_000;
+			while ((attempts.get() == 0 || mongoTemplate.findById(planId, LearningPlan.class).getReminderSentAt() != null)
+					&& System.currentTimeMillis() < deadline) {
+				Thread.sleep(20);
+			}
+		} finally {
+			node.stop();
+		}
+		assertEquals(1, attempts.get());
+		assertNull(mongoTemplate.findById(planId, LearningPlan.class).getReminderSentAt());
+	}
+
+	@Test
+	void savingAPlanWhoseDeadlineHasPassedSchedulesNothing() throws InterruptedException {
+		String dueTomorrow = insertPlanDueTomorrow();
+		LearningPlan overdue = new LearningPlan();
+		overdue.setUserId("u1");
+		overdue.setTitle("Overdue");
+		overdue.setDeadline(LocalDate.now().minusDays(1));
+		overdue = mongoTemplate.insert(overdue);
+		AtomicInteger sent = new AtomicInteger();
+		ReminderScheduler node = scheduler(batch -> sent.addAndGet(batch.size()));
+
+		node.start();
+		try {
+			// The window has been loaded once the plan due tomorrow is claimed
+			awaitClaimed(dueTomorrow);
+			node.onPlanSaved(overdue);
+			Thread.sleep(300);
+		} finally {
+			node.stop();
+		}
+		assertEquals(1, sent.get());
+		assertNull(mongoTemplate.findById(overdue.getId(), LearningPlan.class).getReminderSentAt());
+	}
+
+	private ReminderScheduler scheduler(ReminderNotifier notifier) {
+		// A lead time longer than the distance to the deadline makes the reminder due immediately
+		return new ReminderScheduler(mongoTemplate, notifier, Duration.ofHours(72), Duration.ofHours(48), 20, 100);
+	}
+
+	private String insertPlanDueTomorrow() {
+		LearningPlan plan = new LearningPlan();
+		plan.setUserId("u1");
+		plan.setTitle("Kafka");
+		plan.setDeadline(LocalDate.now().plusDays(1));
+		plan.setCompleted(false);
+		return mongoTemplate.insert(plan).getId();
+	}
+
+	private void awaitClaimed(String planId) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 5_000;
+		while (mongoTemplate.findById(planId, LearningPlan.class).getReminderSentAt() == null) {
+			if (System.currentTimeMillis() > deadline) {
+				break;
+			}
+			Thread.sleep(20);
+		}
+		assertNotNull(mongoTemplate.findById(planId, LearningPlan.class).getReminderSentAt());
+	}
+}
@@ -0,0 +1,65 @@
+package com.sliit.backend.reputation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RankedScoreIndexTests {
+
+	@Test
+	void ordersByScoreThenId() {
+		RankedScoreIndex index = new RankedScoreIndex();
+		index.put("b", 10);
+		index.put("a", 10);
+		index.put("c", 30);
+		index.put("d", -5);
+
+		List<RankedScoreIndex.Entry> page = index.range(0, 10);
+		assertEquals(List.of("c", "a", "b", "d"), page.stream().map(RankedScoreIndex.Entry::id).toList());
+		assertEquals(2, index.rankOf("a"));
+		assertEquals(4, index.rankOf("d"));
+		// Unknown users rank as score 0
+		assertEquals(4, index.rankOf("zzz"));
+	}
+
+	@Test
+	void matchesNaiveRankingUnderRandomUpdates() {
+		RankedScoreIndex index = new RankedScoreIndex();
+		Map<String, Long> expected = new HashMap<>();
+		Random random = new Random(1);
+
+		for (int step = 0; step < 20_000; step++) {
+			String id = "user" + random.nextInt(500);
+			int op = random.nextInt(10);
+			if (op == 0) {
+				index.remove(id);
+				expected.remove(id);
+			} else {
+				long delta = random.nextInt(31) - 10;
+				index.add(id, delta);
+				expected.merge(id, delta, Long::sum);
+			}
+		}
+
+		List<Map.Entry<String, Long>> sorted = new ArrayList<>(expected.entrySet());
+		sorted.sort(Comparator.<Map.Entry<String, Long>>comparingLong(Map.Entry::getValue).reversed()
+				.thenComparing(Map.Entry::getKey));
+
+		assertEquals(sorted.size(), index.size());
+		for (int i = 0; i < sorted.size(); i++) {
+			assertEquals(i + 1, index.rankOf(sorted.get(i).getKey()));
+		}
+		List<RankedScoreIndex.Entry> page = index.range(100, 25);
+		for (int i = 0; i < page.size(); i++) {
+			assertEquals(sorted.get(100 + i).getKey(), page.get(i).id());
+			assertEquals(101 + i, page.get(i).rank());
+		}
+	}
+}
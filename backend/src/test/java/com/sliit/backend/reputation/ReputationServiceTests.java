@@ -0,0 +1,129 @@
+package com.sliit.backend.reputation;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoCollection;
+import com.sliit.backend.changestream.ChangeEvent;
+import com.sliit.backend.model.Answer;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.net.InetSocketAddress;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ReputationServiceTests {
+
+	private MongoServer server;
+	private MongoClient client;
+	private MongoCollection<Document> answers;
+	private ReputationService reputation;
+
+	@BeforeEach
+	void setUp() {
+		server = new MongoServer(new MemoryBackend());
+		InetSocketAddress address = server.bind();
+		client = MongoClients.create("mongodb://" + address.getHostString() + ":" + address.getPort());
+		MongoTemplate template = new MongoTemplate(client, "reputation");
+		answers = template.getCollection("answers");
+		reputation = new ReputationService(template);
+	}
+
+	@AfterEach
+	void tearDown() {
+		client.close();
+		server.shutdown();
+	}
+
+	@Test
+	void deleteFromAnotherNodeTakesTheScoreAway() {
+		ObjectId first = insertAnswer("alice", 3, 0, true);
+		insertAnswer("alice", 1, 0, false);
+		reputation.rebuild();
+		assertEquals(3 + ReputationService.BEST_ANSWER_BONUS + 1, reputation.scoreOf("alice"));
+
+		// Nothing is tracked for the answer after a rebuild; the author comes from the pre-image
+		Document before = find(first);
+		answers.deleteOne(new Document("_id", first));
+		reputation.onChange(new ChangeEvent("answers", first.toHexString(), ChangeEvent.Operation.DELETE, null, before));
+		assertEquals(1, reputation.scoreOf("alice"));
+	}
+
+	@Test
+	void answersSeenThroughChangeEventsCanBeDeletedLater() {
+		reputation.rebuild();
+		ObjectId id = insertAnswer("bob", 2, 0, false);
+		reputation.onChange(new ChangeEvent("answers", id.toHexString(), ChangeEvent.Operation.INSERT, find(id)));
+		assertEquals(2, reputation.scoreOf("bob"));
+
+		answers.deleteOne(new Document("_id", id));
+		reputation.onChange(new ChangeEvent("answers", id.toHexString(), ChangeEvent.Operation.DELETE, null));
+		assertEquals(0, reputation.rankedUsers());
+	}
+
+	@Test
+	void eventsForOwnWritesAddNothing() {
+		ObjectId id = insertAnswer("carol", 1, 0, false);
+		reputation.rebuild();
+
+		// Vote written here, then its event
+		Document before = find(id);
+		answers.updateOne(new Document("_id", id), new Document("$set", new Document("upvotes", 2)));
+		reputation.onVote(answer(id, "carol", 2, false), 1);
+		reputation.onChange(new ChangeEvent("answers", id.toHexString(), ChangeEvent.Operation.UPDATE, find(id), before));
+		assertEquals(2, reputation.scoreOf("carol"));
+
+		// The event can also overtake the write path that caused it
+		before = find(id);
+		answers.updateOne(new Document("_id", id), new Document("$set", new Document("isBestAnswer", true)));
+		reputation.onChange(new ChangeEvent("answers", id.toHexString(), ChangeEvent.Operation.UPDATE, find(id), before));
+		reputation.onBestAnswer(answer(id, "carol", 2, true));
+		assertEquals(2 + ReputationService.BEST_ANSWER_BONUS, reputation.scoreOf("carol"));
+	}
+
+	@Test
+	void updatesFromAnotherNodeApplyTheirDifference() {
+		ObjectId id = insertAnswer("dave", 4, 1, false);
+		reputation.rebuild();
+
+		// The collection is not read again: the score moves by the pre/post difference alone
+		Document before = find(id);
+		Document after = new Document(before).append("upvotes", 6);
+		reputation.onChange(new ChangeEvent("answers", id.toHexString(), ChangeEvent.Operation.UPDATE, after, before));
+		assertEquals(5, reputation.scoreOf("dave"));
+		Document later = new Document(after).append("downvotes", 3);
+		reputation.onChange(new ChangeEvent("answers", id.toHexString(), ChangeEvent.Operation.UPDATE, later, after));
+		assertEquals(3, reputation.scoreOf("dave"));
+
+		// Without a pre-image an untracked answer falls back to recomputing from the collection
+		ObjectId other = insertAnswer("dave", 2, 0, false);
+		reputation.onChange(new ChangeEvent("answers", other.toHexString(), ChangeEvent.Operation.UPDATE, find(other)));
+		assertEquals(3 + 2, reputation.scoreOf("dave"));
+	}
+
+	private Document find(ObjectId id) {
+		return answers.find(new Document("_id", id)).first();
+	}
+
+	private static Answer answer(ObjectId id, String userId, int upvotes, boolean best) {
+		Answer answer = new Answer();
+		answer.setId(id.toHexString());
+		answer.setUserId(userId);
+		answer.setUpvotes(upvotes);
+		answer.setBestAnswer(best);
+		return answer;
+	}
+
+	private ObjectId insertAnswer(String userId, int upvotes, int downvotes, boolean best) {
+		ObjectId id = new ObjectId();
+		answers.insertOne(new Document("_id", id).append("userId", userId).append("upvotes", upvotes)
+				.append("downvotes", downvotes).append("isBestAnswer", best));
+		return id;
+	}
+}
@@ -0,0 +1,115 @@
+package com.sliit.backend.service;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.sliit.backend.model.ActivityEvent;
+import com.sliit.backend.model.ActivityType;
+import com.sliit.backend.model.UserTimeline;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ActivityFeedServiceTests {
+
+	private static final int CAPACITY = 3;
+	private static final LocalDateTime NOW = LocalDateTime.now();
+
+	private MongoServer server;
+	private MongoClient client;
+	private MongoTemplate mongoTemplate;
+	private ActivityFeedService service;
+
+	@BeforeEach
+	void setUp() {
+		server = new MongoServer(new MemoryBackend());
+		InetSocketAddress address = server.bind();
+		client = MongoClients.create("mongodb://" + address.getHostString() + ":" + address.getPort());
+		mongoTemplate = new MongoTemplate(client, "feed");
+		service = new ActivityFeedService(mongoTemplate, CAPACITY, Duration.ofDays(30));
+	}
+
+	@AfterEach
+	void tearDown() {
+		client.close();
+		server.shutdown();
+	}
+
+	@Test
+	void personalEventsAreWrittenToTheRecipientsTimeline() {
+		service.publishToUser("bob", event(ActivityType.ANSWER_ON_MY_QUESTION, "alice", "a1", NOW));
+		// Acting on your own content, or on content without an owner, notifies nobody
+		service.publishToUser("alice", event(ActivityType.COMMENT_ON_MY_PLAN, "alice", "c1", NOW));
+		service.publishToUser(null, event(ActivityType.COMMENT_ON_MY_PLAN, "alice", "c2", NOW));
+
+		assertEquals(List.of("a1"), timeline("bob"));
+		assertNull(mongoTemplate.findById("alice", UserTimeline.class));
+		assertEquals(1, mongoTemplate.count(new Query(), UserTimeline.class));
+		// Nothing personal lands in the shared collection
+		assertEquals(0, mongoTemplate.count(new Query(), ActivityEvent.class));
+		assertEquals(List.of("a1"), feed("bob", 10));
+		assertEquals(List.of(), feed("carol", 10));
+	}
+
+	@Test
+	void timelinesKeepOnlyTheNewestEntries() {
+		for (int i = 1; i <= 5; i++) {
+			service.publishToUser("bob", event(ActivityType.VOTE_ON_MY_ANSWER, "alice", "v" + i, NOW.plusSeconds(i)));
+		}
+
+		assertEquals(List.of("v5", "v4", "v3"), timeline("bob"));
+		assertEquals(List.of("v5", "v4"), feed("bob", 2));
+	}
+
+	@Test
+	void expiredTimelineEntriesAreDroppedOnWriteAndHiddenOnRead() {
+		service.publishToUser("bob", event(ActivityType.VOTE_ON_MY_ANSWER, "alice", "old", NOW.minusDays(31)));
+		assertEquals(List.of(), feed("bob", 10));
+
+		service.publishToUser("bob", event(ActivityType.VOTE_ON_MY_ANSWER, "alice", "new", NOW));
+
+		assertEquals(List.of("new"), timeline("bob"));
+	}
+
+	@Test
+	void broadcastEventsAreStoredOnceAndMergedIntoEveryFeed() {
+		service.publishToEveryone(event(ActivityType.NEW_QUESTION, "alice", "q1", NOW.minusMinutes(2)));
+		service.publishToEveryone(event(ActivityType.NEW_LEARNING_PLAN, "carol", "p1", NOW));
+		service.publishToUser("bob", event(ActivityType.ANSWER_ON_MY_QUESTION, "alice", "a1", NOW.minusMinutes(1)));
+
+		// No timeline is written per follower; the events are read back from the shared collection
+		assertEquals(2, mongoTemplate.count(new Query(), ActivityEvent.class));
+		assertEquals(1, mongoTemplate.count(new Query(), UserTimeline.class));
+		assertEquals(List.of("p1", "a1", "q1"), feed("bob", 10));
+		assertEquals(List.of("p1", "a1"), feed("bob", 2));
+		// Your own broadcasts are not in your feed
+		assertEquals(List.of("p1"), feed("alice", 10));
+		assertEquals(List.of("p1", "q1"), feed("dave", 10));
+	}
+
+	private List<String> timeline(String userId) {
+		return mongoTemplate.findById(userId, UserTimeline.class).getEntries().stream()
+				.map(ActivityEvent::getTargetId).toList();
+	}
+
+	private List<String> feed(String userId, int limit) {
+		return service.getFeed(userId, limit).stream().map(ActivityEvent::getTargetId).toList();
+	}
+
+	private static ActivityEvent event(ActivityType type, String actorId, String targetId, LocalDateTime createdAt) {
+		ActivityEvent event = new ActivityEvent(type, actorId, actorId, targetId, "ctx", "summary");
+		event.setCreatedAt(createdAt);
+		return event;
+	}
+}
@@ -0,0 +1,176 @@
+package com.sliit.backend.service;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.sliit.backend.archive.ArchiveService;
+import com.sliit.backend.model.Comment;
+import com.sliit.backend.repository.CommentRepository;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CommentThreadServiceTests {
+
+	private static final LocalDateTime NOON = LocalDateTime.of(2026, 3, 1, 12, 0);
+
+	private MongoServer server;
+	private MongoClient client;
+	private MongoTemplate mongoTemplate;
+	private CommentRepository commentRepository;
+	private CommentThreadService service;
+
+	@BeforeEach
+	void setUp() {
+		server = new MongoServer(new MemoryBackend());
+		InetSocketAddress address = server.bind();
+		client = MongoClients.create("mongodb://" + address.getHostString() + ":" + address.getPort());
+		mongoTemplate = new MongoTemplate(client, "comments");
+		commentRepository = new MongoRepositoryFactory(mongoTemplate).getRepository(CommentRepository.class);
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		SideEffectOutbox outbox = new SideEffectOutbox(registry, 1, 100, 1, Duration.ZERO);
+		service = new CommentThreadService(commentRepository, mongoTemplate,
+				new ArchiveService(mongoTemplate, new TagService(mongoTemplate, outbox), registry));
+	}
+
+	@AfterEach
+	void tearDown() {
+		client.close();
+		server.shutdown();
+	}
+
+	@Test
+	void cursorRoundTrips() {
+		ObjectId id = new ObjectId();
+		// LocalDateTime.toString drops zero seconds and keeps nanoseconds; both parse back
+		for (LocalDateTime createdAt : List.of(NOON, NOON.plusNanos(123_000_000))) {
+			CommentThreadService.Cursor cursor = new CommentThreadService.Cursor(createdAt, id);
+			assertEquals(cursor, CommentThreadService.Cursor.decode(cursor.encode()));
+		}
+	}
+
+	@Test
+	void malformedCursorsAreRejected() {
+		String noSeparator = Base64.getUrlEncoder().encodeToString("2026-03-01T12:00".getBytes(StandardCharsets.UTF_8));
+		String badId = Base64.getUrlEncoder().encodeToString("2026-03-01T12:00|xyz".getBytes(StandardCharsets.UTF_8));
+		for (String cursor : List.of("%%%", noSeparator, badId)) {
+			assertThrows(IllegalArgumentException.class, () -> service.threads("p1", cursor, 10), cursor);
+		}
+		assertThrows(IllegalArgumentException.class, () -> service.replies("c1", "%%%", 10));
+	}
+
+	@Test
+	void threadsCreatedAtTheSameTimeArePagedWithoutGapsOrRepeats() {
+		List<Comment> created = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			created.add(service.create(comment("p1", null, NOON)));
+		}
+		created.add(service.create(comment("p1", null, NOON.plusMinutes(1))));
+		created.add(service.create(comment("p1", null, NOON.minusMinutes(1))));
+		service.create(comment("p2", null, NOON));
+		// A reply is not a thread
+		service.create(comment("p1", created.get(0).getId(), NOON));
+
+		List<String> paged = new ArrayList<>();
+		String cursor = null;
+		do {
+			CommentThreadService.Page page = service.threads("p1", cursor, 2);
+			assertTrue(page.items().size() <= 2);
+			page.items().forEach(comment -> paged.add(comment.getId()));
+			cursor = page.nextCursor();
+		} while (cursor != null);
+
+		List<String> expected = created.stream()
+				.sorted(Comparator.comparing(Comment::getCreatedAt).thenComparing(Comment::getId).reversed())
+				.map(Comment::getId).toList();
+		assertEquals(expected, paged);
+	}
+
+	@Test
+	void repliesArePagedOldestFirstAcrossTies() {
+		Comment root = service.create(comment("p1", null, NOON));
+		List<String> expected = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			expected.add(service.create(comment("p1", root.getId(), NOON.plusMinutes(1))).getId());
+		}
+		expected.add(service.create(comment("p1", root.getId(), NOON.plusMinutes(2))).getId());
+
+		CommentThreadService.Page first = service.replies(root.getId(), null, 3);
+		CommentThreadService.Page second = service.replies(root.getId(), first.nextCursor(), 3);
+
+		List<String> paged = new ArrayList<>(first.items().stream().map(Comment::getId).toList());
+		second.items().forEach(comment -> paged.add(comment.getId()));
+		assertEquals(expected, paged);
+		assertNull(second.nextCursor());
+	}
+
+	@Test
+	void repliesKeepTheirParentsReplyCountAndPath() {
+		Comment root = service.create(comment("p1", null, NOON));
+		Comment reply = service.create(comment("p1", root.getId(), NOON.plusMinutes(1)));
+		Comment nested = service.create(comment("p1", reply.getId(), NOON.plusMinutes(2)));
+		service.create(comment("p1", root.getId(), NOON.plusMinutes(3)));
+
+		assertEquals(root.getId() + "/" + reply.getId() + "/" + nested.getId() + "/", nested.getPath());
+		assertEquals(2, nested.getDepth());
+		assertEquals(2, stored(root).getReplyCount());
+		assertEquals(1, stored(reply).getReplyCount());
+		assertEquals(0, stored(nested).getReplyCount());
+		assertThrows(RuntimeException.class, () -> service.create(comment("p2", root.getId(), NOON)));
+	}
+
+	@Test
+	void deletingACommentRemovesItsSubtreeOnly() {
+		Comment root = service.create(comment("p1", null, NOON));
+		Comment reply = service.create(comment("p1", root.getId(), NOON.plusMinutes(1)));
+		Comment nested = service.create(comment("p1", reply.getId(), NOON.plusMinutes(2)));
+		Comment sibling = service.create(comment("p1", root.getId(), NOON.plusMinutes(3)));
+		Comment otherThread = service.create(comment("p1", null, NOON));
+
+		service.delete(stored(reply));
+
+		assertFalse(commentRepository.existsById(reply.getId()));
+		assertFalse(commentRepository.existsById(nested.getId()));
+		assertTrue(commentRepository.existsById(sibling.getId()));
+		assertTrue(commentRepository.existsById(otherThread.getId()));
+		assertEquals(1, stored(root).getReplyCount());
+
+		service.delete(stored(root));
+
+		assertEquals(List.of(otherThread.getId()), commentRepository.findAll().stream().map(Comment::getId).toList());
+	}
+
+	private Comment stored(Comment comment) {
+		return commentRepository.findById(comment.getId()).orElseThrow();
+	}
+
+	private static Comment comment(String planId, String parentId, LocalDateTime createdAt) {
+		Comment comment = new Comment();
+		comment.setUserId("u1");
+		comment.setLearningPlanId(planId);
+		comment.setParentId(parentId);
+		comment.setMessage("Comment");
+		comment.setCreatedAt(createdAt);
+		return comment;
+	}
+}
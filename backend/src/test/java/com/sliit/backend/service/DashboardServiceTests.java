@@ -0,0 +1,68 @@
+package com.sliit.backend.service;
+
+import com.sliit.backend.compression.CompressedText;
+import org.bson.Document;
+import org.bson.types.Binary;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class DashboardServiceTests {
+
+	@Test
+	void userWithoutDocumentsGetsZeroTotals() {
+		// What the $lookup yields over no matching documents: $group emits nothing, $limit an empty list
+		Document row = new Document("answers", List.of(new Document("totals", List.of()).append("recent", List.of())));
+
+		Map<String, Object> answers = DashboardService.section(row, "answers", "bestAnswers", "upvotes", "downvotes");
+		Map<String, Object> plans = DashboardService.section(new Document(), "plans", "completed");
+
+		assertEquals(Map.of("count", 0, "bestAnswers", 0, "upvotes", 0, "downvotes", 0, "recent", List.of()), answers);
+		assertEquals(List.of("count", "bestAnswers", "upvotes", "downvotes", "recent"), List.copyOf(answers.keySet()));
+		assertEquals(Map.of("count", 0, "completed", 0, "recent", List.of()), plans);
+	}
+
+	@Test
+	void totalsAndRecentAnswersComeFromTheFacet() {
+		Document totals = new Document("_id", null).append("count", 2).append("bestAnswers", 1).append("upvotes", 7)
+				.append("downvotes", 0);
+		Document recent = new Document("id", "a1").append("questionId", "q1").append("questionTitle", "How to test?");
+		Document row = new Document("answers", List.of(new Document("totals", List.of(totals))
+				.append("recent", List.of(recent, new Document("id", "a2").append("questionId", "gone")))));
+
+		Map<String, Object> answers = DashboardService.section(row, "answers", "bestAnswers", "upvotes", "downvotes");
+
+		assertEquals(2, answers.get("count"));
+		assertEquals(1, answers.get("bestAnswers"));
+		assertEquals(7, answers.get("upvotes"));
+		assertEquals(0, answers.get("downvotes"));
+		assertFalse(answers.containsKey("_id"));
+		List<?> items = (List<?>) answers.get("recent");
+		assertEquals("How to test?", ((Map<?, ?>) items.get(0)).get("questionTitle"));
+		// An answer whose question is gone has no title rather than failing the dashboard
+		assertNull(((Map<?, ?>) items.get(1)).get("questionTitle"));
+	}
+
+	@Test
+	void compressedCommentMessagesAreInflated() {
+		String longMessage = "A long comment. ".repeat(200);
+		Document compressed = new Document("id", "c1")
+				.append("message", new Binary(CompressedText.BINARY_SUBTYPE, CompressedText.compress(longMessage)));
+		Document plain = new Document("id", "c2").append("message", "short");
+		Document otherBinary = new Document("id", "c3").append("message", new Binary(new byte[] {1, 2}));
+		Document row = new Document("comments", List.of(new Document("totals", List.of(new Document("count", 3)))
+				.append("recent", List.of(compressed, plain, otherBinary))));
+
+		List<?> recent = (List<?>) DashboardService.section(row, "comments").get("recent");
+
+		assertEquals(longMessage, ((Map<?, ?>) recent.get(0)).get("message"));
+		assertEquals("short", ((Map<?, ?>) recent.get(1)).get("message"));
+		// Only the compressed-text subtype is inflated
+		assertEquals(new Binary(new byte[] {1, 2}), ((Map<?, ?>) recent.get(2)).get("message"));
+	}
+}
@@ -0,0 +1,127 @@
+package com.sliit.backend.service;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.sliit.backend.model.LearningPlan;
+import com.sliit.backend.model.PlanStatus;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.net.InetSocketAddress;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class LearningPlanMigrationTests {
+
+	private MongoServer server;
+	private MongoClient client;
+	private MongoTemplate mongoTemplate;
+	private MongoCollection<Document> plans;
+
+	@BeforeEach
+	void setUp() {
+		server = new MongoServer(new MemoryBackend());
+		InetSocketAddress address = server.bind();
+		client = MongoClients.create("mongodb://" + address.getHostString() + ":" + address.getPort());
+		mongoTemplate = new MongoTemplate(client, "migration");
+		plans = mongoTemplate.getCollection("learningPlans");
+	}
+
+	@AfterEach
+	void tearDown() {
+		client.close();
+		server.shutdown();
+	}
+
+	@Test
+	void progressIsTheRoundedFirstNumber() {
+		assertEquals(13, LearningPlanMigration.parseProgress("12.5%"));
+		assertEquals(50, LearningPlanMigration.parseProgress("50 %"));
+		assertEquals(100, LearningPlanMigration.parseProgress("100"));
+		assertEquals(30, LearningPlanMigration.parseProgress("about 30, maybe 40"));
+		assertNull(LearningPlanMigration.parseProgress(""));
+		assertNull(LearningPlanMigration.parseProgress("halfway"));
+		assertNull(LearningPlanMigration.parseProgress("250%"));
+	}
+
+	@Test
+	void convertibleValuesBecomeTyped() {
+		ObjectId id = insert(new Document("deadline", "2025-06-30").append("status", "In Progress")
+				.append("progress", "12.5%").append("duration", "4 weeks"));
+
+		migrate();
+
+		LearningPlan plan = mongoTemplate.findById(id.toHexString(), LearningPlan.class);
+		assertEquals(LocalDate.of(2025, 6, 30), plan.getDeadline());
+		assertEquals(PlanStatus.IN_PROGRESS, plan.getStatus());
+		assertEquals(13, plan.getProgress());
+		assertEquals(28, plan.getDurationDays());
+		assertEquals(id.getDate().getTime() / 1000,
+				plan.getCreatedAt().atZone(ZoneId.systemDefault()).toEpochSecond());
+		assertNull(plan.getLegacy());
+	}
+
+	@Test
+	void unconvertibleValuesAreKeptNotErased() {
+		ObjectId id = insert(new Document("deadline", "end of summer").append("status", "kinda started")
+				.append("progress", "halfway"));
+		ObjectId blank = insert(new Document("deadline", " ").append("progress", ""));
+
+		migrate();
+
+		Document stored = plans.find(Filters.eq("_id", id)).first();
+		assertFalse(stored.containsKey("deadline"));
+		assertFalse(stored.containsKey("progress"));
+		assertEquals(PlanStatus.NOT_STARTED.name(), stored.getString("status"));
+		assertEquals(new Document("deadline", "end of summer").append("status", "kinda started")
+				.append("progress", "halfway"), stored.get("legacy", Document.class));
+		// The typed entity still reads, and carries the originals along on save
+		LearningPlan plan = mongoTemplate.findById(id.toHexString(), LearningPlan.class);
+		assertEquals(Map.of("deadline", "end of summer", "status", "kinda started", "progress", "halfway"),
+				plan.getLegacy());
+		mongoTemplate.save(plan);
+		assertEquals("halfway", plans.find(Filters.eq("_id", id)).first().get("legacy", Document.class)
+				.getString("progress"));
+
+		Document emptied = plans.find(Filters.eq("_id", blank)).first();
+		assertFalse(emptied.containsKey("deadline"));
+		assertFalse(emptied.containsKey("progress"));
+		assertFalse(emptied.containsKey("legacy"));
+	}
+
+	@Test
+	void secondRunChangesNothing() {
+		ObjectId id = insert(new Document("deadline", "someday").append("status", "Completed").append("progress", "7"));
+		migrate();
+		Document once = plans.find(Filters.eq("_id", id)).first();
+
+		migrate();
+
+		assertEquals(once, plans.find(Filters.eq("_id", id)).first());
+	}
+
+	private ObjectId insert(Document fields) {
+		ObjectId id = new ObjectId();
+		Document plan = new Document("_id", id).append("userId", "u1").append("title", "Plan");
+		plan.putAll(fields);
+		plans.insertOne(plan);
+		return id;
+	}
+
+	private void migrate() {
+		new LearningPlanMigration(mongoTemplate).migrate();
+	}
+}
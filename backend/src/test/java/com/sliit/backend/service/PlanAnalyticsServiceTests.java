@@ -0,0 +1,129 @@
+package com.sliit.backend.service;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.sliit.backend.model.LearningPlan;
+import com.sliit.backend.model.PlanRollup;
+import com.sliit.backend.model.PlanStatus;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.net.InetSocketAddress;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class PlanAnalyticsServiceTests {
+
+	private static final LocalDate TODAY = LocalDate.now();
+
+	private MongoServer server;
+	private MongoClient client;
+	private MongoTemplate mongoTemplate;
+	private PlanAnalyticsService service;
+
+	@BeforeEach
+	void setUp() {
+		server = new MongoServer(new MemoryBackend());
+		InetSocketAddress address = server.bind();
+		client = MongoClients.create("mongodb://" + address.getHostString() + ":" + address.getPort());
+		mongoTemplate = new MongoTemplate(client, "analytics");
+		service = new PlanAnalyticsService(mongoTemplate);
+	}
+
+	@AfterEach
+	void tearDown() {
+		client.close();
+		server.shutdown();
+	}
+
+	@Test
+	void everyWriteAppliesItsDelta() {
+		String week = PlanAnalyticsService.isoWeek(TODAY);
+		LearningPlan plan = plan(TODAY.plusDays(3));
+
+		service.onCreated(plan);
+		assertEquals(Map.of("created:" + week, 1L, "status:IN_PROGRESS", 1L, "due:" + TODAY.plusDays(3), 1L), rollups());
+		assertEquals(1L, dashboard().get("dueNext7Days"));
+
+		// Deadline moved into the past: the plan is now overdue
+		PlanAnalyticsService.Snapshot before = PlanAnalyticsService.Snapshot.of(plan);
+		plan.setDeadline(TODAY.minusDays(2));
+		service.onUpdated(before, plan);
+		assertEquals(Map.of("created:" + week, 1L, "status:IN_PROGRESS", 1L, PlanAnalyticsService.OVERDUE, 1L), rollups());
+		assertEquals(1L, dashboard().get("overdue"));
+		assertEquals(0L, dashboard().get("dueNext7Days"));
+
+		before = PlanAnalyticsService.Snapshot.of(plan);
+		plan.setCompleted(true);
+		plan.setCompletedAt(LocalDateTime.now());
+		plan.setStatus(PlanStatus.COMPLETED);
+		service.onUpdated(before, plan);
+		assertEquals(Map.of("created:" + week, 1L, "completed:" + week, 1L, "status:COMPLETED", 1L), rollups());
+		assertEquals(0L, dashboard().get("overdue"));
+		assertEquals(1.0, ((Map<?, ?>) ((List<?>) dashboard().get("weeks")).get(0)).get("completionRate"));
+
+		service.onDeleted(plan);
+		assertEquals(Map.of(), rollups());
+	}
+
+	@Test
+	void rebuildMatchesTheIncrementalRollups() {
+		LearningPlan overdue = mongoTemplate.insert(plan(TODAY.minusDays(10)));
+		LearningPlan dueSoon = mongoTemplate.insert(plan(TODAY.plusDays(1)));
+		service.onCreated(overdue);
+		service.onCreated(dueSoon);
+		Map<String, Long> incremental = rollups();
+
+		service.rebuild();
+
+		assertEquals(incremental, rollups());
+	}
+
+	@Test
+	void pastDueRollupsAreFoldedIntoOneOverdueCount() {
+		service.onCreated(plan(TODAY.plusDays(1)));
+		service.onCreated(plan(TODAY.plusDays(2)));
+		service.onCreated(plan(TODAY.plusDays(9)));
+		LocalDate later = TODAY.plusDays(5);
+
+		Map<String, Object> dashboard = service.dashboard(1, later);
+
+		assertEquals(2L, dashboard.get("overdue"));
+		assertEquals(1L, dashboard.get("dueNext7Days"));
+		assertNull(mongoTemplate.findById("due:" + TODAY.plusDays(1), PlanRollup.class));
+		assertEquals(2L, mongoTemplate.findById(PlanAnalyticsService.OVERDUE, PlanRollup.class).getCount());
+		// Compacting again, as another node would, moves nothing twice
+		service.compactOverdue(later);
+		new PlanAnalyticsService(mongoTemplate).compactOverdue(later);
+		assertEquals(2L, service.dashboard(1, later).get("overdue"));
+	}
+
+	private Map<String, Object> dashboard() {
+		return service.dashboard(1, TODAY);
+	}
+
+	private Map<String, Long> rollups() {
+		return mongoTemplate.findAll(PlanRollup.class).stream().filter(rollup -> rollup.getCount() != 0)
+				.collect(Collectors.toMap(PlanRollup::getId, PlanRollup::getCount));
+	}
+
+	private static LearningPlan plan(LocalDate deadline) {
+		LearningPlan plan = new LearningPlan();
+		plan.setUserId("u1");
+		plan.setTitle("Plan");
+		plan.setStatus(PlanStatus.IN_PROGRESS);
+		plan.setDeadline(deadline);
+		plan.setCreatedAt(LocalDateTime.now());
+		return plan;
+	}
+}
@@ -0,0 +1,103 @@
+package com.sliit.backend.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SideEffectOutboxTests {
+
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+	@Test
+	void effectsWithTheSameNameRunInSubmissionOrder() throws InterruptedException {
+		SideEffectOutbox outbox = new SideEffectOutbox(registry, 4, 1000, 1, Duration.ZERO);
+		List<Integer> applied = new CopyOnWriteArrayList<>();
+		for (int i = 0; i < 500; i++) {
+			int value = i;
+			outbox.submit("tag-counts", () -> applied.add(value));
+		}
+		outbox.drain();
+
+		assertEquals(IntStream.range(0, 500).boxed().toList(), applied);
+	}
+
+	@Test
+	void workerThreadsAreNumbered() throws InterruptedException {
+		SideEffectOutbox outbox = new SideEffectOutbox(registry, 2, 100, 1, Duration.ZERO);
+		List<String> threads = new CopyOnWriteArrayList<>();
+		// Names that hash to both workers
+		for (String name : List.of("a", "b")) {
+			outbox.submit(name, () -> threads.add(Thread.currentThread().getName()));
+		}
+		outbox.drain();
+
+		assertTrue(threads.containsAll(List.of("outbox-1", "outbox-2")), threads.toString());
+	}
+
+	@Test
+	void failedEffectIsRetriedBeforeTheNextOneRuns() throws InterruptedException {
+		SideEffectOutbox outbox = new SideEffectOutbox(registry, 1, 100, 3, Duration.ofMillis(1));
+		AtomicInteger attempts = new AtomicInteger();
+		List<String> applied = new CopyOnWriteArrayList<>();
+		outbox.submit("feed", () -> {
+			if (attempts.incrementAndGet() < 3) {
+				throw new IllegalStateException("primary stepped down");
+			}
+			applied.add("first");
+		});
+		outbox.submit("feed", () -> applied.add("second"));
+		outbox.drain();
+
+		assertEquals(3, attempts.get());
+		assertEquals(List.of("first", "second"), applied);
+		assertEquals(0, registry.counter("outbox.failures").count());
+	}
+
+	@Test
+	void effectIsGivenUpAfterMaxAttempts() throws InterruptedException {
+		SideEffectOutbox outbox = new SideEffectOutbox(registry, 1, 100, 2, Duration.ofMillis(1));
+		AtomicInteger attempts = new AtomicInteger();
+		outbox.submit("feed", () -> {
+			attempts.incrementAndGet();
+			throw new IllegalStateException("always down");
+		});
+		outbox.drain();
+
+		assertEquals(2, attempts.get());
+		assertEquals(1, registry.counter("outbox.failures").count());
+	}
+
+	@Test
+	void drainRunsEverythingAlreadyQueued() throws InterruptedException {
+		SideEffectOutbox outbox = new SideEffectOutbox(registry, 1, 100, 1, Duration.ZERO);
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger done = new AtomicInteger();
+		outbox.submit("slow", () -> {
+			try {
+				release.await(5, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			done.incrementAndGet();
+		});
+		for (int i = 0; i < 10; i++) {
+			outbox.submit("slow", done::incrementAndGet);
+		}
+		assertEquals(10, outbox.pending());
+
+		release.countDown();
+		outbox.drain();
+		assertEquals(11, done.get());
+		assertEquals(0, outbox.pending());
+	}
+}
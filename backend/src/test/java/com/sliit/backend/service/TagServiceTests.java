@@ -0,0 +1,41 @@
+package com.sliit.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TagServiceTests {
+
+	@Test
+	void normalizesCaseAndWhitespace() {
+		assertEquals(List.of("spring-boot", "java"), TagService.normalize(List.of(" Spring  Boot ", "JAVA")));
+	}
+
+	@Test
+	void dropsBlanksNullsAndDuplicatesKeepingFirstOrder() {
+		assertEquals(List.of("kafka", "mongodb"),
+				TagService.normalize(Arrays.asList("Kafka", null, "  ", "mongodb", "kafka", "MongoDB")));
+	}
+
+	@Test
+	void dropsTagsThatAreTooLong() {
+		String tooLong = "x".repeat(33);
+		assertEquals(List.of("x".repeat(32)), TagService.normalize(List.of(tooLong, "x".repeat(32))));
+	}
+
+	@Test
+	void keepsAtMostTenTags() {
+		List<String> tags = IntStream.range(0, 15).mapToObj(i -> "tag" + i).toList();
+		assertEquals(tags.subList(0, 10), TagService.normalize(tags));
+	}
+
+	@Test
+	void nullMeansNoTags() {
+		assertTrue(TagService.normalize(null).isEmpty());
+	}
+}
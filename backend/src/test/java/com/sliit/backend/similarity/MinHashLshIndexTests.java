@@ -0,0 +1,61 @@
+package com.sliit.backend.similarity;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MinHashLshIndexTests {
+
+	@Test
+	void findsRewordedQuestionAndIgnoresUnrelatedOnes() {
+		MinHashLshIndex index = new MinHashLshIndex(8, 4, 42);
+		index.put("q1", TextTokenizer.tokenize("How do I connect Spring Boot to MongoDB Atlas?",
+				"My Spring Boot application cannot connect to a MongoDB Atlas cluster"));
+		index.put("q2", TextTokenizer.tokenize("Sorting a list of tuples in Python", "How to sort tuples by the second element"));
+
+		List<MinHashLshIndex.Match> matches = index.query(TextTokenizer.tokenize(
+				"Connect Spring Boot with MongoDB Atlas", "Spring Boot application can't connect to MongoDB Atlas cluster"), 0.5, 5, null);
+
+		assertEquals(1, matches.size());
+		assertEquals("q1", matches.get(0).id());
+		assertTrue(matches.get(0).similarity() >= 0.5);
+	}
+
+	@Test
+	void updatesAndRemovalsAreReflected() {
+		MinHashLshIndex index = new MinHashLshIndex(8, 4, 42);
+		List<String> java = TextTokenizer.tokenize("java stream groupingby counting collectors");
+		List<String> react = TextTokenizer.tokenize("react useeffect runs twice strict mode");
+		index.put("q1", java);
+		index.put("q2", java);
+		assertEquals(2, index.query(java, 0.9, 5, null).size());
+		assertEquals(1, index.query(java, 0.9, 5, "q1").size());
+
+		index.put("q1", react);
+		assertEquals("q2", index.query(java, 0.9, 5, null).get(0).id());
+		assertEquals("q1", index.query(react, 0.9, 5, null).get(0).id());
+
+		index.remove("q2");
+		assertTrue(index.query(java, 0.9, 5, null).isEmpty());
+		index.put("q3", java);
+		assertEquals(2, index.size());
+		assertEquals("q3", index.query(java, 0.9, 5, null).get(0).id());
+	}
+
+	@Test
+	void survivesManyInsertsAndRemovals() {
+		MinHashLshIndex index = new MinHashLshIndex(8, 4, 7);
+		for (int i = 0; i < 5_000; i++) {
+			index.put("q" + i, List.of("topic" + i, "word" + (i % 50), "thing" + (i % 13)));
+		}
+		for (int i = 0; i < 5_000; i += 2) {
+			index.remove("q" + i);
+		}
+		assertEquals(2_500, index.size());
+		assertEquals("q4321", index.query(List.of("topic4321", "word21", "thing5"), 0.99, 1, null).get(0).id());
+		assertTrue(index.query(List.of("topic4320", "word20", "thing6"), 0.99, 1, null).isEmpty());
+	}
+}
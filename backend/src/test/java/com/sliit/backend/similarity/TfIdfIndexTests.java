@@ -0,0 +1,53 @@
+package com.sliit.backend.similarity;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TfIdfIndexTests {
+
+	@Test
+	void ranksPlansSharingRareTermsFirst() {
+		TfIdfIndex index = new TfIdfIndex(24, 0.5);
+		index.put("spring", terms("Spring Boot microservices", "Learn spring boot, spring data mongodb and spring security"));
+		index.put("react", terms("React frontend", "Learn react hooks, react router and state management"));
+		index.put("kafka", terms("Event streaming", "Learn kafka consumers, producers and spring boot integration"));
+		index.put("boot", terms("Spring Boot basics", "Learn spring boot starters and auto configuration"));
+
+		List<TfIdfIndex.Match> related = index.similarTo("spring", 0.05, 5);
+
+		assertEquals("boot", related.get(0).id());
+		assertTrue(related.stream().noneMatch(match -> match.id().equals("spring")));
+		assertTrue(related.stream().noneMatch(match -> match.id().equals("react")));
+		assertTrue(related.get(0).similarity() > 0 && related.get(0).similarity() <= 1.0001);
+	}
+
+	@Test
+	void updatesAndRemovalsAreReflected() {
+		TfIdfIndex index = new TfIdfIndex(24, 0.5);
+		index.put("a", terms("python data science", "pandas numpy"));
+		index.put("b", terms("python data science", "pandas numpy"));
+		assertEquals("b", index.similarTo("a", 0.5, 5).get(0).id());
+
+		index.put("b", terms("rust systems programming", "ownership borrowing"));
+		assertTrue(index.similarTo("a", 0.1, 5).isEmpty());
+
+		index.put("c", terms("rust systems programming", "ownership lifetimes"));
+		assertEquals("c", index.similarTo("b", 0.1, 5).get(0).id());
+		index.remove("c");
+		assertTrue(index.similarTo("b", 0.1, 5).isEmpty());
+		assertEquals(2, index.size());
+		assertTrue(index.similarTo("missing", 0.1, 5).isEmpty());
+	}
+
+	private static Map<String, Double> terms(String title, String description) {
+		Map<String, Double> terms = new HashMap<>();
+		TextTokenizer.tokenize(title, description).forEach(token -> terms.merge(token, 1.0, Double::sum));
+		return terms;
+	}
+}
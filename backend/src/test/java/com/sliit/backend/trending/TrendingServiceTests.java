@@ -0,0 +1,73 @@
+package com.sliit.backend.trending;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.sliit.backend.archive.ArchiveService;
+import com.sliit.backend.model.Question;
+import com.sliit.backend.service.SideEffectOutbox;
+import com.sliit.backend.service.TagService;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TrendingServiceTests {
+
+	private MongoServer server;
+	private MongoClient client;
+	private MongoTemplate mongoTemplate;
+
+	@BeforeEach
+	void setUp() {
+		server = new MongoServer(new MemoryBackend());
+		InetSocketAddress address = server.bind();
+		client = MongoClients.create("mongodb://" + address.getHostString() + ":" + address.getPort());
+		mongoTemplate = new MongoTemplate(client, "trending");
+	}
+
+	@AfterEach
+	void tearDown() {
+		client.close();
+		server.shutdown();
+	}
+
+	@Test
+	void questionDeletedThroughAnotherNodeLeavesTheRanking() {
+		String kept = mongoTemplate.insert(new Question("Kept", "body", "u1")).getId();
+		String deleted = mongoTemplate.insert(new Question("Deleted", "body", "u1")).getId();
+		String voted = mongoTemplate.insert(new Question("Only voted on", "body", "u1")).getId();
+		TrendingService nodeA = service("node-a");
+		TrendingService nodeB = service("node-b");
+
+		nodeA.recordView(kept, "Kept", "alice");
+		nodeB.recordView(deleted, "Deleted", "bob");
+		nodeB.recordVote(voted);
+		nodeB.closeWindow();
+		// node-b deletes the question after its snapshot went out; node-a only learns it from the database
+		nodeB.onQuestionDeleted(deleted);
+		mongoTemplate.remove(mongoTemplate.findById(deleted, Question.class));
+		nodeA.closeWindow();
+
+		List<TrendingTracker.Entry> top = nodeA.trending(10);
+		assertEquals(List.of(voted, kept), top.stream().map(TrendingTracker.Entry::questionId).toList());
+		assertEquals("Only voted on", top.get(0).title());
+	}
+
+	private TrendingService service(String nodeId) {
+		MeterRegistry registry = new SimpleMeterRegistry();
+		SideEffectOutbox outbox = new SideEffectOutbox(registry, 1, 100, 1, Duration.ZERO);
+		ArchiveService archiveService = new ArchiveService(mongoTemplate, new TagService(mongoTemplate, outbox), registry);
+		return new TrendingService(mongoTemplate, archiveService, registry, nodeId, Duration.ofMinutes(5),
+				Duration.ofHours(1), 2048, 4, 200, 5);
+	}
+}
@@ -0,0 +1,107 @@
+package com.sliit.backend.trending;
+
+import com.sliit.backend.model.TrendingSnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TrendingTrackerTests {
+
+	@Test
+	void sketchNeverUndercountsAndMergesBySum() {
+		CountMinSketch a = new CountMinSketch(1024, 4);
+		CountMinSketch b = new CountMinSketch(1024, 4);
+		for (int i = 0; i < 10_000; i++) {
+			a.add("q" + (i % 500), 1);
+		}
+		b.add("q7", 5);
+		assertTrue(a.estimate("q7") >= 20);
+		assertTrue(a.estimate("q7") < 40);
+
+		a.merge(CountMinSketch.fromBytes(b.toBytes()));
+		assertTrue(a.estimate("q7") >= 25);
+		a.decay(0.5);
+		assertTrue(a.estimate("q7") >= 12.5);
+	}
+
+	@Test
+	void hyperLogLogEstimatesDistinctViewers() {
+		HyperLogLog first = new HyperLogLog(12);
+		HyperLogLog second = new HyperLogLog(12);
+		for (int i = 0; i < 50_000; i++) {
+			first.add("user" + i);
+			first.add("user" + i);
+			second.add("user" + (i + 25_000));
+		}
+		assertEquals(50_000, first.estimate(), 50_000 * 0.05);
+
+		first.merge(HyperLogLog.fromBytes(second.toBytes()));
+		assertEquals(75_000, first.estimate(), 75_000 * 0.05);
+	}
+
+	@Test
+	void ranksHeavyHittersAcrossNodes() {
+		TrendingTracker local = new TrendingTracker(2048, 4, 3, 5);
+		TrendingTracker remote = new TrendingTracker(2048, 4, 3, 5);
+		for (int i = 0; i < 200; i++) {
+			local.recordView("q" + i, "Question " + i, "user" + i);
+		}
+		for (int i = 0; i < 30; i++) {
+			local.recordView("hot", "Hot question", "user" + (i % 10));
+			remote.recordView("remote-hot", "Remote question", "other" + i);
+		}
+		local.recordVote("warm");
+		local.recordVote("warm");
+
+		TrendingSnapshot snapshot = remote.snapshot();
+		snapshot.setId("node-b");
+		local.setRemote(List.of(snapshot));
+		// "warm" only has votes, so its title comes from resolving the tracked ids
+		Set<String> ids = local.trackedIds();
+		local.resolve(ids, ids.stream().collect(Collectors.toMap(id -> id, id -> "Title of " + id)));
+		List<TrendingTracker.Entry> top = local.top(3);
+
+		assertEquals("hot", top.get(0).questionId());
+		assertEquals(10, top.get(0).uniqueViewers());
+		assertEquals("remote-hot", top.get(1).questionId());
+		assertEquals("Remote question", top.get(1).title());
+		assertEquals("warm", top.get(2).questionId());
+		assertEquals("Title of warm", top.get(2).title());
+
+		// Only local counts decay here; remote ones are refreshed from the other node's own decayed snapshot
+		local.decay(0.5);
+		top = local.top(3);
+		assertEquals("remote-hot", top.get(0).questionId());
+		assertEquals(15, top.get(1).score(), 1);
+	}
+
+	@Test
+	void deletedAndUntitledQuestionsAreLeftOut() {
+		TrendingTracker local = new TrendingTracker(2048, 4, 10, 5);
+		TrendingTracker remote = new TrendingTracker(2048, 4, 10, 5);
+		local.recordView("kept", "Kept", "u1");
+		local.recordVote("voted");
+		remote.recordView("deleted-elsewhere", "Deleted", "u2");
+		remote.recordView("deleted-here", "Deleted here", "u3");
+		local.setRemote(List.of(remote.snapshot()));
+
+		// A local delete hides the question even though the other node still reports it
+		local.forget("deleted-here");
+		assertEquals(Set.of("kept", "deleted-elsewhere"), ids(local.top(10)));
+
+		local.resolve(local.trackedIds(), Map.of("kept", "Kept", "voted", "Voted"));
+		assertEquals(Set.of("kept", "voted"), ids(local.top(10)));
+		assertEquals(Set.of("kept", "voted"), local.snapshot().getCandidates().stream()
+				.map(TrendingSnapshot.Candidate::getQuestionId).collect(Collectors.toSet()));
+	}
+
+	private static Set<String> ids(List<TrendingTracker.Entry> entries) {
+		return entries.stream().map(TrendingTracker.Entry::questionId).collect(Collectors.toSet());
+	}
+}
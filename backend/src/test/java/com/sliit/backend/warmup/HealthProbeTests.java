@@ -0,0 +1,69 @@
+package com.sliit.backend.warmup;
+
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Orchestrators and load balancers call the probes without credentials, so they must answer with the probe state
+// rather than 401/403
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class HealthProbeTests {
+
+	private static final MongoServer MONGO = new MongoServer(new MemoryBackend());
+	private static final InetSocketAddress MONGO_ADDRESS = MONGO.bind();
+
+	@DynamicPropertySource
+	static void mongoProperties(DynamicPropertyRegistry registry) {
+		registry.add("spring.data.mongodb.uri",
+				() -> "mongodb://" + MONGO_ADDRESS.getHostString() + ":" + MONGO_ADDRESS.getPort());
+		registry.add("spring.data.mongodb.database", () -> "probes");
+		registry.add("changestream.mode", () -> "off");
+		registry.add("warmup.iterations", () -> "5");
+	}
+
+	@AfterAll
+	static void stopMongo() {
+		MONGO.shutdownNow();
+	}
+
+	@LocalServerPort
+	private int port;
+
+	private final HttpClient http = HttpClient.newHttpClient();
+
+	@Test
+	void probesAnswerWithoutAToken() throws Exception {
+		assertEquals(200, status("/actuator/health/liveness"));
+
+		// 503 while the warm-up runs, 200 once it is done; never an authentication failure
+		long deadline = System.nanoTime() + 30_000_000_000L;
+		int readiness = status("/actuator/health/readiness");
+		while (readiness == 503 && System.nanoTime() < deadline) {
+			Thread.sleep(100);
+			readiness = status("/actuator/health/readiness");
+		}
+		assertEquals(200, readiness);
+
+		int other = status("/actuator/health");
+		assertTrue(other == 401 || other == 403, "only the probes are open, got " + other);
+	}
+
+	private int status(String path) throws Exception {
+		HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).GET().build();
+		return http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+	}
+}
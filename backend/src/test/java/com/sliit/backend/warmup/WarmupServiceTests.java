@@ -0,0 +1,120 @@
+package com.sliit.backend.warmup;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.sliit.backend.controller.LeaderboardController;
+import com.sliit.backend.controller.LearningPlanController;
+import com.sliit.backend.controller.QnAController;
+import com.sliit.backend.model.Question;
+import com.sliit.backend.model.User;
+import com.sliit.backend.security.JwtUtil;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.availability.ApplicationAvailabilityBean;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WarmupServiceTests {
+
+	private MongoServer server;
+	private MongoClient client;
+	private MongoTemplate mongoTemplate;
+	private MeterRegistry registry;
+	private ApplicationAvailabilityBean availability;
+
+	@BeforeEach
+	void setUp() {
+		server = new MongoServer(new MemoryBackend());
+		InetSocketAddress address = server.bind();
+		client = MongoClients.create("mongodb://" + address.getHostString() + ":" + address.getPort());
+		mongoTemplate = new MongoTemplate(client, "warmup");
+		registry = new SimpleMeterRegistry();
+		// What Boot publishes once the ApplicationReadyEvent listeners have returned
+		availability = new ApplicationAvailabilityBean();
+		availability.onApplicationEvent(new AvailabilityChangeEvent<>(this, ReadinessState.ACCEPTING_TRAFFIC));
+	}
+
+	@AfterEach
+	void tearDown() {
+		client.close();
+		server.shutdown();
+	}
+
+	@Test
+	void readinessWaitsForTheWarmup() {
+		User author = new User();
+		author.setUsername("alice");
+		String userId = mongoTemplate.insert(author).getId();
+		mongoTemplate.insert(new Question("Warm", "body", userId));
+		WarmupService warmup = service(true);
+		WarmupReadinessIndicator readiness = new WarmupReadinessIndicator(availability, warmup);
+
+		assertEquals(Status.OUT_OF_SERVICE, readiness.health().getStatus());
+		assertEquals(0.0, registry.get("warmup.progress").gauge().value());
+		assertEquals(0.0, registry.get("warmup.done").gauge().value());
+
+		warmup.run();
+
+		assertTrue(warmup.isDone());
+		assertEquals(Status.UP, readiness.health().getStatus());
+		assertEquals(1.0, registry.get("warmup.progress").gauge().value());
+		assertEquals(1.0, registry.get("warmup.done").gauge().value());
+		assertEquals(3 + 5, registry.get("warmup.step").timers().stream().mapToLong(timer -> timer.count()).sum());
+	}
+
+	@Test
+	void disabledWarmupIsReadyAtOnce() {
+		WarmupService warmup = service(false);
+		WarmupReadinessIndicator readiness = new WarmupReadinessIndicator(availability, warmup);
+
+		warmup.start();
+
+		assertTrue(warmup.isDone());
+		assertEquals(Status.UP, readiness.health().getStatus());
+		assertEquals(1.0, registry.get("warmup.progress").gauge().value());
+	}
+
+	@Test
+	void failingCallsDoNotHoldReadinessBack() {
+		WarmupService warmup = service(true);
+		WarmupReadinessIndicator readiness = new WarmupReadinessIndicator(availability, warmup);
+
+		// The controllers are not wired, so every endpoint call in a round fails
+		warmup.run();
+
+		assertEquals(Status.UP, readiness.health().getStatus());
+		assertTrue(registry.get("warmup.failures").counter().count() > 0);
+	}
+
+	private WarmupService service(boolean enabled) {
+		LeaderboardController leaderboard = new LeaderboardController() {
+			@Override
+			public List<Map<String, Object>> getLeaderboard(int offset, int limit) {
+				return List.of();
+			}
+		};
+		return new WarmupService(mongoTemplate, new LearningPlanController(), new QnAController(), leaderboard,
+				username -> {
+					throw new UsernameNotFoundException(username);
+				},
+				new JwtUtil("warmup-test-secret-with-at-least-32-characters"),
+				Jackson2ObjectMapperBuilder.json().build(), registry, enabled, Duration.ofSeconds(10), 5, 10);
+	}
+}
@@ -157,7 +157,7 @@ const LearningPlanPage = () => {
       description: plan.description || '',
       duration: plan.duration || '',
       deadline: plan.deadline || '',
-      status: plan.status || '',
+      status: plan.status || 'Not Started',
       modules: plan.modules || [],
       progress: plan.progress || '',
       completed: plan.completed || false,
@@ -505,14 +505,16 @@ const LearningPlanPage = () => {
                         </div>
                         <div>
                           <label className="block">Status</label>
-                          <input
-                            type="text"
+                          <select
                             name="status"
-                            value={editedPlanData.status || ''
-                            }
+                            value={editedPlanData.status || 'Not Started'}
                             onChange={handleInputChange}
                             className="w-full p-2 border rounded-md shadow"
-                          />
+                          >
+                            <option value="Not Started">Not Started</option>
+                            <option value="In Progress">In Progress</option>
+                            <option value="Completed">Completed</option>
+                          </select>
                         </div>
                         <button
                           onClick={() => handleSaveEdit(plan.id)}